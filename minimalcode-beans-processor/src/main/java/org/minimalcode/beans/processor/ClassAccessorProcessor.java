@@ -0,0 +1,349 @@
+/*
+ * Copyright 2015 Fabio Piro (minimalcode.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.minimalcode.beans.processor;
+
+import org.minimalcode.beans.ClassAccessor;
+import org.minimalcode.beans.GenerateAccessor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Annotation processor generating, for each class annotated with {@link GenerateAccessor},
+ * a plain Java {@link ClassAccessor} subclass dispatching each property ordinal through a
+ * {@code switch} of direct getter and setter calls.
+ *
+ * <p> The generated accessors are discovered at runtime by {@link ClassAccessor#forClass(Class)}
+ * and by the {@link org.minimalcode.beans.ObjectWrapper} methods, which then skip the creation
+ * of any reflective accessor for the covered properties.
+ *
+ * <p> A property is covered when it has a public, not static, getter ("getX", or "isX" for
+ * a {@code boolean}) and/or setter ("setX"), not declaring any checked exception. The generated
+ * accessor reports the covered directions by {@link ClassAccessor#isReadable(int)} and
+ * {@link ClassAccessor#isWritable(int)}: any other property, or direction (ex: the field of a
+ * property with only a getter), is still accessed at runtime through reflection. Among overloaded
+ * setters, only the one with the getter type is covered: without a getter, the overloaded setters
+ * are reported by a warning and not covered at all.
+ *
+ * @author Fabio Piro
+ * @see GenerateAccessor
+ */
+public class ClassAccessorProcessor extends AbstractProcessor {
+
+    private static final String INDENT = "    ";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(GenerateAccessor.class.getCanonicalName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    error(element, "@GenerateAccessor can annotate only classes.");
+                } else if (!isAccessible((TypeElement) element)) {
+                    error(element, "@GenerateAccessor requires a class accessible from its package, but a private"
+                            + " class found.");
+                } else {
+                    generate((TypeElement) element);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isAccessible(TypeElement type) {
+        for (Element current = type; current instanceof TypeElement; current = current.getEnclosingElement()) {
+            if (current.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+
+            if (((TypeElement) current).getNestingKind() == NestingKind.TOP_LEVEL) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void generate(TypeElement type) {
+        Map<String, Accessors> properties = collectProperties(type);
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String generatedName = ClassAccessor.getGeneratedName(binaryName);
+        int lastDot = generatedName.lastIndexOf('.');
+
+        try {
+            Writer writer = processingEnv.getFiler().createSourceFile(generatedName, type).openWriter();
+
+            try {
+                write(writer, (lastDot > 0) ? generatedName.substring(0, lastDot) : null,
+                        generatedName.substring(lastDot + 1), type.getQualifiedName().toString(), properties);
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            error(type, "Cannot write the generated accessor " + generatedName + ": " + e.getMessage());
+        }
+    }
+
+    private Map<String, Accessors> collectProperties(TypeElement type) {
+        Map<String, Accessors> properties = new LinkedHashMap<String, Accessors>();
+        TypeElement objectType = processingEnv.getElementUtils().getTypeElement(Object.class.getName());
+
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            Set<Modifier> modifiers = method.getModifiers();
+
+            if (method.getEnclosingElement().equals(objectType) || !modifiers.contains(Modifier.PUBLIC)
+                    || modifiers.contains(Modifier.STATIC) || !method.getTypeParameters().isEmpty()
+                    || hasCheckedExceptions(method)) {
+                continue;
+            }
+
+            // the types as seen from the annotated class (ex: "T getValue()" inherited from "Base<String>")
+            ExecutableType methodType = (ExecutableType) processingEnv.getTypeUtils()
+                    .asMemberOf((DeclaredType) type.asType(), method);
+
+            String name = method.getSimpleName().toString();
+            int parameters = method.getParameters().size();
+            TypeMirror returnType = methodType.getReturnType();
+
+            if (parameters == 0 && name.length() > 3 && name.startsWith("get") && returnType.getKind() != TypeKind.VOID) {
+                accessorsOf(properties, name.substring(3)).setGetter(name, returnType);
+            } else if (parameters == 0 && name.length() > 2 && name.startsWith("is") && returnType.getKind() == TypeKind.BOOLEAN) {
+                accessorsOf(properties, name.substring(2)).setGetter(name, returnType);
+            } else if (parameters == 1 && name.length() > 3 && name.startsWith("set")) {
+                accessorsOf(properties, name.substring(3)).addSetter(name, methodType.getParameterTypes().get(0));
+            }
+        }
+
+        for (Map.Entry<String, Accessors> entry : properties.entrySet()) {
+            Accessors accessors = entry.getValue();
+            accessors.setterType = selectSetterType(type, entry.getKey(), accessors);
+
+            if (accessors.setterType == null) {
+                accessors.setter = null;
+            }
+        }
+
+        return properties;
+    }
+
+    /*
+     * The type of the setter part of the property, whatever the declaration order of the overloaded setters:
+     * the one of the getter type, else the only one if without a getter. A setter with a type different from
+     * the getter one is not part of the property.
+     */
+    private TypeMirror selectSetterType(TypeElement type, String name, Accessors accessors) {
+        if (accessors.getter != null) {
+            for (TypeMirror setterType : accessors.setterTypes) {
+                if (processingEnv.getTypeUtils().isSameType(erasure(accessors.getterType), erasure(setterType))) {
+                    return setterType;
+                }
+            }
+
+            return null;
+        }
+
+        if (accessors.setterTypes.size() > 1) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "@GenerateAccessor found the "
+                    + accessors.setterTypes + " overloaded setters of the '" + name + "' property without a getter,"
+                    + " hence its value is written through reflection.", type);
+            return null;
+        }
+
+        return accessors.setterTypes.isEmpty() ? null : accessors.setterTypes.get(0);
+    }
+
+    private boolean hasCheckedExceptions(ExecutableElement method) {
+        TypeMirror runtimeException = processingEnv.getElementUtils().getTypeElement(RuntimeException.class.getName()).asType();
+        TypeMirror error = processingEnv.getElementUtils().getTypeElement(Error.class.getName()).asType();
+
+        for (TypeMirror thrown : method.getThrownTypes()) {
+            if (!processingEnv.getTypeUtils().isAssignable(thrown, runtimeException)
+                    && !processingEnv.getTypeUtils().isAssignable(thrown, error)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static Accessors accessorsOf(Map<String, Accessors> properties, String capitalized) {
+        String name = decapitalize(capitalized);
+        Accessors accessors = properties.get(name);
+
+        if (accessors == null) {
+            accessors = new Accessors();
+            properties.put(name, accessors);
+        }
+
+        return accessors;
+    }
+
+    /*
+     * Same rules of java.beans.Introspector.decapitalize(String): "FooBar" is "fooBar", but "URL" stays "URL".
+     */
+    private static String decapitalize(String name) {
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private TypeMirror erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type);
+    }
+
+    /*
+     * The type used to cast the Object value passed to a setter: the boxed type for the primitives.
+     */
+    private String castTypeOf(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+
+        return erasure(type).toString();
+    }
+
+    private void write(Writer writer, String packageName, String simpleName, String typeName,
+                       Map<String, Accessors> properties) throws IOException {
+        StringBuilder names = new StringBuilder();
+        StringBuilder readables = new StringBuilder();
+        StringBuilder writables = new StringBuilder();
+        StringBuilder getCases = new StringBuilder();
+        StringBuilder setCases = new StringBuilder();
+
+        int ordinal = 0;
+        for (Map.Entry<String, Accessors> entry : properties.entrySet()) {
+            Accessors accessors = entry.getValue();
+            names.append((ordinal > 0) ? ", " : "").append('"').append(entry.getKey()).append('"');
+            readables.append((ordinal > 0) ? ", " : "").append(accessors.getter != null);
+            writables.append((ordinal > 0) ? ", " : "").append(accessors.setter != null);
+
+            getCases.append(INDENT).append(INDENT).append(INDENT).append("case ").append(ordinal).append(": ");
+            if (accessors.getter != null) {
+                getCases.append("return bean.").append(accessors.getter).append("();\n");
+            } else {
+                getCases.append("throw notReadable(ordinal);\n");
+            }
+
+            setCases.append(INDENT).append(INDENT).append(INDENT).append("case ").append(ordinal).append(": ");
+            if (accessors.setter != null) {
+                setCases.append("bean.").append(accessors.setter).append("((")
+                        .append(castTypeOf(accessors.setterType)).append(") value);\n")
+                        .append(INDENT).append(INDENT).append(INDENT).append(INDENT).append("return;\n");
+            } else {
+                setCases.append("throw notWritable(ordinal);\n");
+            }
+
+            ordinal++;
+        }
+
+        if (packageName != null) {
+            writer.write("package " + packageName + ";\n\n");
+        }
+
+        writer.write("/**\n * Accessor of {@link " + typeName + "}, generated by "
+                + ClassAccessorProcessor.class.getName() + ". Do not edit.\n */\n");
+        writer.write("public final class " + simpleName + " extends " + ClassAccessor.class.getName() + " {\n\n");
+        writer.write(INDENT + "public " + simpleName + "() {\n");
+        writer.write(INDENT + INDENT + "super(" + typeName + ".class, new String[] {" + names + "},\n");
+        writer.write(INDENT + INDENT + INDENT + INDENT + "new boolean[] {" + readables + "}, new boolean[] {"
+                + writables + "});\n");
+        writer.write(INDENT + "}\n\n");
+
+        writer.write(INDENT + "@Override\n");
+        writer.write(INDENT + "@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        writer.write(INDENT + "public Object get(Object obj, int ordinal) {\n");
+        writer.write(INDENT + INDENT + typeName + " bean = (" + typeName + ") obj;\n\n");
+        writer.write(INDENT + INDENT + "switch (ordinal) {\n");
+        writer.write(getCases.toString());
+        writer.write(INDENT + INDENT + INDENT + "default: throw invalidOrdinal(ordinal);\n");
+        writer.write(INDENT + INDENT + "}\n");
+        writer.write(INDENT + "}\n\n");
+
+        writer.write(INDENT + "@Override\n");
+        writer.write(INDENT + "@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        writer.write(INDENT + "public void set(Object obj, int ordinal, Object value) {\n");
+        writer.write(INDENT + INDENT + typeName + " bean = (" + typeName + ") obj;\n\n");
+        writer.write(INDENT + INDENT + "switch (ordinal) {\n");
+        writer.write(setCases.toString());
+        writer.write(INDENT + INDENT + INDENT + "default: throw invalidOrdinal(ordinal);\n");
+        writer.write(INDENT + INDENT + "}\n");
+        writer.write(INDENT + "}\n");
+        writer.write("}\n");
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /*
+     * The getter and setter names (and types) of a single property, with all the types of the overloaded setters.
+     */
+    private static final class Accessors {
+
+        String getter;
+        TypeMirror getterType;
+        String setter;
+        TypeMirror setterType;
+        final List<TypeMirror> setterTypes = new ArrayList<TypeMirror>(1);
+
+        void setGetter(String getter, TypeMirror getterType) {
+            // "getX" wins over "isX", as in the java.beans conventions
+            if (this.getter == null || getter.startsWith("get")) {
+                this.getter = getter;
+                this.getterType = getterType;
+            }
+        }
+
+        void addSetter(String setter, TypeMirror setterType) {
+            this.setter = setter;
+            this.setterTypes.add(setterType);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package org.minimalcode.beans.processor;
+
+import org.junit.Test;
+import org.minimalcode.beans.ClassAccessor;
+import org.minimalcode.beans.ObjectWrapper;
+import org.minimalcode.reflect.ReflectionException;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ClassAccessorProcessorTest {
+
+    private static final String SOURCE = "package com.example;\n"
+            + "@org.minimalcode.beans.GenerateAccessor\n"
+            + "public class Order {\n"
+            + "    private String code;\n"
+            + "    private int quantity;\n"
+            + "    private boolean paid;\n"
+            + "    private java.util.List<String> lines;\n"
+            + "    public String getCode() { return code; }\n"
+            + "    public void setCode(String code) { this.code = code; }\n"
+            + "    public int getQuantity() { return quantity; }\n"
+            + "    public void setQuantity(int quantity) { this.quantity = quantity; }\n"
+            + "    public boolean isPaid() { return paid; }\n"
+            + "    public java.util.List<String> getLines() { return lines; }\n"
+            + "    public void setLines(java.util.List<String> lines) { this.lines = lines; }\n"
+            + "}\n";
+
+    private static final String TRACED_SOURCE = "package com.example;\n"
+            + "@org.minimalcode.beans.GenerateAccessor\n"
+            + "public class Traced {\n"
+            + "    public static String caller;\n"
+            + "    private String code;\n"
+            + "    private String note;\n"
+            + "    public String getCode() { caller = caller(); return code; }\n"
+            + "    public void setCode(String code) { caller = caller(); this.code = code; }\n"
+            + "    public String getNote() { caller = caller(); return note; }\n"
+            + "    private static String caller() { return new Throwable().getStackTrace()[2].getClassName(); }\n"
+            + "}\n";
+
+    private static final String GENERIC_SOURCE = "package com.example;\n"
+            + "@org.minimalcode.beans.GenerateAccessor\n"
+            + "public class Box<T> {\n"
+            + "    private T value;\n"
+            + "    public T getValue() { return value; }\n"
+            + "    public void setValue(T value) { this.value = value; }\n"
+            + "}\n";
+
+    private static final String OVERLOADED_SOURCE = "package com.example;\n"
+            + "@org.minimalcode.beans.GenerateAccessor\n"
+            + "public class Overloaded {\n"
+            + "    private String code;\n"
+            + "    public void setCode(int code) { this.code = \"#\" + code; }\n"
+            + "    public String getCode() { return code; }\n"
+            + "    public void setCode(String code) { this.code = code; }\n"
+            + "    public void setCount(int count) { }\n"
+            + "    public void setCount(long count) { }\n"
+            + "}\n";
+
+    private static final String NESTED_SOURCE = "package com.example;\n"
+            + "public class Outer {\n"
+            + "    @org.minimalcode.beans.GenerateAccessor\n"
+            + "    public static class Inner {\n"
+            + "        public String getName() { return \"nested\"; }\n"
+            + "    }\n"
+            + "}\n"
+            + "@org.minimalcode.beans.GenerateAccessor\n"
+            + "class Outer_Inner {\n"
+            + "    public String getName() { return \"top-level\"; }\n"
+            + "}\n";
+
+    @Test
+    public void testGeneratedAccessor() throws Exception {
+        Class<?> orderClass = compile("com.example.Order", SOURCE);
+        ClassAccessor accessor = ClassAccessor.forClass(orderClass);
+
+        assertEquals("com.example.Order" + ClassAccessor.GENERATED_SUFFIX, accessor.getClass().getName());
+        assertEquals(4, accessor.size());
+
+        Object order = orderClass.newInstance();
+        accessor.set(order, accessor.getOrdinal("code"), "A1");
+        accessor.set(order, accessor.getOrdinal("quantity"), 3);
+
+        assertEquals("A1", accessor.get(order, accessor.getOrdinal("code")));
+        assertEquals(3, accessor.get(order, accessor.getOrdinal("quantity")));
+        assertEquals(false, accessor.get(order, accessor.getOrdinal("paid")));
+
+        try {
+            accessor.set(order, accessor.getOrdinal("paid"), true);
+            fail();
+        } catch (ReflectionException e) {
+            assertTrue(e.getMessage().contains("paid"));
+        }
+
+        try {
+            accessor.get(order, accessor.size());
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertTrue(e.getMessage().contains(String.valueOf(accessor.size())));
+        }
+    }
+
+    @Test
+    public void testGeneratedDirections() throws Exception {
+        Class<?> orderClass = compile("com.example.Order", SOURCE);
+        ClassAccessor accessor = ClassAccessor.forClass(orderClass);
+
+        assertTrue(accessor.isReadable(accessor.getOrdinal("code")));
+        assertTrue(accessor.isWritable(accessor.getOrdinal("code")));
+        assertTrue(accessor.isReadable(accessor.getOrdinal("paid")));
+        assertFalse(accessor.isWritable(accessor.getOrdinal("paid")));
+    }
+
+    @Test
+    public void testGeneratedAccessorUsedByWrapper() throws Exception {
+        Class<?> tracedClass = compile("com.example.Traced", TRACED_SOURCE);
+        Field caller = tracedClass.getField("caller");
+        ObjectWrapper wrapper = new ObjectWrapper(tracedClass.newInstance());
+        String generatedName = "com.example.Traced" + ClassAccessor.GENERATED_SUFFIX;
+
+        wrapper.setValue("code", "B2");
+        assertEquals(generatedName, caller.get(null));
+
+        caller.set(null, null);
+        assertEquals("B2", wrapper.getValue("code"));
+        assertEquals(generatedName, caller.get(null));
+    }
+
+    @Test
+    public void testGetterOnlyPropertyWrittenThroughField() throws Exception {
+        Class<?> tracedClass = compile("com.example.Traced", TRACED_SOURCE);
+        ObjectWrapper wrapper = new ObjectWrapper(tracedClass.newInstance());
+
+        wrapper.setValue("note", "foo");// the field, as no setter was generated
+        assertEquals("foo", wrapper.getValue("note"));
+        assertEquals("com.example.Traced" + ClassAccessor.GENERATED_SUFFIX, tracedClass.getField("caller").get(null));
+    }
+
+    @Test
+    public void testGeneratedSetterWithInvalidValue() throws Exception {
+        Class<?> orderClass = compile("com.example.Order", SOURCE);
+        ObjectWrapper wrapper = new ObjectWrapper(orderClass.newInstance());
+
+        try {
+            wrapper.setValue("quantity", null);
+            fail();
+        } catch (ReflectionException e) {
+            assertTrue(e.getMessage().contains("quantity"));
+        }
+
+        try {
+            wrapper.setValue("code", 5);
+            fail();
+        } catch (ReflectionException e) {
+            assertTrue(e.getMessage().contains("code"));
+        }
+    }
+
+    @Test
+    public void testGeneratedAccessorOfGenericClass() throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        Class<?> boxClass = compile(GENERIC_SOURCE, diagnostics, "com.example.Box")[0];
+        ObjectWrapper wrapper = new ObjectWrapper(boxClass.newInstance());
+
+        wrapper.setValue("value", "foo");
+        assertEquals("foo", wrapper.getValue("value"));
+        assertEquals(Collections.<String>emptyList(), warnings(diagnostics));
+    }
+
+    @Test
+    public void testOverloadedSetters() throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        Class<?> overloadedClass = compile(OVERLOADED_SOURCE, diagnostics, "com.example.Overloaded")[0];
+        ClassAccessor accessor = ClassAccessor.forClass(overloadedClass);
+        Object overloaded = overloadedClass.newInstance();
+
+        // The setter of the getter type, whatever the declaration order
+        accessor.set(overloaded, accessor.getOrdinal("code"), "A1");
+        assertEquals("A1", accessor.get(overloaded, accessor.getOrdinal("code")));
+
+        // Ambiguous without a getter
+        assertFalse(accessor.isWritable(accessor.getOrdinal("count")));
+        List<String> warnings = warnings(diagnostics);
+        assertEquals(1, warnings.size());
+        assertTrue(warnings.get(0).contains("'count'"));
+    }
+
+    @Test
+    public void testGeneratedNamesOfNestedClasses() throws Exception {
+        Class<?>[] types = compile(NESTED_SOURCE, new DiagnosticCollector<JavaFileObject>(), "com.example.Outer",
+                "com.example.Outer$Inner", "com.example.Outer_Inner");
+        ClassAccessor nested = ClassAccessor.forClass(types[1]);
+        ClassAccessor topLevel = ClassAccessor.forClass(types[2]);
+
+        assertEquals("com.example.Outer_0Inner" + ClassAccessor.GENERATED_SUFFIX, nested.getClass().getName());
+        assertEquals("com.example.Outer__Inner" + ClassAccessor.GENERATED_SUFFIX, topLevel.getClass().getName());
+        assertEquals("nested", nested.get(types[1].newInstance(), nested.getOrdinal("name")));
+
+        Constructor<?> constructor = types[2].getDeclaredConstructor();// of a package-private class
+        constructor.setAccessible(true);
+        assertEquals("top-level", topLevel.get(constructor.newInstance(), topLevel.getOrdinal("name")));
+    }
+
+    private static Class<?> compile(String className, String source) throws Exception {
+        return compile(source, new DiagnosticCollector<JavaFileObject>(), className)[0];
+    }
+
+    /*
+     * Compiles the source of the first class name, returning all the named classes.
+     */
+    private static Class<?>[] compile(String source, DiagnosticCollector<JavaFileObject> diagnostics,
+                                      String... classNames) throws Exception {
+        File output = File.createTempFile("processor", "");
+        assertTrue(output.delete() && output.mkdir());
+
+        try {
+            return compile(source, diagnostics, classNames, output);
+        } finally {
+            delete(output);
+        }
+    }
+
+    private static Class<?>[] compile(final String source, DiagnosticCollector<JavaFileObject> diagnostics,
+                                      String[] classNames, File output) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+        JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///" + classNames[0].replace('.', '/')
+                + JavaFileObject.Kind.SOURCE.extension), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+
+        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                Arrays.asList("-d", output.getPath(), "-classpath", System.getProperty("java.class.path"),
+                        "-Xlint:unchecked,rawtypes"), null, Collections.singletonList(file));
+        task.setProcessors(Collections.singletonList(new ClassAccessorProcessor()));
+
+        assertTrue(diagnostics.getDiagnostics().toString(), task.call());
+        fileManager.close();
+
+        // The generated accessors are loaded together with the classes, before the output is deleted
+        ClassLoader loader = new URLClassLoader(new URL[]{output.toURI().toURL()},
+                ClassAccessorProcessorTest.class.getClassLoader());
+        Class<?>[] types = new Class<?>[classNames.length];
+
+        for (int i = 0; i < classNames.length; i++) {
+            types[i] = Class.forName(classNames[i], true, loader);
+            ClassAccessor.forClass(types[i]);
+        }
+
+        return types;
+    }
+
+    private static List<String> warnings(DiagnosticCollector<JavaFileObject> diagnostics) {
+        List<String> warnings = new ArrayList<String>();
+
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.WARNING
+                    || diagnostic.getKind() == Diagnostic.Kind.MANDATORY_WARNING) {
+                warnings.add(diagnostic.getMessage(null));
+            }
+        }
+
+        return warnings;
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+
+        assertTrue(file.delete());
+    }
+}
@@ -0,0 +1,698 @@
+/*
+ * Copyright 2015 Fabio Piro (minimalcode.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.minimalcode.beans;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Internal: Accessor of the elements of the arrays of a single type, selected once per
+ * array type (ex: from the type of an indexed {@link org.minimalcode.reflect.Property}).
+ *
+ * <p> Differently from {@link Array}, whose methods check the array type
+ * and box the elements at each call, each accessor casts the array to its exact type
+ * (ex: {@code int[]}), so that the JIT compiles every access to a plain array load or store.
+ * The primitive-specialized methods (ex: {@link #getInt(Object, int)}) never box the elements,
+ * allowing only the Java widening conversions (ex: an {@code int[]} can be read as a long).
+ *
+ * @author Fabio Piro
+ */
+abstract class ArrayAccessor {
+
+    private static final ArrayAccessor INT = new IntArrayAccessor();
+    private static final ArrayAccessor LONG = new LongArrayAccessor();
+    private static final ArrayAccessor DOUBLE = new DoubleArrayAccessor();
+    private static final ArrayAccessor FLOAT = new FloatArrayAccessor();
+    private static final ArrayAccessor SHORT = new ShortArrayAccessor();
+    private static final ArrayAccessor BYTE = new ByteArrayAccessor();
+    private static final ArrayAccessor CHAR = new CharArrayAccessor();
+    private static final ArrayAccessor BOOLEAN = new BooleanArrayAccessor();
+
+    private static final ConcurrentMap<Class<?>, ArrayAccessor> OBJECT_ACCESSORS
+            = new ConcurrentHashMap<Class<?>, ArrayAccessor>();
+
+    final Class<?> type;
+
+    ArrayAccessor(Class<?> type) {
+        this.type = type;
+    }
+
+    /**
+     * Returns the shared accessor of the given array type.
+     *
+     * @param type the array type (ex: {@code int[].class}), cannot be {@code null}
+     * @return the accessor of the array type, or {@code null} if the type is not an array
+     */
+    static ArrayAccessor forClass(Class<?> type) {
+        Class<?> componentType = type.getComponentType();
+
+        if (componentType == null) {
+            return null;
+        } else if (!componentType.isPrimitive()) {
+            return forObjectClass(type);
+        } else if (componentType == int.class) {
+            return INT;
+        } else if (componentType == long.class) {
+            return LONG;
+        } else if (componentType == double.class) {
+            return DOUBLE;
+        } else if (componentType == float.class) {
+            return FLOAT;
+        } else if (componentType == short.class) {
+            return SHORT;
+        } else if (componentType == byte.class) {
+            return BYTE;
+        } else if (componentType == char.class) {
+            return CHAR;
+        } else {
+            return BOOLEAN;
+        }
+    }
+
+    private static ArrayAccessor forObjectClass(Class<?> type) {
+        ArrayAccessor accessor = OBJECT_ACCESSORS.get(type);
+
+        if (accessor == null) {
+            accessor = new ObjectArrayAccessor(type);
+            ArrayAccessor previous = OBJECT_ACCESSORS.putIfAbsent(type, accessor);
+
+            if (previous != null) {
+                accessor = previous;
+            }
+        }
+
+        return accessor;
+    }
+
+    /**
+     * Returns the length of the given array.
+     *
+     * @param array the array, of the accessor type
+     * @return the array length
+     */
+    abstract int getLength(Object array);
+
+    /**
+     * Returns the element at the given index, boxed if primitive.
+     *
+     * @param array the array, of the accessor type
+     * @param index the index of the element
+     * @return the element
+     * @throws ArrayIndexOutOfBoundsException if the index is out of bounds
+     */
+    abstract Object get(Object array, int index);
+
+    /**
+     * Sets the element at the given index, unboxing it if the array is primitive.
+     *
+     * @param array the array, of the accessor type
+     * @param index the index of the element
+     * @param value the element to set, can be {@code null} only for the arrays of objects
+     * @throws ArrayIndexOutOfBoundsException if the index is out of bounds
+     * @throws IllegalArgumentException       if the array cannot store the value
+     */
+    abstract void set(Object array, int index, Object value);
+
+    /**
+     * Creates a new array of the accessor type.
+     *
+     * @param length the length of the new array
+     * @return the new array
+     */
+    abstract Object newInstance(int length);
+
+    /**
+     * Copies the given array into a new array of the accessor type, truncating or padding it with the default values.
+     *
+     * @param array  the array to copy, of the accessor type
+     * @param length the length of the new array
+     * @return the new array
+     */
+    abstract Object copyOf(Object array, int length);
+
+    /**
+     * Returns the element at the given index as an int.
+     *
+     * @throws ArrayIndexOutOfBoundsException if the index is out of bounds
+     * @throws NullPointerException           if the element is {@code null}
+     * @throws IllegalArgumentException       if the element cannot be widened to an int
+     */
+    int getInt(Object array, int index) {
+        return Primitives.toInt(get(array, index), this);
+    }
+
+    /**
+     * Returns the element at the given index as a long.
+     *
+     * @throws ArrayIndexOutOfBoundsException if the index is out of bounds
+     * @throws NullPointerException           if the element is {@code null}
+     * @throws IllegalArgumentException       if the element cannot be widened to a long
+     */
+    long getLong(Object array, int index) {
+        return Primitives.toLong(get(array, index), this);
+    }
+
+    /**
+     * Returns the element at the given index as a double.
+     *
+     * @throws ArrayIndexOutOfBoundsException if the index is out of bounds
+     * @throws NullPointerException           if the element is {@code null}
+     * @throws IllegalArgumentException       if the element cannot be widened to a double
+     */
+    double getDouble(Object array, int index) {
+        return Primitives.toDouble(get(array, index), this);
+    }
+
+    /**
+     * Returns the element at the given index as a boolean.
+     *
+     * @throws ArrayIndexOutOfBoundsException if the index is out of bounds
+     * @throws NullPointerException           if the element is {@code null}
+     * @throws IllegalArgumentException       if the element is not a boolean
+     */
+    boolean getBoolean(Object array, int index) {
+        return Primitives.toBoolean(get(array, index), this);
+    }
+
+    /**
+     * Sets an int element at the given index.
+     *
+     * @throws ArrayIndexOutOfBoundsException if the index is out of bounds
+     * @throws IllegalArgumentException       if the array cannot store an int
+     */
+    void setInt(Object array, int index, int value) {
+        set(array, index, Primitives.valueOf(value, type.getComponentType(), this));
+    }
+
+    /**
+     * Sets a long element at the given index.
+     *
+     * @throws ArrayIndexOutOfBoundsException if the index is out of bounds
+     * @throws IllegalArgumentException       if the array cannot store a long
+     */
+    void setLong(Object array, int index, long value) {
+        set(array, index, Primitives.valueOf(value, type.getComponentType(), this));
+    }
+
+    /**
+     * Sets a double element at the given index.
+     *
+     * @throws ArrayIndexOutOfBoundsException if the index is out of bounds
+     * @throws IllegalArgumentException       if the array cannot store a double
+     */
+    void setDouble(Object array, int index, double value) {
+        set(array, index, Primitives.valueOf(value, type.getComponentType(), this));
+    }
+
+    /**
+     * Sets a boolean element at the given index.
+     *
+     * @throws ArrayIndexOutOfBoundsException if the index is out of bounds
+     * @throws IllegalArgumentException       if the array cannot store a boolean
+     */
+    void setBoolean(Object array, int index, boolean value) {
+        set(array, index, Primitives.valueOf(value, type.getComponentType(), this));
+    }
+
+    /*
+     * As java.lang.reflect.Array.set(Object, int, Object), a 'null' element is an illegal argument for a primitive array.
+     */
+    Object checkNotNull(Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot set a 'null' element into an array of type "
+                    + type.getSimpleName() + ".");
+        }
+
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "an element of " + type.getSimpleName();
+    }
+
+    /*
+     * Accessor of the int[] arrays.
+     */
+    private static final class IntArrayAccessor extends ArrayAccessor {
+
+        IntArrayAccessor() {
+            super(int[].class);
+        }
+
+        @Override
+        int getLength(Object array) {
+            return ((int[]) array).length;
+        }
+
+        @Override
+        Object get(Object array, int index) {
+            return ((int[]) array)[index];
+        }
+
+        @Override
+        void set(Object array, int index, Object value) {
+            ((int[]) array)[index] = Primitives.toInt(checkNotNull(value), this);
+        }
+
+        @Override
+        Object newInstance(int length) {
+            return new int[length];
+        }
+
+        @Override
+        Object copyOf(Object array, int length) {
+            return Arrays.copyOf((int[]) array, length);
+        }
+
+        @Override
+        int getInt(Object array, int index) {
+            return ((int[]) array)[index];
+        }
+
+        @Override
+        long getLong(Object array, int index) {
+            return ((int[]) array)[index];
+        }
+
+        @Override
+        double getDouble(Object array, int index) {
+            return ((int[]) array)[index];
+        }
+
+        @Override
+        void setInt(Object array, int index, int value) {
+            ((int[]) array)[index] = value;
+        }
+    }
+
+    /*
+     * Accessor of the long[] arrays.
+     */
+    private static final class LongArrayAccessor extends ArrayAccessor {
+
+        LongArrayAccessor() {
+            super(long[].class);
+        }
+
+        @Override
+        int getLength(Object array) {
+            return ((long[]) array).length;
+        }
+
+        @Override
+        Object get(Object array, int index) {
+            return ((long[]) array)[index];
+        }
+
+        @Override
+        void set(Object array, int index, Object value) {
+            ((long[]) array)[index] = Primitives.toLong(checkNotNull(value), this);
+        }
+
+        @Override
+        Object newInstance(int length) {
+            return new long[length];
+        }
+
+        @Override
+        Object copyOf(Object array, int length) {
+            return Arrays.copyOf((long[]) array, length);
+        }
+
+        @Override
+        long getLong(Object array, int index) {
+            return ((long[]) array)[index];
+        }
+
+        @Override
+        double getDouble(Object array, int index) {
+            return ((long[]) array)[index];
+        }
+
+        @Override
+        void setInt(Object array, int index, int value) {
+            ((long[]) array)[index] = value;
+        }
+
+        @Override
+        void setLong(Object array, int index, long value) {
+            ((long[]) array)[index] = value;
+        }
+    }
+
+    /*
+     * Accessor of the double[] arrays.
+     */
+    private static final class DoubleArrayAccessor extends ArrayAccessor {
+
+        DoubleArrayAccessor() {
+            super(double[].class);
+        }
+
+        @Override
+        int getLength(Object array) {
+            return ((double[]) array).length;
+        }
+
+        @Override
+        Object get(Object array, int index) {
+            return ((double[]) array)[index];
+        }
+
+        @Override
+        void set(Object array, int index, Object value) {
+            ((double[]) array)[index] = Primitives.toDouble(checkNotNull(value), this);
+        }
+
+        @Override
+        Object newInstance(int length) {
+            return new double[length];
+        }
+
+        @Override
+        Object copyOf(Object array, int length) {
+            return Arrays.copyOf((double[]) array, length);
+        }
+
+        @Override
+        double getDouble(Object array, int index) {
+            return ((double[]) array)[index];
+        }
+
+        @Override
+        void setInt(Object array, int index, int value) {
+            ((double[]) array)[index] = value;
+        }
+
+        @Override
+        void setLong(Object array, int index, long value) {
+            ((double[]) array)[index] = value;
+        }
+
+        @Override
+        void setDouble(Object array, int index, double value) {
+            ((double[]) array)[index] = value;
+        }
+    }
+
+    /*
+     * Accessor of the float[] arrays.
+     */
+    private static final class FloatArrayAccessor extends ArrayAccessor {
+
+        FloatArrayAccessor() {
+            super(float[].class);
+        }
+
+        @Override
+        int getLength(Object array) {
+            return ((float[]) array).length;
+        }
+
+        @Override
+        Object get(Object array, int index) {
+            return ((float[]) array)[index];
+        }
+
+        @Override
+        void set(Object array, int index, Object value) {
+            ((float[]) array)[index] = Primitives.toFloat(checkNotNull(value), this);
+        }
+
+        @Override
+        Object newInstance(int length) {
+            return new float[length];
+        }
+
+        @Override
+        Object copyOf(Object array, int length) {
+            return Arrays.copyOf((float[]) array, length);
+        }
+
+        @Override
+        double getDouble(Object array, int index) {
+            return ((float[]) array)[index];
+        }
+
+        @Override
+        void setInt(Object array, int index, int value) {
+            ((float[]) array)[index] = value;
+        }
+
+        @Override
+        void setLong(Object array, int index, long value) {
+            ((float[]) array)[index] = value;
+        }
+    }
+
+    /*
+     * Accessor of the short[] arrays.
+     */
+    private static final class ShortArrayAccessor extends ArrayAccessor {
+
+        ShortArrayAccessor() {
+            super(short[].class);
+        }
+
+        @Override
+        int getLength(Object array) {
+            return ((short[]) array).length;
+        }
+
+        @Override
+        Object get(Object array, int index) {
+            return ((short[]) array)[index];
+        }
+
+        @Override
+        void set(Object array, int index, Object value) {
+            ((short[]) array)[index] = Primitives.toShort(checkNotNull(value), this);
+        }
+
+        @Override
+        Object newInstance(int length) {
+            return new short[length];
+        }
+
+        @Override
+        Object copyOf(Object array, int length) {
+            return Arrays.copyOf((short[]) array, length);
+        }
+
+        @Override
+        int getInt(Object array, int index) {
+            return ((short[]) array)[index];
+        }
+
+        @Override
+        long getLong(Object array, int index) {
+            return ((short[]) array)[index];
+        }
+
+        @Override
+        double getDouble(Object array, int index) {
+            return ((short[]) array)[index];
+        }
+    }
+
+    /*
+     * Accessor of the byte[] arrays.
+     */
+    private static final class ByteArrayAccessor extends ArrayAccessor {
+
+        ByteArrayAccessor() {
+            super(byte[].class);
+        }
+
+        @Override
+        int getLength(Object array) {
+            return ((byte[]) array).length;
+        }
+
+        @Override
+        Object get(Object array, int index) {
+            return ((byte[]) array)[index];
+        }
+
+        @Override
+        void set(Object array, int index, Object value) {
+            ((byte[]) array)[index] = Primitives.toByte(checkNotNull(value), this);
+        }
+
+        @Override
+        Object newInstance(int length) {
+            return new byte[length];
+        }
+
+        @Override
+        Object copyOf(Object array, int length) {
+            return Arrays.copyOf((byte[]) array, length);
+        }
+
+        @Override
+        int getInt(Object array, int index) {
+            return ((byte[]) array)[index];
+        }
+
+        @Override
+        long getLong(Object array, int index) {
+            return ((byte[]) array)[index];
+        }
+
+        @Override
+        double getDouble(Object array, int index) {
+            return ((byte[]) array)[index];
+        }
+    }
+
+    /*
+     * Accessor of the char[] arrays.
+     */
+    private static final class CharArrayAccessor extends ArrayAccessor {
+
+        CharArrayAccessor() {
+            super(char[].class);
+        }
+
+        @Override
+        int getLength(Object array) {
+            return ((char[]) array).length;
+        }
+
+        @Override
+        Object get(Object array, int index) {
+            return ((char[]) array)[index];
+        }
+
+        @Override
+        void set(Object array, int index, Object value) {
+            ((char[]) array)[index] = Primitives.toChar(checkNotNull(value), this);
+        }
+
+        @Override
+        Object newInstance(int length) {
+            return new char[length];
+        }
+
+        @Override
+        Object copyOf(Object array, int length) {
+            return Arrays.copyOf((char[]) array, length);
+        }
+
+        @Override
+        int getInt(Object array, int index) {
+            return ((char[]) array)[index];
+        }
+
+        @Override
+        long getLong(Object array, int index) {
+            return ((char[]) array)[index];
+        }
+
+        @Override
+        double getDouble(Object array, int index) {
+            return ((char[]) array)[index];
+        }
+    }
+
+    /*
+     * Accessor of the boolean[] arrays.
+     */
+    private static final class BooleanArrayAccessor extends ArrayAccessor {
+
+        BooleanArrayAccessor() {
+            super(boolean[].class);
+        }
+
+        @Override
+        int getLength(Object array) {
+            return ((boolean[]) array).length;
+        }
+
+        @Override
+        Object get(Object array, int index) {
+            return ((boolean[]) array)[index];
+        }
+
+        @Override
+        void set(Object array, int index, Object value) {
+            ((boolean[]) array)[index] = Primitives.toBoolean(checkNotNull(value), this);
+        }
+
+        @Override
+        Object newInstance(int length) {
+            return new boolean[length];
+        }
+
+        @Override
+        Object copyOf(Object array, int length) {
+            return Arrays.copyOf((boolean[]) array, length);
+        }
+
+        @Override
+        boolean getBoolean(Object array, int index) {
+            return ((boolean[]) array)[index];
+        }
+
+        @Override
+        void setBoolean(Object array, int index, boolean value) {
+            ((boolean[]) array)[index] = value;
+        }
+    }
+
+    /*
+     * Accessor of the arrays of any not primitive type (ex: String[]).
+     */
+    private static final class ObjectArrayAccessor extends ArrayAccessor {
+
+        ObjectArrayAccessor(Class<?> type) {
+            super(type);
+        }
+
+        @Override
+        int getLength(Object array) {
+            return ((Object[]) array).length;
+        }
+
+        @Override
+        Object get(Object array, int index) {
+            return ((Object[]) array)[index];
+        }
+
+        @Override
+        void set(Object array, int index, Object value) {
+            try {
+                ((Object[]) array)[index] = value;
+            } catch (ArrayStoreException e) {
+                throw new IllegalArgumentException("Cannot set a " + value.getClass().getSimpleName()
+                        + " element into an array of type " + array.getClass().getSimpleName() + ".");
+            }
+        }
+
+        @Override
+        Object newInstance(int length) {
+            return Array.newInstance(type.getComponentType(), length);
+        }
+
+        @Override
+        Object copyOf(Object array, int length) {
+            return Arrays.copyOf((Object[]) array, length);// keeps the runtime type
+        }
+    }
+}
@@ -0,0 +1,626 @@
+/*
+ * Copyright 2015 Fabio Piro (minimalcode.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.minimalcode.beans;
+
+import org.minimalcode.reflect.Property;
+import org.minimalcode.reflect.ReflectionException;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Stateless, thread-safe facade of the {@link ObjectWrapper} operations, taking the object
+ * and the {@link WrapperOptions} as parameters of each call, instead of wrapping them.
+ *
+ * <p> A single instance can be shared by all the threads, without any synchronization and
+ * without allocating a wrapper per object, as in the following example:
+ * <pre>
+ * private static final WrapperOptions OPTIONS = WrapperOptions.DEFAULT.withOutOfBoundsSafety(false);
+ * private static final PropertyPath PATH = ObjectWrapper.compile("order.items[0].price");
+ *
+ * double price = BeanAccessor.getInstance().getPathDouble(invoice, PATH, OPTIONS);
+ * </pre>
+ *
+ * <p> As it does not keep any state between two calls, the accessor never caches the position
+ * of the last indexed read ({@link WrapperOptions#isIteratorCaching()} is ignored), and never
+ * remembers the arrays grown by a not exact {@link GrowthPolicy}, which are then left untrimmed.
+ * An {@link ObjectWrapper} is required for both.
+ *
+ * <p> The objects themselves are not synchronized: two threads cannot write (or write and read)
+ * the same object concurrently, unless it is thread-safe.
+ *
+ * @author Fabio Piro
+ * @see ObjectWrapper
+ * @see WrapperOptions
+ */
+public final class BeanAccessor {
+
+    private static final BeanAccessor INSTANCE = new BeanAccessor();
+
+    private BeanAccessor() {
+        // shared only
+    }
+
+    /**
+     * Returns the shared accessor.
+     *
+     * @return the shared, thread-safe accessor
+     */
+    public static BeanAccessor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the value of the simple, indexed or mapped property located by the given pattern in the given object.
+     *
+     * @param obj             the object whose property value is to be extracted, cannot be {@code null}
+     * @param propertyPattern the pattern of the property, cannot be {@code null}
+     * @param options         the options of the traversal, cannot be {@code null}
+     * @return the property value
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if any parameter is {@code null}, or the pattern is not valid
+     * @throws NullPointerException      if a nested property is {@code null}, or not found
+     * @throws IndexOutOfBoundsException if an index is out of bounds and the out of bounds safety is disabled
+     * @see ObjectWrapper#getValue(String)
+     */
+    public Object getValue(Object obj, String propertyPattern, WrapperOptions options) {
+        checkArguments(obj, options);
+        return ObjectWrapper.getValue(obj, propertyPattern, options, null);
+    }
+
+    /**
+     * Returns the value of the property located by the given compiled path in the given object.
+     *
+     * @param obj          the object whose property value is to be extracted, cannot be {@code null}
+     * @param propertyPath the compiled path of the property, cannot be {@code null}
+     * @param options      the options of the traversal, cannot be {@code null}
+     * @return the property value
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if any parameter is {@code null}
+     * @throws NullPointerException      if a nested property is {@code null}, or not found
+     * @throws IndexOutOfBoundsException if an index is out of bounds and the out of bounds safety is disabled
+     * @see ObjectWrapper#getPathValue(PropertyPath)
+     */
+    public Object getPathValue(Object obj, PropertyPath propertyPath, WrapperOptions options) {
+        checkArguments(obj, options);
+        return ObjectWrapper.getValue(obj, propertyPath, options, null);
+    }
+
+    /**
+     * Returns a lazy iterator of the values located by the given pattern, with "[*]" wildcards, in the given object.
+     *
+     * @param obj             the object whose property values are to be iterated, cannot be {@code null}
+     * @param propertyPattern the pattern of the properties, cannot be {@code null}
+     * @param options         the options of the traversal, cannot be {@code null}
+     * @return the lazy iterator of the values, not supporting {@link Iterator#remove()}
+     * @throws ReflectionException      if a reflection error occurs, also while iterating
+     * @throws IllegalArgumentException if any parameter is {@code null}
+     * @throws IllegalArgumentException if a wildcard property, while iterating, is not an array, Iterable or Map
+     * @throws NullPointerException     if a nested property or wildcard property, while iterating, is {@code null}
+     * @see ObjectWrapper#iterateValues(String)
+     */
+    public Iterator<Object> iterateValues(Object obj, String propertyPattern, WrapperOptions options) {
+        checkArguments(obj, options);
+        return new PathIterator(obj, ObjectWrapper.compileGetPattern(propertyPattern), options);
+    }
+
+    /**
+     * Returns a lazy iterator of the values located by the given compiled path, with "[*]" wildcards,
+     * in the given object.
+     *
+     * @param obj          the object whose property values are to be iterated, cannot be {@code null}
+     * @param propertyPath the compiled path of the properties, cannot be {@code null}
+     * @param options      the options of the traversal, cannot be {@code null}
+     * @return the lazy iterator of the values, not supporting {@link Iterator#remove()}
+     * @throws ReflectionException      if a reflection error occurs, also while iterating
+     * @throws IllegalArgumentException if any parameter is {@code null}
+     * @throws IllegalArgumentException if a wildcard property, while iterating, is not an array, Iterable or Map
+     * @throws NullPointerException     if a nested property or wildcard property, while iterating, is {@code null}
+     * @see ObjectWrapper#iteratePathValues(PropertyPath)
+     */
+    public Iterator<Object> iteratePathValues(Object obj, PropertyPath propertyPath, WrapperOptions options) {
+        checkArguments(obj, options);
+        return new PathIterator(obj, ObjectWrapper.checkGetPath(propertyPath), options);
+    }
+
+    /**
+     * Returns the value of the given simple property of the given object.
+     *
+     * @param obj      the object whose property value is to be extracted, cannot be {@code null}
+     * @param property the simple property, cannot be {@code null}
+     * @return the property value
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if any parameter is {@code null}
+     * @see ObjectWrapper#getSimpleValue(Property)
+     */
+    public Object getSimpleValue(Object obj, Property property) {
+        checkObject(obj);
+        return ObjectWrapper.getSimpleValue(obj, property);
+    }
+
+    /**
+     * Returns the element at the given index of the given indexed property of the given object.
+     *
+     * @param obj      the object whose property value is to be extracted, cannot be {@code null}
+     * @param property the indexed property, cannot be {@code null}
+     * @param index    the index of the element
+     * @param options  the options of the traversal, cannot be {@code null}
+     * @return the indexed property value
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if any parameter is {@code null}, or the property is not indexed
+     * @throws NullPointerException      if the indexed property is {@code null}
+     * @throws IndexOutOfBoundsException if the index is out of bounds and the out of bounds safety is disabled
+     * @see ObjectWrapper#getIndexedValue(Property, int)
+     */
+    public Object getIndexedValue(Object obj, Property property, int index, WrapperOptions options) {
+        checkArguments(obj, options);
+        return ObjectWrapper.getIndexedValue(obj, property, index, options, null);
+    }
+
+    /**
+     * Returns the value mapped to the given key by the given mapped property of the given object.
+     *
+     * @param obj      the object whose property value is to be extracted, cannot be {@code null}
+     * @param property the mapped property, cannot be {@code null}
+     * @param key      the key of the value, can be {@code null}
+     * @return the mapped property value
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if any parameter is {@code null}, or the property is not a {@link java.util.Map}
+     * @throws NullPointerException     if the mapped property is {@code null}
+     * @see ObjectWrapper#getMappedValue(Property, Object)
+     */
+    public Object getMappedValue(Object obj, Property property, Object key) {
+        checkObject(obj);
+        return ObjectWrapper.getMappedValue(obj, property, key);
+    }
+
+    /**
+     * Sets the value of the simple, indexed or mapped property located by the given pattern in the given object.
+     *
+     * @param obj             the object whose property value is to be updated, cannot be {@code null}
+     * @param propertyPattern the pattern of the property, cannot be {@code null}
+     * @param value           the value to set, can be {@code null}
+     * @param options         the options of the traversal, cannot be {@code null}
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if any parameter is {@code null}, or the pattern is not valid
+     * @throws NullPointerException      if a nested property is {@code null} and the auto-instancing is disabled
+     * @throws IndexOutOfBoundsException if an index is out of bounds and the auto-growing is disabled
+     * @see ObjectWrapper#setValue(String, Object)
+     */
+    public void setValue(Object obj, String propertyPattern, Object value, WrapperOptions options) {
+        checkArguments(obj, options);
+        ObjectWrapper.setValue(obj, propertyPattern, value, options, null);
+    }
+
+    /**
+     * Sets the value of the property located by the given compiled path in the given object.
+     *
+     * @param obj          the object whose property value is to be updated, cannot be {@code null}
+     * @param propertyPath the compiled path of the property, cannot be {@code null}
+     * @param value        the value to set, can be {@code null}
+     * @param options      the options of the traversal, cannot be {@code null}
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if any parameter is {@code null}
+     * @throws NullPointerException      if a nested property is {@code null} and the auto-instancing is disabled
+     * @throws IndexOutOfBoundsException if an index is out of bounds and the auto-growing is disabled
+     * @see ObjectWrapper#setPathValue(PropertyPath, Object)
+     */
+    public void setPathValue(Object obj, PropertyPath propertyPath, Object value, WrapperOptions options) {
+        checkArguments(obj, options);
+        ObjectWrapper.setValue(obj, propertyPath, value, options, null);
+    }
+
+    /**
+     * Sets the value of the given simple property of the given object.
+     *
+     * @param obj      the object whose property value is to be updated, cannot be {@code null}
+     * @param property the simple property, cannot be {@code null}
+     * @param value    the value to set, can be {@code null}
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if the obj or property parameter is {@code null}
+     * @see ObjectWrapper#setSimpleValue(Property, Object)
+     */
+    public void setSimpleValue(Object obj, Property property, Object value) {
+        checkObject(obj);
+        ObjectWrapper.setSimpleValue(obj, property, value);
+    }
+
+    /**
+     * Sets the element at the given index of the given indexed property of the given object.
+     *
+     * @param obj      the object whose property value is to be updated, cannot be {@code null}
+     * @param property the indexed property, cannot be {@code null}
+     * @param index    the index of the element
+     * @param value    the value to set, can be {@code null}
+     * @param options  the options of the traversal, cannot be {@code null}
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the obj, property or options parameter is {@code null}, or the property is not indexed
+     * @throws NullPointerException      if the indexed property is {@code null} and the auto-instancing is disabled
+     * @throws IndexOutOfBoundsException if the index is out of bounds and the auto-growing is disabled
+     * @see ObjectWrapper#setIndexedValue(Property, int, Object)
+     */
+    public void setIndexedValue(Object obj, Property property, int index, Object value, WrapperOptions options) {
+        checkArguments(obj, options);
+        ObjectWrapper.setIndexedValue(obj, property, index, value, options, null);
+    }
+
+    /**
+     * Sets the value mapped to the given key by the given mapped property of the given object.
+     *
+     * @param obj      the object whose property value is to be updated, cannot be {@code null}
+     * @param property the mapped property, cannot be {@code null}
+     * @param key      the key of the value, can be {@code null}
+     * @param value    the value to set, can be {@code null}
+     * @param options  the options of the traversal, cannot be {@code null}
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if the obj, property or options parameter is {@code null}, or the property is not a {@link java.util.Map}
+     * @throws NullPointerException     if the mapped property is {@code null} and the auto-instancing is disabled
+     * @see ObjectWrapper#setMappedValue(Property, Object, Object)
+     */
+    public void setMappedValue(Object obj, Property property, Object key, Object value, WrapperOptions options) {
+        checkArguments(obj, options);
+        ObjectWrapper.setMappedValue(obj, property, key, value, options, null);
+    }
+
+    /**
+     * Reads all the paths of the given set from the given object, in a single traversal, into the
+     * given array: the value of each path is stored at its position in the set.
+     *
+     * @param obj     the object whose property values are to be extracted, cannot be {@code null}
+     * @param pathSet the compiled path set, cannot be {@code null}
+     * @param results the array receiving the values, at least as long as the set size
+     * @param options the options of the traversal, cannot be {@code null}
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if any parameter is {@code null}, or the results array is too short
+     * @throws NullPointerException      if a nested property is {@code null}, or not found
+     * @throws IndexOutOfBoundsException if an index is out of bounds and the out of bounds safety is disabled
+     * @see ObjectWrapper#getValues(PathSet, Object[])
+     */
+    public void getValues(Object obj, PathSet pathSet, Object[] results, WrapperOptions options) {
+        checkArguments(obj, options);
+        ObjectWrapper.checkPathSet(pathSet).getValues(obj, results, options, null);
+    }
+
+    /**
+     * Sets all the paths of the given set in the given object, in a single traversal, from the
+     * given array: the value of each path is taken from its position in the set.
+     *
+     * @param obj     the object whose property values are to be set, cannot be {@code null}
+     * @param pathSet the compiled path set, cannot be {@code null}
+     * @param values  the values to set, at least as long as the set size
+     * @param options the options of the traversal, cannot be {@code null}
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if any parameter is {@code null}, or the values array is too short
+     * @throws NullPointerException      if a nested property is {@code null} and the auto-instancing is disabled
+     * @throws IndexOutOfBoundsException if an index is out of bounds and the auto-growing is disabled
+     * @see ObjectWrapper#setValues(PathSet, Object[])
+     */
+    public void setValues(Object obj, PathSet pathSet, Object[] values, WrapperOptions options) {
+        checkArguments(obj, options);
+        ObjectWrapper.checkPathSet(pathSet).setValues(obj, values, options, null);
+    }
+
+    /**
+     * Returns the values of all the readable properties of the given object, by property name.
+     *
+     * @param obj the object to describe, cannot be {@code null}
+     * @return a new, modifiable map of the property values
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if the obj parameter is {@code null}
+     * @see ObjectWrapper#describe()
+     */
+    public Map<String, Object> describe(Object obj) {
+        checkObject(obj);
+        return BeanMapper.forClass(obj.getClass()).describe(obj);
+    }
+
+    /**
+     * Sets each value of the given map to the property located by its key in the given object,
+     * in the sorted order of the keys, resolving the nested objects shared by the keys only once.
+     *
+     * @param obj     the object to populate, cannot be {@code null}
+     * @param values  the values to set, by property pattern, cannot be {@code null}
+     * @param options the options of the traversal, cannot be {@code null}
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if any parameter, or any key of the values, is {@code null}
+     * @throws NullPointerException      if a nested property is {@code null} and the auto-instancing is disabled
+     * @throws IndexOutOfBoundsException if an index is out of bounds and the auto-growing is disabled
+     * @see ObjectWrapper#populate(Map)
+     */
+    public void populate(Object obj, Map<String, ?> values, WrapperOptions options) {
+        checkArguments(obj, options);
+        BeanMapper.populate(obj, values, options, null);
+    }
+
+    /**
+     * Returns the int value of the property located by the given pattern in the given object,
+     * without boxing it if the property is an int or an array of int.
+     *
+     * @param obj             the object whose property value is to be extracted, cannot be {@code null}
+     * @param propertyPattern the pattern of the property, cannot be {@code null}
+     * @param options         the options of the traversal, cannot be {@code null}
+     * @return the int property value
+     * @throws IllegalArgumentException if the value cannot be widened to an int, or any parameter is {@code null}
+     * @throws NullPointerException     if a nested property or the value is {@code null}
+     * @see ObjectWrapper#getInt(String)
+     */
+    public int getInt(Object obj, String propertyPattern, WrapperOptions options) {
+        checkArguments(obj, options);
+        return ObjectWrapper.getInt(obj, propertyPattern, options, null);
+    }
+
+    /**
+     * Returns the int value of the property located by the given compiled path in the given object.
+     *
+     * @param obj          the object whose property value is to be extracted, cannot be {@code null}
+     * @param propertyPath the compiled path of the property, cannot be {@code null}
+     * @param options      the options of the traversal, cannot be {@code null}
+     * @return the int property value
+     * @throws IllegalArgumentException if the value cannot be widened to an int, or any parameter is {@code null}
+     * @throws NullPointerException     if a nested property or the value is {@code null}
+     * @see ObjectWrapper#getPathInt(PropertyPath)
+     */
+    public int getPathInt(Object obj, PropertyPath propertyPath, WrapperOptions options) {
+        checkArguments(obj, options);
+        return ObjectWrapper.getInt(obj, propertyPath, options, null);
+    }
+
+    /**
+     * Sets the int value of the property located by the given pattern in the given object,
+     * without boxing it if the property is an int or an array of int.
+     *
+     * @param obj             the object whose property value is to be updated, cannot be {@code null}
+     * @param propertyPattern the pattern of the property, cannot be {@code null}
+     * @param value           the value to set
+     * @param options         the options of the traversal, cannot be {@code null}
+     * @throws IllegalArgumentException if the value cannot be widened to the property type, or any parameter is {@code null}
+     * @throws NullPointerException     if a nested property is {@code null} and the auto-instancing is disabled
+     * @see ObjectWrapper#setInt(String, int)
+     */
+    public void setInt(Object obj, String propertyPattern, int value, WrapperOptions options) {
+        checkArguments(obj, options);
+        ObjectWrapper.setInt(obj, propertyPattern, value, options, null);
+    }
+
+    /**
+     * Sets the int value of the property located by the given compiled path in the given object.
+     *
+     * @param obj          the object whose property value is to be updated, cannot be {@code null}
+     * @param propertyPath the compiled path of the property, cannot be {@code null}
+     * @param value        the value to set
+     * @param options      the options of the traversal, cannot be {@code null}
+     * @throws IllegalArgumentException if the value cannot be widened to the property type, or any parameter is {@code null}
+     * @throws NullPointerException     if a nested property is {@code null} and the auto-instancing is disabled
+     * @see ObjectWrapper#setPathInt(PropertyPath, int)
+     */
+    public void setPathInt(Object obj, PropertyPath propertyPath, int value, WrapperOptions options) {
+        checkArguments(obj, options);
+        ObjectWrapper.setInt(obj, propertyPath, value, options, null);
+    }
+
+    /**
+     * Returns the long value of the property located by the given pattern in the given object,
+     * without boxing it if the property is a long or an array of long.
+     *
+     * @param obj             the object whose property value is to be extracted, cannot be {@code null}
+     * @param propertyPattern the pattern of the property, cannot be {@code null}
+     * @param options         the options of the traversal, cannot be {@code null}
+     * @return the long property value
+     * @throws IllegalArgumentException if the value cannot be widened to a long, or any parameter is {@code null}
+     * @throws NullPointerException     if a nested property or the value is {@code null}
+     * @see ObjectWrapper#getLong(String)
+     */
+    public long getLong(Object obj, String propertyPattern, WrapperOptions options) {
+        checkArguments(obj, options);
+        return ObjectWrapper.getLong(obj, propertyPattern, options, null);
+    }
+
+    /**
+     * Returns the long value of the property located by the given compiled path in the given object.
+     *
+     * @param obj          the object whose property value is to be extracted, cannot be {@code null}
+     * @param propertyPath the compiled path of the property, cannot be {@code null}
+     * @param options      the options of the traversal, cannot be {@code null}
+     * @return the long property value
+     * @throws IllegalArgumentException if the value cannot be widened to a long, or any parameter is {@code null}
+     * @throws NullPointerException     if a nested property or the value is {@code null}
+     * @see ObjectWrapper#getPathLong(PropertyPath)
+     */
+    public long getPathLong(Object obj, PropertyPath propertyPath, WrapperOptions options) {
+        checkArguments(obj, options);
+        return ObjectWrapper.getLong(obj, propertyPath, options, null);
+    }
+
+    /**
+     * Sets the long value of the property located by the given pattern in the given object,
+     * without boxing it if the property is a long or an array of long.
+     *
+     * @param obj             the object whose property value is to be updated, cannot be {@code null}
+     * @param propertyPattern the pattern of the property, cannot be {@code null}
+     * @param value           the value to set
+     * @param options         the options of the traversal, cannot be {@code null}
+     * @throws IllegalArgumentException if the value cannot be widened to the property type, or any parameter is {@code null}
+     * @throws NullPointerException     if a nested property is {@code null} and the auto-instancing is disabled
+     * @see ObjectWrapper#setLong(String, long)
+     */
+    public void setLong(Object obj, String propertyPattern, long value, WrapperOptions options) {
+        checkArguments(obj, options);
+        ObjectWrapper.setLong(obj, propertyPattern, value, options, null);
+    }
+
+    /**
+     * Sets the long value of the property located by the given compiled path in the given object.
+     *
+     * @param obj          the object whose property value is to be updated, cannot be {@code null}
+     * @param propertyPath the compiled path of the property, cannot be {@code null}
+     * @param value        the value to set
+     * @param options      the options of the traversal, cannot be {@code null}
+     * @throws IllegalArgumentException if the value cannot be widened to the property type, or any parameter is {@code null}
+     * @throws NullPointerException     if a nested property is {@code null} and the auto-instancing is disabled
+     * @see ObjectWrapper#setPathLong(PropertyPath, long)
+     */
+    public void setPathLong(Object obj, PropertyPath propertyPath, long value, WrapperOptions options) {
+        checkArguments(obj, options);
+        ObjectWrapper.setLong(obj, propertyPath, value, options, null);
+    }
+
+    /**
+     * Returns the double value of the property located by the given pattern in the given object,
+     * without boxing it if the property is a double or an array of double.
+     *
+     * @param obj             the object whose property value is to be extracted, cannot be {@code null}
+     * @param propertyPattern the pattern of the property, cannot be {@code null}
+     * @param options         the options of the traversal, cannot be {@code null}
+     * @return the double property value
+     * @throws IllegalArgumentException if the value cannot be widened to a double, or any parameter is {@code null}
+     * @throws NullPointerException     if a nested property or the value is {@code null}
+     * @see ObjectWrapper#getDouble(String)
+     */
+    public double getDouble(Object obj, String propertyPattern, WrapperOptions options) {
+        checkArguments(obj, options);
+        return ObjectWrapper.getDouble(obj, propertyPattern, options, null);
+    }
+
+    /**
+     * Returns the double value of the property located by the given compiled path in the given object.
+     *
+     * @param obj          the object whose property value is to be extracted, cannot be {@code null}
+     * @param propertyPath the compiled path of the property, cannot be {@code null}
+     * @param options      the options of the traversal, cannot be {@code null}
+     * @return the double property value
+     * @throws IllegalArgumentException if the value cannot be widened to a double, or any parameter is {@code null}
+     * @throws NullPointerException     if a nested property or the value is {@code null}
+     * @see ObjectWrapper#getPathDouble(PropertyPath)
+     */
+    public double getPathDouble(Object obj, PropertyPath propertyPath, WrapperOptions options) {
+        checkArguments(obj, options);
+        return ObjectWrapper.getDouble(obj, propertyPath, options, null);
+    }
+
+    /**
+     * Sets the double value of the property located by the given pattern in the given object,
+     * without boxing it if the property is a double or an array of double.
+     *
+     * @param obj             the object whose property value is to be updated, cannot be {@code null}
+     * @param propertyPattern the pattern of the property, cannot be {@code null}
+     * @param value           the value to set
+     * @param options         the options of the traversal, cannot be {@code null}
+     * @throws IllegalArgumentException if the value cannot be widened to the property type, or any parameter is {@code null}
+     * @throws NullPointerException     if a nested property is {@code null} and the auto-instancing is disabled
+     * @see ObjectWrapper#setDouble(String, double)
+     */
+    public void setDouble(Object obj, String propertyPattern, double value, WrapperOptions options) {
+        checkArguments(obj, options);
+        ObjectWrapper.setDouble(obj, propertyPattern, value, options, null);
+    }
+
+    /**
+     * Sets the double value of the property located by the given compiled path in the given object.
+     *
+     * @param obj          the object whose property value is to be updated, cannot be {@code null}
+     * @param propertyPath the compiled path of the property, cannot be {@code null}
+     * @param value        the value to set
+     * @param options      the options of the traversal, cannot be {@code null}
+     * @throws IllegalArgumentException if the value cannot be widened to the property type, or any parameter is {@code null}
+     * @throws NullPointerException     if a nested property is {@code null} and the auto-instancing is disabled
+     * @see ObjectWrapper#setPathDouble(PropertyPath, double)
+     */
+    public void setPathDouble(Object obj, PropertyPath propertyPath, double value, WrapperOptions options) {
+        checkArguments(obj, options);
+        ObjectWrapper.setDouble(obj, propertyPath, value, options, null);
+    }
+
+    /**
+     * Returns the boolean value of the property located by the given pattern in the given object,
+     * without boxing it if the property is a boolean or an array of boolean.
+     *
+     * @param obj             the object whose property value is to be extracted, cannot be {@code null}
+     * @param propertyPattern the pattern of the property, cannot be {@code null}
+     * @param options         the options of the traversal, cannot be {@code null}
+     * @return the boolean property value
+     * @throws IllegalArgumentException if the value cannot be widened to a boolean, or any parameter is {@code null}
+     * @throws NullPointerException     if a nested property or the value is {@code null}
+     * @see ObjectWrapper#getBoolean(String)
+     */
+    public boolean getBoolean(Object obj, String propertyPattern, WrapperOptions options) {
+        checkArguments(obj, options);
+        return ObjectWrapper.getBoolean(obj, propertyPattern, options, null);
+    }
+
+    /**
+     * Returns the boolean value of the property located by the given compiled path in the given object.
+     *
+     * @param obj          the object whose property value is to be extracted, cannot be {@code null}
+     * @param propertyPath the compiled path of the property, cannot be {@code null}
+     * @param options      the options of the traversal, cannot be {@code null}
+     * @return the boolean property value
+     * @throws IllegalArgumentException if the value cannot be widened to a boolean, or any parameter is {@code null}
+     * @throws NullPointerException     if a nested property or the value is {@code null}
+     * @see ObjectWrapper#getPathBoolean(PropertyPath)
+     */
+    public boolean getPathBoolean(Object obj, PropertyPath propertyPath, WrapperOptions options) {
+        checkArguments(obj, options);
+        return ObjectWrapper.getBoolean(obj, propertyPath, options, null);
+    }
+
+    /**
+     * Sets the boolean value of the property located by the given pattern in the given object,
+     * without boxing it if the property is a boolean or an array of boolean.
+     *
+     * @param obj             the object whose property value is to be updated, cannot be {@code null}
+     * @param propertyPattern the pattern of the property, cannot be {@code null}
+     * @param value           the value to set
+     * @param options         the options of the traversal, cannot be {@code null}
+     * @throws IllegalArgumentException if the value cannot be widened to the property type, or any parameter is {@code null}
+     * @throws NullPointerException     if a nested property is {@code null} and the auto-instancing is disabled
+     * @see ObjectWrapper#setBoolean(String, boolean)
+     */
+    public void setBoolean(Object obj, String propertyPattern, boolean value, WrapperOptions options) {
+        checkArguments(obj, options);
+        ObjectWrapper.setBoolean(obj, propertyPattern, value, options, null);
+    }
+
+    /**
+     * Sets the boolean value of the property located by the given compiled path in the given object.
+     *
+     * @param obj          the object whose property value is to be updated, cannot be {@code null}
+     * @param propertyPath the compiled path of the property, cannot be {@code null}
+     * @param value        the value to set
+     * @param options      the options of the traversal, cannot be {@code null}
+     * @throws IllegalArgumentException if the value cannot be widened to the property type, or any parameter is {@code null}
+     * @throws NullPointerException     if a nested property is {@code null} and the auto-instancing is disabled
+     * @see ObjectWrapper#setPathBoolean(PropertyPath, boolean)
+     */
+    public void setPathBoolean(Object obj, PropertyPath propertyPath, boolean value, WrapperOptions options) {
+        checkArguments(obj, options);
+        ObjectWrapper.setBoolean(obj, propertyPath, value, options, null);
+    }
+
+    private static void checkObject(Object obj) {
+        if (obj == null) {
+            throw new IllegalArgumentException("Cannot access the properties of a 'null' object.");
+        }
+    }
+
+    private static void checkArguments(Object obj, WrapperOptions options) {
+        checkObject(obj);
+
+        if (options == null) {
+            throw new IllegalArgumentException("Cannot access the properties of " + obj.getClass().getName()
+                    + " with 'null' options.");
+        }
+    }
+}
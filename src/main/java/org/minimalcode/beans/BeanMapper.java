@@ -0,0 +1,205 @@
+/*
+ * Copyright 2015 Fabio Piro (minimalcode.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.minimalcode.beans;
+
+import org.minimalcode.reflect.Bean;
+import org.minimalcode.reflect.Property;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Internal: Conversions between a bean and a {@link Map} of its property values.
+ *
+ * <p> The readable properties of each class are resolved once, and each description
+ * reads them through their cached accessors into a pre-sized map. The population compiles
+ * the keys into a {@link PathSet}, so that the paths sharing a prefix (ex: "address.city"
+ * and "address.zip") are applied together and their common nested objects are resolved
+ * (or auto-instanced) once. The compiled set is cached per class and per set of keys, hence
+ * the repeated populations from maps with the same keys are not compiled (and sorted) again.
+ *
+ * @author Fabio Piro
+ * @see ObjectWrapper#describe()
+ * @see ObjectWrapper#populate(Map)
+ * @see GraphWalker
+ */
+final class BeanMapper {
+
+    // Maximum number of cached populations per class, then the ones not requested recently are evicted
+    static final int POPULATIONS_CAPACITY = 64;
+
+    private static final ConcurrentMap<Class<?>, BeanMapper> MAPPERS = new ConcurrentHashMap<Class<?>, BeanMapper>();
+
+    private final String[] names;
+    private final PropertyAccessor[] readers;
+    private final int mapCapacity;
+    private final BoundedCache<Set<String>, Population> populations =
+            new BoundedCache<Set<String>, Population>(POPULATIONS_CAPACITY);
+
+    private BeanMapper(Bean<?> bean) {
+        List<Property> readables = new ArrayList<Property>();
+
+        for (Property property : bean.getProperties()) {
+            if (PropertyAccessor.isReadable(property)) {
+                readables.add(property);
+            }
+        }
+
+        this.names = new String[readables.size()];
+        this.readers = new PropertyAccessor[readables.size()];
+        this.mapCapacity = (int) (readables.size() / 0.75f) + 1;
+
+        for (int i = 0; i < names.length; i++) {
+            names[i] = readables.get(i).getName();
+            readers[i] = PropertyAccessor.forProperty(readables.get(i));
+        }
+    }
+
+    /**
+     * Returns the shared mapper of the given class, creating it at the first request.
+     *
+     * @param type the class to map, cannot be {@code null}
+     * @return the mapper of the class
+     */
+    static BeanMapper forClass(Class<?> type) {
+        BeanMapper mapper = MAPPERS.get(type);
+
+        if (mapper == null) {
+            mapper = new BeanMapper(Bean.forClass(type));
+            BeanMapper previous = MAPPERS.putIfAbsent(type, mapper);
+
+            if (previous != null) {
+                mapper = previous;
+            }
+        }
+
+        return mapper;
+    }
+
+    /**
+     * Returns the number of readable properties.
+     *
+     * @return the number of readable properties
+     */
+    int size() {
+        return names.length;
+    }
+
+    /**
+     * Returns the name of the readable property at the given position, in the properties order.
+     *
+     * @param i the position of the property
+     * @return the name of the property
+     */
+    String getName(int i) {
+        return names[i];
+    }
+
+    /**
+     * Returns the cached accessor of the readable property at the given position, in the properties order.
+     *
+     * @param i the position of the property
+     * @return the accessor of the property
+     */
+    PropertyAccessor getReader(int i) {
+        return readers[i];
+    }
+
+    /**
+     * Returns the values of all the readable properties of the given object, by property name.
+     *
+     * @param obj the object to describe, cannot be {@code null}
+     * @return a new, modifiable map of the property values, in the properties order
+     */
+    Map<String, Object> describe(Object obj) {
+        Map<String, Object> values = new LinkedHashMap<String, Object>(mapCapacity);
+
+        for (int i = 0; i < names.length; i++) {
+            values.put(names[i], readers[i].get(obj));
+        }
+
+        return values;
+    }
+
+    /**
+     * Sets each value of the given map to the property located by its key, in the sorted order of the keys.
+     *
+     * @param obj     the object to populate, cannot be {@code null}
+     * @param values  the values to set, by property pattern, cannot be {@code null}
+     * @param options the options of the traversal
+     * @param state   the state of the wrapper, or {@code null}
+     */
+    static void populate(Object obj, Map<String, ?> values, WrapperOptions options, WrapperState state) {
+        if (values == null) {
+            throw new IllegalArgumentException("Cannot populate " + obj.getClass().getName() + " from a 'null' map.");
+        }
+
+        Population population = forClass(obj.getClass()).getPopulation(values.keySet());
+        Object[] pathValues = new Object[values.size()];
+
+        for (Map.Entry<String, ?> value : values.entrySet()) {
+            pathValues[population.positions.get(value.getKey())] = value.getValue();
+        }
+
+        population.pathSet.setValues(obj, pathValues, options, state);
+    }
+
+    private Population getPopulation(Set<String> keys) {
+        // A copy, as the keys of a sorted map can be equal by its comparator only
+        Set<String> key = new HashSet<String>(keys);
+        Population population = populations.get(key);
+
+        if (population == null) {
+            population = new Population(key);
+
+            if (populations.admits(key)) {
+                population = populations.putIfAbsent(key, population);
+            }
+        }
+
+        return population;
+    }
+
+    /*
+     * The keys of a population compiled into a set of paths, with the position of each key in the set.
+     */
+    private static final class Population {
+
+        final Map<String, Integer> positions;
+        final PathSet pathSet;
+
+        Population(Set<String> keys) {
+            PropertyPath[] paths = new PropertyPath[keys.size()];
+            this.positions = new HashMap<String, Integer>(keys.size() * 2);
+
+            int i = 0;
+
+            for (String key : keys) {
+                paths[i] = ObjectWrapper.compileSetPattern(key);
+                positions.put(key, i++);
+            }
+
+            this.pathSet = PathSet.compile(paths);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2015 Fabio Piro (minimalcode.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.minimalcode.beans;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Internal: Thread-safe cache holding at most a fixed number of entries, evicted
+ * by the CLOCK (second chance) policy.
+ *
+ * <p> The reads are lock-free: a hit only marks its entry as referenced, and the
+ * entries not referenced since the previous sweep of the clock hand are the ones
+ * replaced by the new entries. Once the cache is full, a key is admitted only at its
+ * second sighting, so a stream of keys requested once (ex: patterns built from user
+ * input) cannot flush the entries requested over and over.
+ *
+ * @author Fabio Piro
+ * @see PropertyPath
+ * @see CopyPlan
+ */
+final class BoundedCache<K, V> {
+
+    private final ConcurrentMap<K, Entry<K, V>> entries;
+    private final AtomicInteger size = new AtomicInteger();
+    private final Entry<K, V>[] clock;// guarded by 'this'
+    private int hand;// guarded by 'this'
+
+    // Hashes of the keys refused while full: the racy reads and writes can only cause a spurious refusal or admission
+    private final int[] sightings;
+    private final int sightingsMask;
+
+    @SuppressWarnings("unchecked")
+    BoundedCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid capacity '" + capacity + "', must be positive.");
+        }
+
+        int sightingsLength = Integer.highestOneBit(capacity * 2 - 1) << 1;
+        this.entries = new ConcurrentHashMap<K, Entry<K, V>>(capacity * 2);
+        this.clock = new Entry[capacity];
+        this.sightings = new int[sightingsLength];
+        this.sightingsMask = sightingsLength - 1;
+    }
+
+    /**
+     * Returns the value cached for the given key, marking it as referenced.
+     *
+     * @param key the key of the value, cannot be {@code null}
+     * @return the cached value, or {@code null} if not cached
+     */
+    V get(K key) {
+        Entry<K, V> entry = entries.get(key);
+
+        if (entry == null) {
+            return null;
+        }
+
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+
+        return entry.value;
+    }
+
+    /**
+     * Tells whether a value for the given key, not found by {@link #get(Object)}, should be
+     * created and cached: always while the cache is not full, else only if the same key
+     * was already refused before.
+     *
+     * @param key the key not found, cannot be {@code null}
+     * @return {@code true} if the value is to be cached, {@code false} if not
+     */
+    boolean admits(K key) {
+        if (size.get() < clock.length) {
+            return true;
+        }
+
+        int hash = key.hashCode() | 1;// never the zero of an empty slot
+        int slot = (hash ^ (hash >>> 16)) & sightingsMask;
+
+        if (sightings[slot] == hash) {
+            sightings[slot] = 0;
+            return true;
+        }
+
+        sightings[slot] = hash;
+        return false;
+    }
+
+    /**
+     * Caches the given value, if no value was cached for the same key in the meantime,
+     * evicting the first not referenced entry found by the clock hand when full.
+     *
+     * @param key   the key of the value, cannot be {@code null}
+     * @param value the value to cache, cannot be {@code null}
+     * @return the value cached for the key, either the given one or the previous one
+     */
+    synchronized V putIfAbsent(K key, V value) {
+        Entry<K, V> previous = entries.get(key);
+
+        if (previous != null) {
+            return previous.value;
+        }
+
+        Entry<K, V> entry = new Entry<K, V>(key, value);
+        int count = size.get();
+
+        if (count < clock.length) {
+            clock[count] = entry;
+            size.set(count + 1);
+        } else {
+            while (clock[hand].referenced) {
+                clock[hand].referenced = false;
+                hand = (hand + 1) % clock.length;
+            }
+
+            entries.remove(clock[hand].key);
+            clock[hand] = entry;
+            hand = (hand + 1) % clock.length;
+        }
+
+        entries.put(key, entry);
+        return value;
+    }
+
+    /**
+     * Returns the number of cached entries, never greater than the capacity.
+     *
+     * @return the number of cached entries
+     */
+    int size() {
+        return size.get();
+    }
+
+    private static final class Entry<K, V> {
+
+        final K key;
+        final V value;
+        volatile boolean referenced;
+
+        Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
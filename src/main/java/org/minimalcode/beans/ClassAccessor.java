@@ -0,0 +1,424 @@
+/*
+ * Copyright 2015 Fabio Piro (minimalcode.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.minimalcode.beans;
+
+import org.minimalcode.reflect.Bean;
+import org.minimalcode.reflect.Property;
+import org.minimalcode.reflect.ReflectionException;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Accessor of all the properties of a single class, addressed by an integer ordinal
+ * instead of a name or a {@link Property} instance.
+ *
+ * <p> Whole-bean operations (ex: a loop on {@link Bean#getProperties()}) can resolve the
+ * accessor once per class, and then read and write each property through a single,
+ * monomorphic call site, without any per-property lookup.
+ *
+ * <p> The ordinal of a property is its position in {@link #getPropertyNames()}. For the
+ * accessors created at runtime it is also the iteration order of {@link Bean#getProperties()},
+ * but the safest way to obtain it is always {@link #getOrdinal(String)}.
+ *
+ * <p> For the classes annotated with {@link GenerateAccessor}, the accessor is a plain Java
+ * subclass generated at compile time, which dispatches each ordinal through a {@code switch}
+ * of direct getter and setter calls, without any reflection.
+ *
+ * <p> Example:
+ * <pre>
+ * ClassAccessor accessor = wrapper.getClassAccessor();
+ * for (Property property : wrapper.getBean().getProperties()) {
+ *     Object value = accessor.get(object, accessor.getOrdinal(property));
+ * }
+ * </pre>
+ *
+ * @author Fabio Piro
+ * @see ObjectWrapper#getClassAccessor()
+ */
+public abstract class ClassAccessor {
+
+    /**
+     * Suffix of the class names generated at compile time for the classes annotated with {@link GenerateAccessor}.
+     */
+    public static final String GENERATED_SUFFIX = "_ClassAccessor";
+
+    private static final Object NOT_GENERATED = new Object();
+
+    private static final ConcurrentMap<Class<?>, ClassAccessor> ACCESSORS
+            = new ConcurrentHashMap<Class<?>, ClassAccessor>();
+
+    private static final ConcurrentMap<Class<?>, Object> GENERATED_ACCESSORS
+            = new ConcurrentHashMap<Class<?>, Object>();
+
+    private final Class<?> type;
+    private final String[] propertyNames;
+    private final boolean[] readables;
+    private final boolean[] writables;
+    private final Map<String, Integer> ordinals;
+
+    /**
+     * Creates an accessor for the given class and properties, all of them readable and writable.
+     *
+     * @param type          the accessed class, cannot be {@code null}
+     * @param propertyNames the names of the accessed properties, in ordinal order, cannot be {@code null}
+     */
+    protected ClassAccessor(Class<?> type, String[] propertyNames) {
+        this(type, propertyNames, filled(propertyNames.length), filled(propertyNames.length));
+    }
+
+    /**
+     * Creates an accessor for the given class and properties, each one readable and/or writable
+     * through this accessor.
+     *
+     * @param type          the accessed class, cannot be {@code null}
+     * @param propertyNames the names of the accessed properties, in ordinal order, cannot be {@code null}
+     * @param readables     for each ordinal, true if the property is readable through this accessor
+     * @param writables     for each ordinal, true if the property is writable through this accessor
+     */
+    protected ClassAccessor(Class<?> type, String[] propertyNames, boolean[] readables, boolean[] writables) {
+        this.type = type;
+        this.propertyNames = propertyNames.clone();
+        this.readables = readables.clone();
+        this.writables = writables.clone();
+        this.ordinals = new HashMap<String, Integer>(propertyNames.length * 2);
+
+        for (int i = 0; i < propertyNames.length; i++) {
+            ordinals.put(propertyNames[i], i);
+        }
+    }
+
+    private static boolean[] filled(int length) {
+        boolean[] values = new boolean[length];
+        Arrays.fill(values, true);
+        return values;
+    }
+
+    /**
+     * Returns the shared accessor of the given class, creating it at the first request.
+     * The accessor generated at compile time is returned, if present.
+     *
+     * @param type the class to access, cannot be {@code null}
+     * @return the accessor of the class
+     * @throws IllegalArgumentException if the type parameter is {@code null}
+     */
+    public static ClassAccessor forClass(Class<?> type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Cannot create an accessor for a 'null' class.");
+        }
+
+        ClassAccessor accessor = ACCESSORS.get(type);
+
+        if (accessor == null) {
+            accessor = forGeneratedClass(type);
+            accessor = (accessor != null) ? accessor : new HandleClassAccessor(type);
+            ClassAccessor previous = ACCESSORS.putIfAbsent(type, accessor);
+
+            if (previous != null) {
+                accessor = previous;
+            }
+        }
+
+        return accessor;
+    }
+
+    /**
+     * Internal: Returns the accessor generated at compile time for the given class, if any. The lookup
+     * is made only once per class, both the found accessors and the missing ones are remembered.
+     *
+     * @param type the class to access, cannot be {@code null}
+     * @return the generated accessor, or {@code null} if the class was not annotated with {@link GenerateAccessor}
+     * @throws ReflectionException if the generated class exists, but cannot be instantiated
+     */
+    static ClassAccessor forGeneratedClass(Class<?> type) {
+        Object accessor = GENERATED_ACCESSORS.get(type);
+
+        if (accessor == null) {
+            accessor = loadGeneratedClass(type);
+            GENERATED_ACCESSORS.putIfAbsent(type, accessor);
+            accessor = GENERATED_ACCESSORS.get(type);
+        }
+
+        return (accessor != NOT_GENERATED) ? (ClassAccessor) accessor : null;
+    }
+
+    private static Object loadGeneratedClass(Class<?> type) {
+        String name = getGeneratedName(type.getName());
+        Class<?> generatedClass;
+
+        try {
+            generatedClass = Class.forName(name, true, type.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return NOT_GENERATED;
+        } catch (LinkageError e) {
+            return NOT_GENERATED;
+        }
+
+        try {
+            return generatedClass.newInstance();
+        } catch (Exception e) {
+            throw new ReflectionException("The generated accessor " + name + " for " + type.getName()
+                    + " was found, but an error occurs while invoking its 'no-args constructor'.", e);
+        }
+    }
+
+    /**
+     * Returns the fully qualified name of the accessor generated for the given class name.
+     *
+     * <p> Each '_' of the simple binary name is doubled and each '$' is replaced by "_0", so that two
+     * different classes (ex: "Outer$Inner" and "Outer_Inner") never share the same generated name.
+     *
+     * @param className the fully qualified, binary name of the annotated class (ex: "com.foo.Outer$Inner")
+     * @return the name of the generated accessor (ex: "com.foo.Outer_0Inner_ClassAccessor")
+     */
+    public static String getGeneratedName(String className) {
+        int lastDot = className.lastIndexOf('.');
+        StringBuilder name = new StringBuilder(className.length() + GENERATED_SUFFIX.length() + 4);
+        name.append(className, 0, lastDot + 1);
+
+        for (int i = lastDot + 1; i < className.length(); i++) {
+            char c = className.charAt(i);
+
+            if (c == '_') {
+                name.append("__");
+            } else if (c == '$') {
+                name.append("_0");
+            } else {
+                name.append(c);
+            }
+        }
+
+        return name.append(GENERATED_SUFFIX).toString();
+    }
+
+    /**
+     * Returns the class accessed by this accessor.
+     *
+     * @return the accessed class
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the number of accessible properties.
+     *
+     * @return the number of properties
+     */
+    public int size() {
+        return propertyNames.length;
+    }
+
+    /**
+     * Returns the names of the accessible properties, in ordinal order.
+     *
+     * @return a copy of the names array
+     */
+    public String[] getPropertyNames() {
+        return propertyNames.clone();
+    }
+
+    /**
+     * Returns the name of the property with the given ordinal.
+     *
+     * @param ordinal the ordinal of the property
+     * @return the property name
+     * @throws IndexOutOfBoundsException if the ordinal is not valid
+     */
+    public String getPropertyName(int ordinal) {
+        return propertyNames[ordinal];
+    }
+
+    /**
+     * Returns the ordinal of the property with the given name.
+     *
+     * @param propertyName the name of the property, cannot be {@code null}
+     * @return the ordinal of the property, or -1 if not found
+     */
+    public int getOrdinal(String propertyName) {
+        Integer ordinal = ordinals.get(propertyName);
+        return (ordinal != null) ? ordinal : -1;
+    }
+
+    /**
+     * Returns the ordinal of the given property.
+     *
+     * @param property the property, cannot be {@code null}
+     * @return the ordinal of the property, or -1 if not found
+     */
+    public int getOrdinal(Property property) {
+        return getOrdinal(property.getName());
+    }
+
+    /**
+     * Returns true if the property with the given ordinal is readable through this accessor.
+     *
+     * @param ordinal the ordinal of the property
+     * @return true if readable
+     * @throws IndexOutOfBoundsException if the ordinal is not valid
+     */
+    public boolean isReadable(int ordinal) {
+        checkOrdinal(ordinal);
+        return readables[ordinal];
+    }
+
+    /**
+     * Returns true if the property with the given ordinal is writable through this accessor.
+     *
+     * @param ordinal the ordinal of the property
+     * @return true if writable
+     * @throws IndexOutOfBoundsException if the ordinal is not valid
+     */
+    public boolean isWritable(int ordinal) {
+        checkOrdinal(ordinal);
+        return writables[ordinal];
+    }
+
+    private void checkOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= propertyNames.length) {
+            throw invalidOrdinal(ordinal);
+        }
+    }
+
+    /**
+     * Returns the value of the property with the given ordinal.
+     *
+     * @param obj     the object whose property value is to be extracted, cannot be {@code null}
+     * @param ordinal the ordinal of the property
+     * @return the property value
+     * @throws IndexOutOfBoundsException if the ordinal is not valid
+     * @throws ReflectionException if a reflection error occurs
+     */
+    public abstract Object get(Object obj, int ordinal);
+
+    /**
+     * Sets the value of the property with the given ordinal.
+     *
+     * @param obj     the object whose property value is to be updated, cannot be {@code null}
+     * @param ordinal the ordinal of the property
+     * @param value   the value to set, can be {@code null}
+     * @throws IndexOutOfBoundsException if the ordinal is not valid
+     * @throws ReflectionException if a reflection error occurs
+     */
+    public abstract void set(Object obj, int ordinal, Object value);
+
+    /**
+     * Returns the exception to throw when a not readable property is read.
+     *
+     * @param ordinal the ordinal of the property
+     * @return the exception to throw
+     */
+    protected ReflectionException notReadable(int ordinal) {
+        return new ReflectionException("The property '" + propertyNames[ordinal] + "' of "
+                + type.getName() + " is not readable.");
+    }
+
+    /**
+     * Returns the exception to throw when a not writable property is written.
+     *
+     * @param ordinal the ordinal of the property
+     * @return the exception to throw
+     */
+    protected ReflectionException notWritable(int ordinal) {
+        return new ReflectionException("The property '" + propertyNames[ordinal] + "' of "
+                + type.getName() + " is not writable.");
+    }
+
+    /**
+     * Returns the exception to throw when an invalid ordinal is requested.
+     *
+     * @param ordinal the requested ordinal
+     * @return the exception to throw
+     */
+    protected IndexOutOfBoundsException invalidOrdinal(int ordinal) {
+        return new IndexOutOfBoundsException("The accessor of " + type.getName() + " has only '"
+                + propertyNames.length + "' properties, but ordinal '" + ordinal + "' requested.");
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{type=" + type.getName() + "}";
+    }
+
+    /*
+     * Runtime accessor, dispatching each ordinal to the cached handles of its property.
+     */
+    private static final class HandleClassAccessor extends ClassAccessor {
+
+        private final PropertyAccessor[] accessors;
+
+        HandleClassAccessor(Class<?> type) {
+            this(type, Bean.forClass(type).getProperties());
+        }
+
+        private HandleClassAccessor(Class<?> type, Collection<Property> properties) {
+            super(type, namesOf(properties), readablesOf(properties), writablesOf(properties));
+            this.accessors = new PropertyAccessor[properties.size()];
+
+            int i = 0;
+            for (Property property : properties) {
+                accessors[i++] = PropertyAccessor.forProperty(property);
+            }
+        }
+
+        private static String[] namesOf(Collection<Property> properties) {
+            String[] names = new String[properties.size()];
+
+            int i = 0;
+            for (Property property : properties) {
+                names[i++] = property.getName();
+            }
+
+            return names;
+        }
+
+        private static boolean[] readablesOf(Collection<Property> properties) {
+            boolean[] readables = new boolean[properties.size()];
+
+            int i = 0;
+            for (Property property : properties) {
+                readables[i++] = PropertyAccessor.isReadable(property);
+            }
+
+            return readables;
+        }
+
+        private static boolean[] writablesOf(Collection<Property> properties) {
+            boolean[] writables = new boolean[properties.size()];
+
+            int i = 0;
+            for (Property property : properties) {
+                writables[i++] = PropertyAccessor.isWritable(property);
+            }
+
+            return writables;
+        }
+
+        @Override
+        public Object get(Object obj, int ordinal) {
+            return accessors[ordinal].get(obj);
+        }
+
+        @Override
+        public void set(Object obj, int ordinal, Object value) {
+            accessors[ordinal].set(obj, value);
+        }
+    }
+}
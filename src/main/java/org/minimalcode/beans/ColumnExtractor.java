@@ -0,0 +1,368 @@
+/*
+ * Copyright 2015 Fabio Piro (minimalcode.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.minimalcode.beans;
+
+import org.minimalcode.reflect.ReflectionException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Immutable and thread-safe extractor of a property column (ex: "order.total") from a large
+ * array or collection of objects, into a {@code double[]}, {@code long[]}, {@code int[]} or
+ * {@code Object[]} array holding the value of each object at its position.
+ *
+ * <p> Each value is read through the primitive-specialized methods of {@link BeanAccessor},
+ * hence it is never boxed when the last property is a primitive one, and the only allocation
+ * of an extraction is the returned array. The objects are evaluated without any wrapper state,
+ * exactly as by {@link BeanAccessor#getPathDouble(Object, PropertyPath, WrapperOptions)}.
+ *
+ * <p> When a {@link ForkJoinPool} is given, the arrays and the {@link RandomAccess} lists longer
+ * than the threshold are split into ranges of at most threshold objects, extracted in parallel
+ * directly into the disjoint ranges of the same array. The other collections are always extracted
+ * sequentially, by their iterator.
+ *
+ * <p> Example:
+ * <pre>
+ * ColumnExtractor extractor = ColumnExtractor.forPath(ObjectWrapper.compile("total"), WrapperOptions.DEFAULT);
+ * double[] totals = extractor.getDoubles(orders, pool);
+ * </pre>
+ *
+ * @author Fabio Piro
+ * @see BeanAccessor
+ */
+public final class ColumnExtractor {
+
+    /**
+     * The default maximum number of objects extracted by a single parallel task.
+     */
+    public static final int DEFAULT_THRESHOLD = 4096;
+
+    private static final int DOUBLES = 0;
+    private static final int LONGS = 1;
+    private static final int INTS = 2;
+    private static final int VALUES = 3;
+
+    private final PropertyPath propertyPath;
+    private final WrapperOptions options;
+    private final int threshold;
+
+    private ColumnExtractor(PropertyPath propertyPath, WrapperOptions options, int threshold) {
+        this.propertyPath = propertyPath;
+        this.options = options;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Returns an extractor of the property located by the given path, with the default threshold.
+     *
+     * @param propertyPath the compiled path of the property, cannot be {@code null}
+     * @param options      the options of the traversal, cannot be {@code null}
+     * @return the extractor
+     * @throws IllegalArgumentException if any parameter is {@code null}
+     */
+    public static ColumnExtractor forPath(PropertyPath propertyPath, WrapperOptions options) {
+        if (propertyPath == null) {
+            throw new IllegalArgumentException("Cannot extract the values of a 'null' propertyPath.");
+        }
+
+        if (options == null) {
+            throw new IllegalArgumentException("Cannot extract the values of '" + propertyPath.getPattern()
+                    + "' with 'null' options.");
+        }
+
+        return new ColumnExtractor(propertyPath, options, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Returns a copy of this extractor with the given threshold: the maximum number of objects
+     * extracted by a single parallel task, and the minimum size of a parallel extraction.
+     *
+     * @param threshold the threshold, must be positive
+     * @return the copy of this extractor
+     * @throws IllegalArgumentException if the threshold parameter is not positive
+     */
+    public ColumnExtractor withThreshold(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Invalid threshold '" + threshold + "', must be positive.");
+        }
+
+        return new ColumnExtractor(propertyPath, options, threshold);
+    }
+
+    /**
+     * Returns the compiled path of the extracted property.
+     *
+     * @return the compiled path
+     */
+    public PropertyPath getPath() {
+        return propertyPath;
+    }
+
+    /**
+     * Returns the options of the traversal.
+     *
+     * @return the options
+     */
+    public WrapperOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * Returns the maximum number of objects extracted by a single parallel task.
+     *
+     * @return the threshold
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Returns the double values of the property in the given objects, in their order.
+     *
+     * @param objects the objects whose property values are to be extracted, cannot be {@code null}
+     *                or contain {@code null} values
+     * @param pool    the pool of the parallel extraction, or {@code null} for a sequential extraction
+     * @return a new array of the property values
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if the objects parameter, or any object, is {@code null}
+     * @throws IllegalArgumentException if a value cannot be widened to a double
+     * @throws NullPointerException     if a nested property or a value is {@code null}
+     */
+    public double[] getDoubles(Object[] objects, ForkJoinPool pool) {
+        return (double[]) extract(checkObjects(objects), objects.length, new double[objects.length], DOUBLES, pool);
+    }
+
+    /**
+     * Returns the double values of the property in the given objects, in their iteration order.
+     *
+     * @param objects the objects whose property values are to be extracted, cannot be {@code null}
+     *                or contain {@code null} values
+     * @param pool    the pool of the parallel extraction, or {@code null} for a sequential extraction
+     * @return a new array of the property values
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if the objects parameter, or any object, is {@code null}
+     * @throws IllegalArgumentException if a value cannot be widened to a double
+     * @throws NullPointerException     if a nested property or a value is {@code null}
+     */
+    public double[] getDoubles(Collection<?> objects, ForkJoinPool pool) {
+        return (double[]) extract(checkObjects(objects), objects.size(), new double[objects.size()], DOUBLES, pool);
+    }
+
+    /**
+     * Returns the long values of the property in the given objects, in their order.
+     *
+     * @param objects the objects whose property values are to be extracted, cannot be {@code null}
+     *                or contain {@code null} values
+     * @param pool    the pool of the parallel extraction, or {@code null} for a sequential extraction
+     * @return a new array of the property values
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if the objects parameter, or any object, is {@code null}
+     * @throws IllegalArgumentException if a value cannot be widened to a long
+     * @throws NullPointerException     if a nested property or a value is {@code null}
+     */
+    public long[] getLongs(Object[] objects, ForkJoinPool pool) {
+        return (long[]) extract(checkObjects(objects), objects.length, new long[objects.length], LONGS, pool);
+    }
+
+    /**
+     * Returns the long values of the property in the given objects, in their iteration order.
+     *
+     * @param objects the objects whose property values are to be extracted, cannot be {@code null}
+     *                or contain {@code null} values
+     * @param pool    the pool of the parallel extraction, or {@code null} for a sequential extraction
+     * @return a new array of the property values
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if the objects parameter, or any object, is {@code null}
+     * @throws IllegalArgumentException if a value cannot be widened to a long
+     * @throws NullPointerException     if a nested property or a value is {@code null}
+     */
+    public long[] getLongs(Collection<?> objects, ForkJoinPool pool) {
+        return (long[]) extract(checkObjects(objects), objects.size(), new long[objects.size()], LONGS, pool);
+    }
+
+    /**
+     * Returns the int values of the property in the given objects, in their order.
+     *
+     * @param objects the objects whose property values are to be extracted, cannot be {@code null}
+     *                or contain {@code null} values
+     * @param pool    the pool of the parallel extraction, or {@code null} for a sequential extraction
+     * @return a new array of the property values
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if the objects parameter, or any object, is {@code null}
+     * @throws IllegalArgumentException if a value cannot be widened to an int
+     * @throws NullPointerException     if a nested property or a value is {@code null}
+     */
+    public int[] getInts(Object[] objects, ForkJoinPool pool) {
+        return (int[]) extract(checkObjects(objects), objects.length, new int[objects.length], INTS, pool);
+    }
+
+    /**
+     * Returns the int values of the property in the given objects, in their iteration order.
+     *
+     * @param objects the objects whose property values are to be extracted, cannot be {@code null}
+     *                or contain {@code null} values
+     * @param pool    the pool of the parallel extraction, or {@code null} for a sequential extraction
+     * @return a new array of the property values
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if the objects parameter, or any object, is {@code null}
+     * @throws IllegalArgumentException if a value cannot be widened to an int
+     * @throws NullPointerException     if a nested property or a value is {@code null}
+     */
+    public int[] getInts(Collection<?> objects, ForkJoinPool pool) {
+        return (int[]) extract(checkObjects(objects), objects.size(), new int[objects.size()], INTS, pool);
+    }
+
+    /**
+     * Returns the values of the property in the given objects, in their order.
+     *
+     * @param objects the objects whose property values are to be extracted, cannot be {@code null}
+     *                or contain {@code null} values
+     * @param pool    the pool of the parallel extraction, or {@code null} for a sequential extraction
+     * @return a new array of the property values
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if the objects parameter, or any object, is {@code null}
+     * @throws NullPointerException     if a nested property is {@code null}
+     */
+    public Object[] getValues(Object[] objects, ForkJoinPool pool) {
+        return (Object[]) extract(checkObjects(objects), objects.length, new Object[objects.length], VALUES, pool);
+    }
+
+    /**
+     * Returns the values of the property in the given objects, in their iteration order.
+     *
+     * @param objects the objects whose property values are to be extracted, cannot be {@code null}
+     *                or contain {@code null} values
+     * @param pool    the pool of the parallel extraction, or {@code null} for a sequential extraction
+     * @return a new array of the property values
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if the objects parameter, or any object, is {@code null}
+     * @throws NullPointerException     if a nested property is {@code null}
+     */
+    public Object[] getValues(Collection<?> objects, ForkJoinPool pool) {
+        return (Object[]) extract(checkObjects(objects), objects.size(), new Object[objects.size()], VALUES, pool);
+    }
+
+    private <T> T checkObjects(T objects) {
+        if (objects == null) {
+            throw new IllegalArgumentException("Cannot extract the values of '" + propertyPath.getPattern()
+                    + "' from 'null' objects.");
+        }
+
+        return objects;
+    }
+
+    /*
+     * Internal: Fills the column from an Object[] or a Collection, splitting the work only when
+     * the objects are accessible by index.
+     */
+    private Object extract(Object objects, int size, Object column, int type, ForkJoinPool pool) {
+        if (objects instanceof Collection && !(objects instanceof List && objects instanceof RandomAccess)) {
+            int i = 0;
+
+            for (Object obj : (Collection<?>) objects) {
+                extractValue(obj, i++, column, type);
+            }
+        } else if (pool != null && size > threshold) {
+            pool.invoke(new ExtractTask(this, objects, column, type, 0, size));
+        } else {
+            extractRange(objects, 0, size, column, type);
+        }
+
+        return column;
+    }
+
+    private void extractRange(Object objects, int from, int to, Object column, int type) {
+        if (objects instanceof Object[]) {
+            Object[] array = (Object[]) objects;
+
+            for (int i = from; i < to; i++) {
+                extractValue(array[i], i, column, type);
+            }
+        } else {
+            List<?> list = (List<?>) objects;
+
+            for (int i = from; i < to; i++) {
+                extractValue(list.get(i), i, column, type);
+            }
+        }
+    }
+
+    private void extractValue(Object obj, int i, Object column, int type) {
+        if (obj == null) {
+            throw new IllegalArgumentException("Cannot extract the value of '" + propertyPath.getPattern()
+                    + "' from a 'null' object, at position '" + i + "'.");
+        }
+
+        switch (type) {
+            case DOUBLES:
+                ((double[]) column)[i] = ObjectWrapper.getDouble(obj, propertyPath, options, null);
+                break;
+            case LONGS:
+                ((long[]) column)[i] = ObjectWrapper.getLong(obj, propertyPath, options, null);
+                break;
+            case INTS:
+                ((int[]) column)[i] = ObjectWrapper.getInt(obj, propertyPath, options, null);
+                break;
+            default:
+                ((Object[]) column)[i] = ObjectWrapper.getValue(obj, propertyPath, options, null);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnExtractor{pattern=" + propertyPath.getPattern() + ", options=" + options
+                + ", threshold=" + threshold + '}';
+    }
+
+    /*
+     * A range [from, to) of a parallel extraction, split in halves until not longer than the threshold.
+     */
+    private static final class ExtractTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ColumnExtractor extractor;
+        private final Object objects;
+        private final Object column;
+        private final int type;
+        private final int from;
+        private final int to;
+
+        ExtractTask(ColumnExtractor extractor, Object objects, Object column, int type, int from, int to) {
+            this.extractor = extractor;
+            this.objects = objects;
+            this.column = column;
+            this.type = type;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= extractor.threshold) {
+                extractor.extractRange(objects, from, to, column, type);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ExtractTask(extractor, objects, column, type, from, middle),
+                        new ExtractTask(extractor, objects, column, type, middle, to));
+            }
+        }
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright 2015 Fabio Piro (minimalcode.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.minimalcode.beans;
+
+import org.minimalcode.reflect.Bean;
+import org.minimalcode.reflect.Property;
+import org.minimalcode.reflect.ReflectionException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Precompiled, thread-safe plan copying the properties of the instances of a source class
+ * to the instances of a target class (ex: from an entity to its DTO).
+ *
+ * <p> The matching properties are resolved once per plan: by default, each readable property
+ * of the source class with a writable property of the target class with the same name, and
+ * an assignable type (a primitive type and its wrapper are assignable to each other, and a
+ * {@code null} wrapper value leaves the primitive target property unchanged). Each copy then
+ * invokes only the cached accessors of those properties, without any lookup.
+ *
+ * <p> The copied properties can be restricted to a list of included paths, which can be
+ * nested (ex: "address.city", auto-instancing the "address" of the target when {@code null}),
+ * and/or reduced by a list of excluded paths. The values are copied by reference (a shallow copy),
+ * as in {@link ObjectWrapper#setValue(String, Object)}.
+ *
+ * <p> Example:
+ * <pre>
+ * CopyPlan plan = CopyPlan.forClasses(Order.class, OrderDto.class, null, new String[] {"id"});
+ * for (Order order : orders) {
+ *     OrderDto dto = new OrderDto();
+ *     plan.copy(order, dto);
+ * }
+ * </pre>
+ *
+ * @author Fabio Piro
+ * @see ObjectWrapper#copyProperties(Object, Object)
+ */
+public final class CopyPlan {
+
+    // Maximum number of cached plans, then the plans not requested recently are evicted
+    static final int CACHE_CAPACITY = 1024;
+
+    private static final BoundedCache<Key, CopyPlan> CACHE = new BoundedCache<Key, CopyPlan>(CACHE_CAPACITY);
+
+    private static final Map<Class<?>, Class<?>> WRAPPERS = new HashMap<Class<?>, Class<?>>();
+
+    static {
+        WRAPPERS.put(int.class, Integer.class);
+        WRAPPERS.put(long.class, Long.class);
+        WRAPPERS.put(double.class, Double.class);
+        WRAPPERS.put(float.class, Float.class);
+        WRAPPERS.put(short.class, Short.class);
+        WRAPPERS.put(byte.class, Byte.class);
+        WRAPPERS.put(char.class, Character.class);
+        WRAPPERS.put(boolean.class, Boolean.class);
+    }
+
+    private final Class<?> sourceType;
+    private final Class<?> targetType;
+    private final List<String> paths;
+    private final Step[] steps;
+
+    private CopyPlan(Class<?> sourceType, Class<?> targetType, List<String> paths, Step[] steps) {
+        this.sourceType = sourceType;
+        this.targetType = targetType;
+        this.paths = paths;
+        this.steps = steps;
+    }
+
+    /**
+     * Returns the plan copying all the matching properties from the source class to the target class.
+     *
+     * @param sourceType the class of the source objects, cannot be {@code null}
+     * @param targetType the class of the target objects, cannot be {@code null}
+     * @return the copy plan
+     * @throws IllegalArgumentException if any parameter is {@code null}
+     */
+    public static CopyPlan forClasses(Class<?> sourceType, Class<?> targetType) {
+        return forClasses(sourceType, targetType, null, null);
+    }
+
+    /**
+     * Returns the plan copying the included (or all the matching, if none) properties, but the
+     * excluded ones, from the source class to the target class.
+     *
+     * @param sourceType the class of the source objects, cannot be {@code null}
+     * @param targetType the class of the target objects, cannot be {@code null}
+     * @param includes   the simple or nested (ex: "address.city") paths to copy, or {@code null} for all
+     *                   the matching properties
+     * @param excludes   the paths not to copy, or {@code null} for none
+     * @return the copy plan
+     * @throws IllegalArgumentException if the sourceType or targetType parameter is {@code null}, or
+     *                                  if an included path is {@code null}, not found, not readable from
+     *                                  the source class, not writable to the target class, or with a not
+     *                                  assignable type
+     */
+    public static CopyPlan forClasses(Class<?> sourceType, Class<?> targetType, String[] includes, String[] excludes) {
+        if (sourceType == null || targetType == null) {
+            throw new IllegalArgumentException("Cannot create a copy plan from the " + sourceType
+                    + " source class to the " + targetType + " target class, as 'null' classes are not allowed.");
+        }
+
+        Key key = new Key(sourceType, targetType, includes, excludes);
+        CopyPlan plan = CACHE.get(key);
+
+        if (plan == null) {
+            plan = create(key);
+
+            if (CACHE.admits(key)) {
+                plan = CACHE.putIfAbsent(key, plan);
+            }
+        }
+
+        return plan;
+    }
+
+    private static CopyPlan create(Key key) {
+        Bean<?> sourceBean = Bean.forClass(key.sourceType);
+        Bean<?> targetBean = Bean.forClass(key.targetType);
+        Set<String> excludes = new HashSet<String>(key.excludes);
+        List<String> paths = new ArrayList<String>();
+        List<Step> steps = new ArrayList<Step>();
+
+        if (key.includes == null) {
+            for (Property sourceProperty : sourceBean.getProperties()) {
+                Property targetProperty = targetBean.getProperty(sourceProperty.getName());
+
+                if (!excludes.contains(sourceProperty.getName()) && isCopyable(sourceProperty, targetProperty)) {
+                    paths.add(sourceProperty.getName());
+                    steps.add(new Step(PropertyAccessor.forProperty(sourceProperty),
+                            PropertyAccessor.forProperty(targetProperty), null,
+                            isNullSkipped(sourceProperty, targetProperty)));
+                }
+            }
+        } else {
+            for (String include : key.includes) {
+                if (include == null) {
+                    throw new IllegalArgumentException("Cannot copy a property with a 'null' path.");
+                }
+
+                if (excludes.contains(include)) {
+                    continue;
+                }
+
+                Property sourceProperty = ObjectWrapper.getProperty(sourceBean, include);
+                Property targetProperty = ObjectWrapper.getProperty(targetBean, include);
+
+                if (sourceProperty == null || !isCopyable(sourceProperty, targetProperty)) {
+                    throw new IllegalArgumentException("Cannot copy the property '" + include + "' from "
+                            + key.sourceType.getName() + " to " + key.targetType.getName() + ". It must be found,"
+                            + " readable in the source class and writable, with an assignable type, in the target class.");
+                }
+
+                paths.add(include);
+
+                if (include.indexOf('.') < 0) {
+                    steps.add(new Step(PropertyAccessor.forProperty(sourceProperty),
+                            PropertyAccessor.forProperty(targetProperty), null,
+                            isNullSkipped(sourceProperty, targetProperty)));
+                } else {
+                    steps.add(new Step(null, null, ObjectWrapper.compile(include),
+                            isNullSkipped(sourceProperty, targetProperty)));
+                }
+            }
+        }
+
+        return new CopyPlan(key.sourceType, key.targetType, Collections.unmodifiableList(paths),
+                steps.toArray(new Step[steps.size()]));
+    }
+
+    private static boolean isCopyable(Property sourceProperty, Property targetProperty) {
+        return targetProperty != null && PropertyAccessor.isReadable(sourceProperty)
+                && PropertyAccessor.isWritable(targetProperty)
+                && isAssignable(targetProperty.getType(), sourceProperty.getType());
+    }
+
+    private static boolean isAssignable(Class<?> targetType, Class<?> sourceType) {
+        return targetType.isAssignableFrom(sourceType) || wrap(targetType) == wrap(sourceType);
+    }
+
+    /*
+     * A 'null' wrapper cannot be unboxed into a primitive, hence it is not copied: checked before
+     * each write, so that a copy never fails after having already written some properties.
+     */
+    private static boolean isNullSkipped(Property sourceProperty, Property targetProperty) {
+        return targetProperty.getType().isPrimitive() && !sourceProperty.getType().isPrimitive();
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        Class<?> wrapper = WRAPPERS.get(type);
+        return (wrapper != null) ? wrapper : type;
+    }
+
+    /**
+     * Returns the class of the source objects.
+     *
+     * @return the source class
+     */
+    public Class<?> getSourceType() {
+        return sourceType;
+    }
+
+    /**
+     * Returns the class of the target objects.
+     *
+     * @return the target class
+     */
+    public Class<?> getTargetType() {
+        return targetType;
+    }
+
+    /**
+     * Returns the paths of the copied properties, in copy order.
+     *
+     * @return the unmodifiable list of the copied paths
+     */
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    /**
+     * Copies the planned properties from the source object to the target object.
+     *
+     * @param source the object whose properties are to be read, cannot be {@code null}
+     * @param target the object whose properties are to be written, cannot be {@code null}
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if any parameter is {@code null}, or not an instance of the planned classes
+     * @throws NullPointerException     if the parent of a nested path is {@code null} in the source object
+     */
+    public void copy(Object source, Object target) {
+        if (!sourceType.isInstance(source) || !targetType.isInstance(target)) {
+            throw new IllegalArgumentException("Cannot copy from " + describe(source) + " to " + describe(target)
+                    + " with a copy plan from " + sourceType.getName() + " to " + targetType.getName() + ".");
+        }
+
+        for (Step step : steps) {
+            Object value = (step.path == null) ? step.reader.get(source)
+                    : ObjectWrapper.getValue(source, step.path, WrapperOptions.DEFAULT, null);
+
+            if (value == null && step.isNullSkipped) {
+                continue;
+            }
+
+            if (step.path == null) {
+                step.writer.set(target, value);
+            } else {
+                ObjectWrapper.setValue(target, step.path, value, WrapperOptions.DEFAULT, null);
+            }
+        }
+    }
+
+    private static String describe(Object obj) {
+        return (obj != null) ? "an instance of " + obj.getClass().getName() : "a 'null' object";
+    }
+
+    @Override
+    public String toString() {
+        return "CopyPlan{sourceType=" + sourceType.getName() + ", targetType=" + targetType.getName()
+                + ", paths=" + paths + '}';
+    }
+
+    /*
+     * A single copied property: a pair of accessors, or a nested path.
+     */
+    private static final class Step {
+
+        final PropertyAccessor reader;
+        final PropertyAccessor writer;
+        final PropertyPath path;
+        final boolean isNullSkipped;
+
+        Step(PropertyAccessor reader, PropertyAccessor writer, PropertyPath path, boolean isNullSkipped) {
+            this.reader = reader;
+            this.writer = writer;
+            this.path = path;
+            this.isNullSkipped = isNullSkipped;
+        }
+    }
+
+    /*
+     * The cache key of a plan.
+     */
+    private static final class Key {
+
+        final Class<?> sourceType;
+        final Class<?> targetType;
+        final List<String> includes;
+        final List<String> excludes;
+
+        Key(Class<?> sourceType, Class<?> targetType, String[] includes, String[] excludes) {
+            this.sourceType = sourceType;
+            this.targetType = targetType;
+            this.includes = (includes != null) ? Arrays.asList(includes.clone()) : null;
+            this.excludes = (excludes != null) ? Arrays.asList(excludes.clone()) : Collections.<String>emptyList();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key that = (Key) o;
+            return sourceType == that.sourceType && targetType == that.targetType
+                    && (includes != null ? includes.equals(that.includes) : that.includes == null)
+                    && excludes.equals(that.excludes);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = sourceType.hashCode();
+            result = 31 * result + targetType.hashCode();
+            result = 31 * result + (includes != null ? includes.hashCode() : 0);
+            result = 31 * result + excludes.hashCode();
+            return result;
+        }
+    }
+}
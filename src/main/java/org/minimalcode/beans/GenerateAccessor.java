@@ -0,0 +1,41 @@
+/*
+ * Copyright 2015 Fabio Piro (minimalcode.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.minimalcode.beans;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a JavaBean class for which the minimalcode-beans-processor annotation processor
+ * generates, at compile time, a plain Java {@link ClassAccessor} subclass.
+ *
+ * <p> The generated class is named as the annotated class (with each '_' doubled and each
+ * '$' of a nested class replaced by "_0"), followed by the {@link ClassAccessor#GENERATED_SUFFIX}
+ * suffix, in the same package (ex: "com.foo.Order_ClassAccessor"). It dispatches each ordinal through a
+ * {@code switch} of direct getter and setter calls, and it is transparently discovered and
+ * used by {@link ObjectWrapper} instead of reflection, for all the properties it covers.
+ *
+ * @author Fabio Piro
+ * @see ClassAccessor#forClass(Class)
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface GenerateAccessor {
+}
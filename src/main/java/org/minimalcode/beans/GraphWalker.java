@@ -0,0 +1,347 @@
+/*
+ * Copyright 2015 Fabio Piro (minimalcode.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.minimalcode.beans;
+
+import org.minimalcode.reflect.Bean;
+import org.minimalcode.reflect.ReflectionException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable and thread-safe depth-first walker of all the property values reachable from a root bean,
+ * through the readable properties of {@link Bean#getProperties()}, the elements of the Object arrays
+ * and of the {@link Iterable} values, and the values of the {@link Map} values.
+ *
+ * <p> The walk is iterative: the values still to visit are kept in an explicit work stack, hence a deep
+ * graph (ex: a long linked list of beans) never overflows the thread stack. Each bean, array, collection
+ * and map is expanded at most once per walk, tracked by identity, hence the cycles terminate: a shared
+ * node, or a back-reference (ex: to the root), is still visited at each occurrence, but marked as
+ * {@link Node#isRevisited() revisited} and not expanded again.
+ *
+ * <p> Each value is passed to a {@link Visitor} as a {@link Node}, together with its depth and its parent
+ * node. The path of a node (ex: "order.items[3].price") is built on demand by {@link Node#getPath()},
+ * hence the walk itself never concatenates strings. The walk is pruned:
+ * <ul>
+ * <li>by the {@link Visitor}, returning {@code false} for a node whose value should not be expanded</li>
+ * <li>by the maximum depth, beyond which the values are not expanded</li>
+ * <li>by the leaf types, whose values are visited but never expanded. The values of the "java." classes,
+ * except the arrays, collections and maps, and the primitive arrays are always leaves</li>
+ * </ul>
+ *
+ * <p> Example:
+ * <pre>
+ * GraphWalker.create().withMaxDepth(8).withLeafTypes(Date.class).walk(order, new GraphWalker.Visitor() {
+ *     public boolean visit(GraphWalker.Node node) {
+ *         System.out.println(node.getPath() + " = " + node.getValue());
+ *         return true;
+ *     }
+ * });
+ * </pre>
+ *
+ * @author Fabio Piro
+ * @see ClassAccessor
+ */
+public final class GraphWalker {
+
+    private static final GraphWalker DEFAULT = new GraphWalker(Integer.MAX_VALUE, new Class<?>[0]);
+
+    private final int maxDepth;
+    private final Class<?>[] leafTypes;
+
+    private GraphWalker(int maxDepth, Class<?>[] leafTypes) {
+        this.maxDepth = maxDepth;
+        this.leafTypes = leafTypes;
+    }
+
+    /**
+     * Returns a walker without a maximum depth, nor leaf types.
+     *
+     * @return the walker
+     */
+    public static GraphWalker create() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns a copy of this walker, not expanding the values at the given depth: the properties
+     * of the root have depth 1, their own properties or elements depth 2, and so on.
+     *
+     * @param maxDepth the maximum depth of the visited values, must be positive
+     * @return the copy of this walker
+     * @throws IllegalArgumentException if the maxDepth parameter is not positive
+     */
+    public GraphWalker withMaxDepth(int maxDepth) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Invalid maxDepth '" + maxDepth + "', must be positive.");
+        }
+
+        return new GraphWalker(maxDepth, leafTypes);
+    }
+
+    /**
+     * Returns a copy of this walker, also not expanding the values of the given types, or of their subtypes.
+     *
+     * @param types the leaf types, cannot be {@code null} or contain {@code null} values
+     * @return the copy of this walker
+     * @throws IllegalArgumentException if the types parameter, or any type, is {@code null}
+     */
+    public GraphWalker withLeafTypes(Class<?>... types) {
+        if (types == null) {
+            throw new IllegalArgumentException("Cannot add 'null' leaf types to " + this + ".");
+        }
+
+        Class<?>[] newLeafTypes = Arrays.copyOf(leafTypes, leafTypes.length + types.length);
+
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == null) {
+                throw new IllegalArgumentException("Invalid 'null' leaf type, at position '" + i + "'.");
+            }
+
+            newLeafTypes[leafTypes.length + i] = types[i];
+        }
+
+        return new GraphWalker(maxDepth, newLeafTypes);
+    }
+
+    /**
+     * Walks the graph of the given root, passing each reachable value to the given visitor, depth-first
+     * and in the properties order. The root itself is not visited.
+     *
+     * @param root    the root bean, cannot be {@code null}
+     * @param visitor the visitor of the values, cannot be {@code null}
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if any parameter is {@code null}
+     */
+    public void walk(Object root, Visitor visitor) {
+        if (root == null || visitor == null) {
+            throw new IllegalArgumentException("Cannot walk a 'null' root, or with a 'null' visitor, by "
+                    + this + ".");
+        }
+
+        IdentityHashMap<Object, Boolean> expanded = new IdentityHashMap<Object, Boolean>();
+        Deque<Node> stack = new ArrayDeque<Node>();
+        expanded.put(root, Boolean.TRUE);
+        push(stack, new Node(null, null, -1, null, root, 0));
+
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            Object value = node.value;
+            boolean isExpandable = value != null && !isLeaf(value.getClass());
+
+            if (isExpandable && expanded.containsKey(value)) {
+                node.isRevisited = true;// shared node, already expanded
+                visitor.visit(node);
+                continue;
+            }
+
+            if (visitor.visit(node) && isExpandable && node.depth < maxDepth) {
+                expanded.put(value, Boolean.TRUE);
+                push(stack, node);
+            }
+        }
+    }
+
+    /*
+     * Pushes the children of the given node in reverse, so that they are popped in their natural order.
+     */
+    private static void push(Deque<Node> stack, Node node) {
+        Object value = node.value;
+        int depth = node.depth + 1;
+
+        if (value instanceof Object[]) {
+            Object[] array = (Object[]) value;
+
+            for (int i = array.length - 1; i >= 0; i--) {
+                stack.push(new Node(node, null, i, null, array[i], depth));
+            }
+        } else if (value instanceof Map) {
+            List<Node> children = new ArrayList<Node>(((Map<?, ?>) value).size());
+
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                children.add(new Node(node, null, -1, entry.getKey(), entry.getValue(), depth));
+            }
+
+            pushAll(stack, children);
+        } else if (value instanceof Iterable) {
+            List<Node> children = new ArrayList<Node>();
+            int i = 0;
+
+            for (Object element : (Iterable<?>) value) {
+                children.add(new Node(node, null, i++, null, element, depth));
+            }
+
+            pushAll(stack, children);
+        } else {
+            BeanMapper mapper = BeanMapper.forClass(value.getClass());
+
+            for (int i = mapper.size() - 1; i >= 0; i--) {
+                stack.push(new Node(node, mapper.getName(i), -1, null, mapper.getReader(i).get(value), depth));
+            }
+        }
+    }
+
+    private static void pushAll(Deque<Node> stack, List<Node> children) {
+        for (int i = children.size() - 1; i >= 0; i--) {
+            stack.push(children.get(i));
+        }
+    }
+
+    private boolean isLeaf(Class<?> type) {
+        if (type.isArray()) {
+            return type.getComponentType().isPrimitive() || isLeafType(type);
+        } else if (Map.class.isAssignableFrom(type) || Iterable.class.isAssignableFrom(type)) {
+            return isLeafType(type);
+        }
+
+        return type.getName().startsWith("java.") || type.isEnum() || isLeafType(type);
+    }
+
+    private boolean isLeafType(Class<?> type) {
+        for (Class<?> leafType : leafTypes) {
+            if (leafType.isAssignableFrom(type)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "GraphWalker{maxDepth=" + maxDepth + ", leafTypes=" + Arrays.toString(leafTypes) + '}';
+    }
+
+    /**
+     * Visitor of the values reached by a {@link GraphWalker}.
+     */
+    public interface Visitor {
+
+        /**
+         * Visits the given node.
+         *
+         * @param node the visited node
+         * @return {@code true} to expand the value of the node, {@code false} to prune it
+         */
+        boolean visit(Node node);
+    }
+
+    /**
+     * A value reached by a {@link GraphWalker}: a property of a bean, an element of an array or
+     * {@link Iterable}, or a value of a {@link Map}.
+     */
+    public static final class Node {
+
+        private final Node parent;
+        private final String name;
+        private final int index;
+        private final Object key;
+        private final Object value;
+        private final int depth;
+        private boolean isRevisited;
+
+        Node(Node parent, String name, int index, Object key, Object value, int depth) {
+            this.parent = parent;
+            this.name = name;
+            this.index = index;
+            this.key = key;
+            this.value = value;
+            this.depth = depth;
+        }
+
+        /**
+         * Returns the node of the bean, array, collection or map owning this value.
+         *
+         * @return the parent node, {@code null} for the root
+         */
+        public Node getParent() {
+            return parent;
+        }
+
+        /**
+         * Returns the name of the property, for a property of a bean.
+         *
+         * @return the property name, or {@code null} for an element or a map value
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the value.
+         *
+         * @return the value, can be {@code null}
+         */
+        public Object getValue() {
+            return value;
+        }
+
+        /**
+         * Returns the depth: 1 for the properties of the root, 2 for their own properties or elements,
+         * and so on.
+         *
+         * @return the depth
+         */
+        public int getDepth() {
+            return depth;
+        }
+
+        /**
+         * Returns true if the value is a bean, array, collection or map already expanded in this walk
+         * (ex: a shared node, or a back-reference), hence not expanded again whatever the visitor returns.
+         *
+         * @return true if already expanded
+         */
+        public boolean isRevisited() {
+            return isRevisited;
+        }
+
+        /**
+         * Builds the path of this value from the root (ex: "order.items[3].price", "prices[EUR]").
+         *
+         * @return the path, empty for the root
+         */
+        public String getPath() {
+            Node[] nodes = new Node[depth];
+
+            for (Node current = this; current.parent != null; current = current.parent) {
+                nodes[current.depth - 1] = current;
+            }
+
+            StringBuilder builder = new StringBuilder();
+
+            for (Node node : nodes) {
+                if (node.name != null) {
+                    builder.append((builder.length() > 0) ? "." : "").append(node.name);
+                } else {
+                    builder.append('[').append((node.index >= 0) ? (Object) node.index : node.key).append(']');
+                }
+            }
+
+            return builder.toString();
+        }
+
+        @Override
+        public String toString() {
+            return "Node{path=" + getPath() + ", depth=" + depth + '}';
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2015 Fabio Piro (minimalcode.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.minimalcode.beans;
+
+/**
+ * Immutable policy computing the new length of an {@code array} property auto-grown
+ * by an {@link ObjectWrapper}, to accommodate an element beyond its current length.
+ *
+ * <p> Three policies are supported:
+ *
+ * <p> - <b>{@link #EXACT}</b> grows the array to exactly the requested index + 1. It is the
+ * default, as the arrays never contain trailing positions, but filling an array sequentially
+ * copies it at each new element, with a quadratic cost.
+ *
+ * <p> - <b>{@link #geometric(double)}</b> multiplies the current length by a factor (ex: 1.5),
+ * as {@link java.util.ArrayList} does, so that a sequential fill has a linear amortized cost.
+ *
+ * <p> - <b>{@link #chunked(int)}</b> rounds the requested length up to a multiple of a fixed
+ * chunk size, bounding the number of trailing positions.
+ *
+ * <p> With the not exact policies, the auto-grown arrays can be longer than their logical size
+ * (the highest index set + 1), until {@link ObjectWrapper#trimArrays()} is invoked.
+ *
+ * @author Fabio Piro
+ * @see ObjectWrapper#setGrowthPolicy(GrowthPolicy)
+ */
+public final class GrowthPolicy {
+
+    /**
+     * Grows the arrays to exactly the requested length.
+     */
+    public static final GrowthPolicy EXACT = new GrowthPolicy(1.0, 1);
+
+    // Some VMs reserve header words in an array, as in java.util.ArrayList
+    private static final int MAX_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final double factor;
+    private final int chunkSize;
+
+    private GrowthPolicy(double factor, int chunkSize) {
+        this.factor = factor;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Returns a policy multiplying the current length by the given factor, at each growth.
+     *
+     * @param factor the growth factor, must be greater than 1 (ex: 1.5 or 2)
+     * @return the geometric policy
+     * @throws IllegalArgumentException if the factor is not greater than 1
+     */
+    public static GrowthPolicy geometric(double factor) {
+        if (!(factor > 1.0) || Double.isInfinite(factor)) {
+            throw new IllegalArgumentException("Cannot create a geometric GrowthPolicy with factor '" + factor
+                    + "'. The factor must be a finite number greater than 1.");
+        }
+
+        return new GrowthPolicy(factor, 1);
+    }
+
+    /**
+     * Returns a policy rounding the requested length up to a multiple of the given chunk size.
+     *
+     * @param chunkSize the chunk size, must be greater than 0
+     * @return the chunked policy
+     * @throws IllegalArgumentException if the chunkSize is not greater than 0
+     */
+    public static GrowthPolicy chunked(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Cannot create a chunked GrowthPolicy with chunkSize '" + chunkSize
+                    + "'. The chunkSize must be greater than 0.");
+        }
+
+        return new GrowthPolicy(1.0, chunkSize);
+    }
+
+    /**
+     * Returns true if this policy grows the arrays to exactly the requested length.
+     *
+     * @return true if this policy is the exact one
+     */
+    public boolean isExact() {
+        return factor == 1.0 && chunkSize == 1;
+    }
+
+    /**
+     * Computes the new length of an array to grow.
+     *
+     * @param length    the current length of the array
+     * @param minLength the minimum length required (ex: the requested index + 1)
+     * @return the new length, never lower than minLength
+     */
+    public int grow(int length, int minLength) {
+        long newLength = Math.max(minLength, (long) (length * factor));
+
+        if (chunkSize > 1) {
+            newLength = ((newLength + chunkSize - 1) / chunkSize) * chunkSize;
+        }
+
+        return (int) Math.max(minLength, Math.min(newLength, MAX_LENGTH));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof GrowthPolicy)) {
+            return false;
+        }
+
+        GrowthPolicy that = (GrowthPolicy) o;
+        return Double.compare(factor, that.factor) == 0 && chunkSize == that.chunkSize;
+    }
+
+    @Override
+    public int hashCode() {
+        long bits = Double.doubleToLongBits(factor);
+        return 31 * (int) (bits ^ (bits >>> 32)) + chunkSize;
+    }
+
+    @Override
+    public String toString() {
+        if (isExact()) {
+            return "GrowthPolicy{exact}";
+        } else if (chunkSize > 1) {
+            return "GrowthPolicy{chunked=" + chunkSize + "}";
+        } else {
+            return "GrowthPolicy{geometric=" + factor + "}";
+        }
+    }
+}
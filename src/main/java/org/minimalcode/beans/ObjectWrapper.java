@@ -19,18 +19,33 @@ import org.minimalcode.reflect.Bean;
 import org.minimalcode.reflect.Property;
 import org.minimalcode.reflect.ReflectionException;
 
-import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Wrapper for using Java Reflection APIs to facilitate generic property
  * getter and setter operations on Java objects.
  *
  * <p> This class is highly optimized for preventing internal objects
- * instantiation, and at the same time guarantees near-zero garbage collection.
+ * instantiation, and at the same time guarantees near-zero garbage collection:
+ * patterns are compiled once into a cached {@link PropertyPath}, or walked by
+ * offsets on the original string, without allocating any substring.
  * In addition to this, in a not-concurrent context, is perfectly safe to change
  * the wrapped object and the internal options at any time, without side effects.
  *
@@ -60,17 +75,49 @@ import java.util.Map;
  * <p> Any pattern combination is allowed, for example "foo.myList[1].bar.myMap[test].myArray[5]"
  * is parsed to object.getFoo().getMyList().get(1).getBar().getMyMap().get("test").getMyArray()[5].
  *
+ * <p> The primitive-specialized methods (ex: {@link #getInt(String)} or {@link #setIndexedDouble(Property, int, double)})
+ * read and write the primitive properties and the arrays of primitives without boxing their values,
+ * unboxing them only when the underlying property is a wrapper type (ex: an {@link Integer}, or a {@link List}).
+ *
+ * <p> A wrapper is not thread-safe. Its options can be exported as an immutable {@link WrapperOptions}
+ * snapshot, and shared with the stateless {@link BeanAccessor}, which can be used by many threads at once.
+ *
  * @author Fabio Piro
  * @see Bean
  * @see Property
  */
 public class ObjectWrapper {
 
+    // Returned by the internal iterations when the requested index is not found
+    private static final Object NOT_FOUND = new Object();
+
+    // The JDK List classes accepting 'null' values, which can be auto-grown in a single bulk operation
+    private static final Set<Class<?>> NULL_TOLERANT_LISTS = new HashSet<Class<?>>(Arrays.<Class<?>>asList(
+            ArrayList.class, LinkedList.class, Vector.class, CopyOnWriteArrayList.class));
+
+    // The List classes which have thrown a NullPointerException when auto-growing them with 'null' values
+    private static final ConcurrentMap<Class<?>, Boolean> NULL_HOSTILE_LISTS
+            = new ConcurrentHashMap<Class<?>, Boolean>();
+
+    // The wrapper reused by forThread(), one per thread: it holds the last wrapped object until released
+    private static final ThreadLocal<ObjectWrapper> THREAD_WRAPPERS = new ThreadLocal<ObjectWrapper>();
+
+    // Returned by the internal indexed reads of the primitive-specialized methods when the index is out of bounds
+    private static final Object OUT_OF_BOUNDS = new Object();
+
+    // The last segment resolved by the primitive-specialized methods, one per thread
+    private static final ThreadLocal<LastSegment> LAST_SEGMENTS = new ThreadLocal<LastSegment>() {
+        @Override
+        protected LastSegment initialValue() {
+            return new LastSegment();
+        }
+    };
+
     private Bean<?> bean;
     private Object object;
-    private boolean isAutoGrowing = true;
-    private boolean isAutoInstancing = true;
-    private boolean isOutOfBoundsSafety = true;
+    private ClassAccessor classAccessor;
+    private WrapperOptions options = WrapperOptions.DEFAULT;
+    private final WrapperState state = new WrapperState();
 
     /**
      * Wraps an object.
@@ -82,9 +129,93 @@ public class ObjectWrapper {
         setWrappedObject(obj);
     }
 
+    /**
+     * Wraps an object, with the given options.
+     *
+     * @param obj     the object to wrap
+     * @param options the options of the wrapper
+     * @throws IllegalArgumentException if the obj or options parameter is {@code null}
+     */
+    public ObjectWrapper(Object obj, WrapperOptions options) {
+        setWrappedObject(obj);
+        setOptions(options);
+    }
+
+    /**
+     * Returns the wrapper of the current thread, rebound to the given object, with the default options.
+     *
+     * @param obj the object to wrap
+     * @return the wrapper of the current thread
+     * @throws IllegalArgumentException if the obj parameter is {@code null}
+     * @see #forThread(Object, WrapperOptions)
+     */
+    public static ObjectWrapper forThread(Object obj) {
+        return forThread(obj, WrapperOptions.DEFAULT);
+    }
+
+    /**
+     * Returns the wrapper of the current thread, rebound to the given object, with the given options.
+     *
+     * <p> The same wrapper instance is returned by each call on the same thread, so that a loop on a
+     * stream of objects does not allocate any wrapper, nor resolve the {@link Bean} of each object
+     * of an already wrapped class. Its state (ex: the arrays to be trimmed by {@link #trimArrays()})
+     * is discarded by each call, and it must not be kept after the next call, nor shared with other
+     * threads, nor used again by nested operations running on the same thread.
+     *
+     * <p> Until the next call, the wrapper keeps a strong reference to the last wrapped object, and so
+     * to its class and class loader. A long-lived pooled thread (ex: of a web container, whose applications
+     * can be redeployed) should call {@link #releaseThread()} once done.
+     *
+     * <p> Example:
+     * <pre>
+     * for (Object item : items) {
+     *     total += ObjectWrapper.forThread(item).getPathDouble(PRICE_PATH);
+     * }
+     * </pre>
+     *
+     * @param obj     the object to wrap
+     * @param options the options of the wrapper
+     * @return the wrapper of the current thread
+     * @throws IllegalArgumentException if the obj or options parameter is {@code null}
+     */
+    public static ObjectWrapper forThread(Object obj, WrapperOptions options) {
+        // Checked before rebinding, so that a failed call leaves the wrapper of the thread untouched
+        if (obj == null || options == null) {
+            throw new IllegalArgumentException("Cannot rebind the wrapper of the current thread to the " + obj
+                    + " object with " + options + " options, as 'null' values are not allowed.");
+        }
+
+        ObjectWrapper wrapper = THREAD_WRAPPERS.get();
+
+        if (wrapper == null) {
+            wrapper = new ObjectWrapper(obj, options);
+            THREAD_WRAPPERS.set(wrapper);
+        } else {
+            wrapper.setWrappedObject(obj);
+            wrapper.setOptions(options);
+            wrapper.state.reset();
+        }
+
+        return wrapper;
+    }
+
+    /**
+     * Discards the wrapper of the current thread, and the other state kept per thread by this class,
+     * releasing the last wrapped object. The next {@link #forThread(Object, WrapperOptions)} call on
+     * the same thread creates a new wrapper.
+     */
+    public static void releaseThread() {
+        THREAD_WRAPPERS.remove();
+        LAST_SEGMENTS.remove();
+    }
+
     /**
      * Changes, at any time, the wrapped object with a new object.
      *
+     * <p> The {@link Bean} (and the {@link ClassAccessor}) already resolved for the previous
+     * object are kept if the new object is an instance of the same class, so that rebinding
+     * a single wrapper to each object of a homogeneous collection costs only an assignment.
+     *
      * @param obj the new object to wrap
      * @throws IllegalArgumentException if the obj parameter is {@code null}
      */
@@ -93,8 +224,13 @@ public class ObjectWrapper {
             throw new IllegalArgumentException("Cannot warp a 'null' object.");
         }
 
+        if (object == null || object.getClass() != obj.getClass()) {
+            this.bean = Bean.forClass(obj.getClass());
+            this.classAccessor = null;
+        }
+
         this.object = obj;
-        this.bean = Bean.forClass(obj.getClass());
+        state.clearCursor();
     }
 
     /**
@@ -106,6 +242,45 @@ public class ObjectWrapper {
         return bean;
     }
 
+    /**
+     * Returns the shared {@link ClassAccessor} of the wrapped object class, for reading and
+     * writing its properties by ordinal, without any per-property lookup.
+     *
+     * @return the class accessor of the wrapped object
+     */
+    public ClassAccessor getClassAccessor() {
+        if (classAccessor == null) {
+            classAccessor = ClassAccessor.forClass(object.getClass());
+        }
+
+        return classAccessor;
+    }
+
+    /**
+     * Returns the current options of this wrapper, as an immutable snapshot which can be shared
+     * with other wrappers or with a {@link BeanAccessor}.
+     *
+     * @return the current options
+     */
+    public WrapperOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * Changes, at once, all the options of this wrapper.
+     *
+     * @param options the new options
+     * @throws IllegalArgumentException if the options parameter is {@code null}
+     */
+    public void setOptions(WrapperOptions options) {
+        if (options == null) {
+            throw new IllegalArgumentException("Cannot set 'null' options.");
+        }
+
+        this.options = options;
+        state.clearCursor();
+    }
+
     /**
      * Changes the status of the Auto-Growing option.
      *
@@ -121,7 +296,7 @@ public class ObjectWrapper {
      * @param isAutoGrowing the new isAutoGrowing flag option value
      */
     public void setAutoGrowing(boolean isAutoGrowing) {
-        this.isAutoGrowing = isAutoGrowing;
+        this.options = options.withAutoGrowing(isAutoGrowing);
     }
 
     /**
@@ -142,7 +317,7 @@ public class ObjectWrapper {
      * @param isAutoInstancing the new isAutoInstancing option flag value
      */
     public void setAutoInstancing(boolean isAutoInstancing) {
-        this.isAutoInstancing = isAutoInstancing;
+        this.options = options.withAutoInstancing(isAutoInstancing);
     }
 
     /**
@@ -161,7 +336,83 @@ public class ObjectWrapper {
      * @param isOutOfBoundsSafety the new isOutOfBoundsSafety flag option value
      */
     public void setOutOfBoundsSafety(boolean isOutOfBoundsSafety) {
-        this.isOutOfBoundsSafety = isOutOfBoundsSafety;
+        this.options = options.withOutOfBoundsSafety(isOutOfBoundsSafety);
+    }
+
+    /**
+     * Changes the status of the Iterator-Caching option.
+     *
+     * <p>Default: disabled. If enabled, the wrapper remembers the position of the last element read
+     * from an indexed {@link Iterable} (ex: a {@link Set}) or sequential {@link List} (ex: a {@link LinkedList}),
+     * and resumes from there when the same instance is read again, so that reading all the elements
+     * by increasing index (ex: "items[0]".."items[n]") is linear instead of quadratic.
+     *
+     * <p>A cached position is discarded when the size of the collection changes, or when its fail-fast
+     * iterator detects a structural modification. It must not be enabled for the collections modified
+     * without changing their size between two reads (ex: a removal followed by an addition), or
+     * concurrently by other threads, as the remembered position can become stale.
+     *
+     * <p>Affected:
+     * <p>- {@link ObjectWrapper#getValue(String)}
+     * <p>- {@link ObjectWrapper#getIndexedValue(Property, int)}
+     *
+     * @param isIteratorCaching the new isIteratorCaching flag option value
+     */
+    public void setIteratorCaching(boolean isIteratorCaching) {
+        this.options = options.withIteratorCaching(isIteratorCaching);
+        state.clearCursor();
+    }
+
+    /**
+     * Changes the {@link GrowthPolicy} of the auto-grown and auto-instanced {@code array} properties.
+     *
+     * <p>Default: {@link GrowthPolicy#EXACT}. If not exact, an array can be grown beyond the
+     * requested index, making the sequential fill of an array linear instead of quadratic.
+     * The trailing positions (with the default element value) are then removed by {@link #trimArrays()}.
+     *
+     * <p>Affected:
+     * <p>- {@link ObjectWrapper#setValue(String, Object)}
+     * <p>- {@link ObjectWrapper#setIndexedValue(String, int, Object)}
+     * <p>- {@link ObjectWrapper#setIndexedValue(Property, int, Object)}
+     *
+     * @param growthPolicy the new growth policy
+     * @throws IllegalArgumentException if the growthPolicy parameter is {@code null}
+     */
+    public void setGrowthPolicy(GrowthPolicy growthPolicy) {
+        this.options = options.withGrowthPolicy(growthPolicy);
+    }
+
+    /**
+     * Changes the initial capacity of the auto-instanced {@link List} properties.
+     *
+     * <p>Default: 10, the {@link ArrayList} default. The auto-instanced list is always created
+     * with a capacity large enough for the requested index, the hint allows to pre-size it
+     * for the elements which will follow (ex: the known size of a streamed input).
+     *
+     * <p>Affected:
+     * <p>- {@link ObjectWrapper#setValue(String, Object)}
+     * <p>- {@link ObjectWrapper#setIndexedValue(String, int, Object)}
+     * <p>- {@link ObjectWrapper#setIndexedValue(Property, int, Object)}
+     *
+     * @param initialListCapacity the new initial capacity
+     * @throws IllegalArgumentException if the initialListCapacity parameter is negative
+     */
+    public void setInitialListCapacity(int initialListCapacity) {
+        this.options = options.withInitialListCapacity(initialListCapacity);
+    }
+
+    /**
+     * Trims each {@code array} property grown by this wrapper, with a not exact {@link GrowthPolicy},
+     * to its logical size (the highest index set + 1), replacing it in its owner object.
+     *
+     * <p> Must be invoked at the end of a bulk population, as the grown arrays (and their owners)
+     * are remembered by this wrapper until then. Any array replaced in the meantime by another
+     * value of the property is ignored.
+     *
+     * @throws ReflectionException if a reflection error occurs
+     */
+    public void trimArrays() {
+        state.trimArrays();
     }
 
     /**
@@ -193,7 +444,61 @@ public class ObjectWrapper {
      * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying property
      */
     public Object getValue(String propertyPattern) {
-        return getValue(object, propertyPattern, this);
+        return getValue(object, propertyPattern, options, state);
+    }
+
+    /**
+     * Returns the value of the specified simple, indexed or mapped property locate by the given compiled path.
+     *
+     * @param propertyPath the compiled path to traverse, cannot be {@code null}
+     * @return the simple, indexed or mapped property value
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the propertyPath parameter is {@code null}
+     * @throws IllegalArgumentException  if the propertyPath parameter contains an invalid, not parsable, index integer
+     * @throws NullPointerException      if the propertyPath parameter contains a nested property with a {@code null} value
+     * @throws NullPointerException      if the propertyPath parameter contains a nested not-existent property
+     * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying property
+     * @see #compile(String)
+     */
+    public Object getPathValue(PropertyPath propertyPath) {
+        return getValue(object, propertyPath, options, state);
+    }
+
+    /**
+     * Returns a lazy iterator of the values located by the given pattern, whose indexed\mapped segments
+     * can be the "[*]" wildcard (ex: "orders[*].lines[*].total"): each wildcard is expanded to all the
+     * elements of its array or {@link Iterable}, or to all the values of its {@link Map}, in their order.
+     *
+     * <p> The values are evaluated one at a time, depth-first, only when requested by the iterator: no
+     * intermediate collection is built, and the iteration can be stopped at any point. As a consequence,
+     * the iterated collections should not be structurally modified during the iteration. A pattern
+     * without wildcards is iterated as its only value.
+     *
+     * @param propertyPattern the pattern of the properties, cannot be {@code null}
+     * @return the lazy iterator of the values, not supporting {@link Iterator#remove()}
+     * @throws ReflectionException      if a reflection error occurs, also while iterating
+     * @throws IllegalArgumentException if the propertyPattern parameter is {@code null}
+     * @throws IllegalArgumentException if a wildcard property, while iterating, is not an array, Iterable or Map
+     * @throws NullPointerException     if a nested property or wildcard property, while iterating, is {@code null}
+     */
+    public Iterator<Object> iterateValues(String propertyPattern) {
+        return new PathIterator(object, compileGetPattern(propertyPattern), options);
+    }
+
+    /**
+     * Returns a lazy iterator of the values located by the given compiled path, with the same wildcard
+     * semantic of {@link #iterateValues(String)}.
+     *
+     * @param propertyPath the compiled path to traverse, cannot be {@code null}
+     * @return the lazy iterator of the values, not supporting {@link Iterator#remove()}
+     * @throws ReflectionException      if a reflection error occurs, also while iterating
+     * @throws IllegalArgumentException if the propertyPath parameter is {@code null}
+     * @throws IllegalArgumentException if a wildcard property, while iterating, is not an array, Iterable or Map
+     * @throws NullPointerException     if a nested property or wildcard property, while iterating, is {@code null}
+     * @see #compile(String)
+     */
+    public Iterator<Object> iteratePathValues(PropertyPath propertyPath) {
+        return new PathIterator(object, checkGetPath(propertyPath), options);
     }
 
     /**
@@ -235,7 +540,7 @@ public class ObjectWrapper {
      * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying indexed property
      */
     public Object getIndexedValue(String propertyName, int index) {
-        return getIndexedValue(object, getPropertyOrThrow(bean, propertyName), index, this);
+        return getIndexedValue(object, getPropertyOrThrow(bean, propertyName), index, options, state);
     }
 
     /**
@@ -251,7 +556,7 @@ public class ObjectWrapper {
      * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying indexed property
      */
     public Object getIndexedValue(Property property, int index) {
-        return getIndexedValue(object, property, index, this);
+        return getIndexedValue(object, property, index, options, state);
     }
 
     /**
@@ -300,7 +605,25 @@ public class ObjectWrapper {
      * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying property
      */
     public void setValue(String propertyPattern, Object value) {
-        setValue(object, propertyPattern, value, this);
+        setValue(object, propertyPattern, value, options, state);
+    }
+
+    /**
+     * Sets the value of the specified simple, indexed or mapped property locate
+     * by the given compiled path, in the wrapped object.
+     *
+     * @param propertyPath the compiled path to traverse, cannot be {@code null}
+     * @param value the value to set, can be {@code null}
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the propertyPath parameter is {@code null}
+     * @throws IllegalArgumentException  if the propertyPath parameter contains an invalid, not parsable, index integer
+     * @throws NullPointerException      if the propertyPath parameter contains a nested property with a {@code null} value
+     * @throws NullPointerException      if the propertyPath parameter contains a nested not-existent property
+     * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying property
+     * @see #compile(String)
+     */
+    public void setPathValue(PropertyPath propertyPath, Object value) {
+        setValue(object, propertyPath, value, options, state);
     }
 
     /**
@@ -341,7 +664,7 @@ public class ObjectWrapper {
      * @throws NullPointerException      if the wrapped object does not have a property with the given name
      */
     public void setIndexedValue(String propertyName, int index, Object value) {
-        setIndexedValue(object, getPropertyOrThrow(bean, propertyName), index, value, this);
+        setIndexedValue(object, getPropertyOrThrow(bean, propertyName), index, value, options, state);
     }
 
     /**
@@ -358,7 +681,7 @@ public class ObjectWrapper {
      * @throws NullPointerException      if the indexed object in the wrapped object is out of bounds with the given index, but autogrowing (if enabled) is unable to fill the blank positions with {@code null}
      */
     public void setIndexedValue(Property property, int index, Object value) {
-        setIndexedValue(object, property, index, value, this);
+        setIndexedValue(object, property, index, value, options, state);
     }
 
     /**
@@ -374,7 +697,7 @@ public class ObjectWrapper {
      * @throws NullPointerException     if the wrapped object does not have a property with the given name
      */
     public void setMappedValue(String propertyName, Object key, Object value) {
-        setMappedValue(object, getPropertyOrThrow(bean, propertyName), key, value, this);
+        setMappedValue(object, getPropertyOrThrow(bean, propertyName), key, value, options, state);
     }
 
     /**
@@ -389,463 +712,2293 @@ public class ObjectWrapper {
      * @throws NullPointerException     if the mapped object in the wrapped object is {@code null}
      */
     public void setMappedValue(Property property, Object key, Object value) {
-        setMappedValue(object, property, key, value, this);
+        setMappedValue(object, property, key, value, options, state);
     }
 
     /**
-     * Returns a textual rapresentation of this wrapper.
+     * Returns the values of the simple, indexed or mapped properties located by the given patterns
+     * in the wrapped object, merging their shared prefixes so that each nested object is read once.
      *
-     * @return a string decribing the wrapped object
+     * <p> The patterns are compiled into a {@link PathSet} at each call: when the same patterns are
+     * read from many objects, the set should be compiled once and read by {@link #getValues(PathSet, Object[])}.
+     *
+     * @param propertyPatterns the patterns of the properties, cannot be {@code null} or contain {@code null} values
+     * @return the property values, in the order of the patterns
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the propertyPatterns parameter, or any pattern, is {@code null}
+     * @throws NullPointerException      if a nested property is {@code null}, or not found
+     * @throws IndexOutOfBoundsException if an index is out of bounds and the out of bounds safety is disabled
      */
-    @Override
-    public String toString() {
-        return "ObjectWrapper{object=" + object + '}';
-    }
+    public Object[] getValues(String... propertyPatterns) {
+        PathSet pathSet = PathSet.compile(propertyPatterns);
+        Object[] results = new Object[pathSet.size()];
 
-    // STATIC SECTION
-    //
-    // The follow static section contains a corrispective static method for each wrapper method.
-    // This hybrid architecture allows to avoid the instantiation of a new wrapper object when
-    // traversing each property graph with a nested notation, hence optimizing the heap allocation.
-    // -----------------------------------------------------------------------------------------------
+        pathSet.getValues(object, results, options, state);
+        return results;
+    }
 
     /**
-     * Internal: Static version of {@link #getProperty(String)}, throws an exception instead of return null.
+     * Reads all the paths of the given set from the wrapped object, in a single traversal, into the
+     * given array: the value of each path is stored at its position in the set.
      *
-     * @param bean the bean object whose property is to be searched
-     * @param propertyName the name of the property to search
-     * @return the property with the given name, if found
-     * @throws NullPointerException if the bean object does not have a property with the given name
+     * @param pathSet the compiled path set, cannot be {@code null}
+     * @param results the array receiving the values, at least as long as the set size
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the pathSet parameter is {@code null}, or the results array is too short
+     * @throws NullPointerException      if a nested property is {@code null}, or not found
+     * @throws IndexOutOfBoundsException if an index is out of bounds and the out of bounds safety is disabled
      */
-    private static Property getPropertyOrThrow(Bean bean, String propertyName) {
-        Property property = bean.getProperty(propertyName);
-
-        if (property == null) {
-            throw new NullPointerException("Cannot found a property with name '" + propertyName + "' in " + bean + ".");
-        }
-
-        return property;
+    public void getValues(PathSet pathSet, Object[] results) {
+        checkPathSet(pathSet).getValues(object, results, options, state);
     }
 
     /**
-     * Optimized version of indexOf that searches both '.' and '[' positions
-     * using just a sigle loop, while taking in consideration (and ignoring)
-     * possible dots inside the square notation (like "map[foo.bar].zoo").
+     * Sets all the paths of the given set in the wrapped object, in a single traversal, from the
+     * given array: the value of each path is taken from its position in the set.
      *
-     * <p> The searching process will stop immediately at the first '.' found,
-     * hence the result order matters: '.' has precedence over '[' notation.
+     * <p> The paths are applied in their sorted order, not in the set order: each nested object is resolved
+     * (or auto-instanced) once, a path is set before the longer paths it is a prefix of (ex: "address" before
+     * "address.city"), and the indexes of a List or array are set from the highest one, so that it is
+     * auto-grown once. If the same path is in the set more than once, its last value is set.
      *
-     * <p> To avoid the need of a new object for containing both results (gc),
-     * the alghoritm will return as a positive int value the '.' first position,
-     * and as a negative int value the negated '[' first position.
+     * @param pathSet the compiled path set, cannot be {@code null}
+     * @param values  the values to set, at least as long as the set size
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the pathSet parameter is {@code null}, or the values array is too short
+     * @throws NullPointerException      if a nested property is {@code null} and the auto-instancing is disabled
+     * @throws IndexOutOfBoundsException if an index is out of bounds and the auto-growing is disabled
+     */
+    public void setValues(PathSet pathSet, Object[] values) {
+        checkPathSet(pathSet).setValues(object, values, options, state);
+    }
+
+    /**
+     * Returns the values of all the readable properties of the wrapped object, by property name.
      *
-     * <p> A result == 0 means "not found", as a propertyPattern with the first
-     * char equal to '.' or '[', in [0] position, is an illegal pattern anyway.
+     * <p> The properties of each class are resolved once, and the returned map is pre-sized.
+     * The values are not copied (ex: a nested bean is returned as is, not described).
      *
-     * @param propertyPattern the pattern to parse, cannot be {@code null}
-     * @return the first '.' position (if any), or
-     *         the negated first '[' position (if any and no '.' found before), or
-     *         0 if neither '.' nor ']' was found, or no valid pattern present
-     * @throws IllegalArgumentException if the whole string was parsed but '[x]'
-     *                                  notation is still "open" without an enclosing ']'
+     * @return a new, modifiable map of the property values
+     * @throws ReflectionException if a reflection error occurs
      */
-    private static int indexOfDotOrSquare(String propertyPattern) {
-        int lenght = propertyPattern.length();
-        int result = 0;// nothing found
-
-        boolean dotFound = false;
-        boolean insideSquares = false;
-
-        int i = 0;
-        while (!dotFound && i < lenght) {
-            char current = propertyPattern.charAt(i);
-
-            if (!insideSquares) {
-                if (current == '.') {
-                    dotFound = true;
-                    result = i;// found: set as positive and stop the loop
-                } else if (current == '[') {
-                    insideSquares = true;
-                    result = -i;// found: set as negative, but still continuing...
-                }
-            } else {
-                if (current == ']') {
-                    insideSquares = false;
-                }
-            }
-
-            i++;
-        }
-
-        if (insideSquares) {
-            throw new IllegalArgumentException("Cannot found the closing ']' suffix in '" + propertyPattern + "' pattern.");
-        }
-
-        return result;
+    public Map<String, Object> describe() {
+        return BeanMapper.forClass(object.getClass()).describe(object);
     }
 
-    /*
-     * Internal static version of {@link #getProperty(String)}.
+    /**
+     * Sets each value of the given map to the simple, indexed or mapped property located by its key
+     * (ex: "name", "address.city", "items[0].price") in the wrapped object, as {@link #setValue(String, Object)}.
+     *
+     * <p> The keys are compiled into a {@link PathSet} and set as {@link #setValues(PathSet, Object[])}: those
+     * sharing a prefix (ex: "address.city" and "address.zip") are applied together and their common nested
+     * objects are resolved (or auto-instanced) only once. Hence, the values are set in the sorted order of
+     * their keys, not in the iteration order of the map.
+     *
+     * @param values the values to set, by property pattern, cannot be {@code null}
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the values parameter, or any of its keys, is {@code null}
+     * @throws NullPointerException      if a nested property is {@code null} and the auto-instancing is disabled
+     * @throws IndexOutOfBoundsException if an index is out of bounds and the auto-growing is disabled
      */
-    public static Property getProperty(Bean bean, String propertyPattern) {
-        if (propertyPattern == null) {
-            throw new IllegalArgumentException("Cannot get a property with a 'null' propertyPattern.");
-        }
-
-        // '.' position if positive, '[' inverse position if negative
-        int position = indexOfDotOrSquare(propertyPattern);
-
-        // (propertyPattern.contains("."))
-        if (position > 0) {
-            String leftPattern = propertyPattern.substring(0, position);
-            String rightPattern = propertyPattern.substring(position + 1, propertyPattern.length());
-            Property leftProperty = bean.getProperty(leftPattern);
-
-            return (leftProperty != null) ? getProperty(Bean.forClass(leftProperty.getType()), rightPattern) : null;
-            // if (propertyPattern.contains("["))
-        } else if (position < 0) {
-            throw new IllegalArgumentException("The indexed or mapped '[]' notation is not allowed while searching" +
-                    " a property, but '" + propertyPattern + "' pattern found.");
-        }
-
-        return bean.getProperty(propertyPattern);
+    public void populate(Map<String, ?> values) {
+        BeanMapper.populate(object, values, options, state);
     }
 
-    /*
-     * Internal static version of {@link ObjectWrapper#getValue(String)}.
+    /**
+     * Returns the value of the specified simple, indexed or mapped property locate by the given pattern, as
+     * an {@code int}. The value is never boxed when the last property is a primitive one.
+     *
+     * @param propertyPattern the pattern to traverse, cannot be {@code null}
+     * @return the simple, indexed or mapped property value
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the propertyPattern parameter is {@code null}
+     * @throws IllegalArgumentException  if the propertyPattern parameter contains an unclosed indexed\mapped '[]' notation
+     * @throws IllegalArgumentException  if the propertyPattern parameter contains an invalid, not parsable, index integer
+     * @throws IllegalArgumentException  if the property value cannot be converted to an {@code int}
+     * @throws NullPointerException      if the propertyPattern parameter contains a nested property with a {@code null} value
+     * @throws NullPointerException      if the propertyPattern parameter contains a nested not-existent property
+     * @throws NullPointerException      if the property value is {@code null}
+     * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying property
      */
-    private static Object getValue(Object obj, String propertyPattern, ObjectWrapper options) {
-        if (propertyPattern == null) {
-            throw new IllegalArgumentException("Cannot get the value from a property with a 'null' propertyPattern.");
-        }
-
-        if (obj == null) {
-            // NullPointerException as it is throwed only when traversing a null object (ex: "foo.null.bar")
-            throw new NullPointerException("Cannot get the value of '" + propertyPattern + "' from a 'null' object.");
-        }
-
-        // '.' position if positive, '[' inverse position if negative
-        int position = indexOfDotOrSquare(propertyPattern);
-
-        // (propertyPattern.contains("."))
-        if (position > 0) {
-            String leftPattern = propertyPattern.substring(0, position);
-            String rightPattern = propertyPattern.substring(position + 1, propertyPattern.length());
-            Object leftValue = getValue(obj, leftPattern, options);
-
-            return getValue(leftValue, rightPattern, options);
-            // if (propertyPattern.contains("["))
-        } else if (position < 0) {
-            int squarePosition = -position;
-
-            String leftPattern = propertyPattern.substring(0, squarePosition);
-            String indexOrKey = propertyPattern.substring(squarePosition + 1, propertyPattern.length() - 1);// removes ']'
-            Property leftProperty = getPropertyOrThrow(Bean.forClass(obj.getClass()), leftPattern);
-
-            if (Map.class.isAssignableFrom(leftProperty.getType())) {
-                return getMappedValue(obj, leftProperty, indexOrKey);
-            } else {
-                try {
-                    return getIndexedValue(obj, leftProperty, Integer.parseInt(indexOrKey), options);
-                } catch (NumberFormatException e) {
-                    throw new IllegalArgumentException("The pattern '" + indexOrKey + "' for the indexed "
-                            + leftProperty + " is invalid. Cannot parse the string to a valid integer index.");
-                }
-            }
-        }
-
-        return getSimpleValue(obj, getPropertyOrThrow(Bean.forClass(obj.getClass()), propertyPattern));
+    public int getInt(String propertyPattern) {
+        return getInt(object, propertyPattern, options, state);
     }
 
-    /*
-     * Internal: Static version of {@link ObjectWrapper#getSimpleValue(Property)}.
+    /**
+     * Returns the value of the specified simple, indexed or mapped property locate by the given compiled path, as
+     * an {@code int}. The value is never boxed when the last property is a primitive one.
+     *
+     * @param propertyPath the compiled path to traverse, cannot be {@code null}
+     * @return the simple, indexed or mapped property value
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the propertyPath parameter is {@code null}
+     * @throws IllegalArgumentException  if the propertyPath parameter contains an invalid, not parsable, index integer
+     * @throws IllegalArgumentException  if the property value cannot be converted to an {@code int}
+     * @throws NullPointerException      if the propertyPath parameter contains a nested property with a {@code null} value
+     * @throws NullPointerException      if the propertyPath parameter contains a nested not-existent property
+     * @throws NullPointerException      if the property value is {@code null}
+     * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying property
+     * @see #compile(String)
      */
-    private static Object getSimpleValue(Object obj, Property property) {
-        if (property == null) {
-            throw new IllegalArgumentException("Cannot get the value from a 'null' property.");
-        }
-
-        return property.get(obj);
+    public int getPathInt(PropertyPath propertyPath) {
+        return getInt(object, propertyPath, options, state);
     }
 
-    /*
-     * Internal: Static version of {@link ObjectWrapper#getIndexedValue(Property, int)}.
+    /**
+     * Returns the value of the specified simple property from the wrapped object, as an {@code int}.
+     * The value is never boxed when the property is a primitive one.
+     *
+     * @param property the property whose value is to be extracted, cannot be {@code null}
+     * @return the simple property value
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if the property parameter is {@code null}
+     * @throws IllegalArgumentException if the property value cannot be converted to an {@code int}
+     * @throws NullPointerException     if the property value is {@code null}
      */
-    @SuppressWarnings("unchecked")
-    private static Object getIndexedValue(Object obj, Property property, int index, ObjectWrapper options) {
-        if (property == null) {
-            throw new IllegalArgumentException("Cannot get the indexed value from 'null' property.");
-        }
+    public int getSimpleInt(Property property) {
+        return getSimpleInt(object, property);
+    }
 
-        Object propertyValue = property.get(obj);
+    /**
+     * Returns the value of the specified indexed property from the wrapped object, as an {@code int}.
+     * The value is never boxed when the indexed property is an array of primitives.
+     *
+     * @param property  the indexed property whose value is to be extracted, cannot be {@code null}
+     * @param index     the index of the property value to be extracted
+     * @return          the indexed property value, or {@code 0} if out of bounds and the out of bounds safety is enabled
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the property parameter is {@code null}
+     * @throws IllegalArgumentException  if the indexed object in the wrapped object is not a {@link List}, {@link Iterable} or {@code array}
+     * @throws IllegalArgumentException  if the indexed value cannot be converted to an {@code int}
+     * @throws NullPointerException      if the indexed {@link List}, {@link Iterable} or {@code array} is {@code null} in the wrapped object
+     * @throws NullPointerException      if the indexed value is {@code null}
+     * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying indexed property
+     */
+    public int getIndexedInt(Property property, int index) {
+        return getIndexedInt(object, property, index, options, state);
+    }
+
+    /**
+     * Sets an {@code int} value of the specified simple, indexed or mapped property locate by the given
+     * pattern, in the wrapped object. The value is never boxed when the last property is a primitive one.
+     *
+     * @param propertyPattern the pattern to traverse, cannot be {@code null}
+     * @param value the value to set
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the propertyPattern parameter is {@code null}
+     * @throws IllegalArgumentException  if the propertyPattern parameter contains an unclosed indexed\mapped '[]' notation
+     * @throws IllegalArgumentException  if the propertyPattern parameter contains an invalid, not parsable, index integer
+     * @throws IllegalArgumentException  if the property cannot store an {@code int} value
+     * @throws NullPointerException      if the propertyPattern parameter contains a nested property with a {@code null} value
+     * @throws NullPointerException      if the propertyPattern parameter contains a nested not-existent property
+     * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying property
+     */
+    public void setInt(String propertyPattern, int value) {
+        setInt(object, propertyPattern, value, options, state);
+    }
+
+    /**
+     * Sets an {@code int} value of the specified simple, indexed or mapped property locate by the given
+     * compiled path, in the wrapped object. The value is never boxed when the last property is a primitive one.
+     *
+     * @param propertyPath the compiled path to traverse, cannot be {@code null}
+     * @param value the value to set
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the propertyPath parameter is {@code null}
+     * @throws IllegalArgumentException  if the propertyPath parameter contains an invalid, not parsable, index integer
+     * @throws IllegalArgumentException  if the property cannot store an {@code int} value
+     * @throws NullPointerException      if the propertyPath parameter contains a nested property with a {@code null} value
+     * @throws NullPointerException      if the propertyPath parameter contains a nested not-existent property
+     * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying property
+     * @see #compile(String)
+     */
+    public void setPathInt(PropertyPath propertyPath, int value) {
+        setInt(object, propertyPath, value, options, state);
+    }
+
+    /**
+     * Sets an {@code int} value of the specified property in the wrapped object.
+     * The value is never boxed when the property is a primitive one.
+     *
+     * @param property the property whose value is to be updated, cannot be {@code null}
+     * @param value the value to set
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the property parameter is {@code null}
+     * @throws IllegalArgumentException  if the property cannot store an {@code int} value
+     */
+    public void setSimpleInt(Property property, int value) {
+        setSimpleInt(object, property, value);
+    }
+
+    /**
+     * Sets an {@code int} value of the specified indexed property in the wrapped object.
+     * The value is never boxed when the indexed property is an array of primitives.
+     *
+     * @param property the indexed property whose value is to be updated, cannot be {@code null}
+     * @param index the index position of the property value to be set
+     * @param value the indexed value to set
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the property parameter is {@code null}
+     * @throws IllegalArgumentException  if the indexed object in the wrapped object is not a {@link List} or {@code array} type
+     * @throws IllegalArgumentException  if the indexed array or List cannot store an {@code int} value
+     * @throws IndexOutOfBoundsException if the indexed object in the wrapped object is out of bounds with the given index and autogrowing is disabled
+     * @throws NullPointerException      if the indexed object in the wrapped object is {@code null}
+     */
+    public void setIndexedInt(Property property, int index, int value) {
+        setIndexedInt(object, property, index, value, options, state);
+    }
+
+    /**
+     * Returns the value of the specified simple, indexed or mapped property locate by the given pattern, as
+     * a {@code long}. The value is never boxed when the last property is a primitive one.
+     *
+     * @param propertyPattern the pattern to traverse, cannot be {@code null}
+     * @return the simple, indexed or mapped property value
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the propertyPattern parameter is {@code null}
+     * @throws IllegalArgumentException  if the propertyPattern parameter contains an unclosed indexed\mapped '[]' notation
+     * @throws IllegalArgumentException  if the propertyPattern parameter contains an invalid, not parsable, index integer
+     * @throws IllegalArgumentException  if the property value cannot be converted to a {@code long}
+     * @throws NullPointerException      if the propertyPattern parameter contains a nested property with a {@code null} value
+     * @throws NullPointerException      if the propertyPattern parameter contains a nested not-existent property
+     * @throws NullPointerException      if the property value is {@code null}
+     * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying property
+     */
+    public long getLong(String propertyPattern) {
+        return getLong(object, propertyPattern, options, state);
+    }
+
+    /**
+     * Returns the value of the specified simple, indexed or mapped property locate by the given compiled path, as
+     * a {@code long}. The value is never boxed when the last property is a primitive one.
+     *
+     * @param propertyPath the compiled path to traverse, cannot be {@code null}
+     * @return the simple, indexed or mapped property value
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the propertyPath parameter is {@code null}
+     * @throws IllegalArgumentException  if the propertyPath parameter contains an invalid, not parsable, index integer
+     * @throws IllegalArgumentException  if the property value cannot be converted to a {@code long}
+     * @throws NullPointerException      if the propertyPath parameter contains a nested property with a {@code null} value
+     * @throws NullPointerException      if the propertyPath parameter contains a nested not-existent property
+     * @throws NullPointerException      if the property value is {@code null}
+     * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying property
+     * @see #compile(String)
+     */
+    public long getPathLong(PropertyPath propertyPath) {
+        return getLong(object, propertyPath, options, state);
+    }
+
+    /**
+     * Returns the value of the specified simple property from the wrapped object, as a {@code long}.
+     * The value is never boxed when the property is a primitive one.
+     *
+     * @param property the property whose value is to be extracted, cannot be {@code null}
+     * @return the simple property value
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if the property parameter is {@code null}
+     * @throws IllegalArgumentException if the property value cannot be converted to a {@code long}
+     * @throws NullPointerException     if the property value is {@code null}
+     */
+    public long getSimpleLong(Property property) {
+        return getSimpleLong(object, property);
+    }
+
+    /**
+     * Returns the value of the specified indexed property from the wrapped object, as a {@code long}.
+     * The value is never boxed when the indexed property is an array of primitives.
+     *
+     * @param property  the indexed property whose value is to be extracted, cannot be {@code null}
+     * @param index     the index of the property value to be extracted
+     * @return          the indexed property value, or {@code 0} if out of bounds and the out of bounds safety is enabled
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the property parameter is {@code null}
+     * @throws IllegalArgumentException  if the indexed object in the wrapped object is not a {@link List}, {@link Iterable} or {@code array}
+     * @throws IllegalArgumentException  if the indexed value cannot be converted to a {@code long}
+     * @throws NullPointerException      if the indexed {@link List}, {@link Iterable} or {@code array} is {@code null} in the wrapped object
+     * @throws NullPointerException      if the indexed value is {@code null}
+     * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying indexed property
+     */
+    public long getIndexedLong(Property property, int index) {
+        return getIndexedLong(object, property, index, options, state);
+    }
+
+    /**
+     * Sets a {@code long} value of the specified simple, indexed or mapped property locate by the given
+     * pattern, in the wrapped object. The value is never boxed when the last property is a primitive one.
+     *
+     * @param propertyPattern the pattern to traverse, cannot be {@code null}
+     * @param value the value to set
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the propertyPattern parameter is {@code null}
+     * @throws IllegalArgumentException  if the propertyPattern parameter contains an unclosed indexed\mapped '[]' notation
+     * @throws IllegalArgumentException  if the propertyPattern parameter contains an invalid, not parsable, index integer
+     * @throws IllegalArgumentException  if the property cannot store a {@code long} value
+     * @throws NullPointerException      if the propertyPattern parameter contains a nested property with a {@code null} value
+     * @throws NullPointerException      if the propertyPattern parameter contains a nested not-existent property
+     * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying property
+     */
+    public void setLong(String propertyPattern, long value) {
+        setLong(object, propertyPattern, value, options, state);
+    }
+
+    /**
+     * Sets a {@code long} value of the specified simple, indexed or mapped property locate by the given
+     * compiled path, in the wrapped object. The value is never boxed when the last property is a primitive one.
+     *
+     * @param propertyPath the compiled path to traverse, cannot be {@code null}
+     * @param value the value to set
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the propertyPath parameter is {@code null}
+     * @throws IllegalArgumentException  if the propertyPath parameter contains an invalid, not parsable, index integer
+     * @throws IllegalArgumentException  if the property cannot store a {@code long} value
+     * @throws NullPointerException      if the propertyPath parameter contains a nested property with a {@code null} value
+     * @throws NullPointerException      if the propertyPath parameter contains a nested not-existent property
+     * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying property
+     * @see #compile(String)
+     */
+    public void setPathLong(PropertyPath propertyPath, long value) {
+        setLong(object, propertyPath, value, options, state);
+    }
+
+    /**
+     * Sets a {@code long} value of the specified property in the wrapped object.
+     * The value is never boxed when the property is a primitive one.
+     *
+     * @param property the property whose value is to be updated, cannot be {@code null}
+     * @param value the value to set
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the property parameter is {@code null}
+     * @throws IllegalArgumentException  if the property cannot store a {@code long} value
+     */
+    public void setSimpleLong(Property property, long value) {
+        setSimpleLong(object, property, value);
+    }
+
+    /**
+     * Sets a {@code long} value of the specified indexed property in the wrapped object.
+     * The value is never boxed when the indexed property is an array of primitives.
+     *
+     * @param property the indexed property whose value is to be updated, cannot be {@code null}
+     * @param index the index position of the property value to be set
+     * @param value the indexed value to set
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the property parameter is {@code null}
+     * @throws IllegalArgumentException  if the indexed object in the wrapped object is not a {@link List} or {@code array} type
+     * @throws IllegalArgumentException  if the indexed array or List cannot store a {@code long} value
+     * @throws IndexOutOfBoundsException if the indexed object in the wrapped object is out of bounds with the given index and autogrowing is disabled
+     * @throws NullPointerException      if the indexed object in the wrapped object is {@code null}
+     */
+    public void setIndexedLong(Property property, int index, long value) {
+        setIndexedLong(object, property, index, value, options, state);
+    }
+
+    /**
+     * Returns the value of the specified simple, indexed or mapped property locate by the given pattern, as
+     * a {@code double}. The value is never boxed when the last property is a primitive one.
+     *
+     * @param propertyPattern the pattern to traverse, cannot be {@code null}
+     * @return the simple, indexed or mapped property value
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the propertyPattern parameter is {@code null}
+     * @throws IllegalArgumentException  if the propertyPattern parameter contains an unclosed indexed\mapped '[]' notation
+     * @throws IllegalArgumentException  if the propertyPattern parameter contains an invalid, not parsable, index integer
+     * @throws IllegalArgumentException  if the property value cannot be converted to a {@code double}
+     * @throws NullPointerException      if the propertyPattern parameter contains a nested property with a {@code null} value
+     * @throws NullPointerException      if the propertyPattern parameter contains a nested not-existent property
+     * @throws NullPointerException      if the property value is {@code null}
+     * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying property
+     */
+    public double getDouble(String propertyPattern) {
+        return getDouble(object, propertyPattern, options, state);
+    }
+
+    /**
+     * Returns the value of the specified simple, indexed or mapped property locate by the given compiled path, as
+     * a {@code double}. The value is never boxed when the last property is a primitive one.
+     *
+     * @param propertyPath the compiled path to traverse, cannot be {@code null}
+     * @return the simple, indexed or mapped property value
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the propertyPath parameter is {@code null}
+     * @throws IllegalArgumentException  if the propertyPath parameter contains an invalid, not parsable, index integer
+     * @throws IllegalArgumentException  if the property value cannot be converted to a {@code double}
+     * @throws NullPointerException      if the propertyPath parameter contains a nested property with a {@code null} value
+     * @throws NullPointerException      if the propertyPath parameter contains a nested not-existent property
+     * @throws NullPointerException      if the property value is {@code null}
+     * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying property
+     * @see #compile(String)
+     */
+    public double getPathDouble(PropertyPath propertyPath) {
+        return getDouble(object, propertyPath, options, state);
+    }
+
+    /**
+     * Returns the value of the specified simple property from the wrapped object, as a {@code double}.
+     * The value is never boxed when the property is a primitive one.
+     *
+     * @param property the property whose value is to be extracted, cannot be {@code null}
+     * @return the simple property value
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if the property parameter is {@code null}
+     * @throws IllegalArgumentException if the property value cannot be converted to a {@code double}
+     * @throws NullPointerException     if the property value is {@code null}
+     */
+    public double getSimpleDouble(Property property) {
+        return getSimpleDouble(object, property);
+    }
+
+    /**
+     * Returns the value of the specified indexed property from the wrapped object, as a {@code double}.
+     * The value is never boxed when the indexed property is an array of primitives.
+     *
+     * @param property  the indexed property whose value is to be extracted, cannot be {@code null}
+     * @param index     the index of the property value to be extracted
+     * @return          the indexed property value, or {@code 0} if out of bounds and the out of bounds safety is enabled
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the property parameter is {@code null}
+     * @throws IllegalArgumentException  if the indexed object in the wrapped object is not a {@link List}, {@link Iterable} or {@code array}
+     * @throws IllegalArgumentException  if the indexed value cannot be converted to a {@code double}
+     * @throws NullPointerException      if the indexed {@link List}, {@link Iterable} or {@code array} is {@code null} in the wrapped object
+     * @throws NullPointerException      if the indexed value is {@code null}
+     * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying indexed property
+     */
+    public double getIndexedDouble(Property property, int index) {
+        return getIndexedDouble(object, property, index, options, state);
+    }
+
+    /**
+     * Sets a {@code double} value of the specified simple, indexed or mapped property locate by the given
+     * pattern, in the wrapped object. The value is never boxed when the last property is a primitive one.
+     *
+     * @param propertyPattern the pattern to traverse, cannot be {@code null}
+     * @param value the value to set
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the propertyPattern parameter is {@code null}
+     * @throws IllegalArgumentException  if the propertyPattern parameter contains an unclosed indexed\mapped '[]' notation
+     * @throws IllegalArgumentException  if the propertyPattern parameter contains an invalid, not parsable, index integer
+     * @throws IllegalArgumentException  if the property cannot store a {@code double} value
+     * @throws NullPointerException      if the propertyPattern parameter contains a nested property with a {@code null} value
+     * @throws NullPointerException      if the propertyPattern parameter contains a nested not-existent property
+     * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying property
+     */
+    public void setDouble(String propertyPattern, double value) {
+        setDouble(object, propertyPattern, value, options, state);
+    }
+
+    /**
+     * Sets a {@code double} value of the specified simple, indexed or mapped property locate by the given
+     * compiled path, in the wrapped object. The value is never boxed when the last property is a primitive one.
+     *
+     * @param propertyPath the compiled path to traverse, cannot be {@code null}
+     * @param value the value to set
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the propertyPath parameter is {@code null}
+     * @throws IllegalArgumentException  if the propertyPath parameter contains an invalid, not parsable, index integer
+     * @throws IllegalArgumentException  if the property cannot store a {@code double} value
+     * @throws NullPointerException      if the propertyPath parameter contains a nested property with a {@code null} value
+     * @throws NullPointerException      if the propertyPath parameter contains a nested not-existent property
+     * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying property
+     * @see #compile(String)
+     */
+    public void setPathDouble(PropertyPath propertyPath, double value) {
+        setDouble(object, propertyPath, value, options, state);
+    }
+
+    /**
+     * Sets a {@code double} value of the specified property in the wrapped object.
+     * The value is never boxed when the property is a primitive one.
+     *
+     * @param property the property whose value is to be updated, cannot be {@code null}
+     * @param value the value to set
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the property parameter is {@code null}
+     * @throws IllegalArgumentException  if the property cannot store a {@code double} value
+     */
+    public void setSimpleDouble(Property property, double value) {
+        setSimpleDouble(object, property, value);
+    }
+
+    /**
+     * Sets a {@code double} value of the specified indexed property in the wrapped object.
+     * The value is never boxed when the indexed property is an array of primitives.
+     *
+     * @param property the indexed property whose value is to be updated, cannot be {@code null}
+     * @param index the index position of the property value to be set
+     * @param value the indexed value to set
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the property parameter is {@code null}
+     * @throws IllegalArgumentException  if the indexed object in the wrapped object is not a {@link List} or {@code array} type
+     * @throws IllegalArgumentException  if the indexed array or List cannot store a {@code double} value
+     * @throws IndexOutOfBoundsException if the indexed object in the wrapped object is out of bounds with the given index and autogrowing is disabled
+     * @throws NullPointerException      if the indexed object in the wrapped object is {@code null}
+     */
+    public void setIndexedDouble(Property property, int index, double value) {
+        setIndexedDouble(object, property, index, value, options, state);
+    }
+
+    /**
+     * Returns the value of the specified simple, indexed or mapped property locate by the given pattern, as
+     * a {@code boolean}. The value is never boxed when the last property is a primitive one.
+     *
+     * @param propertyPattern the pattern to traverse, cannot be {@code null}
+     * @return the simple, indexed or mapped property value
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the propertyPattern parameter is {@code null}
+     * @throws IllegalArgumentException  if the propertyPattern parameter contains an unclosed indexed\mapped '[]' notation
+     * @throws IllegalArgumentException  if the propertyPattern parameter contains an invalid, not parsable, index integer
+     * @throws IllegalArgumentException  if the property value cannot be converted to a {@code boolean}
+     * @throws NullPointerException      if the propertyPattern parameter contains a nested property with a {@code null} value
+     * @throws NullPointerException      if the propertyPattern parameter contains a nested not-existent property
+     * @throws NullPointerException      if the property value is {@code null}
+     * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying property
+     */
+    public boolean getBoolean(String propertyPattern) {
+        return getBoolean(object, propertyPattern, options, state);
+    }
+
+    /**
+     * Returns the value of the specified simple, indexed or mapped property locate by the given compiled path, as
+     * a {@code boolean}. The value is never boxed when the last property is a primitive one.
+     *
+     * @param propertyPath the compiled path to traverse, cannot be {@code null}
+     * @return the simple, indexed or mapped property value
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the propertyPath parameter is {@code null}
+     * @throws IllegalArgumentException  if the propertyPath parameter contains an invalid, not parsable, index integer
+     * @throws IllegalArgumentException  if the property value cannot be converted to a {@code boolean}
+     * @throws NullPointerException      if the propertyPath parameter contains a nested property with a {@code null} value
+     * @throws NullPointerException      if the propertyPath parameter contains a nested not-existent property
+     * @throws NullPointerException      if the property value is {@code null}
+     * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying property
+     * @see #compile(String)
+     */
+    public boolean getPathBoolean(PropertyPath propertyPath) {
+        return getBoolean(object, propertyPath, options, state);
+    }
+
+    /**
+     * Returns the value of the specified simple property from the wrapped object, as a {@code boolean}.
+     * The value is never boxed when the property is a primitive one.
+     *
+     * @param property the property whose value is to be extracted, cannot be {@code null}
+     * @return the simple property value
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if the property parameter is {@code null}
+     * @throws IllegalArgumentException if the property value cannot be converted to a {@code boolean}
+     * @throws NullPointerException     if the property value is {@code null}
+     */
+    public boolean getSimpleBoolean(Property property) {
+        return getSimpleBoolean(object, property);
+    }
+
+    /**
+     * Returns the value of the specified indexed property from the wrapped object, as a {@code boolean}.
+     * The value is never boxed when the indexed property is an array of primitives.
+     *
+     * @param property  the indexed property whose value is to be extracted, cannot be {@code null}
+     * @param index     the index of the property value to be extracted
+     * @return          the indexed property value, or {@code false} if out of bounds and the out of bounds safety is enabled
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the property parameter is {@code null}
+     * @throws IllegalArgumentException  if the indexed object in the wrapped object is not a {@link List}, {@link Iterable} or {@code array}
+     * @throws IllegalArgumentException  if the indexed value cannot be converted to a {@code boolean}
+     * @throws NullPointerException      if the indexed {@link List}, {@link Iterable} or {@code array} is {@code null} in the wrapped object
+     * @throws NullPointerException      if the indexed value is {@code null}
+     * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying indexed property
+     */
+    public boolean getIndexedBoolean(Property property, int index) {
+        return getIndexedBoolean(object, property, index, options, state);
+    }
+
+    /**
+     * Sets a {@code boolean} value of the specified simple, indexed or mapped property locate by the given
+     * pattern, in the wrapped object. The value is never boxed when the last property is a primitive one.
+     *
+     * @param propertyPattern the pattern to traverse, cannot be {@code null}
+     * @param value the value to set
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the propertyPattern parameter is {@code null}
+     * @throws IllegalArgumentException  if the propertyPattern parameter contains an unclosed indexed\mapped '[]' notation
+     * @throws IllegalArgumentException  if the propertyPattern parameter contains an invalid, not parsable, index integer
+     * @throws IllegalArgumentException  if the property cannot store a {@code boolean} value
+     * @throws NullPointerException      if the propertyPattern parameter contains a nested property with a {@code null} value
+     * @throws NullPointerException      if the propertyPattern parameter contains a nested not-existent property
+     * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying property
+     */
+    public void setBoolean(String propertyPattern, boolean value) {
+        setBoolean(object, propertyPattern, value, options, state);
+    }
+
+    /**
+     * Sets a {@code boolean} value of the specified simple, indexed or mapped property locate by the given
+     * compiled path, in the wrapped object. The value is never boxed when the last property is a primitive one.
+     *
+     * @param propertyPath the compiled path to traverse, cannot be {@code null}
+     * @param value the value to set
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the propertyPath parameter is {@code null}
+     * @throws IllegalArgumentException  if the propertyPath parameter contains an invalid, not parsable, index integer
+     * @throws IllegalArgumentException  if the property cannot store a {@code boolean} value
+     * @throws NullPointerException      if the propertyPath parameter contains a nested property with a {@code null} value
+     * @throws NullPointerException      if the propertyPath parameter contains a nested not-existent property
+     * @throws IndexOutOfBoundsException if the specified index is outside the valid range for the underlying property
+     * @see #compile(String)
+     */
+    public void setPathBoolean(PropertyPath propertyPath, boolean value) {
+        setBoolean(object, propertyPath, value, options, state);
+    }
+
+    /**
+     * Sets a {@code boolean} value of the specified property in the wrapped object.
+     * The value is never boxed when the property is a primitive one.
+     *
+     * @param property the property whose value is to be updated, cannot be {@code null}
+     * @param value the value to set
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the property parameter is {@code null}
+     * @throws IllegalArgumentException  if the property cannot store a {@code boolean} value
+     */
+    public void setSimpleBoolean(Property property, boolean value) {
+        setSimpleBoolean(object, property, value);
+    }
+
+    /**
+     * Sets a {@code boolean} value of the specified indexed property in the wrapped object.
+     * The value is never boxed when the indexed property is an array of primitives.
+     *
+     * @param property the indexed property whose value is to be updated, cannot be {@code null}
+     * @param index the index position of the property value to be set
+     * @param value the indexed value to set
+     * @throws ReflectionException       if a reflection error occurs
+     * @throws IllegalArgumentException  if the property parameter is {@code null}
+     * @throws IllegalArgumentException  if the indexed object in the wrapped object is not a {@link List} or {@code array} type
+     * @throws IllegalArgumentException  if the indexed array or List cannot store a {@code boolean} value
+     * @throws IndexOutOfBoundsException if the indexed object in the wrapped object is out of bounds with the given index and autogrowing is disabled
+     * @throws NullPointerException      if the indexed object in the wrapped object is {@code null}
+     */
+    public void setIndexedBoolean(Property property, int index, boolean value) {
+        setIndexedBoolean(object, property, index, value, options, state);
+    }
+
+    /**
+     * Returns a textual rapresentation of this wrapper.
+     *
+     * @return a string decribing the wrapped object
+     */
+    @Override
+    public String toString() {
+        return "ObjectWrapper{object=" + object + '}';
+    }
+
+    /**
+     * Compiles a property pattern into an immutable, thread-safe {@link PropertyPath},
+     * to be reused for any number of evaluations, on any wrapped object.
+     *
+     * <p> The same compiled instances are transparently shared (through a bounded cache)
+     * by the {@link #getValue(String)} and {@link #setValue(String, Object)} methods.
+     *
+     * @param propertyPattern the pattern to compile, cannot be {@code null}
+     * @return the compiled path
+     * @throws IllegalArgumentException if the propertyPattern parameter is {@code null}
+     * @throws IllegalArgumentException if the propertyPattern parameter contains an unclosed indexed\mapped '[]' notation
+     */
+    public static PropertyPath compile(String propertyPattern) {
+        return PropertyPath.forPattern(propertyPattern);
+    }
+
+    /**
+     * Copies all the matching properties (with the same name and an assignable type) from the source
+     * object to the target object, through the cached {@link CopyPlan} of their classes.
+     *
+     * @param source the object whose properties are to be read, cannot be {@code null}
+     * @param target the object whose properties are to be written, cannot be {@code null}
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if any parameter is {@code null}
+     * @see CopyPlan#forClasses(Class, Class, String[], String[])
+     */
+    public static void copyProperties(Object source, Object target) {
+        if (source == null || target == null) {
+            throw new IllegalArgumentException("Cannot copy the properties from a 'null' source or to a 'null' target.");
+        }
+
+        CopyPlan.forClasses(source.getClass(), target.getClass()).copy(source, target);
+    }
+
+    // STATIC SECTION
+    //
+    // The follow static section contains a corrispective static method for each wrapper method.
+    // This hybrid architecture allows to avoid the instantiation of a new wrapper object when
+    // traversing each property graph with a nested notation, hence optimizing the heap allocation.
+    // -----------------------------------------------------------------------------------------------
+
+    /**
+     * Internal: Static version of {@link #getProperty(String)}, throws an exception instead of return null.
+     *
+     * @param bean the bean object whose property is to be searched
+     * @param propertyName the name of the property to search
+     * @return the property with the given name, if found
+     * @throws NullPointerException if the bean object does not have a property with the given name
+     */
+    private static Property getPropertyOrThrow(Bean bean, String propertyName) {
+        Property property = bean.getProperty(propertyName);
+
+        if (property == null) {
+            throw new NullPointerException("Cannot found a property with name '" + propertyName + "' in " + bean + ".");
+        }
+
+        return property;
+    }
+
+    /*
+     * Internal static version of {@link #getProperty(String)}.
+     */
+    public static Property getProperty(Bean bean, String propertyPattern) {
+        if (propertyPattern == null) {
+            throw new IllegalArgumentException("Cannot get a property with a 'null' propertyPattern.");
+        }
+
+        PropertyPath.checkSquares(propertyPattern);
+
+        PropertyNameTable table = PropertyNameTable.forClass(bean.getType());
+        int length = propertyPattern.length();
+        int start = 0;
+
+        while (true) {
+            int end = PropertyPath.indexOfSegmentEnd(propertyPattern, start);
+
+            if (PropertyPath.indexOfSquare(propertyPattern, start, end) > 0) {
+                throw new IllegalArgumentException("The indexed or mapped '[]' notation is not allowed while searching" +
+                        " a property, but '" + propertyPattern + "' pattern found.");
+            }
+
+            Property property = table.getProperty(propertyPattern, start, end);
+
+            if (property == null || end >= length) {
+                return property;
+            }
+
+            table = PropertyNameTable.forClass(property.getType());
+            start = end + 1;
+        }
+    }
+
+    /*
+     * Internal: Checks the compiled path of a get operation.
+     */
+    static PropertyPath checkGetPath(PropertyPath propertyPath) {
+        if (propertyPath == null) {
+            throw new IllegalArgumentException("Cannot get the value from a property with a 'null' propertyPath.");
+        }
+
+        return propertyPath;
+    }
+
+    /*
+     * Internal: Checks the compiled path of a set operation.
+     */
+    static PropertyPath checkSetPath(PropertyPath propertyPath) {
+        if (propertyPath == null) {
+            throw new IllegalArgumentException("Cannot set a new value to a property with a 'null' propertyPath.");
+        }
+
+        return propertyPath;
+    }
+
+    /*
+     * Internal: Checks the path set of a batch operation.
+     */
+    static PathSet checkPathSet(PathSet pathSet) {
+        if (pathSet == null) {
+            throw new IllegalArgumentException("Cannot access the properties of a 'null' pathSet.");
+        }
+
+        return pathSet;
+    }
+
+    /*
+     * Internal static version of {@link ObjectWrapper#getValue(String)}.
+     */
+    static Object getValue(Object obj, String propertyPattern, WrapperOptions options, WrapperState state) {
+        PropertyPath propertyPath = compileCachedGetPattern(propertyPattern);
+
+        if (propertyPath != null) {
+            return getValue(obj, propertyPath, options, state);
+        } else {
+            // Not cached (the cache is full): walks the pattern by offsets, without any garbage
+            return getUncachedValue(obj, propertyPattern, options, state);
+        }
+    }
+
+    /*
+     * Internal: Iterative version of {@link ObjectWrapper#getValue(String)} walking the pattern by offsets.
+     */
+    static Object getUncachedValue(Object obj, String propertyPattern, WrapperOptions options, WrapperState state) {
+        int start = PropertyPath.indexOfLastSegment(propertyPattern);
+        Object parent = getUncachedParent(obj, propertyPattern, start, options, state);
+
+        return getSegmentValue(parent, propertyPattern, start, propertyPattern.length(), options, state);
+    }
+
+    /*
+     * Internal: Traverses a pattern by offsets up to the object owning its last segment, which is never 'null'.
+     */
+    private static Object getUncachedParent(Object obj, String propertyPattern, int last,
+                                            WrapperOptions options, WrapperState state) {
+        PropertyPath.checkSquares(propertyPattern);
+
+        Object current = obj;
+        int start = 0;
+
+        while (true) {
+            if (current == null) {
+                // NullPointerException as it is throwed only when traversing a null object (ex: "foo.null.bar")
+                throw new NullPointerException("Cannot get the value of '" + propertyPattern.substring(start)
+                        + "' from a 'null' object.");
+            }
+
+            if (start == last) {
+                return current;
+            }
+
+            int end = PropertyPath.indexOfSegmentEnd(propertyPattern, start);
+            current = getSegmentValue(current, propertyPattern, start, end, options, state);
+            start = end + 1;
+        }
+    }
+
+    /*
+     * Internal static version of {@link ObjectWrapper#getPathValue(PropertyPath)}.
+     */
+    static Object getValue(Object obj, PropertyPath propertyPath, WrapperOptions options, WrapperState state) {
+        Object parent = getPathParent(obj, propertyPath, options, state);
+        return getSegmentValue(parent, propertyPath.getSegment(propertyPath.size() - 1), options, state);
+    }
+
+    /*
+     * Internal: Compiles (or finds in cache) the pattern of a get operation.
+     */
+    static PropertyPath compileGetPattern(String propertyPattern) {
+        if (propertyPattern == null) {
+            throw new IllegalArgumentException("Cannot get the value from a property with a 'null' propertyPattern.");
+        }
+
+        return PropertyPath.forPattern(propertyPattern);
+    }
+
+    /*
+     * Internal: Finds in cache (or admits into it) the pattern of a get operation, 'null' if the cache is full.
+     */
+    private static PropertyPath compileCachedGetPattern(String propertyPattern) {
+        if (propertyPattern == null) {
+            throw new IllegalArgumentException("Cannot get the value from a property with a 'null' propertyPattern.");
+        }
+
+        return PropertyPath.forCachedPattern(propertyPattern);
+    }
+
+    /*
+     * Internal: Traverses a compiled path up to the object owning its last segment, which is never 'null'.
+     */
+    private static Object getPathParent(Object obj, PropertyPath propertyPath,
+                                        WrapperOptions options, WrapperState state) {
+        if (propertyPath == null) {
+            throw new IllegalArgumentException("Cannot get the value from a property with a 'null' propertyPath.");
+        }
+
+        Object current = obj;
+        int last = propertyPath.size() - 1;
+
+        for (int i = 0; ; i++) {
+            if (current == null) {
+                // NullPointerException as it is throwed only when traversing a null object (ex: "foo.null.bar")
+                throw new NullPointerException("Cannot get the value of '" + propertyPath.remainingPattern(i)
+                        + "' from a 'null' object.");
+            }
+
+            if (i == last) {
+                return current;
+            }
+
+            current = getSegmentValue(current, propertyPath.getSegment(i), options, state);
+        }
+    }
+
+    /*
+     * Internal: Traverses a compiled path up to the object owning its last segment, 'null' if the given
+     * object or a nested property is 'null'.
+     */
+    static Object getNullableParent(Object obj, PropertyPath propertyPath, WrapperOptions options) {
+        Object current = obj;
+
+        for (int i = 0, last = propertyPath.size() - 1; i < last && current != null; i++) {
+            current = getSegmentValue(current, propertyPath.getSegment(i), options, null);
+        }
+
+        return current;
+    }
+
+    /*
+     * Internal: Returns the value of a single simple, indexed or mapped segment of a compiled path.
+     */
+    static Object getSegmentValue(Object obj, PropertyPath.Segment segment,
+                                  WrapperOptions options, WrapperState state) {
+        if (!segment.isSquare) {
+            return segment.resolveAccessor(obj.getClass()).get(obj);
+        }
+
+        Property property = segment.resolve(obj.getClass());
+
+        if (Map.class.isAssignableFrom(property.getType())) {
+            return getMappedValue(obj, property, segment.key);
+        } else {
+            return getIndexedValue(obj, property, segment.index(property), options, state);
+        }
+    }
+
+    /*
+     * Internal: Returns the value of a single simple, indexed or mapped segment, located by offsets in a pattern.
+     */
+    private static Object getSegmentValue(Object obj, String pattern, int start, int end,
+                                          WrapperOptions options, WrapperState state) {
+        int square = PropertyPath.indexOfSquare(pattern, start, end);
+        PropertyNameTable table = PropertyNameTable.forClass(obj.getClass());
+
+        if (square < 0) {
+            return table.getAccessorOrThrow(pattern, start, end).get(obj);
+        }
+
+        Property property = table.getPropertyOrThrow(pattern, start, square);
+
+        if (Map.class.isAssignableFrom(property.getType())) {
+            return getMappedValue(obj, property, pattern.substring(square + 1, end - 1));// the key object is required
+        } else {
+            return getIndexedValue(obj, property, parseIndex(pattern, square + 1, end - 1, property), options, state);
+        }
+    }
+
+    /*
+     * Internal: Parses the index of an indexed segment, located by offsets in a pattern.
+     */
+    private static int parseIndex(String pattern, int start, int end, Property property) {
+        try {
+            return PropertyPath.parseIndex(pattern, start, end);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("The pattern '" + pattern.substring(start, Math.max(start, end))
+                    + "' for the indexed " + property + " is invalid. Cannot parse the string to a valid integer index.");
+        }
+    }
+
+    /*
+     * Internal: Static version of {@link ObjectWrapper#getSimpleValue(Property)}.
+     */
+    static Object getSimpleValue(Object obj, Property property) {
+        if (property == null) {
+            throw new IllegalArgumentException("Cannot get the value from a 'null' property.");
+        }
+
+        return PropertyAccessor.forProperty(property).get(obj);
+    }
+
+    /*
+     * Internal: Static version of {@link ObjectWrapper#getIndexedValue(Property, int)}.
+     */
+    static Object getIndexedValue(Object obj, Property property, int index,
+                                  WrapperOptions options, WrapperState state) {
+        PropertyAccessor accessor = getIndexedAccessor(property);
+        return getIndexedElement(obj, accessor, getIndexedContainer(obj, accessor), index, null, options, state);
+    }
+
+    /*
+     * Internal: Returns the accessor of an indexed property to be read.
+     */
+    private static PropertyAccessor getIndexedAccessor(Property property) {
+        if (property == null) {
+            throw new IllegalArgumentException("Cannot get the indexed value from 'null' property.");
+        }
+
+        return PropertyAccessor.forProperty(property);
+    }
+
+    /*
+     * Internal: Returns the List, array or Iterable value of an indexed property, which is never 'null'.
+     */
+    private static Object getIndexedContainer(Object obj, PropertyAccessor accessor) {
+        Object propertyValue = accessor.get(obj);
+
+        if (propertyValue == null) {
+            throw new NullPointerException("Invalid 'null' value found for indexed '" + accessor.property + "' in "
+                    + obj.getClass().getName() + ".");
+
+        }
+
+        return propertyValue;
+    }
+
+    /*
+     * Internal: Returns the element at the given index of the List, array or Iterable value of an indexed property,
+     * or the outOfBounds parameter if the index is out of bounds and the out of bounds safety is enabled.
+     */
+    @SuppressWarnings("unchecked")
+    private static Object getIndexedElement(Object obj, PropertyAccessor accessor, Object propertyValue, int index,
+                                            Object outOfBounds, WrapperOptions options, WrapperState state) {
+        Property property = accessor.property;
+
+        if (propertyValue instanceof List) {
+            List list = (List) propertyValue;
+            int size = list.size();
+
+            if (isOutOfBounds(obj, property, size, index, options, state)) {
+                return outOfBounds;
+            }
+
+            return (list instanceof RandomAccess) ? list.get(index) : getSequentialElement(list, size, index, options, state);
+        } else if (propertyValue.getClass().isArray()) {
+            ArrayAccessor arrays = getArrayAccessor(accessor, propertyValue);
+            int length = arrays.getLength(propertyValue);
+            return isOutOfBounds(obj, property, length, index, options, state) ? outOfBounds : arrays.get(propertyValue, index);
+        } else if (propertyValue instanceof Iterable) {
+            Iterable iterable = (Iterable) propertyValue;
+            int size = (propertyValue instanceof Collection) ? ((Collection) iterable).size() : -1;
+            Object element = (size >= 0 && index >= size) ? NOT_FOUND : getIterableElement(iterable, size, index, options, state);
+
+            if (element != NOT_FOUND) {
+                return element;
+            }
+
+            // Nothing found
+            if (options.isOutOfBoundsSafety()) {
+                return outOfBounds;
+            } else {
+                throw new IndexOutOfBoundsException("The indexed " + property + " in "
+                        + obj.getClass().getSimpleName() + " object has less than '" + index + "'" +
+                        " elements.");
+            }
+        } else {
+            throw new IllegalArgumentException("Cannot get an indexed value from the not indexed " + property
+                    + ". Only List, array and Iterable types are supported, but " + property.getType().getSimpleName()
+                    + " found.");
+        }
+    }
+
+    /*
+     * Internal: Returns the element at the given (valid) index of a not RandomAccess List, moving a ListIterator
+     * from the nearest of its ends, or from the cached position of the last read (if enabled and nearer).
+     */
+    private static Object getSequentialElement(List<?> list, int size, int index,
+                                               WrapperOptions options, WrapperState state) {
+        boolean isCaching = options.isIteratorCaching() && state != null;
+        boolean isCached = isCaching && state.isCursorOf(list, size)
+                && Math.abs(index - state.getCursorIndex()) <= Math.min(index, size - index);
+
+        ListIterator<?> iterator;
+        int position;
+
+        if (isCached) {
+            iterator = (ListIterator<?>) state.getCursor();
+            position = state.getCursorIndex();
+        } else if (index <= size - index) {
+            iterator = list.listIterator();
+            position = 0;
+        } else {
+            iterator = list.listIterator(size);
+            position = size;
+        }
+
+        try {
+            Object element;
+
+            if (position <= index) {
+                for (; position < index; position++) {
+                    iterator.next();
+                }
+
+                element = iterator.next();
+                position++;
+            } else {
+                for (; position > index + 1; position--) {
+                    iterator.previous();
+                }
+
+                element = iterator.previous();
+                position--;
+            }
+
+            if (isCaching) {
+                state.setCursor(list, size, iterator, position, null);
+            }
+
+            return element;
+        } catch (ConcurrentModificationException e) {
+            if (!isCached) {
+                throw e;
+            }
+
+            // The list was modified after the last read: retries from its ends
+            state.clearCursor();
+            return getSequentialElement(list, size, index, options, state);
+        }
+    }
+
+    /*
+     * Internal: Returns the element at the given index of an Iterable (with the given size, or -1 if unknown),
+     * iterating from its start, or from the cached position of the last read (if enabled and not after the index),
+     * or NOT_FOUND if out of bounds.
+     */
+    private static Object getIterableElement(Iterable<?> iterable, int size, int index,
+                                             WrapperOptions options, WrapperState state) {
+        boolean isCaching = options.isIteratorCaching() && state != null;
+        boolean isCached = isCaching && state.isCursorOf(iterable, size) && index >= state.getCursorIndex() - 1;
+
+        if (isCached && index == state.getCursorIndex() - 1) {
+            return state.getCursorElement();// the same element of the last read
+        }
+
+        Iterator<?> iterator = isCached ? state.getCursor() : iterable.iterator();
+        int position = isCached ? state.getCursorIndex() : 0;
+
+        try {
+            while (iterator.hasNext()) {
+                Object element = iterator.next();
+
+                if (position++ == index) {
+                    if (isCaching) {
+                        state.setCursor(iterable, size, iterator, position, element);
+                    }
+
+                    return element;
+                }
+            }
+
+            if (isCaching) {
+                state.clearCursor();
+            }
+
+            return NOT_FOUND;
+        } catch (ConcurrentModificationException e) {
+            if (!isCached) {
+                throw e;
+            }
+
+            // The iterable was modified after the last read: retries from its start
+            state.clearCursor();
+            return getIterableElement(iterable, size, index, options, state);
+        }
+    }
+
+    /*
+     * Internal: Returns the accessor of the array value of an indexed property. It is the one selected once
+     * from the property type, unless the property is not declared as an array (ex: an Object property).
+     */
+    private static ArrayAccessor getArrayAccessor(PropertyAccessor accessor, Object array) {
+        ArrayAccessor arrays = accessor.arrayAccessor;
+        return (arrays != null) ? arrays : ArrayAccessor.forClass(array.getClass());
+    }
+
+    /*
+     * Internal: Checks the index of a List or array with the given size, returns true if the index is
+     * out of bounds and the out of bounds safety is enabled.
+     */
+    private static boolean isOutOfBounds(Object obj, Property property, int size, int index,
+                                         WrapperOptions options, WrapperState state) {
+        if (index >= 0 && index < size) {
+            return false;
+        }
+
+        if (index >= size && options.isOutOfBoundsSafety()) {
+            return true;
+        }
+
+        throw new IndexOutOfBoundsException("The indexed " + property + " in "
+                + obj.getClass().getSimpleName() + " object has only '" + size + "' elements," +
+                " but index '" + index + "' requested.");
+    }
+
+    /*
+     * Internal: Static version of {@link ObjectWrapper#getMappedValue(Property, Object)}.
+     */
+    @SuppressWarnings("unchecked")
+    static Object getMappedValue(Object obj, Property property, Object key) {
+        if (property == null) {
+            throw new IllegalArgumentException("Cannot get the mapped value from a 'null' property.");
+        }
+
+        if (property.getType().isAssignableFrom(Map.class)) {
+            Map<Object, Object> map = (Map<Object, Object>) PropertyAccessor.forProperty(property).get(obj);
+
+            if (map == null) {
+                throw new NullPointerException("Invalid 'null' value found for mapped " + property + " in "
+                        + obj.getClass().getName() + ".");
+
+            }
+
+            return map.get(key);
+        } else {
+            throw new IllegalArgumentException("Cannot get a mapped value from the not mapped " + property
+                    + ". Only Map type is supported, but " + property.getType().getSimpleName() + " found.");
+        }
+    }
+
+    /*
+     * Internal: Static version of {@link ObjectWrapper#setValue(String, Object)}
+     */
+    static void setValue(Object obj, String propertyPattern, Object value, WrapperOptions options, WrapperState state) {
+        PropertyPath propertyPath = compileCachedSetPattern(propertyPattern);
+
+        if (propertyPath != null) {
+            setValue(obj, propertyPath, value, options, state);
+        } else {
+            // Not cached (the cache is full): walks the pattern by offsets, without any garbage
+            setUncachedValue(obj, propertyPattern, value, options, state);
+        }
+    }
+
+    /*
+     * Internal: Iterative version of {@link ObjectWrapper#setValue(String, Object)} walking the pattern by offsets.
+     */
+    static void setUncachedValue(Object obj, String propertyPattern, Object value,
+                                 WrapperOptions options, WrapperState state) {
+        int start = PropertyPath.indexOfLastSegment(propertyPattern);
+        int end = propertyPattern.length();
+        Object parent = getOrCreateUncachedParent(obj, propertyPattern, start, options, state);
+        int square = PropertyPath.indexOfSquare(propertyPattern, start, end);
+        PropertyNameTable table = PropertyNameTable.forClass(parent.getClass());
+
+        if (square < 0) {
+            table.getAccessorOrThrow(propertyPattern, start, end).set(parent, value);
+            return;
+        }
+
+        Property property = table.getPropertyOrThrow(propertyPattern, start, square);
+
+        if (property.getType().isAssignableFrom(Map.class)) {
+            setMappedValue(parent, property, propertyPattern.substring(square + 1, end - 1), value, options, state);
+        } else {
+            setIndexedValue(parent, property, parseIndex(propertyPattern, square + 1, end - 1, property), value, options, state);
+        }
+    }
+
+    /*
+     * Internal: Traverses a pattern by offsets up to the object owning its last segment, which is never 'null',
+     * auto-instancing (if enabled) the nested simple properties found with value 'null'.
+     */
+    private static Object getOrCreateUncachedParent(Object obj, String propertyPattern, int last,
+                                                    WrapperOptions options, WrapperState state) {
+        PropertyPath.checkSquares(propertyPattern);
+
+        Object current = obj;
+        int start = 0;
+
+        while (true) {
+            if (current == null) {
+                // NullPointerException as it is throwed only when traversing a null object (ex: "foo.null.bar")
+                throw new NullPointerException("Cannot set the value of '" + propertyPattern.substring(start)
+                        + "' to a 'null' object.");
+            }
+
+            if (start == last) {
+                return current;
+            }
+
+            int end = PropertyPath.indexOfSegmentEnd(propertyPattern, start);
+            Object next = getSegmentValue(current, propertyPattern, start, end, options, state);
+
+            if (next == null) {
+                if (PropertyPath.indexOfSquare(propertyPattern, start, end) > 0) {
+                    throw new NullPointerException("Cannot found a property with name '" + propertyPattern.substring(start, end)
+                            + "' in " + Bean.forClass(current.getClass()) + ".");
+                }
+
+                if (options.isAutoInstancing()) {
+                    next = instantiate(current, PropertyNameTable.forClass(current.getClass()).getProperty(propertyPattern, start, end));
+                }
+            }
+
+            current = next;
+            start = end + 1;
+        }
+    }
+
+    /*
+     * Internal: Static version of {@link ObjectWrapper#setPathValue(PropertyPath, Object)}
+     */
+    static void setValue(Object obj, PropertyPath propertyPath, Object value,
+                         WrapperOptions options, WrapperState state) {
+        Object parent = getOrCreatePathParent(obj, propertyPath, options, state);
+        setSegmentValue(parent, propertyPath.getSegment(propertyPath.size() - 1), value, options, state);
+    }
+
+    /*
+     * Internal: Sets the value of a single simple, indexed or mapped segment of a compiled path.
+     */
+    static void setSegmentValue(Object parent, PropertyPath.Segment segment, Object value,
+                                WrapperOptions options, WrapperState state) {
+        if (!segment.isSquare) {
+            segment.resolveAccessor(parent.getClass()).set(parent, value);
+            return;
+        }
+
+        Property property = segment.resolve(parent.getClass());
+
+        if (property.getType().isAssignableFrom(Map.class)) {
+            setMappedValue(parent, property, segment.key, value, options, state);
+        } else {
+            setIndexedValue(parent, property, segment.index(property), value, options, state);
+        }
+    }
+
+    /*
+     * Internal: Compiles (or finds in cache) the pattern of a set operation.
+     */
+    static PropertyPath compileSetPattern(String propertyPattern) {
+        if (propertyPattern == null) {
+            throw new IllegalArgumentException("Cannot set a new value to a property with a 'null' propertyPattern.");
+        }
+
+        return PropertyPath.forPattern(propertyPattern);
+    }
+
+    /*
+     * Internal: Finds in cache (or admits into it) the pattern of a set operation, 'null' if the cache is full.
+     */
+    private static PropertyPath compileCachedSetPattern(String propertyPattern) {
+        if (propertyPattern == null) {
+            throw new IllegalArgumentException("Cannot set a new value to a property with a 'null' propertyPattern.");
+        }
+
+        return PropertyPath.forCachedPattern(propertyPattern);
+    }
+
+    /*
+     * Internal: Traverses a compiled path up to the object owning its last segment, which is never 'null',
+     * auto-instancing (if enabled) the nested simple properties found with value 'null'.
+     */
+    private static Object getOrCreatePathParent(Object obj, PropertyPath propertyPath,
+                                                WrapperOptions options, WrapperState state) {
+        if (propertyPath == null) {
+            throw new IllegalArgumentException("Cannot set a new value to a property with a 'null' propertyPath.");
+        }
+
+        Object current = obj;
+        int last = propertyPath.size() - 1;
+
+        for (int i = 0; ; i++) {
+            if (current == null) {
+                // NullPointerException as it is throwed only when traversing a null object (ex: "foo.null.bar")
+                throw new NullPointerException("Cannot set the value of '" + propertyPath.remainingPattern(i)
+                        + "' to a 'null' object.");
+            }
+
+            if (i == last) {
+                return current;
+            }
+
+            current = getOrCreateSegmentValue(current, propertyPath.getSegment(i), options, state);
+        }
+    }
+
+    /*
+     * Internal: Returns the value of a single intermediate segment of a compiled path, auto-instancing
+     * (if enabled) a simple property found with value 'null'.
+     */
+    static Object getOrCreateSegmentValue(Object obj, PropertyPath.Segment segment,
+                                          WrapperOptions options, WrapperState state) {
+        Object value = getSegmentValue(obj, segment, options, state);
+
+        if (value == null) {
+            if (segment.isSquare) {
+                throw new NullPointerException("Cannot found a property with name '" + segment.name + "["
+                        + segment.key + "]' in " + Bean.forClass(obj.getClass()) + ".");
+            }
+
+            if (options.isAutoInstancing()) {
+                value = instantiate(obj, segment.resolve(obj.getClass()));
+            }
+        }
+
+        return value;
+    }
+
+    /*
+     * Internal: Auto-instancing of a nested simple property found with value 'null' while traversing.
+     */
+    private static Object instantiate(Object obj, Property property) {
+        Object value;
+
+        try {
+            value = property.getType().newInstance();
+        } catch (Exception e) {
+            throw new ReflectionException("The value of " + property + " was 'null' in the object "
+                    + obj.getClass().getName() + ". An attempt to invoke its 'no-args constructor'" +
+                    " was made, but an error occurs.", e);
+        }
+
+        PropertyAccessor.forProperty(property).set(obj, value);
+        return value;
+    }
+
+    /*
+     * Internal: Static version of {@link ObjectWrapper#setSimpleValue(Property, Object)}.
+     */
+    static void setSimpleValue(Object obj, Property property, Object value) {
+        if (property == null) {
+            throw new IllegalArgumentException("Cannot set a new value to a property with a 'null' propertyName.");
+        }
+
+        PropertyAccessor.forProperty(property).set(obj, value);
+    }
+
+    /*
+     * Internal: Static version of {@link ObjectWrapper#setIndexedValue(Property, int, Object)}.
+     */
+    static void setIndexedValue(Object obj, Property property, int index, Object value,
+                                WrapperOptions options, WrapperState state) {
+        PropertyAccessor accessor = setIndexedAccessor(property);
+        Object propertyValue = getOrCreateIndexedContainer(obj, accessor, index, options, state);
+
+        if (propertyValue.getClass().isArray()) {
+            ArrayAccessor arrays = getArrayAccessor(accessor, propertyValue);
+            propertyValue = growArray(obj, accessor, arrays, propertyValue, index, options, state);
+
+            try {
+                arrays.set(propertyValue, index, value);
+            } catch (ArrayIndexOutOfBoundsException e) {
+                throw unboundArray(obj, property, index);
+            }
+        } else {
+            setListElement(obj, property, propertyValue, index, value, options, state);
+        }
+    }
+
+    /*
+     * Internal: Returns the accessor of an indexed property to be written.
+     */
+    private static PropertyAccessor setIndexedAccessor(Property property) {
+        if (property == null) {
+            throw new IllegalArgumentException("Cannot set a new indexed value to a 'null' property.");
+        }
+
+        return PropertyAccessor.forProperty(property);
+    }
+
+    /*
+     * Internal: Returns the List or array value of an indexed property, auto-instancing it (if enabled) when 'null'.
+     */
+    private static Object getOrCreateIndexedContainer(Object obj, PropertyAccessor accessor, int index,
+                                                      WrapperOptions options, WrapperState state) {
+        Property property = accessor.property;
+        Object propertyValue = accessor.get(obj);
 
         if (propertyValue == null) {
-            throw new NullPointerException("Invalid 'null' value found for indexed '" + property + "' in "
-                    + obj.getClass().getName() + ".");
+            if (options.isAutoInstancing()) {
+                Class<?> propertyType = property.getType();
+
+                if (propertyType.isAssignableFrom(List.class)) {
+                    propertyValue = new ArrayList(Math.max(options.getInitialListCapacity(), index + 1));
+                    accessor.set(obj, propertyValue);
+                } else if (accessor.arrayAccessor != null) {
+                    propertyValue = accessor.arrayAccessor.newInstance(options.getGrowthPolicy().grow(0, index + 1));
+                    accessor.set(obj, propertyValue);
+                    trackArray(obj, accessor, null, propertyValue, 0, options, state);
+                } else {
+                    throw new IllegalArgumentException("The indexed " + property + " in object "
+                            + obj.getClass().getSimpleName() + " has value 'null'. Only List and array types can be " +
+                            "auto instantiated, but " + propertyType.getSimpleName() + " found.");
+                }
+            } else {
+                throw new NullPointerException("Invalid 'null' value found for the indexed '" + property + "' in "
+                        + obj.getClass().getName() + " object.");
+            }
+        }
+
+        return propertyValue;
+    }
+
+    /*
+     * Internal: Sets the element at the given index of the List value of an indexed property.
+     */
+    @SuppressWarnings("unchecked")
+    private static void setListElement(Object obj, Property property, Object propertyValue, int index, Object value,
+                                       WrapperOptions options, WrapperState state) {
+        if (propertyValue instanceof List) {
+            List<Object> list = (List<Object>) propertyValue;
+            int size = list.size();
+
+            if (index >= size && options.isAutoGrowing()) {
+                if (index > size) {
+                    growList(property, list, size, index);
+                }
+
+                list.add(index, value);
+            } else {
+                try {
+                    list.set(index, value);
+                } catch (IndexOutOfBoundsException e) {
+                    throw new IndexOutOfBoundsException("Cannot set a new value to the indexed list " + property + " in "
+                            + obj.getClass().getSimpleName() + " as the requested '" + index + "' index is unbound.");
+                }
+            }
+        } else {
+            throw new IllegalArgumentException("Cannot set a new value to a not indexed " + property + ". Only List and array " +
+                    "types are supported, but " + propertyValue.getClass().getName() + " found.");
+        }
+    }
+
+    /*
+     * Internal: Fills a List with 'null' values up to the given index (excluded). The JDK Lists accepting 'null'
+     * values are filled in a single bulk operation, any other List element by element, as a subclass can reject
+     * the 'null' values in add(Object) only. The List classes not accepting them are remembered, and then
+     * rejected without any other attempt.
+     */
+    private static void growList(Property property, List<Object> list, int size, int index) {
+        Class<?> listClass = list.getClass();
+
+        if (NULL_HOSTILE_LISTS.containsKey(listClass)) {
+            throw nullHostileList(property, listClass, index, "");
+        }
+
+        if (list instanceof ArrayList) {
+            ((ArrayList<Object>) list).ensureCapacity(index + 1);
+        }
+
+        if (NULL_TOLERANT_LISTS.contains(listClass)) {
+            list.addAll(Collections.nCopies(index - size, null));
+            return;
+        }
+
+        try {
+            for (int i = size; i < index; i++) {
+                list.add(null);
+            }
+        } catch (NullPointerException ex) {
+            NULL_HOSTILE_LISTS.putIfAbsent(listClass, Boolean.TRUE);
+            throw nullHostileList(property, listClass, index, " " + ex.getMessage());
+        }
+    }
+
+    private static NullPointerException nullHostileList(Property property, Class<?> listClass, int index, String cause) {
+        return new NullPointerException("The indexed " + property + " has size lower than the requested '"
+                + index + "' index. An attempt to autogrowing it, filling with 'null' values, was made, " +
+                " but the List implementation " + listClass.getName() + " does not accept 'null' values." + cause);
+    }
+
+    /*
+     * Internal: Auto-growing (if enabled) of the array value of an indexed property, up to the given index,
+     * following the growth policy. Also updates the logical size of the arrays already grown.
+     */
+    private static Object growArray(Object obj, PropertyAccessor accessor, ArrayAccessor arrays, Object array, int index,
+                                    WrapperOptions options, WrapperState state) {
+        int length = arrays.getLength(array);
+
+        if (index < length) {
+            if (state != null) {
+                state.updateArraySize(array, index);
+            }
+
+            return array;
+        }
+
+        if (!options.isAutoGrowing()) {
+            return array;
+        }
+
+        Object biggerArray = arrays.copyOf(array, options.getGrowthPolicy().grow(length, index + 1));
+        accessor.set(obj, biggerArray);
+        trackArray(obj, accessor, array, biggerArray, index + 1, options, state);
+
+        return biggerArray;
+    }
+
+    /*
+     * Internal: Remembers the logical size of an array grown (or instanced) by a not exact growth policy,
+     * when there is a state to remember it (a BeanAccessor has none).
+     */
+    private static void trackArray(Object owner, PropertyAccessor accessor, Object previousArray, Object array,
+                                   int size, WrapperOptions options, WrapperState state) {
+        if (state != null && !options.getGrowthPolicy().isExact()) {
+            state.trackArray(owner, accessor, previousArray, array, size);
+        }
+    }
+
+    private static IndexOutOfBoundsException unboundArray(Object obj, Property property, int index) {
+        return new IndexOutOfBoundsException("Cannot set a new value to the indexed array " + property
+                + " in " + obj.getClass().getSimpleName() + " as the requested '" + index + "' index is unbound.");
+    }
+
+    /*
+     * Internal: Static version of {@link ObjectWrapper#setMappedValue(Property, Object, Object)}.
+     */
+    @SuppressWarnings("unchecked")
+    static void setMappedValue(Object obj, Property property, Object key, Object value,
+                               WrapperOptions options, WrapperState state) {
+        if (property == null) {
+            throw new IllegalArgumentException("Cannot set a new mapped value to a 'null' property.");
+        }
+
+        if (Map.class.isAssignableFrom(property.getType())) {
+            PropertyAccessor accessor = PropertyAccessor.forProperty(property);
+            Map map = (Map) accessor.get(obj);
+
+            if (map == null) {
+                if (options.isAutoInstancing()) {
+                    map = new LinkedHashMap();
+                    accessor.set(obj, map);
+                } else {
+                    throw new NullPointerException("Invalid 'null' value found for the mapped '" + property + "' in "
+                            + obj.getClass().getName() + " object.");
+                }
+            }
+
+            map.put(key, value);
+        } else {
+            throw new IllegalArgumentException("Cannot set a new mapped value to " + property
+                    + ". Only Map type is supported for mapped properties, but " + property.getType().getName()
+                    + " found.");
+        }
+    }
+
+    // PRIMITIVE SECTION
+    //
+    // The follow section contains the primitive-specialized versions of the static methods, for each
+    // supported primitive type. Only the mapped values and the not primitive properties are boxed.
+    // -----------------------------------------------------------------------------------------------
+
+    /*
+     * Internal: Traverses the compiled path, or the pattern by offsets if the path is 'null', up to the object
+     * owning its last segment, which is never 'null', then resolves the last segment in that object.
+     */
+    private static Object getLastSegmentParent(Object obj, String propertyPattern, PropertyPath propertyPath,
+                                               LastSegment last, WrapperOptions options, WrapperState state) {
+        Object parent;
+
+        if (propertyPath != null) {
+            parent = getPathParent(obj, propertyPath, options, state);
+            last.resolve(propertyPath.getSegment(propertyPath.size() - 1), parent.getClass(), false);
+        } else {
+            int start = PropertyPath.indexOfLastSegment(propertyPattern);
+            parent = getUncachedParent(obj, propertyPattern, start, options, state);
+            last.resolve(propertyPattern, start, parent.getClass(), false);
+        }
+
+        return parent;
+    }
+
+    /*
+     * Internal: Same of getLastSegmentParent(), but auto-instancing (if enabled) the nested simple properties
+     * found with value 'null', for a set operation.
+     */
+    private static Object getOrCreateLastSegmentParent(Object obj, String propertyPattern, PropertyPath propertyPath,
+                                                       LastSegment last, WrapperOptions options, WrapperState state) {
+        Object parent;
+
+        if (propertyPath != null) {
+            parent = getOrCreatePathParent(obj, propertyPath, options, state);
+            last.resolve(propertyPath.getSegment(propertyPath.size() - 1), parent.getClass(), true);
+        } else {
+            int start = PropertyPath.indexOfLastSegment(propertyPattern);
+            parent = getOrCreateUncachedParent(obj, propertyPattern, start, options, state);
+            last.resolve(propertyPattern, start, parent.getClass(), true);
+        }
+
+        return parent;
+    }
+
+    /*
+     * Internal: Static version of {@link ObjectWrapper#getInt(String)}.
+     */
+    static int getInt(Object obj, String propertyPattern, WrapperOptions options, WrapperState state) {
+        return getInt(obj, propertyPattern, compileCachedGetPattern(propertyPattern), options, state);
+    }
+
+    /*
+     * Internal: Static version of {@link ObjectWrapper#getPathInt(PropertyPath)}.
+     */
+    static int getInt(Object obj, PropertyPath propertyPath, WrapperOptions options, WrapperState state) {
+        return getInt(obj, null, checkGetPath(propertyPath), options, state);
+    }
+
+    /*
+     * Internal: Version of {@link ObjectWrapper#getInt(String)} on the compiled path, or walking the pattern
+     * by offsets if the path is 'null' (not cached).
+     */
+    static int getInt(Object obj, String propertyPattern, PropertyPath propertyPath,
+                      WrapperOptions options, WrapperState state) {
+        LastSegment last = LAST_SEGMENTS.get();
+        Object parent = getLastSegmentParent(obj, propertyPattern, propertyPath, last, options, state);
+
+        if (last.accessor != null) {
+            return last.accessor.getInt(parent);
+        } else if (last.key != null) {
+            Property property = last.property;
+            return Primitives.toInt(getMappedValue(parent, property, last.key), property);
+        } else {
+            return getIndexedInt(parent, last.property, last.index, options, state);
+        }
+    }
+
+    /*
+     * Internal: Static version of {@link ObjectWrapper#getSimpleInt(Property)}.
+     */
+    private static int getSimpleInt(Object obj, Property property) {
+        if (property == null) {
+            throw new IllegalArgumentException("Cannot get the value from a 'null' property.");
+        }
+
+        return PropertyAccessor.forProperty(property).getInt(obj);
+    }
+
+    /*
+     * Internal: Static version of {@link ObjectWrapper#getIndexedInt(Property, int)}.
+     */
+    private static int getIndexedInt(Object obj, Property property, int index,
+                                     WrapperOptions options, WrapperState state) {
+        PropertyAccessor accessor = getIndexedAccessor(property);
+        Object propertyValue = getIndexedContainer(obj, accessor);
+
+        if (propertyValue.getClass().isArray()) {
+            ArrayAccessor arrays = getArrayAccessor(accessor, propertyValue);
+
+            if (isOutOfBounds(obj, property, arrays.getLength(propertyValue), index, options, state)) {
+                return 0;
+            }
+
+            return arrays.getInt(propertyValue, index);
+        }
+
+        Object value = getIndexedElement(obj, accessor, propertyValue, index, OUT_OF_BOUNDS, options, state);
+        return (value != OUT_OF_BOUNDS) ? Primitives.toInt(value, property) : 0;
+    }
+
+    /*
+     * Internal: Static version of {@link ObjectWrapper#setInt(String, int)}.
+     */
+    static void setInt(Object obj, String propertyPattern, int value, WrapperOptions options, WrapperState state) {
+        setInt(obj, propertyPattern, compileCachedSetPattern(propertyPattern), value, options, state);
+    }
+
+    /*
+     * Internal: Static version of {@link ObjectWrapper#setPathInt(PropertyPath, int)}.
+     */
+    static void setInt(Object obj, PropertyPath propertyPath, int value, WrapperOptions options, WrapperState state) {
+        setInt(obj, null, checkSetPath(propertyPath), value, options, state);
+    }
 
+    /*
+     * Internal: Version of {@link ObjectWrapper#setInt(String, int)} on the compiled path, or walking the
+     * pattern by offsets if the path is 'null' (not cached).
+     */
+    static void setInt(Object obj, String propertyPattern, PropertyPath propertyPath, int value,
+                       WrapperOptions options, WrapperState state) {
+        LastSegment last = LAST_SEGMENTS.get();
+        Object parent = getOrCreateLastSegmentParent(obj, propertyPattern, propertyPath, last, options, state);
+
+        if (last.accessor != null) {
+            last.accessor.setInt(parent, value);
+        } else if (last.key != null) {
+            Property property = last.property;
+            Object boxed = Primitives.valueOf(value, property.getActualType(), property);
+            setMappedValue(parent, property, last.key, boxed, options, state);
+        } else {
+            setIndexedInt(parent, last.property, last.index, value, options, state);
         }
+    }
 
-        if (propertyValue instanceof List) {
-            List list = (List) propertyValue;
-            int size = list.size();
+    /*
+     * Internal: Static version of {@link ObjectWrapper#setSimpleInt(Property, int)}.
+     */
+    private static void setSimpleInt(Object obj, Property property, int value) {
+        if (property == null) {
+            throw new IllegalArgumentException("Cannot set a new value to a property with a 'null' propertyName.");
+        }
 
-            if (size < index) {
-                if(options.isOutOfBoundsSafety) {
-                    return null;
-                } else {
-                    throw new IndexOutOfBoundsException("The indexed " + property + " in "
-                            + obj.getClass().getSimpleName() + " object has only '" + size + "' elements," +
-                            " but index '" + index + "' requested.");
-                }
-            }
+        PropertyAccessor.forProperty(property).setInt(obj, value);
+    }
 
-            return list.get(index);
-        } else if (propertyValue.getClass().isArray()) {
-            int lenght = Array.getLength(propertyValue);
+    /*
+     * Internal: Static version of {@link ObjectWrapper#setIndexedInt(Property, int, int)}.
+     */
+    private static void setIndexedInt(Object obj, Property property, int index, int value,
+                                      WrapperOptions options, WrapperState state) {
+        PropertyAccessor accessor = setIndexedAccessor(property);
+        Object propertyValue = getOrCreateIndexedContainer(obj, accessor, index, options, state);
 
-            if(lenght < index && options.isOutOfBoundsSafety) {
-                return null;
-            }
+        if (propertyValue.getClass().isArray()) {
+            ArrayAccessor arrays = getArrayAccessor(accessor, propertyValue);
+            propertyValue = growArray(obj, accessor, arrays, propertyValue, index, options, state);
 
             try {
-                return Array.get(propertyValue, index);
+                arrays.setInt(propertyValue, index, value);
             } catch (ArrayIndexOutOfBoundsException e) {
-                throw new IndexOutOfBoundsException("The indexed " + property + " in "
-                        + obj.getClass().getSimpleName() + " object has only '" + lenght + "' elements," +
-                        " but index '" + index + "' requested.");
-
+                throw unboundArray(obj, property, index);
             }
-        } else if (propertyValue instanceof Iterable) {
-            Iterable iterable = (Iterable) propertyValue;
+        } else {
+            Object boxed = Primitives.valueOf(value, property.getActualType(), property);
+            setListElement(obj, property, propertyValue, index, boxed, options, state);
+        }
+    }
 
-            int k = 0;
-            for (Object object : iterable) {
-                if (k == index) {
-                    return object;
-                }
+    /*
+     * Internal: Static version of {@link ObjectWrapper#getLong(String)}.
+     */
+    static long getLong(Object obj, String propertyPattern, WrapperOptions options, WrapperState state) {
+        return getLong(obj, propertyPattern, compileCachedGetPattern(propertyPattern), options, state);
+    }
 
-                k++;// Hopefully not an infinite iteration
-            }
+    /*
+     * Internal: Static version of {@link ObjectWrapper#getPathLong(PropertyPath)}.
+     */
+    static long getLong(Object obj, PropertyPath propertyPath, WrapperOptions options, WrapperState state) {
+        return getLong(obj, null, checkGetPath(propertyPath), options, state);
+    }
 
-            // Nothing found
-            if (options.isOutOfBoundsSafety) {
-                return null;
-            } else {
-                throw new IndexOutOfBoundsException("The indexed " + property + " in "
-                        + obj.getClass().getSimpleName() + " object has less than '" + index + "'" +
-                        " elements.");
-            }
+    /*
+     * Internal: Version of {@link ObjectWrapper#getLong(String)} on the compiled path, or walking the pattern
+     * by offsets if the path is 'null' (not cached).
+     */
+    static long getLong(Object obj, String propertyPattern, PropertyPath propertyPath,
+                        WrapperOptions options, WrapperState state) {
+        LastSegment last = LAST_SEGMENTS.get();
+        Object parent = getLastSegmentParent(obj, propertyPattern, propertyPath, last, options, state);
+
+        if (last.accessor != null) {
+            return last.accessor.getLong(parent);
+        } else if (last.key != null) {
+            Property property = last.property;
+            return Primitives.toLong(getMappedValue(parent, property, last.key), property);
         } else {
-            throw new IllegalArgumentException("Cannot get an indexed value from the not indexed " + property
-                    + ". Only List, array and Iterable types are supported, but " + property.getType().getSimpleName()
-                    + " found.");
+            return getIndexedLong(parent, last.property, last.index, options, state);
         }
     }
 
     /*
-     * Internal: Static version of {@link ObjectWrapper#getMappedValue(Property, Object)}.
+     * Internal: Static version of {@link ObjectWrapper#getSimpleLong(Property)}.
      */
-    @SuppressWarnings("unchecked")
-    private static Object getMappedValue(Object obj, Property property, Object key) {
+    private static long getSimpleLong(Object obj, Property property) {
         if (property == null) {
-            throw new IllegalArgumentException("Cannot get the mapped value from a 'null' property.");
+            throw new IllegalArgumentException("Cannot get the value from a 'null' property.");
         }
 
-        if (property.getType().isAssignableFrom(Map.class)) {
-            Map<Object, Object> map = (Map<Object, Object>) property.get(obj);
+        return PropertyAccessor.forProperty(property).getLong(obj);
+    }
 
-            if (map == null) {
-                throw new NullPointerException("Invalid 'null' value found for mapped " + property + " in "
-                        + obj.getClass().getName() + ".");
+    /*
+     * Internal: Static version of {@link ObjectWrapper#getIndexedLong(Property, int)}.
+     */
+    private static long getIndexedLong(Object obj, Property property, int index,
+                                       WrapperOptions options, WrapperState state) {
+        PropertyAccessor accessor = getIndexedAccessor(property);
+        Object propertyValue = getIndexedContainer(obj, accessor);
+
+        if (propertyValue.getClass().isArray()) {
+            ArrayAccessor arrays = getArrayAccessor(accessor, propertyValue);
 
+            if (isOutOfBounds(obj, property, arrays.getLength(propertyValue), index, options, state)) {
+                return 0;
             }
 
-            return map.get(key);
+            return arrays.getLong(propertyValue, index);
+        }
+
+        Object value = getIndexedElement(obj, accessor, propertyValue, index, OUT_OF_BOUNDS, options, state);
+        return (value != OUT_OF_BOUNDS) ? Primitives.toLong(value, property) : 0;
+    }
+
+    /*
+     * Internal: Static version of {@link ObjectWrapper#setLong(String, long)}.
+     */
+    static void setLong(Object obj, String propertyPattern, long value, WrapperOptions options, WrapperState state) {
+        setLong(obj, propertyPattern, compileCachedSetPattern(propertyPattern), value, options, state);
+    }
+
+    /*
+     * Internal: Static version of {@link ObjectWrapper#setPathLong(PropertyPath, long)}.
+     */
+    static void setLong(Object obj, PropertyPath propertyPath, long value, WrapperOptions options, WrapperState state) {
+        setLong(obj, null, checkSetPath(propertyPath), value, options, state);
+    }
+
+    /*
+     * Internal: Version of {@link ObjectWrapper#setLong(String, long)} on the compiled path, or walking the
+     * pattern by offsets if the path is 'null' (not cached).
+     */
+    static void setLong(Object obj, String propertyPattern, PropertyPath propertyPath, long value,
+                        WrapperOptions options, WrapperState state) {
+        LastSegment last = LAST_SEGMENTS.get();
+        Object parent = getOrCreateLastSegmentParent(obj, propertyPattern, propertyPath, last, options, state);
+
+        if (last.accessor != null) {
+            last.accessor.setLong(parent, value);
+        } else if (last.key != null) {
+            Property property = last.property;
+            Object boxed = Primitives.valueOf(value, property.getActualType(), property);
+            setMappedValue(parent, property, last.key, boxed, options, state);
         } else {
-            throw new IllegalArgumentException("Cannot get a mapped value from the not mapped " + property
-                    + ". Only Map type is supported, but " + property.getType().getSimpleName() + " found.");
+            setIndexedLong(parent, last.property, last.index, value, options, state);
         }
     }
 
     /*
-     * Internal: Static version of {@link ObjectWrapper#setValue(String, Object)}
+     * Internal: Static version of {@link ObjectWrapper#setSimpleLong(Property, long)}.
      */
-    private static void setValue(Object obj, String propertyPattern, Object value, ObjectWrapper options) {
-        if (propertyPattern == null) {
-            throw new IllegalArgumentException("Cannot set a new value to a property with a 'null' propertyPattern.");
+    private static void setSimpleLong(Object obj, Property property, long value) {
+        if (property == null) {
+            throw new IllegalArgumentException("Cannot set a new value to a property with a 'null' propertyName.");
         }
 
-        if (obj == null) {
-            // NullPointerException as it is throwed only when traversing a null object (ex: "foo.null.bar")
-            throw new NullPointerException("Cannot set the value of '" + propertyPattern + "' to a 'null' object.");
+        PropertyAccessor.forProperty(property).setLong(obj, value);
+    }
+
+    /*
+     * Internal: Static version of {@link ObjectWrapper#setIndexedLong(Property, int, long)}.
+     */
+    private static void setIndexedLong(Object obj, Property property, int index, long value,
+                                       WrapperOptions options, WrapperState state) {
+        PropertyAccessor accessor = setIndexedAccessor(property);
+        Object propertyValue = getOrCreateIndexedContainer(obj, accessor, index, options, state);
+
+        if (propertyValue.getClass().isArray()) {
+            ArrayAccessor arrays = getArrayAccessor(accessor, propertyValue);
+            propertyValue = growArray(obj, accessor, arrays, propertyValue, index, options, state);
+
+            try {
+                arrays.setLong(propertyValue, index, value);
+            } catch (ArrayIndexOutOfBoundsException e) {
+                throw unboundArray(obj, property, index);
+            }
+        } else {
+            Object boxed = Primitives.valueOf(value, property.getActualType(), property);
+            setListElement(obj, property, propertyValue, index, boxed, options, state);
         }
+    }
 
-        // '.' position if positive, '[' inverse position if negative
-        int position = indexOfDotOrSquare(propertyPattern);
+    /*
+     * Internal: Static version of {@link ObjectWrapper#getDouble(String)}.
+     */
+    static double getDouble(Object obj, String propertyPattern, WrapperOptions options, WrapperState state) {
+        return getDouble(obj, propertyPattern, compileCachedGetPattern(propertyPattern), options, state);
+    }
 
-        // (propertyPattern.contains("."))
-        if (position > 0) {
-            String leftPattern = propertyPattern.substring(0, position);
-            String rightPattern = propertyPattern.substring(position + 1, propertyPattern.length());
-            Object leftValue = getValue(obj, leftPattern, options);
+    /*
+     * Internal: Static version of {@link ObjectWrapper#getPathDouble(PropertyPath)}.
+     */
+    static double getDouble(Object obj, PropertyPath propertyPath, WrapperOptions options, WrapperState state) {
+        return getDouble(obj, null, checkGetPath(propertyPath), options, state);
+    }
 
-            if (leftValue == null) {
-                Property leftProperty = getPropertyOrThrow(Bean.forClass(obj.getClass()), leftPattern);
+    /*
+     * Internal: Version of {@link ObjectWrapper#getDouble(String)} on the compiled path, or walking the pattern
+     * by offsets if the path is 'null' (not cached).
+     */
+    static double getDouble(Object obj, String propertyPattern, PropertyPath propertyPath,
+                            WrapperOptions options, WrapperState state) {
+        LastSegment last = LAST_SEGMENTS.get();
+        Object parent = getLastSegmentParent(obj, propertyPattern, propertyPath, last, options, state);
+
+        if (last.accessor != null) {
+            return last.accessor.getDouble(parent);
+        } else if (last.key != null) {
+            Property property = last.property;
+            return Primitives.toDouble(getMappedValue(parent, property, last.key), property);
+        } else {
+            return getIndexedDouble(parent, last.property, last.index, options, state);
+        }
+    }
 
-                if(options.isAutoInstancing) {
-                    try {
-                        leftValue = leftProperty.getType().newInstance();
-                    } catch (Exception e) {
-                        throw new ReflectionException("The value of " + leftProperty + " was 'null' in the object "
-                                + obj.getClass().getName() + ". An attempt to invoke its 'no-args constructor'" +
-                                " was made, but an error occurs.", e);
-                    }
+    /*
+     * Internal: Static version of {@link ObjectWrapper#getSimpleDouble(Property)}.
+     */
+    private static double getSimpleDouble(Object obj, Property property) {
+        if (property == null) {
+            throw new IllegalArgumentException("Cannot get the value from a 'null' property.");
+        }
 
-                    leftProperty.set(obj, leftValue);
-                }
-            }
+        return PropertyAccessor.forProperty(property).getDouble(obj);
+    }
 
-            setValue(leftValue, rightPattern, value, options);
-            // if (propertyPattern.contains("["))
-        } else if (position < 0) {
-            int squarePosition = -position;
+    /*
+     * Internal: Static version of {@link ObjectWrapper#getIndexedDouble(Property, int)}.
+     */
+    private static double getIndexedDouble(Object obj, Property property, int index,
+                                           WrapperOptions options, WrapperState state) {
+        PropertyAccessor accessor = getIndexedAccessor(property);
+        Object propertyValue = getIndexedContainer(obj, accessor);
 
-            String leftPattern = propertyPattern.substring(0, squarePosition);
-            String indexOrKey = propertyPattern.substring(squarePosition + 1, propertyPattern.length() - 1);// removes ']'
-            Property leftProperty = getPropertyOrThrow(Bean.forClass(obj.getClass()), leftPattern);
+        if (propertyValue.getClass().isArray()) {
+            ArrayAccessor arrays = getArrayAccessor(accessor, propertyValue);
 
-            if (leftProperty.getType().isAssignableFrom(Map.class)) {
-                setMappedValue(obj, leftProperty, indexOrKey, value, options);
-            } else {
-                try {
-                    setIndexedValue(obj, leftProperty, Integer.parseInt(indexOrKey), value, options);
-                } catch (NumberFormatException e) {
-                    throw new IllegalArgumentException("The pattern '" + indexOrKey + "' for the indexed "
-                            + leftProperty + " is invalid. Cannot parse the string to a valid integer index.");
-                }
+            if (isOutOfBounds(obj, property, arrays.getLength(propertyValue), index, options, state)) {
+                return 0;
             }
+
+            return arrays.getDouble(propertyValue, index);
+        }
+
+        Object value = getIndexedElement(obj, accessor, propertyValue, index, OUT_OF_BOUNDS, options, state);
+        return (value != OUT_OF_BOUNDS) ? Primitives.toDouble(value, property) : 0;
+    }
+
+    /*
+     * Internal: Static version of {@link ObjectWrapper#setDouble(String, double)}.
+     */
+    static void setDouble(Object obj, String propertyPattern, double value, WrapperOptions options, WrapperState state) {
+        setDouble(obj, propertyPattern, compileCachedSetPattern(propertyPattern), value, options, state);
+    }
+
+    /*
+     * Internal: Static version of {@link ObjectWrapper#setPathDouble(PropertyPath, double)}.
+     */
+    static void setDouble(Object obj, PropertyPath propertyPath, double value, WrapperOptions options, WrapperState state) {
+        setDouble(obj, null, checkSetPath(propertyPath), value, options, state);
+    }
+
+    /*
+     * Internal: Version of {@link ObjectWrapper#setDouble(String, double)} on the compiled path, or walking the
+     * pattern by offsets if the path is 'null' (not cached).
+     */
+    static void setDouble(Object obj, String propertyPattern, PropertyPath propertyPath, double value,
+                          WrapperOptions options, WrapperState state) {
+        LastSegment last = LAST_SEGMENTS.get();
+        Object parent = getOrCreateLastSegmentParent(obj, propertyPattern, propertyPath, last, options, state);
+
+        if (last.accessor != null) {
+            last.accessor.setDouble(parent, value);
+        } else if (last.key != null) {
+            Property property = last.property;
+            Object boxed = Primitives.valueOf(value, property.getActualType(), property);
+            setMappedValue(parent, property, last.key, boxed, options, state);
         } else {
-            setSimpleValue(obj, getPropertyOrThrow(Bean.forClass(obj.getClass()), propertyPattern), value);
+            setIndexedDouble(parent, last.property, last.index, value, options, state);
         }
     }
 
     /*
-     * Internal: Static version of {@link ObjectWrapper#setSimpleValue(Property, Object)}.
+     * Internal: Static version of {@link ObjectWrapper#setSimpleDouble(Property, double)}.
      */
-    private static void setSimpleValue(Object obj, Property property, Object value) {
+    private static void setSimpleDouble(Object obj, Property property, double value) {
         if (property == null) {
             throw new IllegalArgumentException("Cannot set a new value to a property with a 'null' propertyName.");
         }
 
-        property.set(obj, value);
+        PropertyAccessor.forProperty(property).setDouble(obj, value);
     }
 
     /*
-     * Internal: Static version of {@link ObjectWrapper#setIndexedValue(Property, int, Object)}.
+     * Internal: Static version of {@link ObjectWrapper#setIndexedDouble(Property, int, double)}.
+     */
+    private static void setIndexedDouble(Object obj, Property property, int index, double value,
+                                         WrapperOptions options, WrapperState state) {
+        PropertyAccessor accessor = setIndexedAccessor(property);
+        Object propertyValue = getOrCreateIndexedContainer(obj, accessor, index, options, state);
+
+        if (propertyValue.getClass().isArray()) {
+            ArrayAccessor arrays = getArrayAccessor(accessor, propertyValue);
+            propertyValue = growArray(obj, accessor, arrays, propertyValue, index, options, state);
+
+            try {
+                arrays.setDouble(propertyValue, index, value);
+            } catch (ArrayIndexOutOfBoundsException e) {
+                throw unboundArray(obj, property, index);
+            }
+        } else {
+            Object boxed = Primitives.valueOf(value, property.getActualType(), property);
+            setListElement(obj, property, propertyValue, index, boxed, options, state);
+        }
+    }
+
+    /*
+     * Internal: Static version of {@link ObjectWrapper#getBoolean(String)}.
+     */
+    static boolean getBoolean(Object obj, String propertyPattern, WrapperOptions options, WrapperState state) {
+        return getBoolean(obj, propertyPattern, compileCachedGetPattern(propertyPattern), options, state);
+    }
+
+    /*
+     * Internal: Static version of {@link ObjectWrapper#getPathBoolean(PropertyPath)}.
+     */
+    static boolean getBoolean(Object obj, PropertyPath propertyPath, WrapperOptions options, WrapperState state) {
+        return getBoolean(obj, null, checkGetPath(propertyPath), options, state);
+    }
+
+    /*
+     * Internal: Version of {@link ObjectWrapper#getBoolean(String)} on the compiled path, or walking the pattern
+     * by offsets if the path is 'null' (not cached).
+     */
+    static boolean getBoolean(Object obj, String propertyPattern, PropertyPath propertyPath,
+                              WrapperOptions options, WrapperState state) {
+        LastSegment last = LAST_SEGMENTS.get();
+        Object parent = getLastSegmentParent(obj, propertyPattern, propertyPath, last, options, state);
+
+        if (last.accessor != null) {
+            return last.accessor.getBoolean(parent);
+        } else if (last.key != null) {
+            Property property = last.property;
+            return Primitives.toBoolean(getMappedValue(parent, property, last.key), property);
+        } else {
+            return getIndexedBoolean(parent, last.property, last.index, options, state);
+        }
+    }
+
+    /*
+     * Internal: Static version of {@link ObjectWrapper#getSimpleBoolean(Property)}.
      */
-    @SuppressWarnings({"unchecked", "SuspiciousSystemArraycopy"})
-    private static void setIndexedValue(Object obj, Property property, int index, Object value, ObjectWrapper options) {
+    private static boolean getSimpleBoolean(Object obj, Property property) {
         if (property == null) {
-            throw new IllegalArgumentException("Cannot set a new indexed value to a 'null' property.");
+            throw new IllegalArgumentException("Cannot get the value from a 'null' property.");
         }
 
-        Object propertyValue = property.get(obj);
+        return PropertyAccessor.forProperty(property).getBoolean(obj);
+    }
 
-        if (propertyValue == null) {
-            if (options.isAutoInstancing) {
-                Class<?> propertyType = property.getType();
+    /*
+     * Internal: Static version of {@link ObjectWrapper#getIndexedBoolean(Property, int)}.
+     */
+    private static boolean getIndexedBoolean(Object obj, Property property, int index,
+                                             WrapperOptions options, WrapperState state) {
+        PropertyAccessor accessor = getIndexedAccessor(property);
+        Object propertyValue = getIndexedContainer(obj, accessor);
 
-                if (propertyType.isAssignableFrom(List.class)) {
-                    propertyValue = new ArrayList();
-                    property.set(obj, propertyValue);
-                } else if (propertyType.isArray()) {
-                    propertyValue = Array.newInstance(property.getActualType(), index + 1);
-                    property.set(obj, propertyValue);
-                } else {
-                    throw new IllegalArgumentException("The indexed " + property + " in object "
-                            + obj.getClass().getSimpleName() + " has value 'null'. Only List and array types can be " +
-                            "auto instantiated, but " + propertyType.getSimpleName() + " found.");
-                }
-            } else {
-                throw new NullPointerException("Invalid 'null' value found for the indexed '" + property + "' in "
-                        + obj.getClass().getName() + " object.");
+        if (propertyValue.getClass().isArray()) {
+            ArrayAccessor arrays = getArrayAccessor(accessor, propertyValue);
+
+            if (isOutOfBounds(obj, property, arrays.getLength(propertyValue), index, options, state)) {
+                return false;
             }
+
+            return arrays.getBoolean(propertyValue, index);
         }
 
-        if (propertyValue instanceof List) {
-            List list = (List) propertyValue;
-            int size = list.size();
+        Object value = getIndexedElement(obj, accessor, propertyValue, index, OUT_OF_BOUNDS, options, state);
+        return (value != OUT_OF_BOUNDS) ? Primitives.toBoolean(value, property) : false;
+    }
 
-            if (index >= size && options.isAutoGrowing) {
-                for (int i = size; i < index; i++) {
-                    try {
-                        list.add(null);
-                    }
-                    catch (NullPointerException ex) {
-                        throw new NullPointerException("The indexed " + property + " has size lower than the requested '"
-                                + index + "' index. An attempt to autogrowing it, filling with 'null' values, was made, " +
-                                " but the List implementation seems to do not accept 'null' values. " + ex.getMessage());
-                    }
-                }
+    /*
+     * Internal: Static version of {@link ObjectWrapper#setBoolean(String, boolean)}.
+     */
+    static void setBoolean(Object obj, String propertyPattern, boolean value, WrapperOptions options, WrapperState state) {
+        setBoolean(obj, propertyPattern, compileCachedSetPattern(propertyPattern), value, options, state);
+    }
 
-                list.add(index, value);
-            } else {
-                try {
-                    list.set(index, value);
-                } catch (IndexOutOfBoundsException e) {
-                    throw new IndexOutOfBoundsException("Cannot set a new value to the indexed list " + property + " in "
-                            + obj.getClass().getSimpleName() + " as the requested '" + index + "' index is unbound.");
-                }
-            }
-        } else if (propertyValue.getClass().isArray()) {
-            int length = Array.getLength(propertyValue);
+    /*
+     * Internal: Static version of {@link ObjectWrapper#setPathBoolean(PropertyPath, boolean)}.
+     */
+    static void setBoolean(Object obj, PropertyPath propertyPath, boolean value, WrapperOptions options, WrapperState state) {
+        setBoolean(obj, null, checkSetPath(propertyPath), value, options, state);
+    }
 
-            if (index >= length && options.isAutoGrowing) {
-                Object biggerArray = Array.newInstance(property.getActualType(), index + 1);
-                System.arraycopy(propertyValue, 0, biggerArray, 0, length);
-                property.set(obj, biggerArray);
-                propertyValue = biggerArray;
-            }
+    /*
+     * Internal: Version of {@link ObjectWrapper#setBoolean(String, boolean)} on the compiled path, or walking the
+     * pattern by offsets if the path is 'null' (not cached).
+     */
+    static void setBoolean(Object obj, String propertyPattern, PropertyPath propertyPath, boolean value,
+                           WrapperOptions options, WrapperState state) {
+        LastSegment last = LAST_SEGMENTS.get();
+        Object parent = getOrCreateLastSegmentParent(obj, propertyPattern, propertyPath, last, options, state);
+
+        if (last.accessor != null) {
+            last.accessor.setBoolean(parent, value);
+        } else if (last.key != null) {
+            Property property = last.property;
+            Object boxed = Primitives.valueOf(value, property.getActualType(), property);
+            setMappedValue(parent, property, last.key, boxed, options, state);
+        } else {
+            setIndexedBoolean(parent, last.property, last.index, value, options, state);
+        }
+    }
+
+    /*
+     * Internal: Static version of {@link ObjectWrapper#setSimpleBoolean(Property, boolean)}.
+     */
+    private static void setSimpleBoolean(Object obj, Property property, boolean value) {
+        if (property == null) {
+            throw new IllegalArgumentException("Cannot set a new value to a property with a 'null' propertyName.");
+        }
+
+        PropertyAccessor.forProperty(property).setBoolean(obj, value);
+    }
+
+    /*
+     * Internal: Static version of {@link ObjectWrapper#setIndexedBoolean(Property, int, boolean)}.
+     */
+    private static void setIndexedBoolean(Object obj, Property property, int index, boolean value,
+                                          WrapperOptions options, WrapperState state) {
+        PropertyAccessor accessor = setIndexedAccessor(property);
+        Object propertyValue = getOrCreateIndexedContainer(obj, accessor, index, options, state);
+
+        if (propertyValue.getClass().isArray()) {
+            ArrayAccessor arrays = getArrayAccessor(accessor, propertyValue);
+            propertyValue = growArray(obj, accessor, arrays, propertyValue, index, options, state);
 
             try {
-                Array.set(propertyValue, index, value);
+                arrays.setBoolean(propertyValue, index, value);
             } catch (ArrayIndexOutOfBoundsException e) {
-                throw new IndexOutOfBoundsException("Cannot set a new value to the indexed array " + property
-                        + " in " + obj.getClass().getSimpleName() + " as the requested '" + index + "' index is unbound.");
+                throw unboundArray(obj, property, index);
             }
         } else {
-            throw new IllegalArgumentException("Cannot set a new value to a not indexed " + property + ". Only List and array " +
-                    "types are supported, but " + propertyValue.getClass().getName() + " found.");
+            Object boxed = Primitives.valueOf(value, property.getActualType(), property);
+            setListElement(obj, property, propertyValue, index, boxed, options, state);
         }
     }
 
     /*
-     * Internal: Static version of {@link ObjectWrapper#setMappedValue(Property, Object, Object)}.
+     * The last segment of a pattern or compiled path, resolved in the object owning it: a simple property,
+     * a mapped property with its key, or an indexed property with its index. It is reused by each thread,
+     * so it is resolved only after the traversal, read before invoking any accessor, and never holds the
+     * owning object.
      */
-    @SuppressWarnings("unchecked")
-    private static void setMappedValue(Object obj, Property property, Object key, Object value, ObjectWrapper options) {
-        if (property == null) {
-            throw new IllegalArgumentException("Cannot set a new mapped value to a 'null' property.");
+    private static final class LastSegment {
+
+        PropertyAccessor accessor;// not 'null' only for a simple property
+        Property property;
+        Object key;// not 'null' only for a mapped property
+        int index;
+
+        void resolve(PropertyPath.Segment segment, Class<?> type, boolean isSet) {
+            if (!segment.isSquare) {
+                set(segment.resolveAccessor(type), null, null, 0);
+                return;
+            }
+
+            Property property = segment.resolve(type);
+
+            if (isMapped(property, isSet)) {
+                set(null, property, segment.key, 0);
+            } else {
+                set(null, property, null, segment.index(property));
+            }
         }
 
-        if (Map.class.isAssignableFrom(property.getType())) {
-            Map map = (Map) property.get(obj);
+        void resolve(String pattern, int start, Class<?> type, boolean isSet) {
+            int end = pattern.length();
+            int square = PropertyPath.indexOfSquare(pattern, start, end);
+            PropertyNameTable table = PropertyNameTable.forClass(type);
 
-            if (map == null) {
-                if (options.isAutoInstancing) {
-                    map = new LinkedHashMap();
-                    property.set(obj, map);
-                } else {
-                    throw new NullPointerException("Invalid 'null' value found for the mapped '" + property + "' in "
-                            + obj.getClass().getName() + " object.");
-                }
+            if (square < 0) {
+                set(table.getAccessorOrThrow(pattern, start, end), null, null, 0);
+                return;
             }
 
-            map.put(key, value);
-        } else {
-            throw new IllegalArgumentException("Cannot set a new mapped value to " + property
-                    + ". Only Map type is supported for mapped properties, but " + property.getType().getName()
-                    + " found.");
+            Property property = table.getPropertyOrThrow(pattern, start, square);
+
+            if (isMapped(property, isSet)) {
+                set(null, property, pattern.substring(square + 1, end - 1), 0);// the key object is required
+            } else {
+                set(null, property, null, parseIndex(pattern, square + 1, end - 1, property));
+            }
+        }
+
+        private void set(PropertyAccessor accessor, Property property, Object key, int index) {
+            this.accessor = accessor;
+            this.property = property;
+            this.key = key;
+            this.index = index;
+        }
+
+        /*
+         * As getSegmentValue() and setSegmentValue(): a Map property is read by key, while a new value
+         * can be put by key into any property assignable from a Map.
+         */
+        private static boolean isMapped(Property property, boolean isSet) {
+            return isSet ? property.getType().isAssignableFrom(Map.class)
+                    : Map.class.isAssignableFrom(property.getType());
         }
     }
 }
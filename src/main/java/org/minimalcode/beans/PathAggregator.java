@@ -0,0 +1,452 @@
+/*
+ * Copyright 2015 Fabio Piro (minimalcode.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.minimalcode.beans;
+
+import org.minimalcode.reflect.Property;
+import org.minimalcode.reflect.ReflectionException;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Immutable and thread-safe aggregator of the numeric values located by a compiled path, which can
+ * have "[*]" wildcard segments (ex: "lines[*].amount"), in an array or collection of objects, into
+ * their {@link Statistics}: count, sum, min, max and average.
+ *
+ * <p> The values are accumulated into primitive accumulators: the integral ones (int, long, short,
+ * byte and their wrappers) into an exact long sum, the other numbers into a double sum. The primitive
+ * properties, and the elements of the primitive arrays expanded by a wildcard, are read without boxing.
+ * The {@code null} values, the {@code null} nested properties (ex: a {@code null} "customer" for
+ * "customer.discount") and the {@code null} wildcard properties (ex: a {@code null} "lines") are not
+ * aggregated, but each one is counted by {@link Statistics#getNullCount()}.
+ *
+ * <p> When a {@link ForkJoinPool} is given, the arrays and the {@link RandomAccess} lists longer than
+ * the threshold are split into ranges of at most threshold objects, each one aggregated in parallel
+ * into its own accumulators, merged at the end. The other collections are always aggregated sequentially.
+ *
+ * <p> Example:
+ * <pre>
+ * PathAggregator aggregator = PathAggregator.forPath(ObjectWrapper.compile("lines[*].amount"), options);
+ * double total = aggregator.aggregate(invoices, pool).getSum();
+ * </pre>
+ *
+ * @author Fabio Piro
+ * @see ColumnExtractor
+ */
+public final class PathAggregator {
+
+    /**
+     * The default maximum number of objects aggregated by a single parallel task.
+     */
+    public static final int DEFAULT_THRESHOLD = 4096;
+
+    private final PropertyPath propertyPath;
+    private final WrapperOptions options;
+    private final int threshold;
+
+    private PathAggregator(PropertyPath propertyPath, WrapperOptions options, int threshold) {
+        this.propertyPath = propertyPath;
+        this.options = options;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Returns an aggregator of the values located by the given path, with the default threshold.
+     *
+     * @param propertyPath the compiled path of the values, cannot be {@code null}
+     * @param options      the options of the traversal, cannot be {@code null}
+     * @return the aggregator
+     * @throws IllegalArgumentException if any parameter is {@code null}
+     */
+    public static PathAggregator forPath(PropertyPath propertyPath, WrapperOptions options) {
+        if (propertyPath == null) {
+            throw new IllegalArgumentException("Cannot aggregate the values of a 'null' propertyPath.");
+        }
+
+        if (options == null) {
+            throw new IllegalArgumentException("Cannot aggregate the values of '" + propertyPath.getPattern()
+                    + "' with 'null' options.");
+        }
+
+        return new PathAggregator(propertyPath, options, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Returns a copy of this aggregator with the given threshold: the maximum number of objects
+     * aggregated by a single parallel task, and the minimum size of a parallel aggregation.
+     *
+     * @param threshold the threshold, must be positive
+     * @return the copy of this aggregator
+     * @throws IllegalArgumentException if the threshold parameter is not positive
+     */
+    public PathAggregator withThreshold(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Invalid threshold '" + threshold + "', must be positive.");
+        }
+
+        return new PathAggregator(propertyPath, options, threshold);
+    }
+
+    /**
+     * Returns the compiled path of the aggregated values.
+     *
+     * @return the compiled path
+     */
+    public PropertyPath getPath() {
+        return propertyPath;
+    }
+
+    /**
+     * Aggregates the values located by the path in the given objects.
+     *
+     * @param objects the objects whose values are to be aggregated, cannot be {@code null}
+     *                or contain {@code null} values
+     * @param pool    the pool of the parallel aggregation, or {@code null} for a sequential aggregation
+     * @return the statistics of the values
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if the objects parameter, or any object, is {@code null}
+     * @throws IllegalArgumentException if a value is not a number, or a wildcard property is not an
+     *                                  array, Iterable or Map
+     * @throws NullPointerException     if a property is not found
+     */
+    public Statistics aggregate(Object[] objects, ForkJoinPool pool) {
+        return aggregate(checkObjects(objects), objects.length, pool);
+    }
+
+    /**
+     * Aggregates the values located by the path in the given objects.
+     *
+     * @param objects the objects whose values are to be aggregated, cannot be {@code null}
+     *                or contain {@code null} values
+     * @param pool    the pool of the parallel aggregation, or {@code null} for a sequential aggregation
+     * @return the statistics of the values
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if the objects parameter, or any object, is {@code null}
+     * @throws IllegalArgumentException if a value is not a number, or a wildcard property is not an
+     *                                  array, Iterable or Map
+     * @throws NullPointerException     if a property is not found
+     */
+    public Statistics aggregate(Collection<?> objects, ForkJoinPool pool) {
+        return aggregate(checkObjects(objects), objects.size(), pool);
+    }
+
+    private <T> T checkObjects(T objects) {
+        if (objects == null) {
+            throw new IllegalArgumentException("Cannot aggregate the values of '" + propertyPath.getPattern()
+                    + "' from 'null' objects.");
+        }
+
+        return objects;
+    }
+
+    private Statistics aggregate(Object objects, int size, ForkJoinPool pool) {
+        if (objects instanceof Collection && !(objects instanceof List && objects instanceof RandomAccess)) {
+            Statistics statistics = new Statistics();
+            int i = 0;
+
+            for (Object obj : (Collection<?>) objects) {
+                accumulateRoot(obj, i++, statistics);
+            }
+
+            return statistics;
+        } else if (pool != null && size > threshold) {
+            return pool.invoke(new AggregateTask(this, objects, 0, size));
+        }
+
+        return aggregateRange(objects, 0, size);
+    }
+
+    private Statistics aggregateRange(Object objects, int from, int to) {
+        Statistics statistics = new Statistics();
+
+        if (objects instanceof Object[]) {
+            Object[] array = (Object[]) objects;
+
+            for (int i = from; i < to; i++) {
+                accumulateRoot(array[i], i, statistics);
+            }
+        } else {
+            List<?> list = (List<?>) objects;
+
+            for (int i = from; i < to; i++) {
+                accumulateRoot(list.get(i), i, statistics);
+            }
+        }
+
+        return statistics;
+    }
+
+    private void accumulateRoot(Object obj, int i, Statistics statistics) {
+        if (obj == null) {
+            throw new IllegalArgumentException("Cannot aggregate the values of '" + propertyPath.getPattern()
+                    + "' from a 'null' object, at position '" + i + "'.");
+        }
+
+        accumulate(obj, 0, statistics);
+    }
+
+    /*
+     * Accumulates the values located by the segments from the given depth, expanding each wildcard.
+     */
+    private void accumulate(Object obj, int depth, Statistics statistics) {
+        Object current = obj;
+        int last = propertyPath.size() - 1;
+
+        for (int i = depth; ; i++) {
+            if (current == null) {
+                statistics.nullCount++;
+                return;
+            }
+
+            PropertyPath.Segment segment = propertyPath.getSegment(i);
+
+            if (segment.isWildcard) {
+                PropertyAccessor accessor = segment.resolveAccessor(current.getClass());
+                Object elements = accessor.get(current);
+
+                if (elements == null) {
+                    statistics.nullCount++;
+                } else if (i == last) {
+                    accumulateElements(elements, accessor.property, statistics);
+                } else {
+                    Iterator<?> iterator = PathIterator.elements(elements, accessor.property);
+
+                    while (iterator.hasNext()) {
+                        accumulate(iterator.next(), i + 1, statistics);
+                    }
+                }
+
+                return;
+            } else if (i == last) {
+                accumulateValue(current, segment, statistics);
+                return;
+            }
+
+            current = ObjectWrapper.getSegmentValue(current, segment, options, null);
+        }
+    }
+
+    private void accumulateValue(Object parent, PropertyPath.Segment segment, Statistics statistics) {
+        if (!segment.isSquare) {
+            PropertyAccessor accessor = segment.resolveAccessor(parent.getClass());
+            Class<?> type = accessor.property.getType();
+
+            if (Primitives.isIntegral(type)) {
+                statistics.addLong(accessor.getLong(parent));
+                return;
+            } else if (type == double.class || type == float.class) {
+                statistics.addDouble(accessor.getDouble(parent));
+                return;
+            }
+        }
+
+        accumulateNumber(ObjectWrapper.getSegmentValue(parent, segment, options, null), statistics);
+    }
+
+    private void accumulateElements(Object value, Property property, Statistics statistics) {
+        if (value.getClass().isArray() && value.getClass().getComponentType().isPrimitive()) {
+            ArrayAccessor accessor = ArrayAccessor.forClass(value.getClass());
+            Class<?> type = value.getClass().getComponentType();
+            int length = accessor.getLength(value);
+
+            if (Primitives.isIntegral(type)) {
+                for (int i = 0; i < length; i++) {
+                    statistics.addLong(accessor.getLong(value, i));
+                }
+
+                return;
+            } else if (type == double.class || type == float.class) {
+                for (int i = 0; i < length; i++) {
+                    statistics.addDouble(accessor.getDouble(value, i));
+                }
+
+                return;
+            }
+        }
+
+        Iterator<?> elements = PathIterator.elements(value, property);
+
+        while (elements.hasNext()) {
+            accumulateNumber(elements.next(), statistics);
+        }
+    }
+
+    private void accumulateNumber(Object value, Statistics statistics) {
+        if (value == null) {
+            statistics.nullCount++;
+        } else if (Primitives.isIntegral(value)) {
+            statistics.addLong(((Number) value).longValue());
+        } else if (value instanceof Number) {
+            statistics.addDouble(((Number) value).doubleValue());
+        } else {
+            throw new IllegalArgumentException("Cannot aggregate the values of '" + propertyPath.getPattern()
+                    + "'. Only Number values are supported, but " + value.getClass().getName() + " found.");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PathAggregator{pattern=" + propertyPath.getPattern() + ", threshold=" + threshold + '}';
+    }
+
+    /*
+     * A range [from, to) of a parallel aggregation, split in halves until not longer than the threshold.
+     */
+    private static final class AggregateTask extends RecursiveTask<Statistics> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final PathAggregator aggregator;
+        private final Object objects;
+        private final int from;
+        private final int to;
+
+        AggregateTask(PathAggregator aggregator, Object objects, int from, int to) {
+            this.aggregator = aggregator;
+            this.objects = objects;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Statistics compute() {
+            if (to - from <= aggregator.threshold) {
+                return aggregator.aggregateRange(objects, from, to);
+            }
+
+            int middle = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(aggregator, objects, from, middle);
+            left.fork();
+
+            Statistics statistics = new AggregateTask(aggregator, objects, middle, to).compute();
+            statistics.merge(left.join());
+            return statistics;
+        }
+    }
+
+    /**
+     * The statistics of the numeric values aggregated by a {@link PathAggregator}.
+     */
+    public static final class Statistics {
+
+        private long count;
+        private long nullCount;
+        private long longSum;
+        private double doubleSum;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        Statistics() {
+        }
+
+        void addLong(long value) {
+            count++;
+            longSum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        void addDouble(double value) {
+            count++;
+            doubleSum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        void merge(Statistics other) {
+            count += other.count;
+            nullCount += other.nullCount;
+            longSum += other.longSum;
+            doubleSum += other.doubleSum;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+
+        /**
+         * Returns the number of aggregated, not {@code null}, values.
+         *
+         * @return the number of values
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Returns the number of {@code null} values, and of {@code null} nested properties, not aggregated.
+         *
+         * @return the number of {@code null} values
+         */
+        public long getNullCount() {
+            return nullCount;
+        }
+
+        /**
+         * Returns the sum of the values.
+         *
+         * @return the sum, 0 if there are no values
+         */
+        public double getSum() {
+            return longSum + doubleSum;
+        }
+
+        /**
+         * Returns the exact sum of the integral values only (int, long, short, byte and their wrappers),
+         * which overflows as the long arithmetic.
+         *
+         * @return the sum of the integral values, 0 if there are no integral values
+         */
+        public long getLongSum() {
+            return longSum;
+        }
+
+        /**
+         * Returns the minimum value.
+         *
+         * @return the minimum, {@link Double#NaN} if there are no values
+         */
+        public double getMin() {
+            return (count > 0) ? min : Double.NaN;
+        }
+
+        /**
+         * Returns the maximum value.
+         *
+         * @return the maximum, {@link Double#NaN} if there are no values
+         */
+        public double getMax() {
+            return (count > 0) ? max : Double.NaN;
+        }
+
+        /**
+         * Returns the arithmetic mean of the values.
+         *
+         * @return the average, {@link Double#NaN} if there are no values
+         */
+        public double getAverage() {
+            return (count > 0) ? getSum() / count : Double.NaN;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{count=" + count + ", nullCount=" + nullCount + ", sum=" + getSum()
+                    + ", min=" + getMin() + ", max=" + getMax() + ", average=" + getAverage() + '}';
+        }
+    }
+}
@@ -0,0 +1,406 @@
+/*
+ * Copyright 2015 Fabio Piro (minimalcode.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.minimalcode.beans;
+
+import org.minimalcode.reflect.ReflectionException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * Immutable and thread-safe {@link Comparator} of objects by the values of one or more compiled
+ * paths (ex: "customer.lastName, amount desc"), each one ascending or descending, with the
+ * {@code null} values sorted first or last.
+ *
+ * <p> The paths are compiled once, and each segment reuses its cached accessor, hence a comparison
+ * never parses a pattern nor looks up a property. When the last property of a path is a primitive
+ * one (except char) in both the compared objects, its values are compared without boxing them.
+ * The other values must be {@link Comparable}. A {@code null} nested property (ex: a {@code null}
+ * "customer" for "customer.lastName") is sorted as a {@code null} value.
+ *
+ * <p> The {@link #sort(List)} and {@link #sort(Object[])} methods extract the keys of each object once,
+ * before sorting (a Schwartzian transform), instead of evaluating the paths at each comparison: they
+ * should be preferred for large inputs, or for paths traversing many nested objects.
+ *
+ * <p> Example:
+ * <pre>
+ * PathComparator comparator = PathComparator.parse("customer.lastName, amount desc nulls first");
+ * comparator.sort(invoices);
+ * </pre>
+ *
+ * @author Fabio Piro
+ * @see ObjectWrapper#compile(String)
+ */
+public final class PathComparator implements Comparator<Object> {
+
+    private final PropertyPath[] paths;
+    private final boolean[] isDescending;
+    private final boolean[] isNullsFirst;
+    private final WrapperOptions options;
+
+    private PathComparator(PropertyPath[] paths, boolean[] isDescending, boolean[] isNullsFirst,
+                           WrapperOptions options) {
+        this.paths = paths;
+        this.isDescending = isDescending;
+        this.isNullsFirst = isNullsFirst;
+        this.options = options;
+    }
+
+    /**
+     * Returns a comparator by the ascending values of the given path, with the {@code null} values last.
+     *
+     * @param propertyPath the compiled path of the property, cannot be {@code null}
+     * @return the comparator
+     * @throws IllegalArgumentException if the propertyPath parameter is {@code null}
+     */
+    public static PathComparator comparing(PropertyPath propertyPath) {
+        return new PathComparator(new PropertyPath[0], new boolean[0], new boolean[0], WrapperOptions.DEFAULT)
+                .thenComparing(propertyPath);
+    }
+
+    /**
+     * Parses a comma separated list of orderings, each one made of a pattern, an optional "asc" or "desc"
+     * direction and an optional "nulls first" or "nulls last" (ex: "customer.lastName, amount desc nulls first").
+     * The keywords are case insensitive. The default ordering is ascending, with the {@code null} values last.
+     *
+     * @param orderBy the orderings, cannot be {@code null}
+     * @return the comparator
+     * @throws IllegalArgumentException if the orderBy parameter is {@code null}, empty or not a valid list of orderings
+     */
+    public static PathComparator parse(String orderBy) {
+        if (orderBy == null) {
+            throw new IllegalArgumentException("Cannot parse a 'null' orderBy.");
+        }
+
+        PathComparator comparator = null;
+
+        for (String ordering : splitOrderings(orderBy)) {
+            String[] tokens = ordering.trim().split("\\s+");
+            int i = 1;
+
+            if (tokens[0].isEmpty()) {
+                throw new IllegalArgumentException("Invalid empty ordering in '" + orderBy + "'.");
+            }
+
+            PropertyPath path = PropertyPath.forPattern(tokens[0]);
+            comparator = (comparator == null) ? comparing(path) : comparator.thenComparing(path);
+
+            if (i < tokens.length && (tokens[i].equalsIgnoreCase("asc") || tokens[i].equalsIgnoreCase("desc"))) {
+                comparator = tokens[i++].equalsIgnoreCase("desc") ? comparator.descending() : comparator;
+            }
+
+            if (i + 1 < tokens.length && tokens[i].equalsIgnoreCase("nulls")) {
+                if (tokens[i + 1].equalsIgnoreCase("first")) {
+                    comparator = comparator.nullsFirst();
+                    i += 2;
+                } else if (tokens[i + 1].equalsIgnoreCase("last")) {
+                    i += 2;
+                }
+            }
+
+            if (i != tokens.length) {
+                throw new IllegalArgumentException("Invalid ordering '" + ordering.trim() + "' in '" + orderBy
+                        + "'. Expected a pattern, an optional 'asc' or 'desc' and an optional 'nulls first' or"
+                        + " 'nulls last'.");
+            }
+        }
+
+        return comparator;
+    }
+
+    /*
+     * Splits the orderings on the ',' found outside of an indexed\mapped '[]' notation.
+     */
+    private static List<String> splitOrderings(String orderBy) {
+        List<String> orderings = new ArrayList<String>();
+        boolean insideSquares = false;
+        int start = 0;
+
+        for (int i = 0, length = orderBy.length(); i < length; i++) {
+            char current = orderBy.charAt(i);
+
+            if (!insideSquares) {
+                if (current == ',') {
+                    orderings.add(orderBy.substring(start, i));
+                    start = i + 1;
+                } else if (current == '[') {
+                    insideSquares = true;
+                }
+            } else if (current == ']') {
+                insideSquares = false;
+            }
+        }
+
+        orderings.add(orderBy.substring(start));
+        return orderings;
+    }
+
+    /**
+     * Returns a copy of this comparator, also comparing the objects found equal by the ascending values
+     * of the given path, with the {@code null} values last.
+     *
+     * @param propertyPath the compiled path of the property, cannot be {@code null}
+     * @return the copy of this comparator
+     * @throws IllegalArgumentException if the propertyPath parameter is {@code null}
+     */
+    public PathComparator thenComparing(PropertyPath propertyPath) {
+        if (propertyPath == null) {
+            throw new IllegalArgumentException("Cannot compare the values of a 'null' propertyPath.");
+        }
+
+        int size = paths.length;
+        PropertyPath[] newPaths = Arrays.copyOf(paths, size + 1);
+        newPaths[size] = propertyPath;
+
+        return new PathComparator(newPaths, Arrays.copyOf(isDescending, size + 1),
+                Arrays.copyOf(isNullsFirst, size + 1), options);
+    }
+
+    /**
+     * Returns a copy of this comparator, with the values of its last path in descending order.
+     * The position of the {@code null} values does not change.
+     *
+     * @return the copy of this comparator
+     */
+    public PathComparator descending() {
+        boolean[] newDescending = isDescending.clone();
+        newDescending[paths.length - 1] = true;
+
+        return new PathComparator(paths, newDescending, isNullsFirst, options);
+    }
+
+    /**
+     * Returns a copy of this comparator, with the {@code null} values of its last path sorted first.
+     *
+     * @return the copy of this comparator
+     */
+    public PathComparator nullsFirst() {
+        boolean[] newNullsFirst = isNullsFirst.clone();
+        newNullsFirst[paths.length - 1] = true;
+
+        return new PathComparator(paths, isDescending, newNullsFirst, options);
+    }
+
+    /**
+     * Returns a copy of this comparator, evaluating the paths with the given options
+     * (ex: with the out of bounds safety disabled). The default options are {@link WrapperOptions#DEFAULT}.
+     *
+     * @param options the options of the traversal, cannot be {@code null}
+     * @return the copy of this comparator
+     * @throws IllegalArgumentException if the options parameter is {@code null}
+     */
+    public PathComparator withOptions(WrapperOptions options) {
+        if (options == null) {
+            throw new IllegalArgumentException("Cannot compare the values of " + this + " with 'null' options.");
+        }
+
+        return new PathComparator(paths, isDescending, isNullsFirst, options);
+    }
+
+    /**
+     * Compares the given objects by the values of the paths, in order, up to the first not equal one.
+     *
+     * @param a the first object, a {@code null} object is sorted as a {@code null} value
+     * @param b the second object, a {@code null} object is sorted as a {@code null} value
+     * @return a negative integer, zero, or a positive integer as the first object is less than, equal to,
+     * or greater than the second one
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if a not {@code null} value is not {@link Comparable}
+     * @throws NullPointerException     if a property is not found
+     */
+    @Override
+    public int compare(Object a, Object b) {
+        for (int k = 0; k < paths.length; k++) {
+            int result = compareKey(k, a, b);
+
+            if (result != 0) {
+                return result;
+            }
+        }
+
+        return 0;
+    }
+
+    private int compareKey(int k, Object a, Object b) {
+        PropertyPath path = paths[k];
+        PropertyPath.Segment last = path.getSegment(path.size() - 1);
+        Object parentA = ObjectWrapper.getNullableParent(a, path, options);
+        Object parentB = ObjectWrapper.getNullableParent(b, path, options);
+
+        if (parentA != null && parentB != null && !last.isSquare) {
+            PropertyAccessor accessorA = last.resolveAccessor(parentA.getClass());
+            PropertyAccessor accessorB = last.resolveAccessor(parentB.getClass());
+            Class<?> type = accessorA.property.getType();
+
+            if (type.isPrimitive() && type != char.class && type == accessorB.property.getType()) {
+                int result = comparePrimitives(type, accessorA, parentA, accessorB, parentB);
+                return isDescending[k] ? -result : result;
+            }
+        }
+
+        Object valueA = (parentA != null) ? ObjectWrapper.getSegmentValue(parentA, last, options, null) : null;
+        Object valueB = (parentB != null) ? ObjectWrapper.getSegmentValue(parentB, last, options, null) : null;
+        return compareValues(k, valueA, valueB);
+    }
+
+    private static int comparePrimitives(Class<?> type, PropertyAccessor accessorA, Object a,
+                                         PropertyAccessor accessorB, Object b) {
+        if (type == double.class || type == float.class) {
+            return Double.compare(accessorA.getDouble(a), accessorB.getDouble(b));
+        } else if (type == boolean.class) {
+            boolean valueA = accessorA.getBoolean(a);
+            return (valueA == accessorB.getBoolean(b)) ? 0 : (valueA ? 1 : -1);
+        }
+
+        long valueA = accessorA.getLong(a);
+        long valueB = accessorB.getLong(b);
+        return (valueA < valueB) ? -1 : ((valueA == valueB) ? 0 : 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compareValues(int k, Object a, Object b) {
+        if (a == null || b == null) {
+            if (a == b) {
+                return 0;
+            }
+
+            return ((a == null) == isNullsFirst[k]) ? -1 : 1;
+        }
+
+        if (!(a instanceof Comparable)) {
+            throw new IllegalArgumentException("Cannot compare the values of '" + paths[k].getPattern() + "'. Only"
+                    + " Comparable values are supported, but " + a.getClass().getName() + " found.");
+        }
+
+        int result = ((Comparable<Object>) a).compareTo(b);
+        return isDescending[k] ? -result : result;
+    }
+
+    /**
+     * Sorts the given list by this comparator, extracting the values of the paths from each element once.
+     * The sort is stable, and the list is updated in place through its {@link ListIterator}.
+     *
+     * @param list the list to sort, cannot be {@code null}
+     * @param <T>  the type of the elements
+     * @throws ReflectionException           if a reflection error occurs
+     * @throws IllegalArgumentException      if the list parameter is {@code null}
+     * @throws IllegalArgumentException      if a not {@code null} value is not {@link Comparable}
+     * @throws NullPointerException          if a property is not found
+     * @throws UnsupportedOperationException if the list does not support the set operation
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void sort(List<T> list) {
+        if (list == null) {
+            throw new IllegalArgumentException("Cannot sort a 'null' list by " + this + ".");
+        }
+
+        Keys[] sorted = sortKeys(list.toArray());
+        ListIterator<T> iterator = list.listIterator();
+
+        for (Keys keys : sorted) {
+            iterator.next();
+            iterator.set((T) keys.element);
+        }
+    }
+
+    /**
+     * Sorts the given array by this comparator, extracting the values of the paths from each element once.
+     * The sort is stable.
+     *
+     * @param array the array to sort, cannot be {@code null}
+     * @param <T>   the type of the elements
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if the array parameter is {@code null}
+     * @throws IllegalArgumentException if a not {@code null} value is not {@link Comparable}
+     * @throws NullPointerException     if a property is not found
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void sort(T[] array) {
+        if (array == null) {
+            throw new IllegalArgumentException("Cannot sort a 'null' array by " + this + ".");
+        }
+
+        Keys[] sorted = sortKeys(array);
+
+        for (int i = 0; i < sorted.length; i++) {
+            array[i] = (T) sorted[i].element;
+        }
+    }
+
+    private Keys[] sortKeys(Object[] elements) {
+        Keys[] keys = new Keys[elements.length];
+
+        for (int i = 0; i < elements.length; i++) {
+            Object[] values = new Object[paths.length];
+
+            for (int k = 0; k < paths.length; k++) {
+                PropertyPath path = paths[k];
+                Object parent = ObjectWrapper.getNullableParent(elements[i], path, options);
+                values[k] = (parent != null)
+                        ? ObjectWrapper.getSegmentValue(parent, path.getSegment(path.size() - 1), options, null)
+                        : null;
+            }
+
+            keys[i] = new Keys(elements[i], values);
+        }
+
+        Arrays.sort(keys, new Comparator<Keys>() {
+            @Override
+            public int compare(Keys a, Keys b) {
+                for (int k = 0; k < paths.length; k++) {
+                    int result = compareValues(k, a.values[k], b.values[k]);
+
+                    if (result != 0) {
+                        return result;
+                    }
+                }
+
+                return 0;
+            }
+        });
+
+        return keys;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("PathComparator{orderBy='");
+
+        for (int k = 0; k < paths.length; k++) {
+            builder.append((k > 0) ? ", " : "").append(paths[k].getPattern());
+            builder.append(isDescending[k] ? " desc" : " asc").append(isNullsFirst[k] ? " nulls first" : "");
+        }
+
+        return builder.append("'}").toString();
+    }
+
+    /*
+     * An element to sort, with the values of its paths.
+     */
+    private static final class Keys {
+
+        final Object element;
+        final Object[] values;
+
+        Keys(Object element, Object[] values) {
+            this.element = element;
+            this.values = values;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2015 Fabio Piro (minimalcode.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.minimalcode.beans;
+
+import org.minimalcode.reflect.ReflectionException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Hash index of objects by the value of a compiled path (ex: "account.externalId"): each key
+ * is mapped to all the indexed objects with that value, in their insertion order.
+ *
+ * <p> The index is built in a single pass, reading each key once, optionally in parallel through a
+ * {@link ColumnExtractor}, and then updated incrementally: {@link #add(Object)} and {@link #remove(Object)}
+ * index or unindex a single object, while {@link #update(Object)} moves an already indexed object to its
+ * current key, after the keyed property was changed (ex: by {@link ObjectWrapper#setValue(String, Object)}).
+ * The objects are tracked by identity, hence the same object is never indexed twice.
+ *
+ * <p> The keys are compared by {@link Object#equals(Object)}, as in a {@link HashMap}: the value of an int
+ * property is an {@link Integer}, and is not found by a {@link Long} key. A {@code null} value is indexed
+ * as a {@code null} key, while a {@code null} nested property fails as in {@link ObjectWrapper#getValue(String)}.
+ *
+ * <p> The index is not thread-safe: it can be shared by many reading threads only after being built,
+ * or with an external synchronization of its updates.
+ *
+ * <p> Example:
+ * <pre>
+ * PathIndex&lt;Order&gt; index = PathIndex.build(orders, ObjectWrapper.compile("account.externalId"));
+ * Order order = index.get("X-42");
+ * </pre>
+ *
+ * @param <T> the type of the indexed objects
+ * @author Fabio Piro
+ * @see ColumnExtractor
+ */
+public final class PathIndex<T> {
+
+    private final PropertyPath propertyPath;
+    private final WrapperOptions options;
+
+    private final Map<Object, List<T>> buckets;
+    private final Map<T, Object> keys;// the indexed key of each object, by identity
+
+    private PathIndex(PropertyPath propertyPath, WrapperOptions options, int capacity) {
+        this.propertyPath = propertyPath;
+        this.options = options;
+        this.buckets = new HashMap<Object, List<T>>(capacity);
+        this.keys = new IdentityHashMap<T, Object>(capacity);
+    }
+
+    /**
+     * Builds the index of the given objects by the value of the given path, sequentially.
+     *
+     * @param objects      the objects to index, cannot be {@code null} or contain {@code null} values
+     * @param propertyPath the compiled path of the key, cannot be {@code null}
+     * @param <T>          the type of the indexed objects
+     * @return the new index
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if any parameter, or any object, is {@code null}
+     * @throws NullPointerException     if a nested property is {@code null}, or not found
+     */
+    public static <T> PathIndex<T> build(Collection<? extends T> objects, PropertyPath propertyPath) {
+        return build(objects, propertyPath, WrapperOptions.DEFAULT, null);
+    }
+
+    /**
+     * Builds the index of the given objects by the value of the given path. When a {@link ForkJoinPool}
+     * is given, the keys of the large collections are read in parallel, and then indexed sequentially.
+     *
+     * @param objects      the objects to index, cannot be {@code null} or contain {@code null} values
+     * @param propertyPath the compiled path of the key, cannot be {@code null}
+     * @param options      the options of the traversal, cannot be {@code null}
+     * @param pool         the pool of the parallel reading, or {@code null} for a sequential reading
+     * @param <T>          the type of the indexed objects
+     * @return the new index
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if any parameter except the pool, or any object, is {@code null}
+     * @throws NullPointerException     if a nested property is {@code null}, or not found
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PathIndex<T> build(Collection<? extends T> objects, PropertyPath propertyPath,
+                                         WrapperOptions options, ForkJoinPool pool) {
+        ColumnExtractor extractor = ColumnExtractor.forPath(propertyPath, options);
+
+        if (objects == null) {
+            throw new IllegalArgumentException("Cannot index 'null' objects by '" + propertyPath.getPattern() + "'.");
+        }
+
+        Object[] array = objects.toArray();
+        Object[] values = extractor.getValues(array, pool);
+        PathIndex<T> index = new PathIndex<T>(propertyPath, options, (int) (array.length / 0.75f) + 1);
+
+        for (int i = 0; i < array.length; i++) {
+            if (!index.keys.containsKey(array[i])) {
+                index.put((T) array[i], values[i]);
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Returns the compiled path of the key.
+     *
+     * @return the compiled path
+     */
+    public PropertyPath getPath() {
+        return propertyPath;
+    }
+
+    /**
+     * Returns the first indexed object with the given key.
+     *
+     * @param key the key
+     * @return the first object with the given key, or {@code null} if none
+     */
+    public T get(Object key) {
+        List<T> bucket = buckets.get(key);
+        return (bucket != null) ? bucket.get(0) : null;
+    }
+
+    /**
+     * Returns all the indexed objects with the given key, in their insertion order.
+     *
+     * @param key the key
+     * @return an unmodifiable view of the objects with the given key, empty if none
+     */
+    public List<T> getAll(Object key) {
+        List<T> bucket = buckets.get(key);
+        return (bucket != null) ? Collections.unmodifiableList(bucket) : Collections.<T>emptyList();
+    }
+
+    /**
+     * Returns {@code true} if at least one indexed object has the given key.
+     *
+     * @param key the key
+     * @return {@code true} if the key is indexed
+     */
+    public boolean containsKey(Object key) {
+        return buckets.containsKey(key);
+    }
+
+    /**
+     * Returns all the distinct keys of the indexed objects.
+     *
+     * @return an unmodifiable view of the keys
+     */
+    public Set<Object> keySet() {
+        return Collections.unmodifiableSet(buckets.keySet());
+    }
+
+    /**
+     * Returns the number of indexed objects.
+     *
+     * @return the number of objects
+     */
+    public int size() {
+        return keys.size();
+    }
+
+    /**
+     * Indexes the given object by the current value of the path. An object already indexed
+     * is updated as by {@link #update(Object)}.
+     *
+     * @param obj the object to index, cannot be {@code null}
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if the obj parameter is {@code null}
+     * @throws NullPointerException     if a nested property is {@code null}, or not found
+     */
+    public void add(T obj) {
+        Object key = getKey(obj);
+
+        if (keys.containsKey(obj)) {
+            unindex(obj, keys.get(obj));
+        }
+
+        put(obj, key);
+    }
+
+    /**
+     * Removes the given object from the index, if indexed.
+     *
+     * @param obj the object to remove
+     * @return {@code true} if the object was indexed
+     */
+    public boolean remove(T obj) {
+        if (!keys.containsKey(obj)) {
+            return false;
+        }
+
+        unindex(obj, keys.remove(obj));
+        return true;
+    }
+
+    /**
+     * Moves the given indexed object to the current value of the path, if changed since its indexing,
+     * after the end of the objects with the new key.
+     *
+     * @param obj the indexed object to update, cannot be {@code null}
+     * @return {@code true} if the key was changed
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if the obj parameter is {@code null}, or not indexed
+     * @throws NullPointerException     if a nested property is {@code null}, or not found
+     */
+    public boolean update(T obj) {
+        Object key = getKey(obj);
+
+        if (!keys.containsKey(obj)) {
+            throw new IllegalArgumentException("Cannot update the " + obj.getClass().getName() + " object, not"
+                    + " indexed by '" + propertyPath.getPattern() + "'.");
+        }
+
+        Object oldKey = keys.get(obj);
+
+        if (key == null ? oldKey == null : key.equals(oldKey)) {
+            return false;
+        }
+
+        unindex(obj, oldKey);
+        put(obj, key);
+        return true;
+    }
+
+    private Object getKey(T obj) {
+        if (obj == null) {
+            throw new IllegalArgumentException("Cannot index a 'null' object by '" + propertyPath.getPattern() + "'.");
+        }
+
+        return ObjectWrapper.getValue(obj, propertyPath, options, null);
+    }
+
+    private void put(T obj, Object key) {
+        List<T> bucket = buckets.get(key);
+
+        if (bucket == null) {
+            bucket = new ArrayList<T>(1);
+            buckets.put(key, bucket);
+        }
+
+        bucket.add(obj);
+        keys.put(obj, key);
+    }
+
+    private void unindex(T obj, Object key) {
+        List<T> bucket = buckets.get(key);
+
+        for (int i = 0; i < bucket.size(); i++) {
+            if (bucket.get(i) == obj) {
+                bucket.remove(i);
+                break;
+            }
+        }
+
+        if (bucket.isEmpty()) {
+            buckets.remove(key);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PathIndex{pattern=" + propertyPath.getPattern() + ", keys=" + buckets.size()
+                + ", size=" + keys.size() + '}';
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2015 Fabio Piro (minimalcode.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.minimalcode.beans;
+
+import org.minimalcode.reflect.Property;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Internal: Lazy, depth-first iterator of the values located by a compiled path with
+ * wildcard segments (ex: "orders[*].lines[*].total").
+ *
+ * <p> Each wildcard segment iterates the elements of its array, {@link Iterable} or the
+ * values of its {@link Map}, while the other segments are evaluated as by
+ * {@link ObjectWrapper#getPathValue(PropertyPath)}. Only one iterator per wildcard segment
+ * is alive at a time, and the next value is evaluated only when requested, hence no
+ * intermediate collection is ever built, whatever the number of projected values.
+ *
+ * @author Fabio Piro
+ * @see ObjectWrapper#iterateValues(String)
+ */
+final class PathIterator implements Iterator<Object> {
+
+    private final PropertyPath propertyPath;
+    private final WrapperOptions options;
+
+    // The stack of the open wildcard segments: their depth and their elements
+    private final int[] depths;
+    private final Iterator<?>[] iterators;
+    private int top = -1;
+
+    private Object root;
+    private Object next;
+    private boolean isNextReady;
+
+    PathIterator(Object root, PropertyPath propertyPath, WrapperOptions options) {
+        int wildcards = 0;
+
+        for (int i = 0; i < propertyPath.size(); i++) {
+            if (propertyPath.getSegment(i).isWildcard) {
+                wildcards++;
+            }
+        }
+
+        this.root = root;
+        this.propertyPath = propertyPath;
+        this.options = options;
+        this.depths = new int[wildcards];
+        this.iterators = new Iterator<?>[wildcards];
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!isNextReady) {
+            isNextReady = advance();
+        }
+
+        return isNextReady;
+    }
+
+    @Override
+    public Object next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more values for '" + propertyPath.getPattern() + "'.");
+        }
+
+        Object value = next;
+        next = null;
+        isNextReady = false;
+        return value;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Cannot remove the values of '" + propertyPath.getPattern() + "'.");
+    }
+
+    /*
+     * Evaluates the next value, resuming from the innermost wildcard with remaining elements.
+     */
+    private boolean advance() {
+        if (root != null) {
+            Object obj = root;
+            root = null;
+
+            if (descend(obj, 0)) {
+                return true;
+            }
+        }
+
+        while (top >= 0) {
+            if (!iterators[top].hasNext()) {
+                iterators[top--] = null;
+            } else if (descend(iterators[top].next(), depths[top] + 1)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /*
+     * Evaluates the segments from the given depth, up to the end of the path (a value is ready)
+     * or up to the next wildcard (its elements are pushed, and no value is ready yet).
+     */
+    private boolean descend(Object obj, int depth) {
+        Object current = obj;
+
+        for (int i = depth; i < propertyPath.size(); i++) {
+            if (current == null) {
+                // NullPointerException as it is throwed only when traversing a null object (ex: "foo.null.bar")
+                throw new NullPointerException("Cannot get the value of '" + propertyPath.remainingPattern(i)
+                        + "' from a 'null' object.");
+            }
+
+            PropertyPath.Segment segment = propertyPath.getSegment(i);
+
+            if (segment.isWildcard) {
+                top++;
+                depths[top] = i;
+                iterators[top] = elements(current, segment);
+                return false;
+            }
+
+            current = ObjectWrapper.getSegmentValue(current, segment, options, null);
+        }
+
+        next = current;
+        return true;
+    }
+
+    private static Iterator<?> elements(Object obj, PropertyPath.Segment segment) {
+        Property property = segment.resolve(obj.getClass());
+        Object value = segment.resolveAccessor(obj.getClass()).get(obj);
+
+        if (value == null) {
+            throw new NullPointerException("Invalid 'null' value found for the wildcard " + property + " in "
+                    + obj.getClass().getName() + " object.");
+        }
+
+        return elements(value, property);
+    }
+
+    /*
+     * Returns the iterator of the elements of the given not null value of a wildcard property.
+     */
+    static Iterator<?> elements(Object value, Property property) {
+        if (value instanceof Iterable) {
+            return ((Iterable<?>) value).iterator();
+        } else if (value instanceof Map) {
+            return ((Map<?, ?>) value).values().iterator();
+        } else if (value.getClass().isArray()) {
+            return new ArrayIterator(value);
+        }
+
+        throw new IllegalArgumentException("Cannot iterate the wildcard " + property + ". Only Array, Iterable"
+                + " and Map types are supported for wildcard properties, but " + value.getClass().getName()
+                + " found.");
+    }
+
+    /*
+     * Iterator of the elements of an array of any type, through its shared accessor.
+     */
+    private static final class ArrayIterator implements Iterator<Object> {
+
+        private final Object array;
+        private final ArrayAccessor accessor;
+        private final int length;
+        private int index;
+
+        ArrayIterator(Object array) {
+            this.array = array;
+            this.accessor = ArrayAccessor.forClass(array.getClass());
+            this.length = accessor.getLength(array);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < length;
+        }
+
+        @Override
+        public Object next() {
+            if (index >= length) {
+                throw new NoSuchElementException();
+            }
+
+            return accessor.get(array, index++);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,351 @@
+/*
+ * Copyright 2015 Fabio Piro (minimalcode.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.minimalcode.beans;
+
+import org.minimalcode.reflect.ReflectionException;
+
+import java.util.Collection;
+
+/**
+ * Immutable and thread-safe hash join of two collections of objects, on the equal values of
+ * a compiled path in each side (ex: "orderId" of the orders and "reference.orderId" of the payments).
+ *
+ * <p> The hash table is built on the keys of the smaller side. The larger side is then streamed
+ * through it, reading the key of each object only while probing the table, and passing each matched
+ * pair to a {@link Handler}, without collecting them. The integral keys (int, long, short, byte and their wrappers) are compared by
+ * their long value, hence an int key matches the equal long key, and they are read and hashed
+ * without boxing when the last properties of both paths are primitive ones. The other keys are
+ * compared by {@link Object#equals(Object)}.
+ *
+ * <p> As in SQL, a {@code null} key, or a {@code null} nested property (ex: a {@code null}
+ * "reference" for "reference.orderId"), matches nothing. The order of the pairs is not specified.
+ *
+ * <p> Example:
+ * <pre>
+ * PathJoin.on(ObjectWrapper.compile("orderId"), ObjectWrapper.compile("reference.orderId"))
+ *         .innerJoin(orders, payments, handler);
+ * </pre>
+ *
+ * @author Fabio Piro
+ * @see PathIndex
+ */
+public final class PathJoin {
+
+    private final PropertyPath leftPath;
+    private final PropertyPath rightPath;
+    private final WrapperOptions options;
+
+    private PathJoin(PropertyPath leftPath, PropertyPath rightPath, WrapperOptions options) {
+        this.leftPath = leftPath;
+        this.rightPath = rightPath;
+        this.options = options;
+    }
+
+    /**
+     * Returns a join on the given paths of the left and of the right objects.
+     *
+     * @param leftPath  the compiled path of the key of the left objects, cannot be {@code null}
+     * @param rightPath the compiled path of the key of the right objects, cannot be {@code null}
+     * @return the join
+     * @throws IllegalArgumentException if any parameter is {@code null}
+     */
+    public static PathJoin on(PropertyPath leftPath, PropertyPath rightPath) {
+        if (leftPath == null || rightPath == null) {
+            throw new IllegalArgumentException("Cannot join on a 'null' propertyPath.");
+        }
+
+        return new PathJoin(leftPath, rightPath, WrapperOptions.DEFAULT);
+    }
+
+    /**
+     * Returns a copy of this join, evaluating the paths with the given options
+     * (ex: with the out of bounds safety disabled). The default options are {@link WrapperOptions#DEFAULT}.
+     *
+     * @param options the options of the traversal, cannot be {@code null}
+     * @return the copy of this join
+     * @throws IllegalArgumentException if the options parameter is {@code null}
+     */
+    public PathJoin withOptions(WrapperOptions options) {
+        if (options == null) {
+            throw new IllegalArgumentException("Cannot join on " + this + " with 'null' options.");
+        }
+
+        return new PathJoin(leftPath, rightPath, options);
+    }
+
+    /**
+     * Passes each pair of left and right objects with equal keys to the given handler.
+     *
+     * @param left    the left objects, cannot be {@code null} or contain {@code null} values
+     * @param right   the right objects, cannot be {@code null} or contain {@code null} values
+     * @param handler the handler of the matched pairs, cannot be {@code null}
+     * @param <L>     the type of the left objects
+     * @param <R>     the type of the right objects
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if any parameter, or any object, is {@code null}
+     * @throws NullPointerException     if a property is not found
+     */
+    public <L, R> void innerJoin(Collection<? extends L> left, Collection<? extends R> right,
+                                 Handler<? super L, ? super R> handler) {
+        join(left, right, handler, false);
+    }
+
+    /**
+     * Passes each pair of left and right objects with equal keys to the given handler, and each left
+     * object without any equal right key paired with a {@code null} right object.
+     *
+     * @param left    the left objects, cannot be {@code null} or contain {@code null} values
+     * @param right   the right objects, cannot be {@code null} or contain {@code null} values
+     * @param handler the handler of the matched pairs, cannot be {@code null}
+     * @param <L>     the type of the left objects
+     * @param <R>     the type of the right objects
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if any parameter, or any object, is {@code null}
+     * @throws NullPointerException     if a property is not found
+     */
+    public <L, R> void leftJoin(Collection<? extends L> left, Collection<? extends R> right,
+                                Handler<? super L, ? super R> handler) {
+        join(left, right, handler, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <L, R> void join(Collection<? extends L> left, Collection<? extends R> right,
+                             Handler<? super L, ? super R> handler, boolean isLeftOuter) {
+        if (left == null || right == null || handler == null) {
+            throw new IllegalArgumentException("Cannot join 'null' objects, or with a 'null' handler, on " + this + ".");
+        }
+
+        // The table is built on the smaller side, and the keys of the other one are read while streamed through it
+        boolean isLeftBuilt = left.size() < right.size();
+        Keys built = isLeftBuilt ? new Keys(left, new KeyReader(leftPath, options))
+                : new Keys(right, new KeyReader(rightPath, options));
+        KeyReader streamed = isLeftBuilt ? new KeyReader(rightPath, options) : new KeyReader(leftPath, options);
+        int[] heads = new int[tableSize(built.elements.length)];
+        int[] next = new int[built.elements.length];
+        boolean[] isMatched = (isLeftOuter && isLeftBuilt) ? new boolean[built.elements.length] : null;
+
+        for (int i = built.elements.length - 1; i >= 0; i--) {// the chains follow the built order
+            if (!built.isNull(i)) {
+                int bucket = built.hash(i) & (heads.length - 1);
+                next[i] = heads[bucket];
+                heads[bucket] = i + 1;
+            }
+        }
+
+        int position = 0;
+        for (Object element : isLeftBuilt ? right : left) {
+            boolean isLong = streamed.read(element, position++);
+            boolean isFound = false;
+
+            if (isLong || streamed.objectKey != null) {
+                int hash = isLong ? hash(streamed.longKey) : hash(streamed.objectKey);
+
+                for (int j = heads[hash & (heads.length - 1)]; j != 0; j = next[j - 1]) {
+                    if (built.isEqual(j - 1, isLong, streamed.longKey, streamed.objectKey)) {
+                        isFound = true;
+
+                        if (isLeftBuilt) {
+                            handler.match((L) built.elements[j - 1], (R) element);
+
+                            if (isMatched != null) {
+                                isMatched[j - 1] = true;
+                            }
+                        } else {
+                            handler.match((L) element, (R) built.elements[j - 1]);
+                        }
+                    }
+                }
+            }
+
+            if (isLeftOuter && !isLeftBuilt && !isFound) {
+                handler.match((L) element, null);
+            }
+        }
+
+        if (isMatched != null) {
+            for (int i = 0; i < isMatched.length; i++) {
+                if (!isMatched[i]) {
+                    handler.match((L) built.elements[i], null);
+                }
+            }
+        }
+    }
+
+    /*
+     * The hash of an integral key, equal to the one of its Long object key.
+     */
+    private static int hash(long key) {
+        int hash = (int) (key ^ (key >>> 32));
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int hash(Object key) {
+        int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int tableSize(int size) {
+        int tableSize = 1;
+
+        while (tableSize < size * 2 && tableSize < (1 << 30)) {
+            tableSize <<= 1;
+        }
+
+        return tableSize;
+    }
+
+    @Override
+    public String toString() {
+        return "PathJoin{left=" + leftPath.getPattern() + ", right=" + rightPath.getPattern() + '}';
+    }
+
+    /**
+     * Handler of the pairs of objects matched by a {@link PathJoin}.
+     *
+     * @param <L> the type of the left objects
+     * @param <R> the type of the right objects
+     */
+    public interface Handler<L, R> {
+
+        /**
+         * Handles a pair of left and right objects with equal keys.
+         *
+         * @param left  the left object
+         * @param right the right object, {@code null} for a left object without matches of a left join
+         */
+        void match(L left, R right);
+    }
+
+    /*
+     * Reader of the key of each object of a side, as a long value when integral, else as an object.
+     */
+    private static final class KeyReader {
+
+        final PropertyPath path;
+        final PropertyPath.Segment last;
+        final WrapperOptions options;
+        long longKey;
+        Object objectKey;
+
+        KeyReader(PropertyPath path, WrapperOptions options) {
+            this.path = path;
+            this.last = path.getSegment(path.size() - 1);
+            this.options = options;
+        }
+
+        /*
+         * Reads the key of the given object: true for an integral key (in longKey), else false (in objectKey,
+         * 'null' for a 'null' key or a 'null' nested property).
+         */
+        boolean read(Object element, int position) {
+            if (element == null) {
+                throw new IllegalArgumentException("Cannot join on '" + path.getPattern() + "' a 'null' object,"
+                        + " at position '" + position + "'.");
+            }
+
+            Object parent = ObjectWrapper.getNullableParent(element, path, options);
+
+            if (parent != null && !last.isSquare) {
+                PropertyAccessor accessor = last.resolveAccessor(parent.getClass());
+
+                if (Primitives.isIntegral(accessor.property.getType())) {
+                    longKey = accessor.getLong(parent);
+                    return true;
+                }
+            }
+
+            Object value = (parent != null) ? ObjectWrapper.getSegmentValue(parent, last, options, null) : null;
+
+            if (Primitives.isIntegral(value)) {
+                longKey = ((Number) value).longValue();
+                return true;
+            }
+
+            objectKey = value;
+            return false;
+        }
+    }
+
+    /*
+     * The keys of the objects of the built side: as long values while all of them are integral, else as objects
+     * (with the integral ones normalized to Long).
+     */
+    private static final class Keys {
+
+        final Object[] elements;
+        long[] longs;
+        Object[] objects;
+
+        Keys(Collection<?> elements, KeyReader reader) {
+            this.elements = new Object[elements.size()];
+            this.longs = new long[this.elements.length];
+
+            int i = 0;
+            for (Object element : elements) {
+                this.elements[i] = element;
+
+                if (!reader.read(element, i)) {
+                    toObjects(i);
+                    objects[i] = reader.objectKey;
+                } else if (longs != null) {
+                    longs[i] = reader.longKey;
+                } else {
+                    objects[i] = reader.longKey;
+                }
+
+                i++;
+            }
+        }
+
+        /*
+         * Switches to the object keys, boxing the long keys already read, before the given position.
+         */
+        private void toObjects(int size) {
+            if (longs != null) {
+                objects = new Object[elements.length];
+
+                for (int i = 0; i < size; i++) {
+                    objects[i] = longs[i];
+                }
+
+                longs = null;
+            }
+        }
+
+        boolean isNull(int i) {
+            return longs == null && objects[i] == null;
+        }
+
+        int hash(int i) {
+            return (longs != null) ? PathJoin.hash(longs[i]) : PathJoin.hash(objects[i]);
+        }
+
+        /*
+         * Compares the key at the given position with a streamed key, without boxing an integral one.
+         */
+        boolean isEqual(int i, boolean isLong, long longKey, Object objectKey) {
+            if (longs != null) {
+                return isLong && longs[i] == longKey;
+            }
+
+            if (isLong) {
+                return objects[i] instanceof Long && (Long) objects[i] == longKey;
+            }
+
+            return objects[i].equals(objectKey);
+        }
+    }
+}
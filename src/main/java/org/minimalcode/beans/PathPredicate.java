@@ -0,0 +1,629 @@
+/*
+ * Copyright 2015 Fabio Piro (minimalcode.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.minimalcode.beans;
+
+import org.minimalcode.reflect.ReflectionException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Compiled, immutable and thread-safe condition over the property values of an object
+ * (ex: "address.country == 'IT' &amp;&amp; total &gt; 100").
+ *
+ * <p> An expression is made of comparisons between a property pattern and a literal, combined by
+ * the "&amp;&amp;", "||" and "!" operators and by parentheses. The comparison operators are "==", "!=",
+ * "&lt;", "&lt;=", "&gt;" and "&gt;=", and the literals are the quoted strings ('IT' or "IT", with the
+ * '\' escape), the numbers (ex: 100, -2.5), {@code true}, {@code false} and {@code null}.
+ *
+ * <p> The patterns are compiled once, and each segment reuses its cached accessor, hence a test never
+ * parses a pattern nor looks up a property. A primitive property compared with a number or boolean
+ * literal is read without boxing. A string literal is compared with a String, a Character or the name
+ * of an Enum. A {@code null} nested property (ex: a {@code null} "address" for "address.country") is
+ * evaluated as a {@code null} value, which is only equal to {@code null}, and neither less nor greater
+ * than any literal.
+ *
+ * <p> Example:
+ * <pre>
+ * PathPredicate predicate = PathPredicate.compile("address.country == 'IT' &amp;&amp; total &gt; 100");
+ * List&lt;Invoice&gt; italians = predicate.filter(invoices, pool);
+ * </pre>
+ *
+ * @author Fabio Piro
+ * @see PathComparator
+ */
+public final class PathPredicate {
+
+    /**
+     * The default maximum number of objects tested by a single parallel task.
+     */
+    public static final int DEFAULT_THRESHOLD = 4096;
+
+    private final String expression;
+    private final Condition condition;
+    private final WrapperOptions options;
+    private final int threshold;
+
+    private PathPredicate(String expression, Condition condition, WrapperOptions options, int threshold) {
+        this.expression = expression;
+        this.condition = condition;
+        this.options = options;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Compiles the given expression into a predicate.
+     *
+     * @param expression the expression, cannot be {@code null}
+     * @return the compiled predicate
+     * @throws IllegalArgumentException if the expression parameter is {@code null}, or not a valid expression
+     */
+    public static PathPredicate compile(String expression) {
+        if (expression == null) {
+            throw new IllegalArgumentException("Cannot compile a 'null' expression.");
+        }
+
+        return new PathPredicate(expression, new Parser(expression).parse(), WrapperOptions.DEFAULT,
+                DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Returns the original expression of this predicate.
+     *
+     * @return the expression, never {@code null}
+     */
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * Returns a predicate true only when both this and the given predicate are true.
+     *
+     * @param other the other predicate, cannot be {@code null}
+     * @return the new predicate, with the options of this predicate
+     * @throws IllegalArgumentException if the other parameter is {@code null}
+     */
+    public PathPredicate and(PathPredicate other) {
+        return new PathPredicate("(" + expression + ") && (" + checkOther(other).expression + ")",
+                new And(condition, other.condition), options, threshold);
+    }
+
+    /**
+     * Returns a predicate true when this or the given predicate are true.
+     *
+     * @param other the other predicate, cannot be {@code null}
+     * @return the new predicate, with the options of this predicate
+     * @throws IllegalArgumentException if the other parameter is {@code null}
+     */
+    public PathPredicate or(PathPredicate other) {
+        return new PathPredicate("(" + expression + ") || (" + checkOther(other).expression + ")",
+                new Or(condition, other.condition), options, threshold);
+    }
+
+    /**
+     * Returns a predicate true only when this predicate is false.
+     *
+     * @return the new predicate
+     */
+    public PathPredicate negate() {
+        return new PathPredicate("!(" + expression + ")", new Not(condition), options, threshold);
+    }
+
+    private PathPredicate checkOther(PathPredicate other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Cannot combine " + this + " with a 'null' predicate.");
+        }
+
+        return other;
+    }
+
+    /**
+     * Returns a copy of this predicate, evaluating the patterns with the given options
+     * (ex: with the out of bounds safety disabled). The default options are {@link WrapperOptions#DEFAULT}.
+     *
+     * @param options the options of the traversal, cannot be {@code null}
+     * @return the copy of this predicate
+     * @throws IllegalArgumentException if the options parameter is {@code null}
+     */
+    public PathPredicate withOptions(WrapperOptions options) {
+        if (options == null) {
+            throw new IllegalArgumentException("Cannot test " + this + " with 'null' options.");
+        }
+
+        return new PathPredicate(expression, condition, options, threshold);
+    }
+
+    /**
+     * Returns a copy of this predicate with the given threshold: the maximum number of objects
+     * tested by a single parallel task, and the minimum size of a parallel filtering.
+     *
+     * @param threshold the threshold, must be positive
+     * @return the copy of this predicate
+     * @throws IllegalArgumentException if the threshold parameter is not positive
+     */
+    public PathPredicate withThreshold(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Invalid threshold '" + threshold + "', must be positive.");
+        }
+
+        return new PathPredicate(expression, condition, options, threshold);
+    }
+
+    /**
+     * Tests this predicate on the given object.
+     *
+     * @param obj the object to test, a {@code null} object has only {@code null} property values
+     * @return {@code true} if the object matches this predicate
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if a property value cannot be compared with its literal
+     * @throws NullPointerException     if a property is not found
+     */
+    public boolean test(Object obj) {
+        return condition.test(obj, options);
+    }
+
+    /**
+     * Returns the objects matching this predicate, in their iteration order.
+     *
+     * @param objects the objects to test, cannot be {@code null}
+     * @param <T>     the type of the objects
+     * @return a new list of the matching objects
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if the objects parameter is {@code null}
+     * @throws IllegalArgumentException if a property value cannot be compared with its literal
+     * @throws NullPointerException     if a property is not found
+     */
+    public <T> List<T> filter(Collection<T> objects) {
+        return filter(objects, null);
+    }
+
+    /**
+     * Returns the objects matching this predicate, in their iteration order. When a {@link ForkJoinPool}
+     * is given, the {@link RandomAccess} lists longer than the threshold are tested in parallel,
+     * in ranges of at most threshold objects. The other collections are always tested
+     * sequentially, by their iterator.
+     *
+     * @param objects the objects to test, cannot be {@code null}
+     * @param pool    the pool of the parallel filtering, or {@code null} for a sequential filtering
+     * @param <T>     the type of the objects
+     * @return a new list of the matching objects
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if the objects parameter is {@code null}
+     * @throws IllegalArgumentException if a property value cannot be compared with its literal
+     * @throws NullPointerException     if a property is not found
+     */
+    public <T> List<T> filter(Collection<T> objects, ForkJoinPool pool) {
+        if (objects == null) {
+            throw new IllegalArgumentException("Cannot filter 'null' objects by " + this + ".");
+        }
+
+        List<T> matches = new ArrayList<T>();
+
+        if (pool != null && objects.size() > threshold
+                && objects instanceof List && objects instanceof RandomAccess) {
+            List<T> list = (List<T>) objects;
+            boolean[] isMatch = new boolean[list.size()];
+            pool.invoke(new FilterTask(this, list, isMatch, 0, isMatch.length));
+
+            for (int i = 0; i < isMatch.length; i++) {
+                if (isMatch[i]) {
+                    matches.add(list.get(i));
+                }
+            }
+        } else {
+            for (T obj : objects) {
+                if (condition.test(obj, options)) {
+                    matches.add(obj);
+                }
+            }
+        }
+
+        return matches;
+    }
+
+    @Override
+    public String toString() {
+        return "PathPredicate{expression='" + expression + "'}";
+    }
+
+    /*
+     * A range [from, to) of a parallel filtering, split in halves until not longer than the threshold.
+     */
+    private static final class FilterTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final PathPredicate predicate;
+        private final List<?> objects;
+        private final boolean[] isMatch;
+        private final int from;
+        private final int to;
+
+        FilterTask(PathPredicate predicate, List<?> objects, boolean[] isMatch, int from, int to) {
+            this.predicate = predicate;
+            this.objects = objects;
+            this.isMatch = isMatch;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= predicate.threshold) {
+                for (int i = from; i < to; i++) {
+                    isMatch[i] = predicate.condition.test(objects.get(i), predicate.options);
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new FilterTask(predicate, objects, isMatch, from, middle),
+                        new FilterTask(predicate, objects, isMatch, middle, to));
+            }
+        }
+    }
+
+    // CONDITIONS SECTION
+    //
+    // The follow section contains the compiled, immutable nodes of an expression.
+    // -----------------------------------------------------------------------------------------------
+
+    private abstract static class Condition {
+
+        abstract boolean test(Object obj, WrapperOptions options);
+    }
+
+    private static final class And extends Condition {
+
+        private final Condition left;
+        private final Condition right;
+
+        And(Condition left, Condition right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        boolean test(Object obj, WrapperOptions options) {
+            return left.test(obj, options) && right.test(obj, options);
+        }
+    }
+
+    private static final class Or extends Condition {
+
+        private final Condition left;
+        private final Condition right;
+
+        Or(Condition left, Condition right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        boolean test(Object obj, WrapperOptions options) {
+            return left.test(obj, options) || right.test(obj, options);
+        }
+    }
+
+    private static final class Not extends Condition {
+
+        private final Condition condition;
+
+        Not(Condition condition) {
+            this.condition = condition;
+        }
+
+        @Override
+        boolean test(Object obj, WrapperOptions options) {
+            return !condition.test(obj, options);
+        }
+    }
+
+    /*
+     * A comparison between the value of a path and a literal: a String, a Long, a Double, a Boolean or null.
+     */
+    private static final class Comparison extends Condition {
+
+        private final PropertyPath path;
+        private final PropertyPath.Segment last;
+        private final String operator;
+        private final Object literal;
+        private final long longLiteral;
+        private final double doubleLiteral;
+
+        Comparison(PropertyPath path, String operator, Object literal) {
+            this.path = path;
+            this.last = path.getSegment(path.size() - 1);
+            this.operator = operator;
+            this.literal = literal;
+            this.longLiteral = (literal instanceof Long) ? (Long) literal : 0L;
+            this.doubleLiteral = (literal instanceof Number) ? ((Number) literal).doubleValue() : 0.0;
+        }
+
+        @Override
+        boolean test(Object obj, WrapperOptions options) {
+            Object parent = ObjectWrapper.getNullableParent(obj, path, options);
+
+            if (parent == null) {
+                return matchesNull();
+            }
+
+            if (!last.isSquare && (literal instanceof Number || literal instanceof Boolean)) {
+                PropertyAccessor accessor = last.resolveAccessor(parent.getClass());
+                Class<?> type = accessor.property.getType();
+
+                if (type == boolean.class && literal instanceof Boolean) {
+                    return matches((accessor.getBoolean(parent) == (Boolean) literal) ? 0 : 1);
+                } else if (Primitives.isIntegral(type) && literal instanceof Long) {
+                    long value = accessor.getLong(parent);
+                    return matches((value < longLiteral) ? -1 : ((value == longLiteral) ? 0 : 1));
+                } else if ((type == double.class || type == float.class || Primitives.isIntegral(type))
+                        && literal instanceof Number) {
+                    return matches(Double.compare(accessor.getDouble(parent), doubleLiteral));
+                }
+            }
+
+            Object value = ObjectWrapper.getSegmentValue(parent, last, options, null);
+            return (value == null) ? matchesNull() : matches(compareTo(value));
+        }
+
+        private boolean matchesNull() {
+            if (operator.equals("==")) {
+                return literal == null;
+            } else if (operator.equals("!=")) {
+                return literal != null;
+            }
+
+            return false;
+        }
+
+        private int compareTo(Object value) {
+            if (literal == null) {
+                return 1;// a not null value is never equal to null
+            } else if (literal instanceof Long && Primitives.isIntegral(value)) {
+                long longValue = ((Number) value).longValue();
+                return (longValue < longLiteral) ? -1 : ((longValue == longLiteral) ? 0 : 1);
+            } else if (literal instanceof Number && value instanceof Number) {
+                return Double.compare(((Number) value).doubleValue(), doubleLiteral);
+            } else if (literal instanceof Boolean && value instanceof Boolean) {
+                return value.equals(literal) ? 0 : 1;
+            } else if (literal instanceof String) {
+                if (value instanceof String || value instanceof Character) {
+                    return value.toString().compareTo((String) literal);
+                } else if (value instanceof Enum) {
+                    return ((Enum<?>) value).name().compareTo((String) literal);
+                }
+            }
+
+            throw new IllegalArgumentException("Cannot compare the value of '" + path.getPattern() + "' with "
+                    + literal + ". A " + literal.getClass().getName() + " literal is not comparable with "
+                    + value.getClass().getName() + " values.");
+        }
+
+        private boolean matches(int result) {
+            switch (operator) {
+                case "==":
+                    return result == 0;
+                case "!=":
+                    return result != 0;
+                case "<":
+                    return result < 0;
+                case "<=":
+                    return result <= 0;
+                case ">":
+                    return result > 0;
+                default:
+                    return result >= 0;
+            }
+        }
+    }
+
+    // PARSER SECTION
+    //
+    // The follow section contains the recursive descent parser of the expressions:
+    // or := and ('||' and)* ; and := unary ('&&' unary)* ; unary := '!' unary | '(' or ')' | comparison
+    // -----------------------------------------------------------------------------------------------
+
+    private static final class Parser {
+
+        private final String expression;
+        private int position;
+
+        Parser(String expression) {
+            this.expression = expression;
+        }
+
+        Condition parse() {
+            Condition condition = parseOr();
+            skipSpaces();
+
+            if (position < expression.length()) {
+                throw invalid("the end of the expression");
+            }
+
+            return condition;
+        }
+
+        private Condition parseOr() {
+            Condition condition = parseAnd();
+
+            while (accept("||")) {
+                condition = new Or(condition, parseAnd());
+            }
+
+            return condition;
+        }
+
+        private Condition parseAnd() {
+            Condition condition = parseUnary();
+
+            while (accept("&&")) {
+                condition = new And(condition, parseUnary());
+            }
+
+            return condition;
+        }
+
+        private Condition parseUnary() {
+            if (accept("!")) {
+                return new Not(parseUnary());
+            } else if (accept("(")) {
+                Condition condition = parseOr();
+
+                if (!accept(")")) {
+                    throw invalid("')'");
+                }
+
+                return condition;
+            }
+
+            return parseComparison();
+        }
+
+        private Condition parseComparison() {
+            skipSpaces();
+            int start = position;
+            boolean insideSquares = false;
+
+            while (position < expression.length()) {
+                char current = expression.charAt(position);
+
+                if (insideSquares) {
+                    insideSquares = (current != ']');
+                } else if (current == '[') {
+                    insideSquares = true;
+                } else if (!Character.isJavaIdentifierPart(current) && current != '.') {
+                    break;
+                }
+
+                position++;
+            }
+
+            if (position == start) {
+                throw invalid("a property pattern");
+            }
+
+            PropertyPath path = PropertyPath.forPattern(expression.substring(start, position));
+            String operator = parseOperator();
+            Object literal = parseLiteral();
+
+            if (literal == null && !operator.equals("==") && !operator.equals("!=")) {
+                throw new IllegalArgumentException("Invalid expression '" + expression + "': the 'null' literal"
+                        + " can be compared only by '==' or '!=', but '" + operator + "' found.");
+            } else if (literal instanceof Boolean && !operator.equals("==") && !operator.equals("!=")) {
+                throw new IllegalArgumentException("Invalid expression '" + expression + "': the boolean literals"
+                        + " can be compared only by '==' or '!=', but '" + operator + "' found.");
+            }
+
+            return new Comparison(path, operator, literal);
+        }
+
+        private String parseOperator() {
+            for (String operator : new String[]{"==", "!=", "<=", ">=", "<", ">"}) {
+                if (accept(operator)) {
+                    return operator;
+                }
+            }
+
+            throw invalid("a comparison operator");
+        }
+
+        private Object parseLiteral() {
+            skipSpaces();
+
+            if (position >= expression.length()) {
+                throw invalid("a literal");
+            }
+
+            char quote = expression.charAt(position);
+
+            if (quote == '\'' || quote == '"') {
+                StringBuilder builder = new StringBuilder();
+                position++;
+
+                while (position < expression.length() && expression.charAt(position) != quote) {
+                    char current = expression.charAt(position++);
+
+                    if (current == '\\' && position < expression.length()) {
+                        current = expression.charAt(position++);
+                    }
+
+                    builder.append(current);
+                }
+
+                if (position >= expression.length()) {
+                    throw invalid("the closing " + quote);
+                }
+
+                position++;
+                return builder.toString();
+            }
+
+            int start = position;
+
+            while (position < expression.length() && (Character.isLetterOrDigit(expression.charAt(position))
+                    || "+-.".indexOf(expression.charAt(position)) >= 0)) {
+                position++;
+            }
+
+            String token = expression.substring(start, position);
+
+            switch (token) {
+                case "true":
+                    return Boolean.TRUE;
+                case "false":
+                    return Boolean.FALSE;
+                case "null":
+                    return null;
+                default:
+                    try {
+                        return Long.valueOf(token);
+                    } catch (NumberFormatException e) {
+                        try {
+                            return Double.valueOf(token);
+                        } catch (NumberFormatException ex) {
+                            position = start;
+                            throw invalid("a literal");
+                        }
+                    }
+            }
+        }
+
+        private boolean accept(String token) {
+            skipSpaces();
+
+            if (expression.startsWith(token, position)) {
+                position += token.length();
+                return true;
+            }
+
+            return false;
+        }
+
+        private void skipSpaces() {
+            while (position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException invalid(String expected) {
+            return new IllegalArgumentException("Invalid expression '" + expression + "': expected " + expected
+                    + " at position " + position + ".");
+        }
+    }
+}
@@ -0,0 +1,617 @@
+/*
+ * Copyright 2015 Fabio Piro (minimalcode.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.minimalcode.beans;
+
+import org.minimalcode.reflect.ReflectionException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Immutable and thread-safe selector of the top (greatest) or bottom (least) K objects by the value of
+ * a compiled path (ex: the top 100 by "stats.score"), without sorting nor materializing the whole input.
+ *
+ * <p> The objects are offered one at a time to a {@link Selection}: a bounded heap of at most K objects,
+ * where each new object is compared only with the worst selected one, hence the selection of K objects
+ * out of N takes O(N log K) time and O(K) memory. The selections filled by parallel workers, each one
+ * from its own part of the input, are combined by {@link Selection#merge(Selection)}.
+ *
+ * <p> The keys are extracted once per object. When the last property of the path is a primitive one
+ * (except boolean and char), its value is read and kept without boxing: the integral keys as long values,
+ * and the floating ones as double values, as are both of them once a floating key is found. The other
+ * keys must be mutually {@link Comparable}. The objects with a {@code null} value, or a {@code null}
+ * nested property (ex: a {@code null} "stats" for "stats.score"), are never selected. The order of the
+ * objects with equal keys is not specified.
+ *
+ * <p> Example:
+ * <pre>
+ * PathSelector selector = PathSelector.top(ObjectWrapper.compile("stats.score"), 100);
+ * List&lt;Player&gt; best = selector.select(players.iterator());
+ * </pre>
+ *
+ * @author Fabio Piro
+ * @see PathComparator
+ */
+public final class PathSelector {
+
+    /**
+     * The default maximum number of objects selected by a single parallel task.
+     */
+    public static final int DEFAULT_THRESHOLD = 4096;
+
+    private final PropertyPath propertyPath;
+    private final int limit;
+    private final boolean isTop;
+    private final WrapperOptions options;
+    private final int threshold;
+
+    private PathSelector(PropertyPath propertyPath, int limit, boolean isTop, WrapperOptions options, int threshold) {
+        this.propertyPath = propertyPath;
+        this.limit = limit;
+        this.isTop = isTop;
+        this.options = options;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Returns a selector of the objects with the greatest values of the given path.
+     *
+     * @param propertyPath the compiled path of the key, cannot be {@code null}
+     * @param limit        the maximum number of selected objects, must be positive
+     * @return the selector
+     * @throws IllegalArgumentException if the propertyPath parameter is {@code null}, or the limit is not positive
+     */
+    public static PathSelector top(PropertyPath propertyPath, int limit) {
+        return newSelector(propertyPath, limit, true);
+    }
+
+    /**
+     * Returns a selector of the objects with the least values of the given path.
+     *
+     * @param propertyPath the compiled path of the key, cannot be {@code null}
+     * @param limit        the maximum number of selected objects, must be positive
+     * @return the selector
+     * @throws IllegalArgumentException if the propertyPath parameter is {@code null}, or the limit is not positive
+     */
+    public static PathSelector bottom(PropertyPath propertyPath, int limit) {
+        return newSelector(propertyPath, limit, false);
+    }
+
+    private static PathSelector newSelector(PropertyPath propertyPath, int limit, boolean isTop) {
+        if (propertyPath == null) {
+            throw new IllegalArgumentException("Cannot select by the values of a 'null' propertyPath.");
+        }
+
+        if (limit < 1) {
+            throw new IllegalArgumentException("Invalid limit '" + limit + "', must be positive.");
+        }
+
+        return new PathSelector(propertyPath, limit, isTop, WrapperOptions.DEFAULT, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Returns a copy of this selector, evaluating the path with the given options
+     * (ex: with the out of bounds safety disabled). The default options are {@link WrapperOptions#DEFAULT}.
+     *
+     * @param options the options of the traversal, cannot be {@code null}
+     * @return the copy of this selector
+     * @throws IllegalArgumentException if the options parameter is {@code null}
+     */
+    public PathSelector withOptions(WrapperOptions options) {
+        if (options == null) {
+            throw new IllegalArgumentException("Cannot select by " + this + " with 'null' options.");
+        }
+
+        return new PathSelector(propertyPath, limit, isTop, options, threshold);
+    }
+
+    /**
+     * Returns a copy of this selector with the given threshold: the maximum number of objects
+     * offered by a single parallel task, and the minimum size of a parallel selection.
+     *
+     * @param threshold the threshold, must be positive
+     * @return the copy of this selector
+     * @throws IllegalArgumentException if the threshold parameter is not positive
+     */
+    public PathSelector withThreshold(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Invalid threshold '" + threshold + "', must be positive.");
+        }
+
+        return new PathSelector(propertyPath, limit, isTop, options, threshold);
+    }
+
+    /**
+     * Returns the compiled path of the key.
+     *
+     * @return the compiled path
+     */
+    public PropertyPath getPath() {
+        return propertyPath;
+    }
+
+    /**
+     * Returns the maximum number of selected objects.
+     *
+     * @return the limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns a new empty selection, to be filled by a single thread.
+     *
+     * @param <T> the type of the selected objects
+     * @return the new selection
+     */
+    public <T> Selection<T> newSelection() {
+        return new Selection<T>(this);
+    }
+
+    /**
+     * Selects the objects returned by the given iterator, consuming it.
+     *
+     * @param iterator the iterator of the objects, cannot be {@code null} or return {@code null} values
+     * @param <T>      the type of the objects
+     * @return the selected objects, from the best one
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if the iterator parameter, or any object, is {@code null}
+     * @throws IllegalArgumentException if a key is not {@link Comparable}
+     * @throws NullPointerException     if a property is not found
+     */
+    public <T> List<T> select(Iterator<? extends T> iterator) {
+        Selection<T> selection = newSelection();
+        selection.addAll(iterator);
+        return selection.toList();
+    }
+
+    /**
+     * Selects the given objects. When a {@link ForkJoinPool} is given, the {@link RandomAccess} lists
+     * longer than the threshold are split into ranges of at most threshold objects, each one selected
+     * in parallel into its own {@link Selection}, merged at the end. The other collections are always
+     * selected sequentially.
+     *
+     * @param objects the objects, cannot be {@code null} or contain {@code null} values
+     * @param pool    the pool of the parallel selection, or {@code null} for a sequential selection
+     * @param <T>     the type of the objects
+     * @return the selected objects, from the best one
+     * @throws ReflectionException      if a reflection error occurs
+     * @throws IllegalArgumentException if the objects parameter, or any object, is {@code null}
+     * @throws IllegalArgumentException if a key is not {@link Comparable}
+     * @throws NullPointerException     if a property is not found
+     */
+    public <T> List<T> select(Collection<? extends T> objects, ForkJoinPool pool) {
+        if (objects == null) {
+            throw new IllegalArgumentException("Cannot select 'null' objects by " + this + ".");
+        }
+
+        if (pool != null && objects.size() > threshold && objects instanceof List && objects instanceof RandomAccess) {
+            List<? extends T> list = (List<? extends T>) objects;
+            return pool.invoke(new SelectTask<T>(this, list, 0, list.size())).toList();
+        }
+
+        return select(objects.iterator());
+    }
+
+    @Override
+    public String toString() {
+        return "PathSelector{pattern=" + propertyPath.getPattern() + ", " + (isTop ? "top" : "bottom")
+                + "=" + limit + '}';
+    }
+
+    /*
+     * A range [from, to) of a parallel selection, split in halves until not longer than the threshold.
+     */
+    private static final class SelectTask<T> extends RecursiveTask<Selection<T>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final PathSelector selector;
+        private final List<? extends T> list;
+        private final int from;
+        private final int to;
+
+        SelectTask(PathSelector selector, List<? extends T> list, int from, int to) {
+            this.selector = selector;
+            this.list = list;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Selection<T> compute() {
+            if (to - from <= selector.threshold) {
+                Selection<T> selection = selector.newSelection();
+
+                for (int i = from; i < to; i++) {
+                    selection.add(list.get(i));
+                }
+
+                return selection;
+            }
+
+            int middle = (from + to) >>> 1;
+            SelectTask<T> left = new SelectTask<T>(selector, list, from, middle);
+            left.fork();
+
+            Selection<T> selection = new SelectTask<T>(selector, list, middle, to).compute();
+            selection.merge(left.join());
+            return selection;
+        }
+    }
+
+    /**
+     * A bounded heap of the best objects offered to a {@link PathSelector}, with the worst one at its root.
+     * A selection is not thread-safe: each parallel worker must fill its own one.
+     *
+     * @param <T> the type of the selected objects
+     */
+    public static final class Selection<T> {
+
+        private static final int NONE = 0;
+        private static final int LONGS = 1;
+        private static final int DOUBLES = 2;
+        private static final int OBJECTS = 3;
+
+        private final PathSelector selector;
+        private int mode = NONE;
+        private int size;
+
+        // The last slot of the arrays holds the key of the offered object, before it is selected
+        private Object[] elements;
+        private long[] longs;
+        private double[] doubles;
+        private Object[] keys;
+
+        Selection(PathSelector selector) {
+            this.selector = selector;
+            this.elements = new Object[Math.min(selector.limit, 16) + 1];
+        }
+
+        /**
+         * Offers the given object, selecting it if better than the worst one selected.
+         *
+         * @param obj the object to offer, cannot be {@code null}
+         * @return {@code true} if the object was selected
+         * @throws ReflectionException      if a reflection error occurs
+         * @throws IllegalArgumentException if the obj parameter is {@code null}, or its key is not {@link Comparable}
+         * @throws NullPointerException     if a property is not found
+         */
+        public boolean add(T obj) {
+            if (obj == null) {
+                throw new IllegalArgumentException("Cannot select a 'null' object by " + selector + ".");
+            }
+
+            PropertyPath path = selector.propertyPath;
+            PropertyPath.Segment last = path.getSegment(path.size() - 1);
+            Object parent = ObjectWrapper.getNullableParent(obj, path, selector.options);
+
+            if (parent == null) {
+                return false;
+            }
+
+            ensureCapacity();
+
+            if (!last.isSquare) {
+                PropertyAccessor accessor = last.resolveAccessor(parent.getClass());
+                Class<?> type = accessor.property.getType();
+
+                if (Primitives.isIntegral(type)) {
+                    setLong(size, accessor.getLong(parent));
+                    return offer(obj);
+                } else if (type == double.class || type == float.class) {
+                    setDouble(size, accessor.getDouble(parent));
+                    return offer(obj);
+                }
+            }
+
+            Object value = ObjectWrapper.getSegmentValue(parent, last, selector.options, null);
+
+            if (value == null) {
+                return false;
+            } else if (Primitives.isIntegral(value)) {
+                setLong(size, ((Number) value).longValue());
+            } else if (value instanceof Double || value instanceof Float) {
+                setDouble(size, ((Number) value).doubleValue());
+            } else {
+                setObject(size, value);
+            }
+
+            return offer(obj);
+        }
+
+        /**
+         * Offers all the objects returned by the given iterator, consuming it.
+         *
+         * @param iterator the iterator of the objects, cannot be {@code null} or return {@code null} values
+         * @throws ReflectionException      if a reflection error occurs
+         * @throws IllegalArgumentException if the iterator parameter, or any object, is {@code null}
+         * @throws IllegalArgumentException if a key is not {@link Comparable}
+         * @throws NullPointerException     if a property is not found
+         */
+        public void addAll(Iterator<? extends T> iterator) {
+            if (iterator == null) {
+                throw new IllegalArgumentException("Cannot select the objects of a 'null' iterator by "
+                        + selector + ".");
+            }
+
+            while (iterator.hasNext()) {
+                add(iterator.next());
+            }
+        }
+
+        /**
+         * Offers all the objects selected by the given selection, of a selector with the same path,
+         * limit and order, without extracting their keys again.
+         *
+         * @param other the selection to merge, cannot be {@code null}
+         * @throws IllegalArgumentException if the other parameter is {@code null}, or of a different selector
+         * @throws IllegalArgumentException if a key is not {@link Comparable}
+         */
+        public void merge(Selection<? extends T> other) {
+            if (other == null || !other.selector.propertyPath.equals(selector.propertyPath)
+                    || other.selector.limit != selector.limit || other.selector.isTop != selector.isTop) {
+                throw new IllegalArgumentException("Cannot merge a 'null' selection, or of a different selector,"
+                        + " into a selection of " + selector + ".");
+            }
+
+            for (int i = 0; i < other.size; i++) {
+                ensureCapacity();
+
+                if (other.mode == LONGS) {
+                    setLong(size, other.longs[i]);
+                } else if (other.mode == DOUBLES) {
+                    setDouble(size, other.doubles[i]);
+                } else {
+                    setObject(size, other.keys[i]);
+                }
+
+                @SuppressWarnings("unchecked")
+                T element = (T) other.elements[i];
+                offer(element);
+            }
+        }
+
+        /**
+         * Returns the number of selected objects.
+         *
+         * @return the number of objects, not greater than the limit of the selector
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns the selected objects, from the best one. The selection is not changed.
+         *
+         * @return a new list of the selected objects
+         */
+        @SuppressWarnings("unchecked")
+        public List<T> toList() {
+            Integer[] order = new Integer[size];
+
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+
+            Arrays.sort(order, new Comparator<Integer>() {
+                @Override
+                public int compare(Integer a, Integer b) {
+                    return selector.isTop ? compareKeys(b, a) : compareKeys(a, b);
+                }
+            });
+
+            List<T> list = new ArrayList<T>(size);
+
+            for (Integer i : order) {
+                list.add((T) elements[i]);
+            }
+
+            return list;
+        }
+
+        /*
+         * Selects the offered object, whose key is in the slot after the last selected one.
+         */
+        private boolean offer(T obj) {
+            if (size < selector.limit) {
+                elements[size] = obj;
+                siftUp(size++);
+                return true;
+            } else if (isWorse(0, size)) {
+                elements[size] = obj;
+                move(size, 0);
+                siftDown(0);
+                return true;
+            }
+
+            return false;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+
+                if (!isWorse(i, parent)) {
+                    break;
+                }
+
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int worst = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+
+                if (left < size && isWorse(left, worst)) {
+                    worst = left;
+                }
+
+                if (right < size && isWorse(right, worst)) {
+                    worst = right;
+                }
+
+                if (worst == i) {
+                    break;
+                }
+
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private boolean isWorse(int i, int j) {
+            int result = compareKeys(i, j);
+            return selector.isTop ? result < 0 : result > 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        private int compareKeys(int i, int j) {
+            if (mode == LONGS) {
+                return (longs[i] < longs[j]) ? -1 : ((longs[i] == longs[j]) ? 0 : 1);
+            } else if (mode == DOUBLES) {
+                return Double.compare(doubles[i], doubles[j]);
+            }
+
+            return ((Comparable<Object>) keys[i]).compareTo(keys[j]);
+        }
+
+        private void swap(int i, int j) {
+            Object element = elements[i];
+            elements[i] = elements[j];
+            elements[j] = element;
+
+            if (mode == LONGS) {
+                long key = longs[i];
+                longs[i] = longs[j];
+                longs[j] = key;
+            } else if (mode == DOUBLES) {
+                double key = doubles[i];
+                doubles[i] = doubles[j];
+                doubles[j] = key;
+            } else {
+                Object key = keys[i];
+                keys[i] = keys[j];
+                keys[j] = key;
+            }
+        }
+
+        private void move(int from, int to) {
+            elements[to] = elements[from];
+            elements[from] = null;
+
+            if (mode == LONGS) {
+                longs[to] = longs[from];
+            } else if (mode == DOUBLES) {
+                doubles[to] = doubles[from];
+            } else {
+                keys[to] = keys[from];
+                keys[from] = null;
+            }
+        }
+
+        /*
+         * Grows the arrays, up to the limit of the selector plus the slot of the offered key.
+         */
+        private void ensureCapacity() {
+            if (size < elements.length) {
+                return;
+            }
+
+            int capacity = (int) Math.min(selector.limit + 1L, elements.length * 2L);
+
+            if (capacity > elements.length) {
+                elements = Arrays.copyOf(elements, capacity);
+                longs = (longs != null) ? Arrays.copyOf(longs, capacity) : null;
+                doubles = (doubles != null) ? Arrays.copyOf(doubles, capacity) : null;
+                keys = (keys != null) ? Arrays.copyOf(keys, capacity) : null;
+            }
+        }
+
+        private void setLong(int i, long key) {
+            if (mode == NONE) {
+                mode = LONGS;
+                longs = new long[elements.length];
+            }
+
+            if (mode == LONGS) {
+                longs[i] = key;
+            } else if (mode == DOUBLES) {
+                doubles[i] = key;
+            } else {
+                keys[i] = key;
+            }
+        }
+
+        private void setDouble(int i, double key) {
+            if (mode == NONE || mode == LONGS) {
+                doubles = new double[elements.length];
+
+                for (int j = 0; j < size; j++) {
+                    doubles[j] = longs[j];
+                }
+
+                mode = DOUBLES;
+                longs = null;
+            }
+
+            if (mode == DOUBLES) {
+                doubles[i] = key;
+            } else {
+                keys[i] = key;
+            }
+        }
+
+        private void setObject(int i, Object key) {
+            if (!(key instanceof Comparable)) {
+                throw new IllegalArgumentException("Cannot select by the values of '"
+                        + selector.propertyPath.getPattern() + "'. Only Comparable values are supported, but "
+                        + key.getClass().getName() + " found.");
+            }
+
+            if (mode != OBJECTS) {
+                keys = new Object[elements.length];
+
+                for (int j = 0; j < size; j++) {
+                    keys[j] = (mode == LONGS) ? (Object) longs[j] : (Object) doubles[j];
+                }
+
+                mode = OBJECTS;
+                longs = null;
+                doubles = null;
+            }
+
+            keys[i] = key;
+        }
+
+        @Override
+        public String toString() {
+            return "Selection{selector=" + selector + ", size=" + size + '}';
+        }
+    }
+}
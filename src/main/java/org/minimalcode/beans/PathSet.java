@@ -0,0 +1,304 @@
+/*
+ * Copyright 2015 Fabio Piro (minimalcode.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.minimalcode.beans;
+
+import org.minimalcode.reflect.ReflectionException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Compiled, immutable and thread-safe set of property patterns, merged into a prefix tree
+ * of their segments, so that all of them are evaluated in a single traversal of the object.
+ *
+ * <p> Reading "customer.name", "customer.address.city" and "customer.address.zip" through
+ * a path set reads "customer" once and "address" once, instead of once per pattern. Each
+ * pattern keeps its position in the set, which is the position of its value in the results.
+ *
+ * <p> The same set applies a batch of writes in a single traversal: the paths are sorted, so that
+ * each nested object is resolved (or auto-instanced) once, and the indexes of a List or array are
+ * written from the highest one, so that it is auto-grown once (ex: "items[9]" .. "items[0]").
+ *
+ * <p> Example:
+ * <pre>
+ * PathSet pathSet = PathSet.compile("customer.name", "customer.address.city", "customer.address.zip");
+ * Object[] row = new Object[pathSet.size()];
+ * for (Invoice invoice : invoices) {
+ *     BeanAccessor.getInstance().getValues(invoice, pathSet, row, options);
+ * }
+ * </pre>
+ *
+ * @author Fabio Piro
+ * @see ObjectWrapper#getValues(PathSet, Object[])
+ * @see ObjectWrapper#setValues(PathSet, Object[])
+ * @see BeanAccessor#getValues(Object, PathSet, Object[], WrapperOptions)
+ * @see BeanAccessor#setValues(Object, PathSet, Object[], WrapperOptions)
+ */
+public final class PathSet {
+
+    private static final int[] NO_ENDS = new int[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final PropertyPath[] paths;
+    private final Node root;
+
+    private PathSet(PropertyPath[] paths, Node root) {
+        this.paths = paths;
+        this.root = root;
+    }
+
+    /**
+     * Compiles the given patterns (ex: "order.items[3].price") into a path set.
+     *
+     * @param propertyPatterns the patterns, cannot be {@code null} or contain {@code null} values
+     * @return the compiled path set
+     * @throws IllegalArgumentException if the propertyPatterns parameter, or any pattern, is {@code null}
+     * @throws IllegalArgumentException if a pattern contains an unclosed indexed\mapped '[]' notation
+     */
+    public static PathSet compile(String... propertyPatterns) {
+        if (propertyPatterns == null) {
+            throw new IllegalArgumentException("Cannot compile a 'null' array of propertyPatterns.");
+        }
+
+        PropertyPath[] paths = new PropertyPath[propertyPatterns.length];
+
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = PropertyPath.forPattern(propertyPatterns[i]);
+        }
+
+        return compile(paths);
+    }
+
+    /**
+     * Merges the given compiled paths into a path set.
+     *
+     * @param propertyPaths the compiled paths, cannot be {@code null} or contain {@code null} values
+     * @return the compiled path set
+     * @throws IllegalArgumentException if the propertyPaths parameter, or any path, is {@code null}
+     */
+    public static PathSet compile(PropertyPath... propertyPaths) {
+        if (propertyPaths == null) {
+            throw new IllegalArgumentException("Cannot compile a 'null' array of propertyPaths.");
+        }
+
+        final PropertyPath[] paths = propertyPaths.clone();
+        Integer[] order = new Integer[paths.length];
+
+        for (int i = 0; i < paths.length; i++) {
+            if (paths[i] == null) {
+                throw new IllegalArgumentException("Cannot compile a 'null' propertyPath, at position '" + i + "'.");
+            }
+
+            order[i] = i;
+        }
+
+        // The nodes are added in the paths order, so that the children of each node are sorted too
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                return PropertyPath.compare(paths[a], paths[b]);
+            }
+        });
+
+        Node root = new Node(null, -1);
+
+        for (int i : order) {
+            Node node = root;
+
+            for (int depth = 0; depth < paths[i].size(); depth++) {
+                node = node.child(paths[i], depth);
+            }
+
+            node.addEnd(i);
+        }
+
+        root.freeze();
+        return new PathSet(paths, root);
+    }
+
+    /**
+     * Returns the number of patterns of this set, which is also the number of results of each evaluation.
+     *
+     * @return the number of patterns
+     */
+    public int size() {
+        return paths.length;
+    }
+
+    /**
+     * Returns the pattern at the given position of this set.
+     *
+     * @param i the position of the pattern
+     * @return the pattern
+     * @throws IndexOutOfBoundsException if the position is not valid
+     */
+    public String getPattern(int i) {
+        return paths[i].getPattern();
+    }
+
+    /**
+     * Returns the compiled path at the given position of this set.
+     *
+     * @param i the position of the path
+     * @return the compiled path
+     * @throws IndexOutOfBoundsException if the position is not valid
+     */
+    public PropertyPath getPath(int i) {
+        return paths[i];
+    }
+
+    /*
+     * Internal: Reads all the paths of this set from the given object, in a single traversal.
+     *
+     * @throws ReflectionException if a reflection error occurs
+     */
+    void getValues(Object obj, Object[] results, WrapperOptions options, WrapperState state) {
+        checkLength(obj, results);
+        getValues(obj, root, results, options, state);
+    }
+
+    private static void getValues(Object obj, Node node, Object[] results,
+                                  WrapperOptions options, WrapperState state) {
+        for (Node child : node.children) {
+            if (obj == null) {
+                // NullPointerException as it is throwed only when traversing a null object (ex: "foo.null.bar")
+                throw new NullPointerException("Cannot get the value of '" + child.path.remainingPattern(child.depth)
+                        + "' from a 'null' object.");
+            }
+
+            Object value = ObjectWrapper.getSegmentValue(obj, child.segment, options, state);
+
+            for (int end : child.ends) {
+                results[end] = value;
+            }
+
+            if (child.children.length > 0) {
+                getValues(value, child, results, options, state);
+            }
+        }
+    }
+
+    /*
+     * Internal: Sets all the paths of this set in the given object, in a single traversal. Each nested object
+     * is resolved (or auto-instanced) once, and the indexes of the same List or array are set from the highest
+     * one, so that it is auto-grown once. A path is set before the longer paths it is a prefix of.
+     *
+     * @throws ReflectionException if a reflection error occurs
+     */
+    void setValues(Object obj, Object[] values, WrapperOptions options, WrapperState state) {
+        checkLength(obj, values);
+        setValues(obj, root, values, options, state);
+    }
+
+    private static void setValues(Object obj, Node node, Object[] values,
+                                  WrapperOptions options, WrapperState state) {
+        for (Node child : node.children) {
+            if (obj == null) {
+                // NullPointerException as it is throwed only when traversing a null object (ex: "foo.null.bar")
+                throw new NullPointerException("Cannot set the value of '" + child.path.remainingPattern(child.depth)
+                        + "' to a 'null' object.");
+            }
+
+            // The same path set more than once: the last position wins, as with sequential writes
+            if (child.ends.length > 0) {
+                Object value = values[child.ends[child.ends.length - 1]];
+                ObjectWrapper.setSegmentValue(obj, child.segment, value, options, state);
+            }
+
+            if (child.children.length > 0) {
+                Object nested = ObjectWrapper.getOrCreateSegmentValue(obj, child.segment, options, state);
+                setValues(nested, child, values, options, state);
+            }
+        }
+    }
+
+    private void checkLength(Object obj, Object[] values) {
+        if (values == null || values.length < paths.length) {
+            throw new IllegalArgumentException("Cannot evaluate the " + paths.length + " paths of " + this + " on "
+                    + obj.getClass().getName() + " with an array of " + ((values != null) ? values.length : "'null'")
+                    + " values.");
+        }
+    }
+
+    @Override
+    public String toString() {
+        String[] patterns = new String[paths.length];
+
+        for (int i = 0; i < paths.length; i++) {
+            patterns[i] = paths[i].getPattern();
+        }
+
+        return "PathSet{patterns=" + Arrays.toString(patterns) + '}';
+    }
+
+    /*
+     * A node of the prefix tree: a segment shared by one or more paths, with the positions
+     * of the paths ending at it and the following segments.
+     */
+    private static final class Node {
+
+        final PropertyPath.Segment segment;
+        final PropertyPath path;// the first path through this node
+        final int depth;
+
+        int[] ends = NO_ENDS;
+        Node[] children = NO_CHILDREN;
+
+        private List<Node> childList;
+
+        Node(PropertyPath path, int depth) {
+            this.path = path;
+            this.depth = depth;
+            this.segment = (path != null) ? path.getSegment(depth) : null;
+        }
+
+        Node child(PropertyPath childPath, int childDepth) {
+            PropertyPath.Segment childSegment = childPath.getSegment(childDepth);
+
+            if (childList == null) {
+                childList = new ArrayList<Node>();
+            }
+
+            for (Node child : childList) {
+                if (child.segment.compareTo(childSegment) == 0) {
+                    return child;
+                }
+            }
+
+            Node child = new Node(childPath, childDepth);
+            childList.add(child);
+            return child;
+        }
+
+        void addEnd(int position) {
+            ends = Arrays.copyOf(ends, ends.length + 1);
+            ends[ends.length - 1] = position;
+        }
+
+        void freeze() {
+            if (childList != null) {
+                children = childList.toArray(new Node[childList.size()]);
+                childList = null;
+
+                for (Node child : children) {
+                    child.freeze();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2015 Fabio Piro (minimalcode.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.minimalcode.beans;
+
+/**
+ * Internal: Unboxing and boxing conversions used by the primitive-specialized methods,
+ * when the underlying value is not a primitive one (ex: an {@link Integer} property,
+ * or an element of a {@link java.util.List}).
+ *
+ * <p> Only the Java widening conversions are allowed (ex: a {@link Short} can be read
+ * as an int, but a {@link Long} cannot), everything else is rejected.
+ *
+ * @author Fabio Piro
+ */
+final class Primitives {
+
+    private Primitives() {
+        // static only
+    }
+
+    /**
+     * Returns true if the given type is an integral primitive type widening to a long, except char.
+     *
+     * @param type the type to check
+     * @return true if int, long, short or byte
+     */
+    static boolean isIntegral(Class<?> type) {
+        return type == int.class || type == long.class || type == short.class || type == byte.class;
+    }
+
+    /**
+     * Returns true if the given value is a boxed integral value widening to a long, except a {@link Character}.
+     *
+     * @param value the value to check
+     * @return true if an {@link Integer}, {@link Long}, {@link Short} or {@link Byte}
+     */
+    static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    /**
+     * Unboxes a value as an int.
+     *
+     * @param value  the value to unbox
+     * @param source the source of the value (ex: the property), for the error messages
+     * @return the int value
+     * @throws NullPointerException     if the value is {@code null}
+     * @throws IllegalArgumentException if the value cannot be widened to an int
+     */
+    static int toInt(Object value, Object source) {
+        if (value instanceof Integer) {
+            return (Integer) value;
+        } else if (value instanceof Short || value instanceof Byte) {
+            return ((Number) value).intValue();
+        } else if (value instanceof Character) {
+            return (Character) value;
+        }
+
+        throw invalid(value, source, "int");
+    }
+
+    /**
+     * Unboxes a value as a long.
+     *
+     * @param value  the value to unbox
+     * @param source the source of the value (ex: the property), for the error messages
+     * @return the long value
+     * @throws NullPointerException     if the value is {@code null}
+     * @throws IllegalArgumentException if the value cannot be widened to a long
+     */
+    static long toLong(Object value, Object source) {
+        if (value instanceof Long) {
+            return (Long) value;
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        } else if (value instanceof Character) {
+            return (Character) value;
+        }
+
+        throw invalid(value, source, "long");
+    }
+
+    /**
+     * Unboxes a value as a double.
+     *
+     * @param value  the value to unbox
+     * @param source the source of the value (ex: the property), for the error messages
+     * @return the double value
+     * @throws NullPointerException     if the value is {@code null}
+     * @throws IllegalArgumentException if the value cannot be widened to a double
+     */
+    static double toDouble(Object value, Object source) {
+        if (value instanceof Double) {
+            return (Double) value;
+        } else if (value instanceof Float || value instanceof Long || value instanceof Integer
+                || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).doubleValue();
+        } else if (value instanceof Character) {
+            return (Character) value;
+        }
+
+        throw invalid(value, source, "double");
+    }
+
+    /**
+     * Unboxes a value as a boolean.
+     *
+     * @param value  the value to unbox
+     * @param source the source of the value (ex: the property), for the error messages
+     * @return the boolean value
+     * @throws NullPointerException     if the value is {@code null}
+     * @throws IllegalArgumentException if the value is not a {@link Boolean}
+     */
+    static boolean toBoolean(Object value, Object source) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+
+        throw invalid(value, source, "boolean");
+    }
+
+    /**
+     * Unboxes a value as a byte.
+     *
+     * @param value  the value to unbox
+     * @param source the source of the value (ex: the property), for the error messages
+     * @return the byte value
+     * @throws NullPointerException     if the value is {@code null}
+     * @throws IllegalArgumentException if the value is not a {@link Byte}
+     */
+    static byte toByte(Object value, Object source) {
+        if (value instanceof Byte) {
+            return (Byte) value;
+        }
+
+        throw invalid(value, source, "byte");
+    }
+
+    /**
+     * Unboxes a value as a short.
+     *
+     * @param value  the value to unbox
+     * @param source the source of the value (ex: the property), for the error messages
+     * @return the short value
+     * @throws NullPointerException     if the value is {@code null}
+     * @throws IllegalArgumentException if the value cannot be widened to a short
+     */
+    static short toShort(Object value, Object source) {
+        if (value instanceof Short || value instanceof Byte) {
+            return ((Number) value).shortValue();
+        }
+
+        throw invalid(value, source, "short");
+    }
+
+    /**
+     * Unboxes a value as a char.
+     *
+     * @param value  the value to unbox
+     * @param source the source of the value (ex: the property), for the error messages
+     * @return the char value
+     * @throws NullPointerException     if the value is {@code null}
+     * @throws IllegalArgumentException if the value is not a {@link Character}
+     */
+    static char toChar(Object value, Object source) {
+        if (value instanceof Character) {
+            return (Character) value;
+        }
+
+        throw invalid(value, source, "char");
+    }
+
+    /**
+     * Unboxes a value as a float.
+     *
+     * @param value  the value to unbox
+     * @param source the source of the value (ex: the property), for the error messages
+     * @return the float value
+     * @throws NullPointerException     if the value is {@code null}
+     * @throws IllegalArgumentException if the value cannot be widened to a float
+     */
+    static float toFloat(Object value, Object source) {
+        if (value instanceof Float || value instanceof Long || value instanceof Integer
+                || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).floatValue();
+        } else if (value instanceof Character) {
+            return (Character) value;
+        }
+
+        throw invalid(value, source, "float");
+    }
+
+    /**
+     * Boxes an int into the wrapper of the given target type.
+     *
+     * @param value  the value to box
+     * @param type   the type which will receive the value
+     * @param source the receiver of the value (ex: the property), for the error messages
+     * @return the boxed value
+     * @throws IllegalArgumentException if the type is not a widening of an int (ex: a {@link Short})
+     */
+    static Object valueOf(int value, Class<?> type, Object source) {
+        if (type == long.class || type == Long.class) {
+            return (long) value;
+        } else if (type == double.class || type == Double.class) {
+            return (double) value;
+        } else if (type == float.class || type == Float.class) {
+            return (float) value;
+        } else if (type == int.class || type.isAssignableFrom(Integer.class)) {
+            return value;
+        }
+
+        throw narrowing("int", type, source);
+    }
+
+    /**
+     * Boxes a long into the wrapper of the given target type.
+     *
+     * @param value  the value to box
+     * @param type   the type which will receive the value
+     * @param source the receiver of the value (ex: the property), for the error messages
+     * @return the boxed value
+     * @throws IllegalArgumentException if the type is not a widening of a long (ex: an {@link Integer})
+     */
+    static Object valueOf(long value, Class<?> type, Object source) {
+        if (type == double.class || type == Double.class) {
+            return (double) value;
+        } else if (type == float.class || type == Float.class) {
+            return (float) value;
+        } else if (type == long.class || type.isAssignableFrom(Long.class)) {
+            return value;
+        }
+
+        throw narrowing("long", type, source);
+    }
+
+    /**
+     * Boxes a double, the only allowed target type is a double or a supertype of {@link Double}.
+     *
+     * @param value  the value to box
+     * @param type   the type which will receive the value
+     * @param source the receiver of the value (ex: the property), for the error messages
+     * @return the boxed value
+     * @throws IllegalArgumentException if the type is not a double or a supertype of {@link Double}
+     */
+    static Object valueOf(double value, Class<?> type, Object source) {
+        if (type == double.class || type.isAssignableFrom(Double.class)) {
+            return value;
+        }
+
+        throw narrowing("double", type, source);
+    }
+
+    /**
+     * Boxes a boolean, the only allowed target type is a boolean or a supertype of {@link Boolean}.
+     *
+     * @param value  the value to box
+     * @param type   the type which will receive the value
+     * @param source the receiver of the value (ex: the property), for the error messages
+     * @return the boxed value
+     * @throws IllegalArgumentException if the type is not a boolean or a supertype of {@link Boolean}
+     */
+    static Object valueOf(boolean value, Class<?> type, Object source) {
+        if (type == boolean.class || type.isAssignableFrom(Boolean.class)) {
+            return value;
+        }
+
+        throw narrowing("boolean", type, source);
+    }
+
+    private static RuntimeException invalid(Object value, Object source, String primitive) {
+        if (value == null) {
+            return new NullPointerException("Invalid 'null' value found for " + source + ", while an '"
+                    + primitive + "' value was requested.");
+        }
+
+        return new IllegalArgumentException("Cannot convert the " + value.getClass().getSimpleName() + " value of "
+                + source + " to the requested '" + primitive + "' type.");
+    }
+
+    private static IllegalArgumentException narrowing(String primitive, Class<?> type, Object source) {
+        return new IllegalArgumentException("Cannot convert the requested '" + primitive + "' value to the "
+                + type.getSimpleName() + " type of " + source + ".");
+    }
+}
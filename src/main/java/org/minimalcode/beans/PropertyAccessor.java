@@ -0,0 +1,582 @@
+/*
+ * Copyright 2015 Fabio Piro (minimalcode.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.minimalcode.beans;
+
+import org.minimalcode.reflect.Property;
+import org.minimalcode.reflect.ReflectionException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Internal: Cached, thread-safe getter and setter of a single {@link Property}.
+ *
+ * <p> Instead of the reflective {@link Method#invoke(Object, Object...)} used by
+ * {@link Property#get(Object)} and {@link Property#set(Object, Object)}, which
+ * checks the access rights and allocates the arguments array at each call, the
+ * accessor invokes a {@link MethodHandle} adapted once to a generic (Object)Object
+ * getter and (Object, Object)void setter, that the JIT compiles close to a direct call.
+ *
+ * <p> When the declaring class is annotated with {@link GenerateAccessor}, the accessor
+ * delegates to its {@link ClassAccessor} generated at compile time instead, for the directions
+ * it covers (ex: a public getter), and uses the handles for the other ones. When a handle
+ * cannot be created (ex: a class not accessible from this library), the accessor falls
+ * back to the {@link Property} reflective methods.
+ *
+ * <p> The primitive-specialized methods (ex: {@link #getInt(Object)}) invoke, for the
+ * properties of primitive type, a handle adapted to the requested primitive type, so that
+ * the value is never boxed. For all the other properties they simply unbox the value.
+ *
+ * @author Fabio Piro
+ * @see Property
+ */
+abstract class PropertyAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final ConcurrentMap<Property, PropertyAccessor> ACCESSORS
+            = new ConcurrentHashMap<Property, PropertyAccessor>();
+
+    final Property property;
+
+    /**
+     * The accessor of the elements, selected once from the property type, or {@code null} if not an array.
+     */
+    final ArrayAccessor arrayAccessor;
+
+    PropertyAccessor(Property property) {
+        this.property = property;
+        this.arrayAccessor = ArrayAccessor.forClass(property.getType());
+    }
+
+    /**
+     * Returns the shared accessor of the given property, creating it at the first request.
+     *
+     * @param property the property to access, cannot be {@code null}
+     * @return the accessor of the property
+     */
+    static PropertyAccessor forProperty(Property property) {
+        PropertyAccessor accessor = ACCESSORS.get(property);
+
+        if (accessor == null) {
+            accessor = create(property);
+            PropertyAccessor previous = ACCESSORS.putIfAbsent(property, accessor);
+
+            if (previous != null) {
+                accessor = previous;
+            }
+        }
+
+        return accessor;
+    }
+
+    private static PropertyAccessor create(Property property) {
+        ClassAccessor generated = ClassAccessor.forGeneratedClass(getDeclaringClass(property));
+        int ordinal = (generated != null) ? generated.getOrdinal(property) : -1;
+
+        if (ordinal >= 0 && (generated.isReadable(ordinal) || generated.isWritable(ordinal))) {
+            // The directions not generated (ex: the field of a property with only a getter) use the handles
+            boolean isComplete = generated.isReadable(ordinal) == isReadable(property)
+                    && generated.isWritable(ordinal) == isWritable(property);
+
+            return new GeneratedAccessor(property, generated, ordinal, isComplete ? null : createHandles(property));
+        }
+
+        return createHandles(property);
+    }
+
+    private static PropertyAccessor createHandles(Property property) {
+        MethodHandle getter = null;
+        MethodHandle setter = null;
+
+        try {
+            if (property.getReadMethod() != null) {
+                getter = MethodHandles.lookup().unreflect(accessible(property.getReadMethod()));
+            } else if (property.getField() != null) {
+                getter = MethodHandles.lookup().unreflectGetter(accessible(property.getField()));
+            }
+
+            if (property.getWriteMethod() != null) {
+                setter = MethodHandles.lookup().unreflect(accessible(property.getWriteMethod()));
+            } else if (property.getField() != null && !isFinal(property.getField())) {
+                setter = MethodHandles.lookup().unreflectSetter(accessible(property.getField()));
+            }
+        } catch (IllegalAccessException e) {
+            return new ReflectiveAccessor(property);
+        } catch (RuntimeException e) {
+            // ex: SecurityException, or an inaccessible module on the newer platforms
+            return new ReflectiveAccessor(property);
+        }
+
+        return new MethodHandleAccessor(property, getter, setter);
+    }
+
+    private static Class<?> getDeclaringClass(Property property) {
+        if (property.getReadMethod() != null) {
+            return property.getReadMethod().getDeclaringClass();
+        } else if (property.getWriteMethod() != null) {
+            return property.getWriteMethod().getDeclaringClass();
+        } else {
+            return property.getField().getDeclaringClass();
+        }
+    }
+
+    private static <T extends AccessibleObject> T accessible(T object) {
+        if (!object.isAccessible()) {
+            object.setAccessible(true);
+        }
+
+        return object;
+    }
+
+    private static boolean isFinal(Field field) {
+        return Modifier.isFinal(field.getModifiers());
+    }
+
+    /**
+     * Returns true if the given property has a getter, or a field.
+     *
+     * @param property the property, cannot be {@code null}
+     * @return true if readable
+     */
+    static boolean isReadable(Property property) {
+        return property.getReadMethod() != null || property.getField() != null;
+    }
+
+    /**
+     * Returns true if the given property has a setter, or a not final field.
+     *
+     * @param property the property, cannot be {@code null}
+     * @return true if writable
+     */
+    static boolean isWritable(Property property) {
+        return property.getWriteMethod() != null || (property.getField() != null && !isFinal(property.getField()));
+    }
+
+    /**
+     * Returns the value of the property in the given object.
+     *
+     * @param obj the object whose property value is to be extracted
+     * @return the property value
+     * @throws ReflectionException if the property is not readable, or the getter throws an exception
+     */
+    abstract Object get(Object obj);
+
+    /**
+     * Sets the value of the property in the given object.
+     *
+     * @param obj   the object whose property value is to be updated
+     * @param value the value to set, can be {@code null}
+     * @throws ReflectionException if the property is not writable, or the setter throws an exception
+     */
+    abstract void set(Object obj, Object value);
+
+    /**
+     * Returns the value of the property in the given object, as an int.
+     *
+     * @param obj the object whose property value is to be extracted
+     * @return the property value
+     * @throws ReflectionException      if the property is not readable, or the getter throws an exception
+     * @throws NullPointerException     if the property value is {@code null}
+     * @throws IllegalArgumentException if the property value cannot be widened to an int
+     */
+    int getInt(Object obj) {
+        return Primitives.toInt(get(obj), property);
+    }
+
+    /**
+     * Returns the value of the property in the given object, as a long.
+     *
+     * @param obj the object whose property value is to be extracted
+     * @return the property value
+     * @throws ReflectionException      if the property is not readable, or the getter throws an exception
+     * @throws NullPointerException     if the property value is {@code null}
+     * @throws IllegalArgumentException if the property value cannot be widened to a long
+     */
+    long getLong(Object obj) {
+        return Primitives.toLong(get(obj), property);
+    }
+
+    /**
+     * Returns the value of the property in the given object, as a double.
+     *
+     * @param obj the object whose property value is to be extracted
+     * @return the property value
+     * @throws ReflectionException      if the property is not readable, or the getter throws an exception
+     * @throws NullPointerException     if the property value is {@code null}
+     * @throws IllegalArgumentException if the property value cannot be widened to a double
+     */
+    double getDouble(Object obj) {
+        return Primitives.toDouble(get(obj), property);
+    }
+
+    /**
+     * Returns the value of the property in the given object, as a boolean.
+     *
+     * @param obj the object whose property value is to be extracted
+     * @return the property value
+     * @throws ReflectionException      if the property is not readable, or the getter throws an exception
+     * @throws NullPointerException     if the property value is {@code null}
+     * @throws IllegalArgumentException if the property value is not a boolean
+     */
+    boolean getBoolean(Object obj) {
+        return Primitives.toBoolean(get(obj), property);
+    }
+
+    /**
+     * Sets an int value of the property in the given object.
+     *
+     * @param obj   the object whose property value is to be updated
+     * @param value the value to set
+     * @throws ReflectionException if the property is not writable, or the setter throws an exception
+     */
+    void setInt(Object obj, int value) {
+        set(obj, Primitives.valueOf(value, property.getType(), property));
+    }
+
+    /**
+     * Sets a long value of the property in the given object.
+     *
+     * @param obj   the object whose property value is to be updated
+     * @param value the value to set
+     * @throws ReflectionException if the property is not writable, or the setter throws an exception
+     */
+    void setLong(Object obj, long value) {
+        set(obj, Primitives.valueOf(value, property.getType(), property));
+    }
+
+    /**
+     * Sets a double value of the property in the given object.
+     *
+     * @param obj   the object whose property value is to be updated
+     * @param value the value to set
+     * @throws ReflectionException if the property is not writable, or the setter throws an exception
+     */
+    void setDouble(Object obj, double value) {
+        set(obj, Primitives.valueOf(value, property.getType(), property));
+    }
+
+    /**
+     * Sets a boolean value of the property in the given object.
+     *
+     * @param obj   the object whose property value is to be updated
+     * @param value the value to set
+     * @throws ReflectionException if the property is not writable, or the setter throws an exception
+     */
+    void setBoolean(Object obj, boolean value) {
+        set(obj, Primitives.valueOf(value, property.getType(), property));
+    }
+
+    /*
+     * Invokes the adapted method handles, the fast path.
+     */
+    private static final class MethodHandleAccessor extends PropertyAccessor {
+
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        // Only for the primitive properties, null when the conversion is not a widening one
+        private final MethodHandle intGetter;
+        private final MethodHandle longGetter;
+        private final MethodHandle doubleGetter;
+        private final MethodHandle booleanGetter;
+        private final MethodHandle intSetter;
+        private final MethodHandle longSetter;
+        private final MethodHandle doubleSetter;
+        private final MethodHandle booleanSetter;
+
+        MethodHandleAccessor(Property property, MethodHandle getter, MethodHandle setter) {
+            super(property);
+            this.getter = (getter != null) ? getter.asType(GETTER_TYPE) : null;
+            this.setter = (setter != null) ? setter.asType(SETTER_TYPE) : null;
+
+            boolean isPrimitive = property.getType().isPrimitive();
+            this.intGetter = isPrimitive ? adaptGetter(getter, int.class) : null;
+            this.longGetter = isPrimitive ? adaptGetter(getter, long.class) : null;
+            this.doubleGetter = isPrimitive ? adaptGetter(getter, double.class) : null;
+            this.booleanGetter = isPrimitive ? adaptGetter(getter, boolean.class) : null;
+            this.intSetter = isPrimitive ? adaptSetter(setter, int.class) : null;
+            this.longSetter = isPrimitive ? adaptSetter(setter, long.class) : null;
+            this.doubleSetter = isPrimitive ? adaptSetter(setter, double.class) : null;
+            this.booleanSetter = isPrimitive ? adaptSetter(setter, boolean.class) : null;
+        }
+
+        private static MethodHandle adaptGetter(MethodHandle getter, Class<?> primitiveType) {
+            return adapt(getter, MethodType.methodType(primitiveType, Object.class));
+        }
+
+        private static MethodHandle adaptSetter(MethodHandle setter, Class<?> primitiveType) {
+            return adapt(setter, MethodType.methodType(void.class, Object.class, primitiveType));
+        }
+
+        private static MethodHandle adapt(MethodHandle handle, MethodType type) {
+            if (handle == null) {
+                return null;
+            }
+
+            try {
+                return handle.asType(type);
+            } catch (WrongMethodTypeException e) {
+                return null;// ex: a long property read as an int
+            }
+        }
+
+        @Override
+        Object get(Object obj) {
+            if (getter == null) {
+                return property.get(obj);// not readable: let the property report the error
+            }
+
+            try {
+                return (Object) getter.invokeExact(obj);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw getterException(e);
+            }
+        }
+
+        @Override
+        void set(Object obj, Object value) {
+            if (setter == null) {
+                property.set(obj, value);// not writable: let the property report the error
+                return;
+            }
+
+            try {
+                setter.invokeExact(obj, value);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw setterException(e);
+            }
+        }
+
+        @Override
+        int getInt(Object obj) {
+            if (intGetter == null) {
+                return super.getInt(obj);
+            }
+
+            try {
+                return (int) intGetter.invokeExact(obj);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw getterException(e);
+            }
+        }
+
+        @Override
+        long getLong(Object obj) {
+            if (longGetter == null) {
+                return super.getLong(obj);
+            }
+
+            try {
+                return (long) longGetter.invokeExact(obj);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw getterException(e);
+            }
+        }
+
+        @Override
+        double getDouble(Object obj) {
+            if (doubleGetter == null) {
+                return super.getDouble(obj);
+            }
+
+            try {
+                return (double) doubleGetter.invokeExact(obj);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw getterException(e);
+            }
+        }
+
+        @Override
+        boolean getBoolean(Object obj) {
+            if (booleanGetter == null) {
+                return super.getBoolean(obj);
+            }
+
+            try {
+                return (boolean) booleanGetter.invokeExact(obj);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw getterException(e);
+            }
+        }
+
+        @Override
+        void setInt(Object obj, int value) {
+            if (intSetter == null) {
+                super.setInt(obj, value);
+                return;
+            }
+
+            try {
+                intSetter.invokeExact(obj, value);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw setterException(e);
+            }
+        }
+
+        @Override
+        void setLong(Object obj, long value) {
+            if (longSetter == null) {
+                super.setLong(obj, value);
+                return;
+            }
+
+            try {
+                longSetter.invokeExact(obj, value);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw setterException(e);
+            }
+        }
+
+        @Override
+        void setDouble(Object obj, double value) {
+            if (doubleSetter == null) {
+                super.setDouble(obj, value);
+                return;
+            }
+
+            try {
+                doubleSetter.invokeExact(obj, value);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw setterException(e);
+            }
+        }
+
+        @Override
+        void setBoolean(Object obj, boolean value) {
+            if (booleanSetter == null) {
+                super.setBoolean(obj, value);
+                return;
+            }
+
+            try {
+                booleanSetter.invokeExact(obj, value);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw setterException(e);
+            }
+        }
+
+        private ReflectionException getterException(Throwable e) {
+            return new ReflectionException("Cannot get the value of " + property + ". The getter"
+                    + " invocation was made, but an error occurs.", e);
+        }
+
+        private ReflectionException setterException(Throwable e) {
+            return new ReflectionException("Cannot set the value of " + property + ". The setter"
+                    + " invocation was made, but an error occurs.", e);
+        }
+    }
+
+    /*
+     * Delegates to the accessor generated at compile time, without any reflection.
+     */
+    private static final class GeneratedAccessor extends PropertyAccessor {
+
+        private final ClassAccessor accessor;
+        private final int ordinal;
+        private final boolean isReadable;
+        private final boolean isWritable;
+        private final PropertyAccessor fallback;// for the directions not generated, or null
+
+        GeneratedAccessor(Property property, ClassAccessor accessor, int ordinal, PropertyAccessor fallback) {
+            super(property);
+            this.accessor = accessor;
+            this.ordinal = ordinal;
+            this.isReadable = accessor.isReadable(ordinal);
+            this.isWritable = accessor.isWritable(ordinal);
+            this.fallback = fallback;
+        }
+
+        @Override
+        Object get(Object obj) {
+            if (!isReadable && fallback != null) {
+                return fallback.get(obj);
+            }
+
+            return accessor.get(obj, ordinal);
+        }
+
+        @Override
+        void set(Object obj, Object value) {
+            if (!isWritable && fallback != null) {
+                fallback.set(obj, value);
+                return;
+            }
+
+            try {
+                accessor.set(obj, ordinal, value);
+            } catch (ClassCastException e) {
+                throw setterException(e);
+            } catch (NullPointerException e) {
+                throw setterException(e);
+            }
+        }
+
+        private ReflectionException setterException(RuntimeException e) {
+            return new ReflectionException("Cannot set the value of " + property + ". The setter"
+                    + " invocation was made, but an error occurs.", e);
+        }
+    }
+
+    /*
+     * Delegates to the reflective property methods, the fallback.
+     */
+    private static final class ReflectiveAccessor extends PropertyAccessor {
+
+        ReflectiveAccessor(Property property) {
+            super(property);
+        }
+
+        @Override
+        Object get(Object obj) {
+            return property.get(obj);
+        }
+
+        @Override
+        void set(Object obj, Object value) {
+            property.set(obj, value);
+        }
+    }
+}
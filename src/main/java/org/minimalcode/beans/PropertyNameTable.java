@@ -0,0 +1,178 @@
+/*
+ * Copyright 2015 Fabio Piro (minimalcode.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.minimalcode.beans;
+
+import org.minimalcode.reflect.Bean;
+import org.minimalcode.reflect.Property;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Internal: Immutable open-addressing table of the properties of a class, searchable
+ * by a region of any {@link CharSequence}, so that a property name embedded in a
+ * pattern (ex: "bar" in "foo.bar.zoo") can be found without extracting a substring.
+ *
+ * @author Fabio Piro
+ * @see PropertyPath
+ */
+final class PropertyNameTable {
+
+    private static final ConcurrentMap<Class<?>, PropertyNameTable> TABLES
+            = new ConcurrentHashMap<Class<?>, PropertyNameTable>();
+
+    private final Bean<?> bean;
+    private final PropertyAccessor[] slots;
+    private final int mask;
+
+    private PropertyNameTable(Bean<?> bean) {
+        Collection<Property> properties = bean.getProperties();
+
+        int capacity = Integer.highestOneBit(Math.max(properties.size(), 1) * 2 - 1) << 1;
+        this.bean = bean;
+        this.slots = new PropertyAccessor[capacity];
+        this.mask = capacity - 1;
+
+        for (Property property : properties) {
+            String name = property.getName();
+            int slot = hash(name, 0, name.length()) & mask;
+
+            while (slots[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+
+            slots[slot] = PropertyAccessor.forProperty(property);
+        }
+    }
+
+    /**
+     * Returns the shared table of the given class, building it at the first request.
+     *
+     * @param type the class whose properties are to be indexed, cannot be {@code null}
+     * @return the table of the class
+     */
+    static PropertyNameTable forClass(Class<?> type) {
+        PropertyNameTable table = TABLES.get(type);
+
+        if (table == null) {
+            table = new PropertyNameTable(Bean.forClass(type));
+            PropertyNameTable previous = TABLES.putIfAbsent(type, table);
+
+            if (previous != null) {
+                table = previous;
+            }
+        }
+
+        return table;
+    }
+
+    /**
+     * Returns the {@link Bean} indexed by this table.
+     *
+     * @return the bean, never {@code null}
+     */
+    Bean<?> getBean() {
+        return bean;
+    }
+
+    /**
+     * Returns the property whose name is equal to the given region of chars.
+     *
+     * @param chars the chars containing the name, cannot be {@code null}
+     * @param start the position of the first char of the name
+     * @param end   the position after the last char of the name
+     * @return the property with the given name, or {@code null} if not found
+     */
+    Property getProperty(CharSequence chars, int start, int end) {
+        PropertyAccessor accessor = getAccessor(chars, start, end);
+        return (accessor != null) ? accessor.property : null;
+    }
+
+    /**
+     * Same of {@link #getProperty(CharSequence, int, int)}, but throws an exception instead of return null.
+     *
+     * @throws NullPointerException if the class does not have a property with the given name
+     */
+    Property getPropertyOrThrow(CharSequence chars, int start, int end) {
+        return getAccessorOrThrow(chars, start, end).property;
+    }
+
+    /**
+     * Returns the accessor of the property whose name is equal to the given region of chars.
+     *
+     * @param chars the chars containing the name, cannot be {@code null}
+     * @param start the position of the first char of the name
+     * @param end   the position after the last char of the name
+     * @return the accessor of the property with the given name, or {@code null} if not found
+     */
+    PropertyAccessor getAccessor(CharSequence chars, int start, int end) {
+        int length = end - start;
+        int slot = hash(chars, start, end) & mask;
+        PropertyAccessor accessor;
+
+        while ((accessor = slots[slot]) != null) {
+            String name = accessor.property.getName();
+
+            if (name.length() == length && regionMatches(name, chars, start)) {
+                return accessor;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return null;
+    }
+
+    /**
+     * Same of {@link #getAccessor(CharSequence, int, int)}, but throws an exception instead of return null.
+     *
+     * @throws NullPointerException if the class does not have a property with the given name
+     */
+    PropertyAccessor getAccessorOrThrow(CharSequence chars, int start, int end) {
+        PropertyAccessor accessor = getAccessor(chars, start, end);
+
+        if (accessor == null) {
+            throw new NullPointerException("Cannot found a property with name '"
+                    + chars.subSequence(start, end) + "' in " + bean + ".");
+        }
+
+        return accessor;
+    }
+
+    /*
+     * Same function of String.hashCode(), but applied on a region.
+     */
+    private static int hash(CharSequence chars, int start, int end) {
+        int hash = 0;
+
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + chars.charAt(i);
+        }
+
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean regionMatches(String name, CharSequence chars, int start) {
+        for (int i = 0, length = name.length(); i < length; i++) {
+            if (name.charAt(i) != chars.charAt(start + i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,474 @@
+/*
+ * Copyright 2015 Fabio Piro (minimalcode.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.minimalcode.beans;
+
+import org.minimalcode.reflect.Bean;
+import org.minimalcode.reflect.Property;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiled, immutable and thread-safe representation of a property pattern
+ * (ex: "order.items[3].price"), obtained through {@link ObjectWrapper#compile(String)}.
+ *
+ * <p> The pattern is parsed only once: each '.' separated segment holds its property
+ * name, its optional indexed\mapped '[]' key and the already parsed integer index.
+ * In addition to this, each segment remembers the last {@link Property} resolved
+ * for the runtime class found while traversing, so repeated evaluations against
+ * objects of the same classes skip both the parsing and the {@link Bean} lookups.
+ *
+ * <p> The indexed\mapped key of a segment can be the "[*]" wildcard (ex: "orders[*].lines[*].total"),
+ * expanded to all the elements of the property by {@link ObjectWrapper#iteratePathValues(PropertyPath)}.
+ *
+ * <p> The {@link String} pattern methods of {@link ObjectWrapper} share a bounded
+ * cache of compiled paths, hence the same few hundred patterns evaluated over and
+ * over are parsed once per application. Once the cache is full, a pattern seen for
+ * the first time is not compiled at all, but directly walked by offsets on the original
+ * string, and a pattern seen again replaces a compiled path not used recently.
+ *
+ * @author Fabio Piro
+ * @see ObjectWrapper
+ */
+public final class PropertyPath {
+
+    /**
+     * Maximum number of compiled paths kept by the shared pattern cache.
+     */
+    static final int CACHE_CAPACITY = 1024;
+
+    private static final BoundedCache<String, PropertyPath> CACHE
+            = new BoundedCache<String, PropertyPath>(CACHE_CAPACITY);
+
+    private final String pattern;
+    private final Segment[] segments;
+
+    private PropertyPath(String pattern, Segment[] segments) {
+        this.pattern = pattern;
+        this.segments = segments;
+    }
+
+    /**
+     * Returns the compiled path for the given pattern, from the shared cache if present.
+     *
+     * @param pattern the pattern to compile, cannot be {@code null}
+     * @return the compiled path
+     * @throws IllegalArgumentException if the pattern parameter is {@code null}
+     * @throws IllegalArgumentException if the pattern parameter contains an unclosed indexed\mapped '[]' notation
+     */
+    static PropertyPath forPattern(String pattern) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("Cannot compile a 'null' propertyPattern.");
+        }
+
+        PropertyPath path = forCachedPattern(pattern);
+        return (path != null) ? path : parse(pattern);
+    }
+
+    /**
+     * Returns the compiled path for the given pattern, only if already cached or if it is admitted
+     * into the cache, else {@code null}.
+     *
+     * <p> The cache holds at most {@link #CACHE_CAPACITY} paths, so an unbounded stream of distinct patterns
+     * cannot exhaust the heap. Once full, a new path is admitted only at the second request of its pattern,
+     * in place of a path not requested recently. On a {@code null} result the caller is expected to walk the
+     * pattern string directly, without compiling it.
+     *
+     * @param pattern the pattern to compile, cannot be {@code null}
+     * @return the compiled path, or {@code null} if not cached and not admitted
+     * @throws IllegalArgumentException if the pattern parameter contains an unclosed indexed\mapped '[]' notation
+     */
+    static PropertyPath forCachedPattern(String pattern) {
+        PropertyPath path = CACHE.get(pattern);
+
+        if (path == null && CACHE.admits(pattern)) {
+            path = CACHE.putIfAbsent(pattern, parse(pattern));
+        }
+
+        return path;
+    }
+
+    private static PropertyPath parse(String pattern) {
+        checkSquares(pattern);
+
+        List<Segment> segments = new ArrayList<Segment>(4);
+        int length = pattern.length();
+        int start = 0;
+
+        while (true) {
+            int end = indexOfSegmentEnd(pattern, start);
+            segments.add(new Segment(pattern, start, end, indexOfSquare(pattern, start, end)));
+
+            if (end >= length) {
+                break;
+            }
+
+            start = end + 1;
+        }
+
+        return new PropertyPath(pattern, segments.toArray(new Segment[segments.size()]));
+    }
+
+    /**
+     * Internal: Verifies that every '[' notation in the pattern is closed by a ']', before the
+     * pattern evaluation starts (and hence before any auto-instancing side effect).
+     *
+     * @param pattern the pattern to check, cannot be {@code null}
+     * @throws IllegalArgumentException if the whole string was parsed but '[x]'
+     *                                  notation is still "open" without an enclosing ']'
+     */
+    static void checkSquares(String pattern) {
+        boolean insideSquares = false;
+
+        for (int i = 0, length = pattern.length(); i < length; i++) {
+            char current = pattern.charAt(i);
+
+            if (!insideSquares) {
+                insideSquares = (current == '[');
+            } else if (current == ']') {
+                insideSquares = false;
+            }
+        }
+
+        if (insideSquares) {
+            throw new IllegalArgumentException("Cannot found the closing ']' suffix in '" + pattern + "' pattern.");
+        }
+    }
+
+    /**
+     * Internal: Optimized version of indexOf that searches the first '.' position starting from
+     * the given offset, while taking in consideration (and ignoring) possible dots inside the
+     * square notation (like "map[foo.bar].zoo").
+     *
+     * <p> A '.' in the first position of the segment is not a separator, as a segment starting
+     * with '.' is an illegal pattern anyway, and will fail on the property lookup.
+     *
+     * @param pattern the pattern to parse, cannot be {@code null}
+     * @param start   the position of the first char of the segment
+     * @return the position of the '.' closing the segment, or the pattern length if it is the last one
+     */
+    static int indexOfSegmentEnd(String pattern, int start) {
+        int length = pattern.length();
+        boolean insideSquares = false;
+
+        for (int i = start; i < length; i++) {
+            char current = pattern.charAt(i);
+
+            if (!insideSquares) {
+                if (current == '.' && i > start) {
+                    return i;
+                } else if (current == '[') {
+                    insideSquares = true;
+                }
+            } else if (current == ']') {
+                insideSquares = false;
+            }
+        }
+
+        return length;
+    }
+
+    /**
+     * Internal: Searches the first char of the last segment of a pattern, with the same separators
+     * of {@link #indexOfSegmentEnd(String, int)}.
+     *
+     * @param pattern the pattern to parse, cannot be {@code null}
+     * @return the position of the first char of the last segment, 0 if the pattern has a single segment
+     */
+    static int indexOfLastSegment(String pattern) {
+        int length = pattern.length();
+        int start = 0;
+
+        for (int end = indexOfSegmentEnd(pattern, 0); end < length; end = indexOfSegmentEnd(pattern, start)) {
+            start = end + 1;
+        }
+
+        return start;
+    }
+
+    /**
+     * Internal: Searches the '[' opening the indexed\mapped notation of a segment. As in the original
+     * recursive parser, the last '[' found outside of a square notation wins, and a '[' in the first
+     * position of the segment is not considered (the segment has no property name).
+     *
+     * @param pattern the pattern to parse, cannot be {@code null}
+     * @param start   the position of the first char of the segment
+     * @param end     the position after the last char of the segment
+     * @return the position of the opening '[', or -1 if the segment is a simple property
+     */
+    static int indexOfSquare(String pattern, int start, int end) {
+        int result = -1;
+        boolean insideSquares = false;
+
+        for (int i = start; i < end; i++) {
+            char current = pattern.charAt(i);
+
+            if (!insideSquares) {
+                if (current == '[') {
+                    insideSquares = true;
+                    result = (i > start) ? i : result;
+                }
+            } else if (current == ']') {
+                insideSquares = false;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Internal: Allocation-free version of {@link Integer#parseInt(String)} over a region of the pattern.
+     *
+     * @param pattern the pattern to parse, cannot be {@code null}
+     * @param start   the position of the first char of the index
+     * @param end     the position after the last char of the index
+     * @return the parsed index
+     * @throws NumberFormatException if the region is not a valid integer (thrown without message)
+     */
+    static int parseIndex(CharSequence pattern, int start, int end) {
+        if (start >= end) {
+            throw new NumberFormatException();
+        }
+
+        boolean isNegative = false;
+        int i = start;
+        char first = pattern.charAt(i);
+
+        if (first == '-' || first == '+') {
+            isNegative = (first == '-');
+
+            if (++i == end) {
+                throw new NumberFormatException();
+            }
+        }
+
+        long result = 0;
+
+        for (; i < end; i++) {
+            int digit = pattern.charAt(i) - '0';
+
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException();
+            }
+
+            result = result * 10 + digit;
+
+            if (result > (long) Integer.MAX_VALUE + 1) {
+                throw new NumberFormatException();
+            }
+        }
+
+        result = isNegative ? -result : result;
+
+        if (result > Integer.MAX_VALUE) {
+            throw new NumberFormatException();
+        }
+
+        return (int) result;
+    }
+
+    /**
+     * Returns the original pattern of this path.
+     *
+     * @return the pattern, never {@code null}
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Returns the number of '.' separated segments of this path.
+     *
+     * @return the number of segments, always greater than 0
+     */
+    public int size() {
+        return segments.length;
+    }
+
+    Segment getSegment(int i) {
+        return segments[i];
+    }
+
+    /*
+     * Compares two paths segment by segment, a path comes before the longer paths it is a prefix of.
+     * Sorting by this order makes the paths sharing a prefix contiguous, ex: "a", "a.b", "a.c", "a[1].d", "a[0]".
+     */
+    static int compare(PropertyPath a, PropertyPath b) {
+        int size = Math.min(a.segments.length, b.segments.length);
+
+        for (int i = 0; i < size; i++) {
+            int result = a.segments[i].compareTo(b.segments[i]);
+
+            if (result != 0) {
+                return result;
+            }
+        }
+
+        return a.segments.length - b.segments.length;
+    }
+
+    /*
+     * The not yet traversed part of the pattern, starting from the given segment.
+     * Used only for building the error messages.
+     */
+    String remainingPattern(int i) {
+        return pattern.substring(segments[i].start);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof PropertyPath && pattern.equals(((PropertyPath) o).pattern));
+    }
+
+    @Override
+    public int hashCode() {
+        return pattern.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "PropertyPath{pattern='" + pattern + "'}";
+    }
+
+    /**
+     * Internal: a single '.' separated segment, like "foo", "myList[1]" or "myMap[my.key]".
+     */
+    static final class Segment {
+
+        final String name;
+        final String key;
+        final int index;
+        final boolean isSquare;
+        final boolean isIndexValid;
+        final boolean isWildcard;// "[*]", iterated by a PathIterator
+        final int start;
+
+        private volatile Resolution resolution;
+
+        Segment(String pattern, int start, int end, int square) {
+            this.start = start;
+            this.isSquare = square > start;
+
+            if (isSquare) {
+                this.name = pattern.substring(start, square);
+                this.key = pattern.substring(square + 1, end - 1);// removes ']'
+
+                int parsed;
+                boolean isValid;
+
+                try {
+                    parsed = parseIndex(pattern, square + 1, end - 1);
+                    isValid = true;
+                } catch (NumberFormatException e) {
+                    parsed = -1;
+                    isValid = false;
+                }
+
+                this.index = parsed;
+                this.isIndexValid = isValid;
+                this.isWildcard = key.equals("*");
+            } else {
+                this.name = pattern.substring(start, end);
+                this.key = null;
+                this.index = -1;
+                this.isIndexValid = false;
+                this.isWildcard = false;
+            }
+        }
+
+        /**
+         * Returns the property of this segment in the given class, reusing the last
+         * resolved one if the class didn't change since the previous evaluation.
+         *
+         * @throws NullPointerException if the class does not have a property with the segment name
+         */
+        Property resolve(Class<?> type) {
+            return resolution(type).accessor.property;
+        }
+
+        /**
+         * Same of {@link #resolve(Class)}, but returns the accessor of the property.
+         *
+         * @throws NullPointerException if the class does not have a property with the segment name
+         */
+        PropertyAccessor resolveAccessor(Class<?> type) {
+            return resolution(type).accessor;
+        }
+
+        private Resolution resolution(Class<?> type) {
+            Resolution current = resolution;
+
+            if (current == null || current.type != type) {
+                PropertyNameTable table = PropertyNameTable.forClass(type);
+                current = new Resolution(type, table.getAccessorOrThrow(name, 0, name.length()));
+                resolution = current;
+            }
+
+            return current;
+        }
+
+        /**
+         * Compares two segments: by name first, then by '[]' key, if any. The valid integer indexes come
+         * first, in descending order, so that a batch of writes on the same List or array (ex: "items[0]"
+         * .. "items[9]") grows it only once. Two segments comparing to 0 always have the same text.
+         */
+        int compareTo(Segment other) {
+            int result = name.compareTo(other.name);
+
+            if (result != 0) {
+                return result;
+            } else if (isSquare != other.isSquare) {
+                return isSquare ? 1 : -1;
+            } else if (!isSquare) {
+                return 0;
+            } else if (isIndexValid != other.isIndexValid) {
+                return isIndexValid ? -1 : 1;
+            } else if (isIndexValid && index != other.index) {
+                return (index > other.index) ? -1 : 1;
+            }
+
+            return key.compareTo(other.key);
+        }
+
+        /**
+         * Returns the parsed integer index of this segment.
+         *
+         * @throws IllegalArgumentException if the key is not a valid integer index
+         */
+        int index(Property property) {
+            if (!isIndexValid) {
+                throw new IllegalArgumentException("The pattern '" + key + "' for the indexed "
+                        + property + " is invalid. Cannot parse the string to a valid integer index.");
+            }
+
+            return index;
+        }
+    }
+
+    /*
+     * Immutable pair, replaced as a whole to be safely published between threads.
+     */
+    private static final class Resolution {
+
+        final Class<?> type;
+        final PropertyAccessor accessor;
+
+        Resolution(Class<?> type, PropertyAccessor accessor) {
+            this.type = type;
+            this.accessor = accessor;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2015 Fabio Piro (minimalcode.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.minimalcode.beans;
+
+/**
+ * Immutable, thread-safe set of the options driving the traversal of the properties by an
+ * {@link ObjectWrapper} or a {@link BeanAccessor}.
+ *
+ * <p> Each {@code with} method returns a modified copy, leaving the original instance unchanged,
+ * so that a single instance can be shared by any number of threads and accessors.
+ *
+ * <p> Example:
+ * <pre>
+ * WrapperOptions options = WrapperOptions.DEFAULT.withAutoGrowing(false).withOutOfBoundsSafety(false);
+ * </pre>
+ *
+ * @author Fabio Piro
+ * @see ObjectWrapper#setOptions(WrapperOptions)
+ * @see BeanAccessor
+ */
+public final class WrapperOptions {
+
+    /**
+     * The default options: auto-growing, auto-instancing and out of bounds safety enabled, exact growth policy,
+     * initial list capacity of 10, iterator caching disabled.
+     */
+    public static final WrapperOptions DEFAULT = new WrapperOptions(true, true, true, GrowthPolicy.EXACT, 10, false);
+
+    private final boolean isAutoGrowing;
+    private final boolean isAutoInstancing;
+    private final boolean isOutOfBoundsSafety;
+    private final GrowthPolicy growthPolicy;
+    private final int initialListCapacity;
+    private final boolean isIteratorCaching;
+
+    private WrapperOptions(boolean isAutoGrowing, boolean isAutoInstancing, boolean isOutOfBoundsSafety,
+                           GrowthPolicy growthPolicy, int initialListCapacity, boolean isIteratorCaching) {
+        this.isAutoGrowing = isAutoGrowing;
+        this.isAutoInstancing = isAutoInstancing;
+        this.isOutOfBoundsSafety = isOutOfBoundsSafety;
+        this.growthPolicy = growthPolicy;
+        this.initialListCapacity = initialListCapacity;
+        this.isIteratorCaching = isIteratorCaching;
+    }
+
+    /**
+     * Returns the status of the Auto-Growing option.
+     *
+     * @return true if enabled
+     * @see ObjectWrapper#setAutoGrowing(boolean)
+     */
+    public boolean isAutoGrowing() {
+        return isAutoGrowing;
+    }
+
+    /**
+     * Returns a copy of these options, with the given Auto-Growing option.
+     *
+     * @param isAutoGrowing the new isAutoGrowing flag option value
+     * @return the modified copy
+     * @see ObjectWrapper#setAutoGrowing(boolean)
+     */
+    public WrapperOptions withAutoGrowing(boolean isAutoGrowing) {
+        return new WrapperOptions(isAutoGrowing, isAutoInstancing, isOutOfBoundsSafety, growthPolicy,
+                initialListCapacity, isIteratorCaching);
+    }
+
+    /**
+     * Returns the status of the Auto-Instancing option.
+     *
+     * @return true if enabled
+     * @see ObjectWrapper#setAutoInstancing(boolean)
+     */
+    public boolean isAutoInstancing() {
+        return isAutoInstancing;
+    }
+
+    /**
+     * Returns a copy of these options, with the given Auto-Instancing option.
+     *
+     * @param isAutoInstancing the new isAutoInstancing flag option value
+     * @return the modified copy
+     * @see ObjectWrapper#setAutoInstancing(boolean)
+     */
+    public WrapperOptions withAutoInstancing(boolean isAutoInstancing) {
+        return new WrapperOptions(isAutoGrowing, isAutoInstancing, isOutOfBoundsSafety, growthPolicy,
+                initialListCapacity, isIteratorCaching);
+    }
+
+    /**
+     * Returns the status of the OutOfBounds-Safety option.
+     *
+     * @return true if enabled
+     * @see ObjectWrapper#setOutOfBoundsSafety(boolean)
+     */
+    public boolean isOutOfBoundsSafety() {
+        return isOutOfBoundsSafety;
+    }
+
+    /**
+     * Returns a copy of these options, with the given OutOfBounds-Safety option.
+     *
+     * @param isOutOfBoundsSafety the new isOutOfBoundsSafety flag option value
+     * @return the modified copy
+     * @see ObjectWrapper#setOutOfBoundsSafety(boolean)
+     */
+    public WrapperOptions withOutOfBoundsSafety(boolean isOutOfBoundsSafety) {
+        return new WrapperOptions(isAutoGrowing, isAutoInstancing, isOutOfBoundsSafety, growthPolicy,
+                initialListCapacity, isIteratorCaching);
+    }
+
+    /**
+     * Returns the growth policy of the auto-grown arrays.
+     *
+     * @return the growth policy, never {@code null}
+     * @see ObjectWrapper#setGrowthPolicy(GrowthPolicy)
+     */
+    public GrowthPolicy getGrowthPolicy() {
+        return growthPolicy;
+    }
+
+    /**
+     * Returns a copy of these options, with the given growth policy.
+     *
+     * @param growthPolicy the new growth policy
+     * @return the modified copy
+     * @throws IllegalArgumentException if the growthPolicy parameter is {@code null}
+     * @see ObjectWrapper#setGrowthPolicy(GrowthPolicy)
+     */
+    public WrapperOptions withGrowthPolicy(GrowthPolicy growthPolicy) {
+        if (growthPolicy == null) {
+            throw new IllegalArgumentException("Cannot set a 'null' growthPolicy.");
+        }
+
+        return new WrapperOptions(isAutoGrowing, isAutoInstancing, isOutOfBoundsSafety, growthPolicy,
+                initialListCapacity, isIteratorCaching);
+    }
+
+    /**
+     * Returns the initial capacity of the auto-instanced lists.
+     *
+     * @return the initial capacity
+     * @see ObjectWrapper#setInitialListCapacity(int)
+     */
+    public int getInitialListCapacity() {
+        return initialListCapacity;
+    }
+
+    /**
+     * Returns a copy of these options, with the given initial capacity of the auto-instanced lists.
+     *
+     * @param initialListCapacity the new initial capacity
+     * @return the modified copy
+     * @throws IllegalArgumentException if the initialListCapacity parameter is negative
+     * @see ObjectWrapper#setInitialListCapacity(int)
+     */
+    public WrapperOptions withInitialListCapacity(int initialListCapacity) {
+        if (initialListCapacity < 0) {
+            throw new IllegalArgumentException("Cannot set a negative initialListCapacity '" + initialListCapacity + "'.");
+        }
+
+        return new WrapperOptions(isAutoGrowing, isAutoInstancing, isOutOfBoundsSafety, growthPolicy,
+                initialListCapacity, isIteratorCaching);
+    }
+
+    /**
+     * Returns the status of the Iterator-Caching option. It is honored only by an {@link ObjectWrapper},
+     * as the stateless {@link BeanAccessor} never caches any iterator.
+     *
+     * @return true if enabled
+     * @see ObjectWrapper#setIteratorCaching(boolean)
+     */
+    public boolean isIteratorCaching() {
+        return isIteratorCaching;
+    }
+
+    /**
+     * Returns a copy of these options, with the given Iterator-Caching option.
+     *
+     * @param isIteratorCaching the new isIteratorCaching flag option value
+     * @return the modified copy
+     * @see ObjectWrapper#setIteratorCaching(boolean)
+     */
+    public WrapperOptions withIteratorCaching(boolean isIteratorCaching) {
+        return new WrapperOptions(isAutoGrowing, isAutoInstancing, isOutOfBoundsSafety, growthPolicy,
+                initialListCapacity, isIteratorCaching);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof WrapperOptions)) {
+            return false;
+        }
+
+        WrapperOptions that = (WrapperOptions) o;
+        return isAutoGrowing == that.isAutoGrowing && isAutoInstancing == that.isAutoInstancing
+                && isOutOfBoundsSafety == that.isOutOfBoundsSafety && growthPolicy.equals(that.growthPolicy)
+                && initialListCapacity == that.initialListCapacity && isIteratorCaching == that.isIteratorCaching;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (isAutoGrowing ? 1 : 0);
+        result = 31 * result + (isAutoInstancing ? 1 : 0);
+        result = 31 * result + (isOutOfBoundsSafety ? 1 : 0);
+        result = 31 * result + growthPolicy.hashCode();
+        result = 31 * result + initialListCapacity;
+        result = 31 * result + (isIteratorCaching ? 1 : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "WrapperOptions{isAutoGrowing=" + isAutoGrowing + ", isAutoInstancing=" + isAutoInstancing
+                + ", isOutOfBoundsSafety=" + isOutOfBoundsSafety + ", growthPolicy=" + growthPolicy
+                + ", initialListCapacity=" + initialListCapacity + ", isIteratorCaching=" + isIteratorCaching + '}';
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2015 Fabio Piro (minimalcode.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.minimalcode.beans;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Internal: Mutable, not thread-safe state of a single {@link ObjectWrapper}, kept across the
+ * operations: the arrays grown beyond their logical size by a not exact {@link GrowthPolicy},
+ * and the positional iterator of the last indexed read (when the iterator caching is enabled).
+ *
+ * <p> The stateless {@link BeanAccessor} operations run without any state.
+ *
+ * @author Fabio Piro
+ */
+final class WrapperState {
+
+    // The arrays auto-grown beyond their logical size, by a not exact growth policy
+    private Map<Object, GrownArray> grownArrays;
+
+    // The positional iterator of the last indexed Iterable or sequential List read
+    private Object cursorSource;
+    private int cursorSize;
+    private Iterator<?> cursor;
+    private int cursorIndex;
+    private Object cursorElement;
+
+    /**
+     * Remembers the logical size of an array grown (or instanced) by a not exact growth policy,
+     * forgetting the previous array of the same property, if any.
+     *
+     * @param owner         the object owning the array property
+     * @param accessor      the accessor of the array property
+     * @param previousArray the array replaced by the grown one, or {@code null} if instanced
+     * @param array         the grown array
+     * @param size          the logical size of the grown array
+     */
+    void trackArray(Object owner, PropertyAccessor accessor, Object previousArray, Object array, int size) {
+        if (grownArrays == null) {
+            grownArrays = new IdentityHashMap<Object, GrownArray>();
+        }
+
+        if (previousArray != null) {
+            grownArrays.remove(previousArray);
+        }
+
+        grownArrays.put(array, new GrownArray(owner, accessor, size));
+    }
+
+    /**
+     * Updates the logical size of a grown array, if tracked, after a value is set at the given index.
+     *
+     * @param array the array
+     * @param index the index just set
+     */
+    void updateArraySize(Object array, int index) {
+        if (grownArrays != null && !grownArrays.isEmpty()) {
+            GrownArray grownArray = grownArrays.get(array);
+
+            if (grownArray != null && index >= grownArray.size) {
+                grownArray.size = index + 1;
+            }
+        }
+    }
+
+    /**
+     * Trims each tracked array, still referenced by its property, to its logical size, then forgets all of them.
+     */
+    void trimArrays() {
+        if (grownArrays == null || grownArrays.isEmpty()) {
+            return;
+        }
+
+        for (Map.Entry<Object, GrownArray> entry : grownArrays.entrySet()) {
+            Object array = entry.getKey();
+            GrownArray grownArray = entry.getValue();
+
+            if (grownArray.accessor.get(grownArray.owner) == array) {
+                ArrayAccessor arrays = ArrayAccessor.forClass(array.getClass());
+
+                if (grownArray.size < arrays.getLength(array)) {
+                    grownArray.accessor.set(grownArray.owner, arrays.copyOf(array, grownArray.size));
+                }
+            }
+        }
+
+        grownArrays.clear();
+    }
+
+    /**
+     * Returns true if the cached iterator belongs to the given source, whose size is unchanged.
+     *
+     * @param source the Iterable or sequential List
+     * @param size   the current size of the source, or -1 if unknown
+     * @return true if the cached iterator can be reused
+     */
+    boolean isCursorOf(Object source, int size) {
+        return cursorSource == source && cursorSize == size;
+    }
+
+    Iterator<?> getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Returns the index of the element which the cached iterator returns by next().
+     */
+    int getCursorIndex() {
+        return cursorIndex;
+    }
+
+    /**
+     * Returns the element at the index before the cursor index, for the Iterables only.
+     */
+    Object getCursorElement() {
+        return cursorElement;
+    }
+
+    void setCursor(Object source, int size, Iterator<?> iterator, int index, Object element) {
+        this.cursorSource = source;
+        this.cursorSize = size;
+        this.cursor = iterator;
+        this.cursorIndex = index;
+        this.cursorElement = element;
+    }
+
+    void clearCursor() {
+        this.cursorSource = null;
+        this.cursorSize = 0;
+        this.cursor = null;
+        this.cursorIndex = 0;
+        this.cursorElement = null;
+    }
+
+    /**
+     * Forgets all the state, without trimming the tracked arrays.
+     */
+    void reset() {
+        if (grownArrays != null) {
+            grownArrays.clear();
+        }
+
+        clearCursor();
+    }
+
+    /*
+     * An array grown by a not exact growth policy, with its owner object and logical size.
+     */
+    private static final class GrownArray {
+
+        final Object owner;
+        final PropertyAccessor accessor;
+        int size;
+
+        GrownArray(Object owner, PropertyAccessor accessor, int size) {
+            this.owner = owner;
+            this.accessor = accessor;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.minimalcode.beans;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ArrayAccessorTest {
+
+    @Test
+    public void testForClass() {
+        assertSame(ArrayAccessor.forClass(int[].class), ArrayAccessor.forClass(int[].class));
+        assertSame(ArrayAccessor.forClass(String[].class), ArrayAccessor.forClass(String[].class));
+        assertSame(String[].class, ArrayAccessor.forClass(String[].class).type);
+        assertNull(ArrayAccessor.forClass(String.class));
+    }
+
+    @Test
+    public void testGetAndSet() {
+        ArrayAccessor accessor = ArrayAccessor.forClass(int[].class);
+        int[] array = (int[]) accessor.newInstance(2);
+
+        accessor.set(array, 0, 5);
+        accessor.setInt(array, 1, 6);
+        assertEquals(2, accessor.getLength(array));
+        assertEquals(5, accessor.get(array, 0));
+        assertEquals(6, accessor.getInt(array, 1));
+        assertEquals(6L, accessor.getLong(array, 1));
+        assertEquals(6.0, accessor.getDouble(array, 1), 0);
+
+        try {
+            accessor.set(array, 0, null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("int[]"));
+        }
+
+        try {
+            accessor.setLong(array, 0, 5L);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("int"));
+        }
+
+        try {
+            accessor.getInt(array, 2);
+            fail();
+        } catch (ArrayIndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testWidening() {
+        short[] shorts = new short[]{1};
+        char[] chars = new char[]{'a'};
+        float[] floats = new float[1];
+        double[] doubles = new double[1];
+
+        assertEquals(1, ArrayAccessor.forClass(short[].class).getInt(shorts, 0));
+        assertEquals('a', ArrayAccessor.forClass(char[].class).getLong(chars, 0));
+
+        ArrayAccessor.forClass(float[].class).setLong(floats, 0, 3L);
+        ArrayAccessor.forClass(double[].class).setInt(doubles, 0, 4);
+        assertEquals(3f, floats[0], 0);
+        assertEquals(4.0, doubles[0], 0);
+
+        try {
+            ArrayAccessor.forClass(boolean[].class).getInt(new boolean[1], 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("boolean[]"));
+        }
+    }
+
+    @Test
+    public void testObjectArray() {
+        ArrayAccessor accessor = ArrayAccessor.forClass(Long[].class);
+        Object[] array = (Object[]) accessor.newInstance(1);
+
+        accessor.setInt(array, 0, 5);// boxed as the Long component type
+        assertEquals(5L, array[0]);
+        assertEquals(5L, accessor.getLong(array, 0));
+
+        Object[] copy = (Object[]) accessor.copyOf(array, 3);
+        assertSame(Long[].class, copy.getClass());
+        assertEquals(3, copy.length);
+
+        try {
+            accessor.set(array, 0, "foo");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("String"));
+        }
+
+        try {
+            accessor.getInt(array, 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Long"));
+        }
+    }
+}
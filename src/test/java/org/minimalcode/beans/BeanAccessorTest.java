@@ -0,0 +1,162 @@
+package org.minimalcode.beans;
+
+import org.junit.Test;
+import org.minimalcode.beans.ObjectWrapperPrimitiveTest.PrimitiveBean;
+import org.minimalcode.reflect.util.GenericBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class BeanAccessorTest {
+
+    private static final BeanAccessor ACCESSOR = BeanAccessor.getInstance();
+
+    @Test
+    public void testGetAndSetValue() {
+        GenericBean genericBean = new GenericBean();
+        WrapperOptions options = WrapperOptions.DEFAULT;
+
+        ACCESSOR.setValue(genericBean, "beanProperty.listProperty[2]", "foo", options);
+        ACCESSOR.setValue(genericBean, "mapProperty[my.key]", "bar", options);
+        assertEquals("foo", genericBean.getBeanProperty().getListProperty().get(2));
+        assertEquals("bar", genericBean.getMapProperty().get("my.key"));
+
+        assertEquals("foo", ACCESSOR.getValue(genericBean, "beanProperty.listProperty[2]", options));
+        assertNull(ACCESSOR.getValue(genericBean, "beanProperty.listProperty[3]", options));
+
+        PropertyPath propertyPath = ObjectWrapper.compile("beanProperty.stringProperty");
+        ACCESSOR.setPathValue(genericBean, propertyPath, "zoo", options);
+        assertEquals("zoo", ACCESSOR.getPathValue(genericBean, propertyPath, options));
+
+        ACCESSOR.setSimpleValue(genericBean, GenericBean.STRING_PROPERTY, "foo");
+        ACCESSOR.setIndexedValue(genericBean, GenericBean.ARRAY_PROPERTY, 1, "bar", options);
+        ACCESSOR.setMappedValue(genericBean, GenericBean.MAP_PROPERTY, "key", "zoo", options);
+        assertEquals("foo", ACCESSOR.getSimpleValue(genericBean, GenericBean.STRING_PROPERTY));
+        assertEquals("bar", ACCESSOR.getIndexedValue(genericBean, GenericBean.ARRAY_PROPERTY, 1, options));
+        assertEquals("zoo", ACCESSOR.getMappedValue(genericBean, GenericBean.MAP_PROPERTY, "key"));
+    }
+
+    @Test
+    public void testOptions() {
+        GenericBean genericBean = new GenericBean();
+        WrapperOptions options = WrapperOptions.DEFAULT.withAutoInstancing(false).withOutOfBoundsSafety(false);
+
+        try {
+            ACCESSOR.setValue(genericBean, "beanProperty.stringProperty", "foo", options);
+            fail();
+        } catch (NullPointerException e) {
+            assertTrue(e.getMessage().contains("stringProperty"));
+        }
+
+        genericBean.setListProperty(new ArrayList<String>());
+        try {
+            ACCESSOR.getValue(genericBean, "listProperty[0]", options);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertTrue(e.getMessage().contains("0"));
+        }
+
+        try {
+            ACCESSOR.setValue(genericBean, "listProperty[1]", "foo", options.withAutoGrowing(false));
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertTrue(e.getMessage().contains("1"));
+        }
+    }
+
+    @Test
+    public void testGrowthPolicyWithoutState() {
+        PrimitiveBean primitiveBean = new PrimitiveBean();
+        WrapperOptions options = WrapperOptions.DEFAULT.withGrowthPolicy(GrowthPolicy.chunked(8));
+
+        ACCESSOR.setPathInt(primitiveBean, ObjectWrapper.compile("intArray[0]"), 5, options);
+        ACCESSOR.setInt(primitiveBean, "intArray[1]", 6, options);
+
+        // Grown by chunks, but never tracked (and trimmed) without a wrapper
+        assertEquals(8, primitiveBean.getIntArray().length);
+        assertEquals(6, ACCESSOR.getInt(primitiveBean, "intArray[1]", options));
+    }
+
+    @Test
+    public void testPrimitives() {
+        PrimitiveBean primitiveBean = new PrimitiveBean();
+        WrapperOptions options = WrapperOptions.DEFAULT;
+
+        ACCESSOR.setInt(primitiveBean, "nested.intValue", 5, options);
+        ACCESSOR.setLong(primitiveBean, "longValue", 6L, options);
+        ACCESSOR.setPathDouble(primitiveBean, ObjectWrapper.compile("doubleValue"), 7.5, options);
+        ACCESSOR.setBoolean(primitiveBean, "booleanValue", true, options);
+
+        assertEquals(5, ACCESSOR.getInt(primitiveBean, "nested.intValue", options));
+        assertEquals(6L, ACCESSOR.getPathLong(primitiveBean, ObjectWrapper.compile("longValue"), options));
+        assertEquals(7.5, ACCESSOR.getDouble(primitiveBean, "doubleValue", options), 0);
+        assertTrue(ACCESSOR.getPathBoolean(primitiveBean, ObjectWrapper.compile("booleanValue"), options));
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        try {
+            ACCESSOR.getValue(null, "stringProperty", WrapperOptions.DEFAULT);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+
+        try {
+            ACCESSOR.getValue(new GenericBean(), "stringProperty", null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("options"));
+        }
+
+        try {
+            ACCESSOR.getPathValue(new GenericBean(), null, WrapperOptions.DEFAULT);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("propertyPath"));
+        }
+    }
+
+    @Test
+    public void testSharedAcrossThreads() throws Exception {
+        final PropertyPath propertyPath = ObjectWrapper.compile("beanProperty.listProperty[3]");
+        final WrapperOptions options = WrapperOptions.DEFAULT;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+
+            for (int i = 0; i < 8; i++) {
+                final String value = "value" + i;
+
+                futures.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        for (int j = 0; j < 1000; j++) {
+                            GenericBean genericBean = new GenericBean();
+                            ACCESSOR.setPathValue(genericBean, propertyPath, value, options);
+
+                            if (!value.equals(ACCESSOR.getPathValue(genericBean, propertyPath, options))) {
+                                return false;
+                            }
+                        }
+
+                        return true;
+                    }
+                }));
+            }
+
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.minimalcode.beans;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BoundedCacheTest {
+
+    @Test
+    public void testGetAndPut() {
+        BoundedCache<String, String> cache = new BoundedCache<String, String>(2);
+
+        assertNull(cache.get("foo"));
+        assertTrue(cache.admits("foo"));
+        assertEquals("bar", cache.putIfAbsent("foo", "bar"));
+        assertEquals("bar", cache.putIfAbsent("foo", "zoo"));
+        assertEquals("bar", cache.get("foo"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testAdmitsOnSecondSightingWhenFull() {
+        BoundedCache<String, String> cache = full(2);
+
+        assertFalse(cache.admits("new"));
+        assertTrue(cache.admits("new"));
+        assertFalse(cache.admits("other"));
+    }
+
+    @Test
+    public void testEvictsNotReferenced() {
+        BoundedCache<String, String> cache = full(3);
+        cache.get("k0");
+        cache.get("k2");
+
+        cache.putIfAbsent("new", "v");
+        assertEquals(3, cache.size());
+        assertNull(cache.get("k1"));
+        assertEquals("v0", cache.get("k0"));
+        assertEquals("v2", cache.get("k2"));
+        assertEquals("v", cache.get("new"));
+    }
+
+    @Test
+    public void testEvictsAllReferenced() {
+        BoundedCache<String, String> cache = full(2);
+        cache.get("k0");
+        cache.get("k1");
+
+        // A full sweep clears the references, then the first entry is evicted
+        cache.putIfAbsent("new", "v");
+        assertEquals(2, cache.size());
+        assertNull(cache.get("k0"));
+        assertEquals("v1", cache.get("k1"));
+    }
+
+    @Test
+    public void testSizeIsBounded() {
+        BoundedCache<String, String> cache = new BoundedCache<String, String>(16);
+
+        for (int i = 0; i < 1000; i++) {
+            cache.putIfAbsent("k" + i, "v" + i);
+        }
+
+        assertEquals(16, cache.size());
+        assertEquals("v999", cache.get("k999"));
+    }
+
+    @Test
+    public void testWithInvalidCapacity() {
+        try {
+            new BoundedCache<String, String>(0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("0"));
+        }
+    }
+
+    private static BoundedCache<String, String> full(int capacity) {
+        BoundedCache<String, String> cache = new BoundedCache<String, String>(capacity);
+
+        for (int i = 0; i < capacity; i++) {
+            cache.putIfAbsent("k" + i, "v" + i);
+        }
+
+        return cache;
+    }
+}
@@ -0,0 +1,77 @@
+package org.minimalcode.beans;
+
+import org.junit.Test;
+import org.minimalcode.reflect.Property;
+import org.minimalcode.reflect.util.GenericBean;
+
+import static org.junit.Assert.*;
+
+public class ClassAccessorTest {
+
+    @Test
+    public void testForClass() {
+        ClassAccessor accessor = ClassAccessor.forClass(GenericBean.class);
+
+        assertSame(accessor, ClassAccessor.forClass(GenericBean.class));
+        assertSame(accessor, new ObjectWrapper(new GenericBean()).getClassAccessor());
+        assertEquals(GenericBean.class, accessor.getType());
+    }
+
+    @Test
+    public void testForClassWithNull() {
+        try {
+            ClassAccessor.forClass(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+
+    @Test
+    public void testGetGeneratedName() {
+        assertEquals("com.foo.Order_ClassAccessor", ClassAccessor.getGeneratedName("com.foo.Order"));
+        assertEquals("Order_ClassAccessor", ClassAccessor.getGeneratedName("Order"));
+        assertEquals("com.foo.Outer_0Inner_ClassAccessor", ClassAccessor.getGeneratedName("com.foo.Outer$Inner"));
+        assertEquals("com.foo.Outer__Inner_ClassAccessor", ClassAccessor.getGeneratedName("com.foo.Outer_Inner"));
+        assertFalse(ClassAccessor.getGeneratedName("a.B_$C").equals(ClassAccessor.getGeneratedName("a.B$_C")));
+    }
+
+    @Test
+    public void testOrdinals() {
+        ObjectWrapper wrapper = new ObjectWrapper(new GenericBean());
+        ClassAccessor accessor = wrapper.getClassAccessor();
+
+        int i = 0;
+        for (Property property : wrapper.getBean().getProperties()) {
+            assertEquals(i, accessor.getOrdinal(property));
+            assertEquals(property.getName(), accessor.getPropertyName(i));
+            i++;
+        }
+
+        assertEquals(i, accessor.size());
+        assertEquals(-1, accessor.getOrdinal("not-a-property"));
+    }
+
+    @Test
+    public void testGetAndSet() {
+        GenericBean genericBean = new GenericBean();
+        ClassAccessor accessor = ClassAccessor.forClass(GenericBean.class);
+        int ordinal = accessor.getOrdinal(GenericBean.STRING_PROPERTY);
+
+        accessor.set(genericBean, ordinal, "foo");
+        assertEquals("foo", genericBean.getStringProperty());
+        assertEquals("foo", accessor.get(genericBean, ordinal));
+    }
+
+    @Test
+    public void testGetWithInvalidOrdinal() {
+        ClassAccessor accessor = ClassAccessor.forClass(GenericBean.class);
+
+        try {
+            accessor.get(new GenericBean(), accessor.size());
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.minimalcode.beans;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.minimalcode.beans.util.ForkJoinPoolRule;
+import org.minimalcode.beans.util.GenericRecord;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ColumnExtractorTest {
+
+    @Rule
+    public final ForkJoinPoolRule pool = new ForkJoinPoolRule();
+
+    @Test
+    public void testSequentialExtraction() {
+        List<GenericRecord> records = GenericRecord.newRecords(10);
+        ColumnExtractor extractor = ColumnExtractor.forPath(ObjectWrapper.compile("total"), WrapperOptions.DEFAULT);
+
+        double[] totals = extractor.getDoubles(records, null);
+        assertEquals(10, totals.length);
+        assertEquals(9.5, totals[9], 0);
+
+        assertArrayEquals(totals, extractor.getDoubles(records.toArray(), null), 0);
+        assertArrayEquals(totals, extractor.getDoubles(new LinkedList<GenericRecord>(records), null), 0);
+
+        ColumnExtractor ids = ColumnExtractor.forPath(ObjectWrapper.compile("id"), WrapperOptions.DEFAULT);
+        assertEquals(7L, ids.getLongs(records, null)[7]);
+        assertEquals(7, ids.getInts(records.toArray(), null)[7]);
+        assertEquals(7, ids.getValues(records, null)[7]);
+    }
+
+    @Test
+    public void testParallelExtraction() {
+        List<GenericRecord> records = GenericRecord.newRecords(1000);
+        ColumnExtractor extractor = ColumnExtractor.forPath(ObjectWrapper.compile("child.count"),
+                WrapperOptions.DEFAULT).withThreshold(16);
+        assertEquals(16, extractor.getThreshold());
+
+        long[] counts = extractor.getLongs(records, pool.get());
+        Object[] values = extractor.getValues(records.toArray(), pool.get());
+        long[] sequentialCounts = extractor.getLongs(new LinkedList<GenericRecord>(records), pool.get());
+
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(i * 6L, counts[i]);
+            assertEquals(i * 6L, values[i]);
+            assertEquals(i * 6L, sequentialCounts[i]);
+        }
+    }
+
+    @Test
+    public void testParallelExtractionWithNullObject() {
+        List<GenericRecord> records = GenericRecord.newRecords(100);
+        records.set(50, null);
+
+        try {
+            ColumnExtractor.forPath(ObjectWrapper.compile("total"), WrapperOptions.DEFAULT).withThreshold(8)
+                    .getDoubles(records, pool.get());
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("50"));
+        }
+    }
+
+    @Test
+    public void testExtractionWithNullList() {
+        try {
+            ColumnExtractor.forPath(ObjectWrapper.compile("total"), WrapperOptions.DEFAULT)
+                    .getDoubles((List<?>) null, null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+
+    @Test
+    public void testExtractionWithNullNestedProperty() {
+        List<GenericRecord> records = GenericRecord.newRecords(100);
+        records.get(50).setChild(null);
+
+        try {
+            ColumnExtractor.forPath(ObjectWrapper.compile("child.count"), WrapperOptions.DEFAULT)
+                    .getLongs(records, null);
+            fail();
+        } catch (NullPointerException e) {
+            assertTrue(e.getMessage().contains("count"));
+        }
+    }
+
+    @Test
+    public void testForPathWithNullPath() {
+        try {
+            ColumnExtractor.forPath(null, WrapperOptions.DEFAULT);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("propertyPath"));
+        }
+    }
+
+    @Test
+    public void testForPathWithNullOptions() {
+        try {
+            ColumnExtractor.forPath(ObjectWrapper.compile("total"), null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("options"));
+        }
+    }
+
+    @Test
+    public void testWithInvalidThreshold() {
+        try {
+            ColumnExtractor.forPath(ObjectWrapper.compile("total"), WrapperOptions.DEFAULT).withThreshold(0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("threshold"));
+        }
+    }
+}
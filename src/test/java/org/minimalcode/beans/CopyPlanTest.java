@@ -0,0 +1,269 @@
+package org.minimalcode.beans;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CopyPlanTest {
+
+    @Test
+    public void testCopyMatchingProperties() {
+        Entity entity = newEntity();
+        Dto dto = new Dto();
+
+        ObjectWrapper.copyProperties(entity, dto);
+
+        assertEquals(Long.valueOf(1L), dto.getId());// long to Long
+        assertEquals("foo", dto.getName());
+        assertNull(dto.getCount());// Integer not assignable to String
+        assertSame(entity.getAddress(), dto.getAddress());
+        assertNull(dto.getCode());// not readable in the source class
+
+        CopyPlan plan = CopyPlan.forClasses(Entity.class, Dto.class);
+        assertTrue(plan.getPaths().containsAll(Arrays.asList("id", "name", "address")));
+        assertFalse(plan.getPaths().contains("count"));
+        assertFalse(plan.getPaths().contains("code"));
+        assertSame(plan, CopyPlan.forClasses(Entity.class, Dto.class));
+    }
+
+    @Test
+    public void testCopyWithIncludesAndExcludes() {
+        Entity entity = newEntity();
+        Dto dto = new Dto();
+
+        CopyPlan plan = CopyPlan.forClasses(Entity.class, Dto.class, new String[]{"name", "address.city", "id"},
+                new String[]{"id"});
+        assertEquals(Arrays.asList("name", "address.city"), plan.getPaths());
+        assertSame(plan, CopyPlan.forClasses(Entity.class, Dto.class, new String[]{"name", "address.city", "id"},
+                new String[]{"id"}));
+
+        plan.copy(entity, dto);
+        assertNull(dto.getId());
+        assertEquals("foo", dto.getName());
+        assertNotSame(entity.getAddress(), dto.getAddress());// auto-instanced
+        assertEquals("Rome", dto.getAddress().getCity());
+        assertNull(dto.getAddress().getZip());
+
+        dto = new Dto();
+        CopyPlan.forClasses(Entity.class, Dto.class, null, new String[]{"address", "name"}).copy(entity, dto);
+        assertEquals(Long.valueOf(1L), dto.getId());
+        assertNull(dto.getName());
+        assertNull(dto.getAddress());
+    }
+
+    @Test
+    public void testInvalidIncludes() {
+        try {
+            CopyPlan.forClasses(Entity.class, Dto.class, new String[]{"count"}, null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("count"));
+        }
+
+        try {
+            CopyPlan.forClasses(Entity.class, Dto.class, new String[]{"not.a.property"}, null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("not.a.property"));
+        }
+
+        try {
+            CopyPlan.forClasses(Entity.class, Dto.class, new String[]{null}, null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+
+    @Test
+    public void testCopyNullWrapperToPrimitive() {
+        Dto dto = new Dto();
+        dto.setName("bar");
+        dto.setAddress(new Address());
+        dto.getAddress().setCity("Milan");
+        Entity entity = newEntity();
+
+        // The null Long "id" is not copied, instead of failing after some properties were written
+        ObjectWrapper.copyProperties(dto, entity);
+        assertEquals(1L, entity.getId());
+        assertEquals("bar", entity.getName());
+        assertSame(dto.getAddress(), entity.getAddress());
+
+        dto.setId(2L);
+        ObjectWrapper.copyProperties(dto, entity);
+        assertEquals(2L, entity.getId());
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        try {
+            CopyPlan.forClasses(null, Dto.class);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+
+        try {
+            CopyPlan.forClasses(Entity.class, Dto.class).copy(new Dto(), new Dto());
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(Dto.class.getName()));
+        }
+
+        try {
+            ObjectWrapper.copyProperties(newEntity(), null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+
+    @Test
+    public void testNullNestedSource() {
+        Entity entity = newEntity();
+        entity.setAddress(null);
+
+        try {
+            CopyPlan.forClasses(Entity.class, Dto.class, new String[]{"address.city"}, null).copy(entity, new Dto());
+            fail();
+        } catch (NullPointerException e) {
+            assertTrue(e.getMessage().contains("city"));
+        }
+    }
+
+    private static Entity newEntity() {
+        Entity entity = new Entity();
+        entity.setId(1L);
+        entity.setName("foo");
+        entity.setCount(5);
+        entity.setAddress(new Address());
+        entity.getAddress().setCity("Rome");
+        entity.getAddress().setZip("00100");
+        entity.setTags(Arrays.asList("a", "b"));
+        return entity;
+    }
+
+    public static class Entity {
+        private long id;
+        private String name;
+        private Integer count;
+        private Address address;
+        private List<String> tags;
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getCount() {
+            return count;
+        }
+
+        public void setCount(Integer count) {
+            this.count = count;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public void setCode(String code) {
+            // write only
+        }
+    }
+
+    public static class Dto {
+        private Long id;
+        private String name;
+        private String count;
+        private String code;
+        private Address address;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getCount() {
+            return count;
+        }
+
+        public void setCount(String count) {
+            this.count = count;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public void setCode(String code) {
+            this.code = code;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+    }
+
+    public static class Address {
+        private String city;
+        private String zip;
+
+        public String getCity() {
+            return city;
+        }
+
+        public void setCity(String city) {
+            this.city = city;
+        }
+
+        public String getZip() {
+            return zip;
+        }
+
+        public void setZip(String zip) {
+            this.zip = zip;
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package org.minimalcode.beans;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class GraphWalkerTest {
+
+    @Test
+    public void testWalk() {
+        Order order = new Order("A-1");
+        order.getItems().add(new Item("pen", 2));
+        order.getItems().add(new Item("ink", 5));
+        order.getPrices().put("EUR", 7.0);
+
+        Paths paths = new Paths(true);
+        GraphWalker.create().walk(order, paths);
+
+        assertEquals(Arrays.asList("code=A-1", "created=null", "items=[2]", "items[0]=pen",
+                "items[0].name=pen", "items[0].quantity=2", "items[0].tags=null", "items[1]=ink", "items[1].name=ink",
+                "items[1].quantity=5", "items[1].tags=null", "prices={1}", "prices[EUR]=7.0", "next=null"), paths.paths);
+    }
+
+    @Test
+    public void testSharedNodesAndCycles() {
+        Order order = new Order("A-1");
+        Item item = new Item("pen", 2);
+        item.setTags(new Object[]{item, order, "red"});
+        order.getItems().add(item);
+        order.getItems().add(item);
+        order.setNext(order);
+
+        Paths paths = new Paths(true);
+        GraphWalker.create().walk(order, paths);
+
+        // The shared and back-referenced nodes are visited, but not expanded again
+        assertEquals(Arrays.asList("code=A-1", "created=null", "items=[2]", "items[0]=pen",
+                "items[0].name=pen", "items[0].quantity=2", "items[0].tags=[3]", "items[0].tags[0]=pen (revisited)",
+                "items[0].tags[1]=A-1 (revisited)", "items[0].tags[2]=red", "items[1]=pen (revisited)", "prices={0}",
+                "next=A-1 (revisited)"), paths.paths);
+    }
+
+    @Test
+    public void testDeepGraph() {
+        Order root = new Order("0");
+        Order current = root;
+
+        for (int i = 1; i < 100000; i++) {
+            Order next = new Order(String.valueOf(i));
+            current.setNext(next);
+            current = next;
+        }
+
+        final int[] maxDepth = new int[1];
+        GraphWalker.create().walk(root, new GraphWalker.Visitor() {
+            @Override
+            public boolean visit(GraphWalker.Node node) {
+                maxDepth[0] = Math.max(maxDepth[0], node.getDepth());
+                return true;
+            }
+        });
+
+        assertEquals(100000, maxDepth[0]);
+    }
+
+    @Test
+    public void testPruningByMaxDepth() {
+        Paths paths = new Paths(false);
+        GraphWalker.create().withMaxDepth(1).walk(newOrder(), paths);
+
+        assertEquals(Arrays.asList("code", "created", "items", "prices", "next"), paths.paths);
+    }
+
+    @Test
+    public void testPruningByLeafTypes() {
+        Paths paths = new Paths(false);
+        GraphWalker.create().withLeafTypes(List.class, Order.class).walk(newOrder(), paths);
+
+        assertEquals(Arrays.asList("code", "created", "items", "prices", "next"), paths.paths);
+    }
+
+    @Test
+    public void testPruningByVisitor() {
+        final List<String> visited = new ArrayList<String>();
+        GraphWalker.create().walk(newOrder(), new GraphWalker.Visitor() {
+            @Override
+            public boolean visit(GraphWalker.Node node) {
+                visited.add(node.getPath());
+                return !"next".equals(node.getName());
+            }
+        });
+
+        assertEquals(Arrays.asList("code", "created", "items", "items[0]", "items[0].name", "items[0].quantity",
+                "items[0].tags", "prices", "next"), visited);
+    }
+
+    @Test
+    public void testWalkWithNullRoot() {
+        try {
+            GraphWalker.create().walk(null, new Paths(false));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+
+    @Test
+    public void testWalkWithNullVisitor() {
+        try {
+            GraphWalker.create().walk(new Order("A-1"), null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+
+    @Test
+    public void testWithInvalidMaxDepth() {
+        try {
+            GraphWalker.create().withMaxDepth(0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("0"));
+        }
+    }
+
+    @Test
+    public void testWithNullLeafType() {
+        try {
+            GraphWalker.create().withLeafTypes(Date.class, null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("1"));
+        }
+    }
+
+    private static Order newOrder() {
+        Order order = new Order("A-1");
+        order.setCreated(new Date(0));
+        order.getItems().add(new Item("pen", 2));
+        order.setNext(new Order("A-2"));
+
+        return order;
+    }
+
+    private static class Paths implements GraphWalker.Visitor {
+
+        private final List<String> paths = new ArrayList<String>();
+        private final boolean isWithValues;
+
+        Paths(boolean isWithValues) {
+            this.isWithValues = isWithValues;
+        }
+
+        @Override
+        public boolean visit(GraphWalker.Node node) {
+            paths.add(isWithValues ? node.getPath() + "=" + format(node.getValue())
+                    + (node.isRevisited() ? " (revisited)" : "") : node.getPath());
+            return true;
+        }
+
+        private static String format(Object value) {
+            if (value instanceof List) {
+                return "[" + ((List<?>) value).size() + "]";
+            } else if (value instanceof Object[]) {
+                return "[" + ((Object[]) value).length + "]";
+            } else if (value instanceof Map) {
+                return "{" + ((Map<?, ?>) value).size() + "}";
+            }
+
+            return String.valueOf(value);
+        }
+    }
+
+    public static class Order {
+        private String code;
+        private Date created;
+        private List<Item> items = new ArrayList<Item>();
+        private Map<String, Double> prices = new LinkedHashMap<String, Double>();
+        private Order next;
+
+        public Order() {
+        }
+
+        Order(String code) {
+            this.code = code;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public void setCode(String code) {
+            this.code = code;
+        }
+
+        public Date getCreated() {
+            return created;
+        }
+
+        public void setCreated(Date created) {
+            this.created = created;
+        }
+
+        public List<Item> getItems() {
+            return items;
+        }
+
+        public void setItems(List<Item> items) {
+            this.items = items;
+        }
+
+        public Map<String, Double> getPrices() {
+            return prices;
+        }
+
+        public void setPrices(Map<String, Double> prices) {
+            this.prices = prices;
+        }
+
+        public Order getNext() {
+            return next;
+        }
+
+        public void setNext(Order next) {
+            this.next = next;
+        }
+
+        @Override
+        public String toString() {
+            return code;
+        }
+    }
+
+    public static class Item {
+        private String name;
+        private int quantity;
+        private Object[] tags;
+
+        public Item() {
+        }
+
+        Item(String name, int quantity) {
+            this.name = name;
+            this.quantity = quantity;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+
+        public Object[] getTags() {
+            return tags;
+        }
+
+        public void setTags(Object[] tags) {
+            this.tags = tags;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
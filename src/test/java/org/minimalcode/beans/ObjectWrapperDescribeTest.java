@@ -0,0 +1,225 @@
+package org.minimalcode.beans;
+
+import org.junit.Test;
+import org.minimalcode.reflect.util.GenericBean;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ObjectWrapperDescribeTest {
+
+    @Test
+    public void testDescribe() {
+        GenericBean genericBean = new GenericBean();
+        genericBean.setStringProperty("foo");
+        genericBean.setBeanProperty(new GenericBean());
+
+        Map<String, Object> values = new ObjectWrapper(genericBean).describe();
+        assertEquals("foo", values.get(GenericBean.STRING_PROPERTY.getName()));
+        assertSame(genericBean.getBeanProperty(), values.get(GenericBean.BEAN_PROPERTY.getName()));
+        assertTrue(values.containsKey(GenericBean.LIST_PROPERTY.getName()));
+        assertNull(values.get(GenericBean.LIST_PROPERTY.getName()));
+
+        // A new, modifiable map at each call
+        values.clear();
+        assertEquals("foo", BeanAccessor.getInstance().describe(genericBean).get(GenericBean.STRING_PROPERTY.getName()));
+    }
+
+    @Test
+    public void testDescribeNotReadable() {
+        Map<String, Object> values = new ObjectWrapper(new Person()).describe();
+        assertFalse(values.containsKey("password"));
+        assertTrue(values.containsKey("name"));
+    }
+
+    @Test
+    public void testPopulate() {
+        Person person = new Person();
+        ObjectWrapper wrapper = new ObjectWrapper(person);
+
+        Map<String, Object> values = new LinkedHashMap<String, Object>();
+        values.put("address.zip", "00100");
+        values.put("name", "foo");
+        values.put("tags[1]", "b");
+        values.put("address.city", "Rome");
+        values.put("attributes[my.key]", "zoo");
+        values.put("tags[0]", "a");
+        values.put("address.street.number", 5);
+        wrapper.populate(values);
+
+        // The shared "address" prefix is resolved once, and auto-instanced once
+        assertEquals(1, person.addressReads);
+
+        assertEquals("foo", person.getName());
+        assertEquals("Rome", person.getAddress().getCity());
+        assertEquals("00100", person.getAddress().getZip());
+        assertEquals(5, person.getAddress().getStreet().getNumber());
+        assertEquals("a", person.getTags().get(0));
+        assertEquals("b", person.getTags().get(1));
+        assertEquals("zoo", person.getAttributes().get("my.key"));
+    }
+
+    @Test
+    public void testPopulateParentBeforeChildren() {
+        Person person = new Person();
+        Address address = new Address();
+
+        Map<String, Object> values = new HashMap<String, Object>();
+        values.put("address.city", "Rome");
+        values.put("address", address);
+        BeanAccessor.getInstance().populate(person, values, WrapperOptions.DEFAULT);
+
+        assertSame(address, person.getAddress());
+        assertEquals("Rome", address.getCity());
+    }
+
+    @Test
+    public void testPopulateSameKeysInOtherOrder() {
+        Map<String, Object> values = new LinkedHashMap<String, Object>();
+        values.put("name", "foo");
+        values.put("address.city", "Rome");
+        values.put("address.zip", "00100");
+        new ObjectWrapper(new Person()).populate(values);
+
+        // The same keys, hence the same compiled paths, iterated in another order
+        values = new LinkedHashMap<String, Object>();
+        values.put("address.zip", "20100");
+        values.put("address.city", "Milan");
+        values.put("name", "bar");
+
+        Person person = new Person();
+        new ObjectWrapper(person).populate(values);
+        assertEquals("bar", person.getName());
+        assertEquals("Milan", person.getAddress().getCity());
+        assertEquals("20100", person.getAddress().getZip());
+    }
+
+    @Test
+    public void testPopulateWithAutoInstancingDisabled() {
+        ObjectWrapper wrapper = new ObjectWrapper(new Person());
+        wrapper.setAutoInstancing(false);
+
+        Map<String, Object> values = new HashMap<String, Object>();
+        values.put("address.city", "Rome");
+
+        try {
+            wrapper.populate(values);
+            fail();
+        } catch (NullPointerException e) {
+            assertTrue(e.getMessage().contains("city"));
+        }
+    }
+
+    @Test
+    public void testPopulateWithNull() {
+        ObjectWrapper wrapper = new ObjectWrapper(new Person());
+
+        try {
+            wrapper.populate(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+
+        Map<String, Object> values = new HashMap<String, Object>();
+        values.put(null, "foo");
+
+        try {
+            wrapper.populate(values);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+
+    public static class Person {
+        private String name;
+        private Address address;
+        private List<String> tags;
+        private Map<String, String> attributes;
+        int addressReads;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Address getAddress() {
+            addressReads++;
+            return address;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public Map<String, String> getAttributes() {
+            return attributes;
+        }
+
+        public void setAttributes(Map<String, String> attributes) {
+            this.attributes = attributes;
+        }
+
+        public void setPassword(String password) {
+            // write only
+        }
+    }
+
+    public static class Address {
+        private String city;
+        private String zip;
+        private Street street;
+
+        public String getCity() {
+            return city;
+        }
+
+        public void setCity(String city) {
+            this.city = city;
+        }
+
+        public String getZip() {
+            return zip;
+        }
+
+        public void setZip(String zip) {
+            this.zip = zip;
+        }
+
+        public Street getStreet() {
+            return street;
+        }
+
+        public void setStreet(Street street) {
+            this.street = street;
+        }
+    }
+
+    public static class Street {
+        private int number;
+
+        public int getNumber() {
+            return number;
+        }
+
+        public void setNumber(int number) {
+            this.number = number;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.minimalcode.beans;
+
+import org.junit.Test;
+import org.minimalcode.reflect.Bean;
+import org.minimalcode.reflect.Property;
+import org.minimalcode.reflect.util.GenericBean;
+
+import static org.junit.Assert.*;
+
+public class ObjectWrapperGrowthTest {
+
+    @Test
+    public void testGrow() {
+        assertEquals(11, GrowthPolicy.EXACT.grow(4, 11));
+        assertEquals(5, GrowthPolicy.EXACT.grow(4, 5));
+
+        assertEquals(6, GrowthPolicy.geometric(1.5).grow(4, 5));
+        assertEquals(11, GrowthPolicy.geometric(1.5).grow(4, 11));
+        assertEquals(1, GrowthPolicy.geometric(2).grow(0, 1));
+
+        assertEquals(16, GrowthPolicy.chunked(16).grow(4, 5));
+        assertEquals(32, GrowthPolicy.chunked(16).grow(16, 17));
+
+        assertEquals(Integer.MAX_VALUE, GrowthPolicy.geometric(2).grow(Integer.MAX_VALUE - 10, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testInvalidPolicy() {
+        try {
+            GrowthPolicy.geometric(1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("factor"));
+        }
+
+        try {
+            GrowthPolicy.chunked(0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("chunkSize"));
+        }
+
+        try {
+            new ObjectWrapper(new GenericBean()).setGrowthPolicy(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+
+    @Test
+    public void testExactGrowth() {
+        GenericBean genericBean = new GenericBean();
+        ObjectWrapper wrapper = new ObjectWrapper(genericBean);
+
+        for (int i = 0; i < 5; i++) {
+            wrapper.setValue("arrayProperty[" + i + "]", "v" + i);
+            assertEquals(i + 1, genericBean.getArrayProperty().length);
+        }
+    }
+
+    @Test
+    public void testGeometricGrowthAndTrim() {
+        GenericBean genericBean = new GenericBean();
+        ObjectWrapper wrapper = new ObjectWrapper(genericBean);
+        wrapper.setGrowthPolicy(GrowthPolicy.geometric(2));
+
+        String[] previous = null;
+        int copies = 0;
+
+        for (int i = 0; i < 100; i++) {
+            wrapper.setValue("arrayProperty[" + i + "]", "v" + i);
+
+            if (genericBean.getArrayProperty() != previous) {
+                previous = genericBean.getArrayProperty();
+                copies++;
+            }
+        }
+
+        assertTrue(copies < 10);
+        assertTrue(genericBean.getArrayProperty().length >= 100);
+
+        wrapper.trimArrays();
+        assertEquals(100, genericBean.getArrayProperty().length);
+        assertEquals("v99", genericBean.getArrayProperty()[99]);
+
+        // Already trimmed
+        String[] trimmed = genericBean.getArrayProperty();
+        wrapper.trimArrays();
+        assertSame(trimmed, genericBean.getArrayProperty());
+    }
+
+    @Test
+    public void testChunkedGrowthAndTrimNested() {
+        PrimitiveArrayBean bean = new PrimitiveArrayBean();
+        ObjectWrapper wrapper = new ObjectWrapper(bean);
+        wrapper.setGrowthPolicy(GrowthPolicy.chunked(8));
+
+        Property valuesProperty = Bean.forClass(PrimitiveArrayBean.class).getProperty("values");
+        wrapper.setIndexedInt(valuesProperty, 2, 20);
+        assertEquals(8, bean.getValues().length);
+
+        wrapper.setIndexedInt(valuesProperty, 9, 90);
+        assertEquals(16, bean.getValues().length);
+
+        wrapper.setIndexedInt(valuesProperty, 4, 40);
+        wrapper.setValue("nested.values[0]", 1);
+
+        wrapper.trimArrays();
+        assertArrayEquals(new int[]{0, 0, 20, 0, 40, 0, 0, 0, 0, 90}, bean.getValues());
+        assertArrayEquals(new int[]{1}, bean.getNested().getValues());
+    }
+
+    @Test
+    public void testTrimIgnoresReplacedArrays() {
+        PrimitiveArrayBean bean = new PrimitiveArrayBean();
+        ObjectWrapper wrapper = new ObjectWrapper(bean);
+        wrapper.setGrowthPolicy(GrowthPolicy.chunked(8));
+
+        wrapper.setValue("values[0]", 1);
+        int[] replaced = new int[]{1, 2, 3};
+        bean.setValues(replaced);
+
+        wrapper.trimArrays();
+        assertSame(replaced, bean.getValues());
+    }
+
+    public static class PrimitiveArrayBean {
+        private int[] values;
+        private PrimitiveArrayBean nested;
+
+        public int[] getValues() {
+            return values;
+        }
+
+        public void setValues(int[] values) {
+            this.values = values;
+        }
+
+        public PrimitiveArrayBean getNested() {
+            return nested;
+        }
+
+        public void setNested(PrimitiveArrayBean nested) {
+            this.nested = nested;
+        }
+    }
+}
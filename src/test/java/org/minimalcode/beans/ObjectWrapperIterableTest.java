@@ -0,0 +1,231 @@
+package org.minimalcode.beans;
+
+import org.junit.Test;
+import org.minimalcode.reflect.Bean;
+import org.minimalcode.reflect.Property;
+
+import java.util.AbstractSequentialList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ObjectWrapperIterableTest {
+
+    private static final Property ITEMS_PROPERTY = Bean.forClass(IterableBean.class).getProperty("items");
+    private static final Property SET_PROPERTY = Bean.forClass(IterableBean.class).getProperty("set");
+    private static final Property LIST_PROPERTY = Bean.forClass(IterableBean.class).getProperty("list");
+
+    @Test
+    public void testIterableWithoutCaching() {
+        IterableBean iterableBean = new IterableBean();
+        CountingIterable items = new CountingIterable(10);
+        iterableBean.setItems(items);
+        ObjectWrapper wrapper = new ObjectWrapper(iterableBean);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, wrapper.getIndexedValue(ITEMS_PROPERTY, i));
+        }
+
+        assertEquals(55, items.nextCalls);
+    }
+
+    @Test
+    public void testIterableWithCaching() {
+        IterableBean iterableBean = new IterableBean();
+        CountingIterable items = new CountingIterable(10);
+        iterableBean.setItems(items);
+        ObjectWrapper wrapper = new ObjectWrapper(iterableBean);
+        wrapper.setIteratorCaching(true);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, wrapper.getIndexedValue(ITEMS_PROPERTY, i));
+            assertEquals(i, wrapper.getValue("items[" + i + "]"));
+        }
+
+        assertEquals(10, items.nextCalls);
+
+        // Backward: restarts from the start
+        assertEquals(2, wrapper.getIndexedValue(ITEMS_PROPERTY, 2));
+        assertEquals(13, items.nextCalls);
+
+        // Out of bounds, with and without safety
+        assertNull(wrapper.getIndexedValue(ITEMS_PROPERTY, 10));
+        wrapper.setOutOfBoundsSafety(false);
+
+        try {
+            wrapper.getIndexedValue(ITEMS_PROPERTY, 10);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertTrue(e.getMessage().contains("10"));
+        }
+    }
+
+    @Test
+    public void testCachingWithModifiedCollection() {
+        IterableBean iterableBean = new IterableBean();
+        Set<Object> set = new LinkedHashSet<Object>();
+        set.add("a");
+        set.add("b");
+        iterableBean.setSet(set);
+
+        ObjectWrapper wrapper = new ObjectWrapper(iterableBean);
+        wrapper.setIteratorCaching(true);
+
+        assertEquals("a", wrapper.getIndexedValue(SET_PROPERTY, 0));
+        set.add("c");
+        assertEquals("b", wrapper.getIndexedValue(SET_PROPERTY, 1));
+        assertEquals("c", wrapper.getIndexedValue(SET_PROPERTY, 2));
+        assertNull(wrapper.getIndexedValue(SET_PROPERTY, 3));
+    }
+
+    @Test
+    public void testSequentialList() {
+        IterableBean iterableBean = new IterableBean();
+        CountingList list = new CountingList(100);
+        iterableBean.setList(list);
+        ObjectWrapper wrapper = new ObjectWrapper(iterableBean);
+
+        // From the nearest end
+        assertEquals(98, wrapper.getIndexedValue(LIST_PROPERTY, 98));
+        assertEquals(2, list.moves);
+        assertEquals(1, wrapper.getIndexedValue(LIST_PROPERTY, 1));
+        assertEquals(4, list.moves);
+
+        // From the cached position
+        wrapper.setIteratorCaching(true);
+        list.moves = 0;
+
+        for (int i = 40; i < 60; i++) {
+            assertEquals(i, wrapper.getIndexedValue(LIST_PROPERTY, i));
+        }
+
+        assertEquals(41 + 19, list.moves);
+        assertEquals(57, wrapper.getIndexedValue(LIST_PROPERTY, 57));
+        assertEquals(41 + 19 + 3, list.moves);
+    }
+
+    @Test
+    public void testLinkedList() {
+        IterableBean iterableBean = new IterableBean();
+        List<Object> list = new LinkedList<Object>();
+        list.add("a");
+        list.add("b");
+        list.add("c");
+        iterableBean.setList(list);
+
+        ObjectWrapper wrapper = new ObjectWrapper(iterableBean);
+        wrapper.setIteratorCaching(true);
+
+        assertEquals("c", wrapper.getValue("list[2]"));
+        list.remove(0);
+        assertEquals("c", wrapper.getValue("list[1]"));
+        assertEquals("b", wrapper.getValue("list[0]"));
+        assertNull(wrapper.getValue("list[2]"));
+    }
+
+    public static class IterableBean {
+        private Iterable<Object> items;
+        private Set<Object> set;
+        private List<Object> list;
+
+        public Iterable<Object> getItems() {
+            return items;
+        }
+
+        public void setItems(Iterable<Object> items) {
+            this.items = items;
+        }
+
+        public Set<Object> getSet() {
+            return set;
+        }
+
+        public void setSet(Set<Object> set) {
+            this.set = set;
+        }
+
+        public List<Object> getList() {
+            return list;
+        }
+
+        public void setList(List<Object> list) {
+            this.list = list;
+        }
+    }
+
+    /*
+     * An Iterable of the integers from 0 to size (excluded), counting the calls of Iterator.next().
+     */
+    public static class CountingIterable implements Iterable<Object> {
+        private final int size;
+        int nextCalls;
+
+        CountingIterable(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public Iterator<Object> iterator() {
+            return new Iterator<Object>() {
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < size;
+                }
+
+                @Override
+                public Object next() {
+                    nextCalls++;
+                    return next++;
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+    }
+
+    /*
+     * A sequential List of the integers from 0 to size (excluded), counting the moves of its ListIterators.
+     */
+    public static class CountingList extends AbstractSequentialList<Object> {
+        private final List<Object> elements = new LinkedList<Object>();
+        int moves;
+
+        CountingList(int size) {
+            for (int i = 0; i < size; i++) {
+                elements.add(i);
+            }
+        }
+
+        @Override
+        public int size() {
+            return elements.size();
+        }
+
+        @Override
+        public ListIterator<Object> listIterator(int index) {
+            final ListIterator<Object> iterator = elements.listIterator(index);
+
+            return new ListIterator<Object>() {
+                public boolean hasNext() { return iterator.hasNext(); }
+                public Object next() { moves++; return iterator.next(); }
+                public boolean hasPrevious() { return iterator.hasPrevious(); }
+                public Object previous() { moves++; return iterator.previous(); }
+                public int nextIndex() { return iterator.nextIndex(); }
+                public int previousIndex() { return iterator.previousIndex(); }
+                public void remove() { iterator.remove(); }
+                public void set(Object o) { iterator.set(o); }
+                public void add(Object o) { iterator.add(o); }
+            };
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.minimalcode.beans;
+
+import org.junit.Test;
+import org.minimalcode.reflect.util.GenericBean;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+
+import static org.junit.Assert.*;
+
+public class ObjectWrapperListGrowthTest {
+
+    @Test
+    public void testBulkGrowth() {
+        GenericBean genericBean = new GenericBean();
+        genericBean.setListProperty(new ArrayList<String>());
+        ObjectWrapper wrapper = new ObjectWrapper(genericBean);
+
+        wrapper.setIndexedValue(GenericBean.LIST_PROPERTY, 10000, "foo");
+        assertEquals(10001, genericBean.getListProperty().size());
+        assertNull(genericBean.getListProperty().get(9999));
+        assertEquals("foo", genericBean.getListProperty().get(10000));
+    }
+
+    @Test
+    public void testBulkGrowthOfNotArrayList() {
+        GenericBean genericBean = new GenericBean();
+        genericBean.setListProperty(new LinkedList<String>());
+        ObjectWrapper wrapper = new ObjectWrapper(genericBean);
+
+        wrapper.setIndexedValue(GenericBean.LIST_PROPERTY, 3, "foo");
+        wrapper.setIndexedValue(GenericBean.LIST_PROPERTY, 4, "bar");
+        assertEquals(5, genericBean.getListProperty().size());
+        assertEquals("foo", genericBean.getListProperty().get(3));
+        assertEquals("bar", genericBean.getListProperty().get(4));
+    }
+
+    @Test
+    public void testNullHostileList() {
+        GenericBean genericBean = new GenericBean();
+        NullHostileList list = new NullHostileList();
+        genericBean.setListProperty(list);
+        ObjectWrapper wrapper = new ObjectWrapper(genericBean);
+
+        // Without growth
+        wrapper.setIndexedValue(GenericBean.LIST_PROPERTY, 0, "foo");
+
+        try {
+            wrapper.setIndexedValue(GenericBean.LIST_PROPERTY, 5, "bar");
+            fail();
+        } catch (NullPointerException e) {
+            assertTrue(e.getMessage().contains(NullHostileList.class.getName()));
+        }
+
+        // Remembered: no other attempt
+        int attempts = list.attempts;
+        NullHostileList otherList = new NullHostileList();
+        genericBean.setListProperty(otherList);
+
+        try {
+            wrapper.setIndexedValue(GenericBean.LIST_PROPERTY, 5, "bar");
+            fail();
+        } catch (NullPointerException e) {
+            assertTrue(e.getMessage().contains(NullHostileList.class.getName()));
+        }
+
+        assertEquals(1, attempts);
+        assertEquals(0, otherList.attempts);
+        assertTrue(otherList.isEmpty());
+    }
+
+    @Test
+    public void testInitialListCapacity() {
+        GenericBean genericBean = new GenericBean();
+        ObjectWrapper wrapper = new ObjectWrapper(genericBean);
+        wrapper.setInitialListCapacity(1000);
+
+        wrapper.setValue("listProperty[2]", "foo");
+        assertEquals(3, genericBean.getListProperty().size());
+        assertEquals("foo", genericBean.getListProperty().get(2));
+
+        try {
+            wrapper.setInitialListCapacity(-1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("-1"));
+        }
+    }
+
+    public static class NullHostileList extends ArrayList<String> {
+        private static final long serialVersionUID = 1L;
+
+        int attempts;
+
+        @Override
+        public boolean add(String s) {
+            if (s == null) {
+                attempts++;
+                throw new NullPointerException();
+            }
+
+            return super.add(s);
+        }
+    }
+}
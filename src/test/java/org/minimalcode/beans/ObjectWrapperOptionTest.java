@@ -4,7 +4,6 @@ import org.junit.Test;
 import org.minimalcode.reflect.ReflectionException;
 import org.minimalcode.reflect.util.GenericBean;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -14,35 +13,26 @@ import static org.junit.Assert.*;
 public class ObjectWrapperOptionTest {
 
     @Test
-    public void testSetOption() throws NoSuchFieldException, IllegalAccessException {
+    public void testSetOption() {
         ObjectWrapper wrapper = new ObjectWrapper(this);
 
         // Autogrowing
-        Field autoGrowing = wrapper.getClass().getDeclaredField("isAutoGrowing");
-        autoGrowing.setAccessible(true);
-
         wrapper.setAutoGrowing(false);
-        assertEquals(false, autoGrowing.get(wrapper));
+        assertEquals(false, wrapper.getOptions().isAutoGrowing());
         wrapper.setAutoGrowing(true);
-        assertEquals(true, autoGrowing.get(wrapper));
+        assertEquals(true, wrapper.getOptions().isAutoGrowing());
 
         // Autoinstancing
-        Field autoInstancing = wrapper.getClass().getDeclaredField("isAutoInstancing");
-        autoInstancing.setAccessible(true);
-
         wrapper.setAutoInstancing(false);
-        assertEquals(false, autoInstancing.get(wrapper));
+        assertEquals(false, wrapper.getOptions().isAutoInstancing());
         wrapper.setAutoInstancing(true);
-        assertEquals(true, autoInstancing.get(wrapper));
+        assertEquals(true, wrapper.getOptions().isAutoInstancing());
 
         // OutOfBounds Safety
-        Field unboundSafety = wrapper.getClass().getDeclaredField("isOutOfBoundsSafety");
-        unboundSafety.setAccessible(true);
-
         wrapper.setOutOfBoundsSafety(false);
-        assertEquals(false, unboundSafety.get(wrapper));
+        assertEquals(false, wrapper.getOptions().isOutOfBoundsSafety());
         wrapper.setOutOfBoundsSafety(true);
-        assertEquals(true, unboundSafety.get(wrapper));
+        assertEquals(true, wrapper.getOptions().isOutOfBoundsSafety());
     }
 
     @Test
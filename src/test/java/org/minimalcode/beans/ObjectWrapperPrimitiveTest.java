@@ -0,0 +1,312 @@
+package org.minimalcode.beans;
+
+import org.junit.Test;
+import org.minimalcode.reflect.Bean;
+import org.minimalcode.reflect.Property;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ObjectWrapperPrimitiveTest {
+
+    private static final Bean<PrimitiveBean> BEAN = Bean.forClass(PrimitiveBean.class);
+
+    private static final Property INT_PROPERTY = BEAN.getProperty("intValue");
+    private static final Property LONG_PROPERTY = BEAN.getProperty("longValue");
+    private static final Property DOUBLE_PROPERTY = BEAN.getProperty("doubleValue");
+    private static final Property BOOLEAN_PROPERTY = BEAN.getProperty("booleanValue");
+    private static final Property INTEGER_PROPERTY = BEAN.getProperty("integerValue");
+    private static final Property INT_ARRAY_PROPERTY = BEAN.getProperty("intArray");
+    private static final Property LONG_LIST_PROPERTY = BEAN.getProperty("longList");
+    private static final Property SHORT_LIST_PROPERTY = BEAN.getProperty("shortList");
+
+    @Test
+    public void testGetAndSetSimple() {
+        PrimitiveBean primitiveBean = new PrimitiveBean();
+        ObjectWrapper wrapper = new ObjectWrapper(primitiveBean);
+
+        wrapper.setSimpleInt(INT_PROPERTY, 5);
+        wrapper.setSimpleLong(LONG_PROPERTY, 6L);
+        wrapper.setSimpleDouble(DOUBLE_PROPERTY, 7.5);
+        wrapper.setSimpleBoolean(BOOLEAN_PROPERTY, true);
+
+        assertEquals(5, primitiveBean.getIntValue());
+        assertEquals(6L, primitiveBean.getLongValue());
+        assertEquals(7.5, primitiveBean.getDoubleValue(), 0);
+        assertTrue(primitiveBean.isBooleanValue());
+
+        assertEquals(5, wrapper.getSimpleInt(INT_PROPERTY));
+        assertEquals(6L, wrapper.getSimpleLong(LONG_PROPERTY));
+        assertEquals(7.5, wrapper.getSimpleDouble(DOUBLE_PROPERTY), 0);
+        assertTrue(wrapper.getSimpleBoolean(BOOLEAN_PROPERTY));
+    }
+
+    @Test
+    public void testWidening() {
+        PrimitiveBean primitiveBean = new PrimitiveBean();
+        ObjectWrapper wrapper = new ObjectWrapper(primitiveBean);
+
+        wrapper.setSimpleInt(LONG_PROPERTY, 5);
+        wrapper.setSimpleLong(DOUBLE_PROPERTY, 6L);
+        assertEquals(5L, primitiveBean.getLongValue());
+        assertEquals(6.0, primitiveBean.getDoubleValue(), 0);
+
+        primitiveBean.setIntValue(7);
+        assertEquals(7L, wrapper.getSimpleLong(INT_PROPERTY));
+        assertEquals(7.0, wrapper.getSimpleDouble(INT_PROPERTY), 0);
+
+        try {
+            wrapper.getSimpleInt(LONG_PROPERTY);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("int"));
+        }
+
+        try {
+            wrapper.getSimpleInt(BOOLEAN_PROPERTY);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("int"));
+        }
+    }
+
+    @Test
+    public void testWrapperType() {
+        PrimitiveBean primitiveBean = new PrimitiveBean();
+        ObjectWrapper wrapper = new ObjectWrapper(primitiveBean);
+
+        try {
+            wrapper.getSimpleInt(INTEGER_PROPERTY);
+            fail();
+        } catch (NullPointerException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+
+        wrapper.setSimpleInt(INTEGER_PROPERTY, 8);
+        assertEquals(Integer.valueOf(8), primitiveBean.getIntegerValue());
+        assertEquals(8, wrapper.getSimpleInt(INTEGER_PROPERTY));
+        assertEquals(8L, wrapper.getSimpleLong(INTEGER_PROPERTY));
+    }
+
+    @Test
+    public void testGetAndSetIndexedArray() {
+        PrimitiveBean primitiveBean = new PrimitiveBean();
+        ObjectWrapper wrapper = new ObjectWrapper(primitiveBean);
+
+        // Auto instancing and auto growing
+        wrapper.setIndexedInt(INT_ARRAY_PROPERTY, 1, 10);
+        wrapper.setIndexedInt(INT_ARRAY_PROPERTY, 3, 30);
+        assertArrayEquals(new int[]{0, 10, 0, 30}, primitiveBean.getIntArray());
+
+        assertEquals(10, wrapper.getIndexedInt(INT_ARRAY_PROPERTY, 1));
+        assertEquals(30L, wrapper.getIndexedLong(INT_ARRAY_PROPERTY, 3));
+        assertEquals(0, wrapper.getIndexedInt(INT_ARRAY_PROPERTY, 4));
+
+        try {
+            wrapper.getIndexedBoolean(INT_ARRAY_PROPERTY, 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("boolean"));
+        }
+
+        wrapper.setOutOfBoundsSafety(false);
+        try {
+            wrapper.getIndexedInt(INT_ARRAY_PROPERTY, 4);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertTrue(e.getMessage().contains("4"));
+        }
+
+        wrapper.setAutoGrowing(false);
+        try {
+            wrapper.setIndexedInt(INT_ARRAY_PROPERTY, 4, 40);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertTrue(e.getMessage().contains("4"));
+        }
+    }
+
+    @Test
+    public void testGetAndSetIndexedList() {
+        PrimitiveBean primitiveBean = new PrimitiveBean();
+        ObjectWrapper wrapper = new ObjectWrapper(primitiveBean);
+
+        wrapper.setIndexedLong(LONG_LIST_PROPERTY, 0, 5L);
+        wrapper.setIndexedInt(LONG_LIST_PROPERTY, 1, 6);// boxed as the Long element type
+        assertEquals(Long.valueOf(5L), primitiveBean.getLongList().get(0));
+        assertEquals(Long.valueOf(6L), primitiveBean.getLongList().get(1));
+
+        assertEquals(6L, wrapper.getIndexedLong(LONG_LIST_PROPERTY, 1));
+        assertEquals(0L, wrapper.getIndexedLong(LONG_LIST_PROPERTY, 2));
+        assertEquals(6.0, wrapper.getIndexedDouble(LONG_LIST_PROPERTY, 1), 0);
+    }
+
+    @Test
+    public void testSetIndexedListNarrowing() {
+        PrimitiveBean primitiveBean = new PrimitiveBean();
+        ObjectWrapper wrapper = new ObjectWrapper(primitiveBean);
+
+        // Rejected as by a Short[] array, instead of adding an Integer to the List<Short>
+        try {
+            wrapper.setIndexedInt(SHORT_LIST_PROPERTY, 0, 5);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Short"));
+        }
+
+        assertTrue(primitiveBean.getShortList().isEmpty());
+    }
+
+    @Test
+    public void testSetMappedWidening() {
+        PrimitiveBean primitiveBean = new PrimitiveBean();
+        ObjectWrapper wrapper = new ObjectWrapper(primitiveBean);
+
+        wrapper.setInt("map[foo]", 5);// boxed as the Long value type
+        wrapper.setPathInt(ObjectWrapper.compile("map[bar]"), 6);
+        assertEquals(Long.valueOf(5L), primitiveBean.getMap().get("foo"));
+        assertEquals(Long.valueOf(6L), primitiveBean.getMap().get("bar"));
+
+        try {
+            wrapper.setDouble("map[foo]", 7.5);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Long"));
+        }
+
+        assertEquals(Long.valueOf(5L), primitiveBean.getMap().get("foo"));
+    }
+
+    @Test
+    public void testGetAndSetPattern() {
+        PrimitiveBean primitiveBean = new PrimitiveBean();
+        ObjectWrapper wrapper = new ObjectWrapper(primitiveBean);
+
+        // Auto instancing of the nested bean
+        wrapper.setInt("nested.intValue", 5);
+        wrapper.setInt("nested.intArray[2]", 7);
+        wrapper.setBoolean("nested.booleanValue", true);
+        wrapper.setLong("map[foo]", 9L);
+        assertEquals(5, primitiveBean.getNested().getIntValue());
+
+        assertEquals(5, wrapper.getInt("nested.intValue"));
+        assertEquals(7.0, wrapper.getDouble("nested.intArray[2]"), 0);
+        assertTrue(wrapper.getBoolean("nested.booleanValue"));
+        assertEquals(9L, wrapper.getLong("map[foo]"));
+
+        PropertyPath propertyPath = ObjectWrapper.compile("nested.longValue");
+        wrapper.setPathLong(propertyPath, 11L);
+        assertEquals(11L, wrapper.getPathLong(propertyPath));
+
+        try {
+            wrapper.getInt("nested.nested.intValue");
+            fail();
+        } catch (NullPointerException e) {
+            assertTrue(e.getMessage().contains("intValue"));
+        }
+
+        try {
+            wrapper.getInt(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+
+    public static class PrimitiveBean {
+        private int intValue;
+        private long longValue;
+        private double doubleValue;
+        private boolean booleanValue;
+        private Integer integerValue;
+        private int[] intArray;
+        private List<Long> longList = new ArrayList<Long>();
+        private List<Short> shortList = new ArrayList<Short>();
+        private Map<String, Long> map = new LinkedHashMap<String, Long>();
+        private PrimitiveBean nested;
+
+        public int getIntValue() {
+            return intValue;
+        }
+
+        public void setIntValue(int intValue) {
+            this.intValue = intValue;
+        }
+
+        public long getLongValue() {
+            return longValue;
+        }
+
+        public void setLongValue(long longValue) {
+            this.longValue = longValue;
+        }
+
+        public double getDoubleValue() {
+            return doubleValue;
+        }
+
+        public void setDoubleValue(double doubleValue) {
+            this.doubleValue = doubleValue;
+        }
+
+        public boolean isBooleanValue() {
+            return booleanValue;
+        }
+
+        public void setBooleanValue(boolean booleanValue) {
+            this.booleanValue = booleanValue;
+        }
+
+        public Integer getIntegerValue() {
+            return integerValue;
+        }
+
+        public void setIntegerValue(Integer integerValue) {
+            this.integerValue = integerValue;
+        }
+
+        public int[] getIntArray() {
+            return intArray;
+        }
+
+        public void setIntArray(int[] intArray) {
+            this.intArray = intArray;
+        }
+
+        public List<Long> getLongList() {
+            return longList;
+        }
+
+        public void setLongList(List<Long> longList) {
+            this.longList = longList;
+        }
+
+        public List<Short> getShortList() {
+            return shortList;
+        }
+
+        public void setShortList(List<Short> shortList) {
+            this.shortList = shortList;
+        }
+
+        public Map<String, Long> getMap() {
+            return map;
+        }
+
+        public void setMap(Map<String, Long> map) {
+            this.map = map;
+        }
+
+        public PrimitiveBean getNested() {
+            return nested;
+        }
+
+        public void setNested(PrimitiveBean nested) {
+            this.nested = nested;
+        }
+    }
+}
@@ -16,6 +16,92 @@ public class ObjectWrapperTest {
         assertEquals(wrapper.getBean(), Bean.forClass(GenericBean.class));
     }
 
+    @Test
+    public void testRewrapSameClass() {
+        GenericBean first = new GenericBean();
+        first.setStringProperty("foo");
+        GenericBean second = new GenericBean();
+        second.setStringProperty("bar");
+
+        ObjectWrapper wrapper = new ObjectWrapper(first);
+        Bean<?> bean = wrapper.getBean();
+        ClassAccessor classAccessor = wrapper.getClassAccessor();
+        assertEquals("foo", wrapper.getValue(GenericBean.STRING_PROPERTY.getName()));
+
+        wrapper.setWrappedObject(second);
+        assertSame(bean, wrapper.getBean());
+        assertSame(classAccessor, wrapper.getClassAccessor());
+        assertEquals("bar", wrapper.getValue(GenericBean.STRING_PROPERTY.getName()));
+
+        wrapper.setWrappedObject(this);
+        assertEquals(Bean.forClass(ObjectWrapperTest.class), wrapper.getBean());
+        assertEquals(ObjectWrapperTest.class, wrapper.getClassAccessor().getType());
+    }
+
+    @Test
+    public void testForThread() throws Exception {
+        GenericBean genericBean = new GenericBean();
+        genericBean.setStringProperty("foo");
+
+        final ObjectWrapper wrapper = ObjectWrapper.forThread(genericBean,
+                WrapperOptions.DEFAULT.withOutOfBoundsSafety(false));
+        assertFalse(wrapper.getOptions().isOutOfBoundsSafety());
+        assertEquals("foo", wrapper.getValue(GenericBean.STRING_PROPERTY.getName()));
+
+        // Same instance for the same thread, with the options reset
+        ObjectWrapper other = ObjectWrapper.forThread(this);
+        assertSame(wrapper, other);
+        assertEquals(WrapperOptions.DEFAULT, other.getOptions());
+        assertEquals(Bean.forClass(ObjectWrapperTest.class), other.getBean());
+
+        final ObjectWrapper[] threadWrapper = new ObjectWrapper[1];
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                threadWrapper[0] = ObjectWrapper.forThread(new GenericBean());
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertNotNull(threadWrapper[0]);
+        assertNotSame(wrapper, threadWrapper[0]);
+
+        try {
+            ObjectWrapper.forThread(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+
+    @Test
+    public void testForThreadWithNullOptions() {
+        GenericBean genericBean = new GenericBean();
+        genericBean.setStringProperty("foo");
+        ObjectWrapper wrapper = ObjectWrapper.forThread(genericBean);
+
+        try {
+            ObjectWrapper.forThread(new GenericBean(), null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+
+        // Still bound to the previous object
+        assertEquals("foo", wrapper.getValue(GenericBean.STRING_PROPERTY.getName()));
+        assertEquals(WrapperOptions.DEFAULT, wrapper.getOptions());
+    }
+
+    @Test
+    public void testReleaseThread() {
+        ObjectWrapper wrapper = ObjectWrapper.forThread(new GenericBean());
+        assertSame(wrapper, ObjectWrapper.forThread(new GenericBean()));
+
+        ObjectWrapper.releaseThread();
+        assertNotSame(wrapper, ObjectWrapper.forThread(new GenericBean()));
+    }
+
     @Test
     public void testWrapWithNull() {
         try {
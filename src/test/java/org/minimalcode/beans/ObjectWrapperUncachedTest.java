@@ -0,0 +1,145 @@
+package org.minimalcode.beans;
+
+import org.junit.Test;
+import org.minimalcode.reflect.util.GenericBean;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import static org.junit.Assert.*;
+
+public class ObjectWrapperUncachedTest {
+
+    @Test
+    public void testGetUncachedValue() {
+        GenericBean genericBean = new GenericBean();
+        genericBean.setBeanProperty(new GenericBean());
+        genericBean.getBeanProperty().setArrayProperty(new String[]{"foo", "bar"});
+        genericBean.getBeanProperty().setMapProperty(new HashMap<String, String>());
+        genericBean.getBeanProperty().getMapProperty().put("my.key", "zoo");
+
+        ObjectWrapper wrapper = new ObjectWrapper(genericBean);
+        assertEquals("bar", ObjectWrapper.getUncachedValue(genericBean, GenericBean.BEAN_PROPERTY.getName() + "."
+                + GenericBean.ARRAY_PROPERTY.getName() + "[1]", wrapper.getOptions(), null));
+        assertEquals("zoo", ObjectWrapper.getUncachedValue(genericBean, GenericBean.BEAN_PROPERTY.getName() + "."
+                + GenericBean.MAP_PROPERTY.getName() + "[my.key]", wrapper.getOptions(), null));
+    }
+
+    @Test
+    public void testGetUncachedValueWithInvalidPattern() {
+        GenericBean genericBean = new GenericBean();
+        ObjectWrapper wrapper = new ObjectWrapper(genericBean);
+
+        try {
+            ObjectWrapper.getUncachedValue(genericBean, GenericBean.ARRAY_PROPERTY.getName() + "[text]", wrapper.getOptions(), null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(GenericBean.ARRAY_PROPERTY.getName()));
+            assertTrue(e.getMessage().contains("Cannot parse"));
+        }
+
+        try {
+            ObjectWrapper.getUncachedValue(genericBean, GenericBean.LIST_PROPERTY.getName() + "[1", wrapper.getOptions(), null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Cannot found the closing ']'"));
+        }
+
+        try {
+            ObjectWrapper.getUncachedValue(genericBean, GenericBean.BEAN_PROPERTY.getName() + ".not-a-property", wrapper.getOptions(), null);
+            fail();
+        } catch (NullPointerException e) {
+            assertTrue(e.getMessage().contains("not-a-property"));
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+
+    @Test
+    public void testSetUncachedValue() {
+        GenericBean genericBean = new GenericBean();
+        ObjectWrapper wrapper = new ObjectWrapper(genericBean);
+
+        ObjectWrapper.setUncachedValue(genericBean, GenericBean.BEAN_PROPERTY.getName() + "."
+                + GenericBean.STRING_PROPERTY.getName(), "foo", wrapper.getOptions(), null);
+        ObjectWrapper.setUncachedValue(genericBean, GenericBean.BEAN_PROPERTY.getName() + "."
+                + GenericBean.LIST_PROPERTY.getName() + "[2]", "bar", wrapper.getOptions(), null);
+        ObjectWrapper.setUncachedValue(genericBean, GenericBean.MAP_PROPERTY.getName() + "[my.key]", "zoo", wrapper.getOptions(), null);
+
+        assertEquals("foo", genericBean.getBeanProperty().getStringProperty());
+        assertEquals("bar", genericBean.getBeanProperty().getListProperty().get(2));
+        assertEquals("zoo", genericBean.getMapProperty().get("my.key"));
+    }
+
+    @Test
+    public void testSetUncachedValueWithAutoInstancingDisabled() {
+        GenericBean genericBean = new GenericBean();
+        genericBean.setListProperty(new ArrayList<String>());
+        ObjectWrapper wrapper = new ObjectWrapper(genericBean);
+        wrapper.setAutoInstancing(false);
+
+        try {
+            ObjectWrapper.setUncachedValue(genericBean, GenericBean.BEAN_PROPERTY.getName() + "."
+                    + GenericBean.STRING_PROPERTY.getName(), "foo", wrapper.getOptions(), null);
+            fail();
+        } catch (NullPointerException e) {
+            assertTrue(e.getMessage().contains(GenericBean.STRING_PROPERTY.getName()));
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+
+    @Test
+    public void testGetUncachedPrimitives() {
+        ObjectWrapperPrimitiveTest.PrimitiveBean primitiveBean = new ObjectWrapperPrimitiveTest.PrimitiveBean();
+        primitiveBean.setNested(new ObjectWrapperPrimitiveTest.PrimitiveBean());
+        primitiveBean.getNested().setIntValue(5);
+        primitiveBean.getNested().setLongValue(6L);
+        primitiveBean.getNested().setDoubleValue(7.5);
+        primitiveBean.getNested().setBooleanValue(true);
+        primitiveBean.setIntArray(new int[]{1, 2});
+        primitiveBean.getMap().put("my.key", 8L);
+        WrapperOptions options = new ObjectWrapper(primitiveBean).getOptions();
+
+        // A 'null' compiled path walks the pattern by offsets
+        assertEquals(5, ObjectWrapper.getInt(primitiveBean, "nested.intValue", null, options, null));
+        assertEquals(6L, ObjectWrapper.getLong(primitiveBean, "nested.longValue", null, options, null));
+        assertEquals(7.5, ObjectWrapper.getDouble(primitiveBean, "nested.doubleValue", null, options, null), 0);
+        assertTrue(ObjectWrapper.getBoolean(primitiveBean, "nested.booleanValue", null, options, null));
+        assertEquals(2, ObjectWrapper.getInt(primitiveBean, "intArray[1]", null, options, null));
+        assertEquals(8.0, ObjectWrapper.getDouble(primitiveBean, "map[my.key]", null, options, null), 0);
+    }
+
+    @Test
+    public void testGetUncachedPrimitiveWithNullNested() {
+        ObjectWrapperPrimitiveTest.PrimitiveBean primitiveBean = new ObjectWrapperPrimitiveTest.PrimitiveBean();
+
+        try {
+            ObjectWrapper.getInt(primitiveBean, "nested.intValue", null, new ObjectWrapper(primitiveBean).getOptions(), null);
+            fail();
+        } catch (NullPointerException e) {
+            assertTrue(e.getMessage().contains("intValue"));
+        }
+    }
+
+    @Test
+    public void testSetUncachedPrimitives() {
+        ObjectWrapperPrimitiveTest.PrimitiveBean primitiveBean = new ObjectWrapperPrimitiveTest.PrimitiveBean();
+        WrapperOptions options = new ObjectWrapper(primitiveBean).getOptions();
+
+        // A 'null' compiled path walks the pattern by offsets
+        ObjectWrapper.setInt(primitiveBean, "nested.intValue", null, 5, options, null);// auto-instanced
+        ObjectWrapper.setLong(primitiveBean, "nested.longValue", null, 6L, options, null);
+        ObjectWrapper.setDouble(primitiveBean, "nested.doubleValue", null, 7.5, options, null);
+        ObjectWrapper.setBoolean(primitiveBean, "nested.booleanValue", null, true, options, null);
+        ObjectWrapper.setInt(primitiveBean, "intArray[1]", null, 2, options, null);// auto-grown
+        ObjectWrapper.setLong(primitiveBean, "map[my.key]", null, 8L, options, null);
+        ObjectWrapper.setInt(primitiveBean, "map[other.key]", null, 9, options, null);// boxed as a Long
+
+        assertEquals(5, primitiveBean.getNested().getIntValue());
+        assertEquals(6L, primitiveBean.getNested().getLongValue());
+        assertEquals(7.5, primitiveBean.getNested().getDoubleValue(), 0);
+        assertTrue(primitiveBean.getNested().isBooleanValue());
+        assertArrayEquals(new int[]{0, 2}, primitiveBean.getIntArray());
+        assertEquals(Long.valueOf(8L), primitiveBean.getMap().get("my.key"));
+        assertEquals(Long.valueOf(9L), primitiveBean.getMap().get("other.key"));
+    }
+}
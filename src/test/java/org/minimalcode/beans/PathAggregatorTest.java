@@ -0,0 +1,168 @@
+package org.minimalcode.beans;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.minimalcode.beans.util.ForkJoinPoolRule;
+import org.minimalcode.beans.util.GenericRecord;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PathAggregatorTest {
+
+    @Rule
+    public final ForkJoinPoolRule pool = new ForkJoinPoolRule();
+
+    @Test
+    public void testAggregatePrimitives() {
+        List<GenericRecord> records = GenericRecord.newRecords(5);
+        PathAggregator.Statistics statistics = aggregator("id").aggregate(records, null);
+
+        assertEquals(5, statistics.getCount());
+        assertEquals(0, statistics.getNullCount());
+        assertEquals(10, statistics.getLongSum());
+        assertEquals(10.0, statistics.getSum(), 0.0);
+        assertEquals(0.0, statistics.getMin(), 0.0);
+        assertEquals(4.0, statistics.getMax(), 0.0);
+        assertEquals(2.0, statistics.getAverage(), 0.0);
+
+        statistics = aggregator("total").aggregate(records.toArray(), null);
+        assertEquals(5, statistics.getCount());
+        assertEquals(0, statistics.getLongSum());
+        assertEquals(12.5, statistics.getSum(), 0.0);
+        assertEquals(0.5, statistics.getMin(), 0.0);
+        assertEquals(4.5, statistics.getMax(), 0.0);
+    }
+
+    @Test
+    public void testAggregateNulls() {
+        List<GenericRecord> records = GenericRecord.newRecords(4);
+        records.get(1).setDiscount(null);
+        records.get(2).setChild(null);
+
+        PathAggregator.Statistics statistics = aggregator("discount").aggregate(records, null);
+        assertEquals(3, statistics.getCount());
+        assertEquals(1, statistics.getNullCount());
+        assertEquals(4.0, statistics.getSum(), 0.0);
+
+        statistics = aggregator("child.level").aggregate(records, null);
+        assertEquals(3, statistics.getCount());
+        assertEquals(1, statistics.getNullCount());
+        assertEquals(8, statistics.getLongSum());// 0 + 2 + 6
+    }
+
+    @Test
+    public void testAggregateEmpty() {
+        PathAggregator.Statistics statistics = aggregator("child.level").aggregate(new ArrayList<GenericRecord>(),
+                null);
+
+        assertEquals(0, statistics.getCount());
+        assertEquals(0.0, statistics.getSum(), 0.0);
+        assertTrue(Double.isNaN(statistics.getMin()));
+        assertTrue(Double.isNaN(statistics.getMax()));
+        assertTrue(Double.isNaN(statistics.getAverage()));
+    }
+
+    @Test
+    public void testAggregateWildcards() {
+        List<GenericRecord> records = GenericRecord.newRecords(3);
+        records.get(2).setLines(null);
+
+        PathAggregator.Statistics statistics = aggregator("lines[*].level").aggregate(records, null);
+        assertEquals(1, statistics.getCount());// 0 + 1 lines
+        assertEquals(1, statistics.getNullCount());
+        assertEquals(1, statistics.getLongSum());
+
+        statistics = aggregator("scores[*]").aggregate(new LinkedList<GenericRecord>(records), null);
+        assertEquals(6, statistics.getCount());
+        assertEquals(9, statistics.getLongSum());// (0 + 1) + (1 + 2) + (2 + 3)
+        assertEquals(3.0, statistics.getMax(), 0.0);
+    }
+
+    @Test
+    public void testAggregateNestedWildcards() {
+        List<GenericRecord> records = GenericRecord.newRecords(3);
+        records.get(2).setLines(Arrays.asList(new GenericRecord(2), new GenericRecord(3)));
+
+        PathAggregator.Statistics statistics = aggregator("lines[*].scores[*]").aggregate(records, null);
+        assertEquals(6, statistics.getCount());
+        assertEquals(0, statistics.getNullCount());
+        assertEquals(15, statistics.getLongSum());// (1 + 2) + (2 + 3) + (3 + 4)
+    }
+
+    @Test
+    public void testParallelAggregate() {
+        List<GenericRecord> records = GenericRecord.newRecords(20000);
+        PathAggregator aggregator = aggregator("id").withThreshold(1000);
+        PathAggregator.Statistics sequential = aggregator.aggregate(records, null);
+        PathAggregator.Statistics parallel = aggregator.aggregate(records, pool.get());
+
+        assertEquals(20000, parallel.getCount());
+        assertEquals(sequential.getLongSum(), parallel.getLongSum());
+        assertEquals(199990000L, parallel.getLongSum());
+        assertEquals(19999.0, parallel.getMax(), 0.0);
+        assertEquals(0.0, parallel.getMin(), 0.0);
+
+        parallel = aggregator("discount").withThreshold(1000).aggregate(records.toArray(), pool.get());
+        assertEquals(20000, parallel.getCount());
+        assertEquals(aggregator("discount").aggregate(records, null).getSum(), parallel.getSum(), 1e-6);
+    }
+
+    @Test
+    public void testForPathWithNullPath() {
+        try {
+            PathAggregator.forPath(null, WrapperOptions.DEFAULT);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+
+    @Test
+    public void testWithInvalidThreshold() {
+        try {
+            aggregator("id").withThreshold(0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("0"));
+        }
+    }
+
+    @Test
+    public void testAggregateWithNullObject() {
+        try {
+            aggregator("id").aggregate(Arrays.asList(new GenericRecord(0), null), null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("1"));
+        }
+    }
+
+    @Test
+    public void testAggregateNotNumbers() {
+        try {
+            aggregator("name").aggregate(GenericRecord.newRecords(1), null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("java.lang.String"));
+        }
+    }
+
+    @Test
+    public void testAggregateUnknownProperty() {
+        try {
+            aggregator("unknown").aggregate(GenericRecord.newRecords(1), null);
+            fail();
+        } catch (NullPointerException e) {
+            assertTrue(e.getMessage().contains("unknown"));
+        }
+    }
+
+    private static PathAggregator aggregator(String path) {
+        return PathAggregator.forPath(ObjectWrapper.compile(path), WrapperOptions.DEFAULT);
+    }
+}
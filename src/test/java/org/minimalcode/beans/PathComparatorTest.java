@@ -0,0 +1,129 @@
+package org.minimalcode.beans;
+
+import org.junit.Test;
+import org.minimalcode.beans.util.GenericRecord;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.minimalcode.beans.util.GenericRecord.ids;
+
+public class PathComparatorTest {
+
+    @Test
+    public void testCompare() {
+        PathComparator comparator = PathComparator.parse("child.name, total DESC");
+        List<GenericRecord> records = newRecords();
+
+        Collections.sort(records, comparator);
+        assertEquals(Arrays.asList(4, 2, 1, 3, 5), ids(records));
+
+        comparator = PathComparator.comparing(ObjectWrapper.compile("total"))
+                .thenComparing(ObjectWrapper.compile("id")).descending();
+        Collections.sort(records, comparator);
+        assertEquals(Arrays.asList(3, 5, 4, 1, 2), ids(records));
+
+        assertEquals(0, comparator.compare(records.get(0), records.get(0)));
+        assertTrue(comparator.compare(records.get(0), records.get(1)) < 0);
+    }
+
+    @Test
+    public void testNullOrdering() {
+        List<GenericRecord> records = newRecords();
+
+        // "child" of 5 is null, sorted as a null "name"
+        PathComparator.parse("child.name desc nulls first, id").sort(records);
+        assertEquals(Arrays.asList(5, 3, 1, 2, 4), ids(records));
+
+        GenericRecord[] array = records.toArray(new GenericRecord[records.size()]);
+        PathComparator.parse("child.name nulls last, id desc").sort(array);
+        assertEquals(Arrays.asList(4, 2, 1, 3, 5), ids(Arrays.asList(array)));
+    }
+
+    @Test
+    public void testSortWithNullObject() {
+        List<GenericRecord> records = newRecords();
+        records.add(0, null);
+
+        PathComparator.parse("id").sort(records);
+        assertNull(records.get(5));
+    }
+
+    @Test
+    public void testSortMatchesCompare() {
+        List<GenericRecord> records = newRecords();
+        List<GenericRecord> expected = new ArrayList<GenericRecord>(records);
+        PathComparator comparator = PathComparator.parse("total, child.name desc nulls first, id");
+
+        Collections.sort(expected, comparator);
+        comparator.sort(records);
+        assertEquals(ids(expected), ids(records));
+    }
+
+    @Test
+    public void testParseWithInvalidDirection() {
+        try {
+            PathComparator.parse("total descending");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("total descending"));
+        }
+    }
+
+    @Test
+    public void testParseWithEmptyKey() {
+        try {
+            PathComparator.parse("total,, id");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("empty"));
+        }
+    }
+
+    @Test
+    public void testComparingWithNull() {
+        try {
+            PathComparator.comparing(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+
+    @Test
+    public void testCompareNotComparable() {
+        List<GenericRecord> records = newRecords();
+
+        try {
+            PathComparator.parse("child").compare(records.get(0), records.get(1));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(GenericRecord.class.getName()));
+        }
+    }
+
+    /*
+     * The records 1 to 5, with the totals 20, 30, 5, 10, 10 and the child names "Rossi", "Rossi", "Verdi",
+     * "Bianchi" and a 'null' child.
+     */
+    private static List<GenericRecord> newRecords() {
+        List<GenericRecord> records = GenericRecord.newRecords(6).subList(1, 6);
+        double[] totals = {20.0, 30.0, 5.0, 10.0, 10.0};
+        String[] names = {"Rossi", "Rossi", "Verdi", "Bianchi"};
+
+        for (int i = 0; i < records.size(); i++) {
+            records.get(i).setTotal(totals[i]);
+
+            if (i < names.length) {
+                records.get(i).getChild().setName(names[i]);
+            } else {
+                records.get(i).setChild(null);
+            }
+        }
+
+        return new ArrayList<GenericRecord>(records);
+    }
+}
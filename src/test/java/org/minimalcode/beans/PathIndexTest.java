@@ -0,0 +1,138 @@
+package org.minimalcode.beans;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.minimalcode.beans.util.ForkJoinPoolRule;
+import org.minimalcode.beans.util.GenericRecord;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PathIndexTest {
+
+    @Rule
+    public final ForkJoinPoolRule pool = new ForkJoinPoolRule();
+
+    @Test
+    public void testBuild() {
+        List<GenericRecord> records = GenericRecord.newRecords(10);
+        records.add(records.get(0));// indexed once
+        PathIndex<GenericRecord> index = PathIndex.build(records, ObjectWrapper.compile("child.group"));
+
+        // The child of each record has twice its id
+        assertEquals(10, index.size());
+        assertEquals(3, index.keySet().size());
+        assertSame(records.get(1), index.get("G-2"));
+        assertEquals(Arrays.asList(records.get(2), records.get(5), records.get(8)), index.getAll("G-1"));
+        assertTrue(index.containsKey("G-0"));
+        assertNull(index.get("G-3"));
+        assertTrue(index.getAll("G-3").isEmpty());
+    }
+
+    @Test
+    public void testBuildWithPrimitiveKeys() {
+        List<GenericRecord> records = GenericRecord.newRecords(10);
+        PathIndex<GenericRecord> index = PathIndex.build(records, ObjectWrapper.compile("id"));
+
+        assertSame(records.get(7), index.get(7));
+        assertNull(index.get(7L));// Integer keys
+    }
+
+    @Test
+    public void testParallelBuild() {
+        List<GenericRecord> records = GenericRecord.newRecords(20000);
+        PathIndex<GenericRecord> index = PathIndex.build(records, ObjectWrapper.compile("id"),
+                WrapperOptions.DEFAULT, pool.get());
+        assertEquals(20000, index.size());
+
+        for (int i = 0; i < records.size(); i += 997) {
+            assertSame(records.get(i), index.get(i));
+        }
+    }
+
+    @Test
+    public void testIncrementalUpdates() {
+        List<GenericRecord> records = GenericRecord.newRecords(3);
+        PathIndex<GenericRecord> index = PathIndex.build(records, ObjectWrapper.compile("child.group"));
+
+        GenericRecord record = new GenericRecord(3);
+        record.setChild(new GenericRecord(0));
+        index.add(record);
+        assertEquals(Arrays.asList(records.get(0), record), index.getAll("G-0"));
+
+        new ObjectWrapper(record).setValue("child.group", "G-9");
+        assertTrue(index.update(record));
+        assertFalse(index.update(record));
+        assertEquals(Arrays.asList(records.get(0)), index.getAll("G-0"));
+        assertSame(record, index.get("G-9"));
+
+        record.getChild().setGroup(null);
+        index.add(record);
+        assertSame(record, index.get(null));
+        assertFalse(index.containsKey("G-9"));
+        assertEquals(4, index.size());
+
+        assertTrue(index.remove(record));
+        assertFalse(index.remove(record));
+        assertFalse(index.containsKey(null));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void testUpdateNotIndexed() {
+        PathIndex<GenericRecord> index = PathIndex.build(GenericRecord.newRecords(3),
+                ObjectWrapper.compile("child.group"));
+
+        try {
+            index.update(GenericRecord.newRecords(1).get(0));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("child.group"));
+        }
+    }
+
+    @Test
+    public void testBuildWithNullObjects() {
+        try {
+            PathIndex.build(null, ObjectWrapper.compile("id"));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+
+    @Test
+    public void testBuildWithNullPath() {
+        try {
+            PathIndex.build(GenericRecord.newRecords(1), null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("propertyPath"));
+        }
+    }
+
+    @Test
+    public void testBuildWithNullNestedProperty() {
+        List<GenericRecord> records = GenericRecord.newRecords(2);
+        records.get(1).setChild(null);
+
+        try {
+            PathIndex.build(records, ObjectWrapper.compile("child.group"));
+            fail();
+        } catch (NullPointerException e) {
+            assertTrue(e.getMessage().contains("group"));
+        }
+    }
+
+    @Test
+    public void testAddNull() {
+        try {
+            PathIndex.build(GenericRecord.newRecords(1), ObjectWrapper.compile("id")).add(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+}
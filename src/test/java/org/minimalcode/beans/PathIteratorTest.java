@@ -0,0 +1,184 @@
+package org.minimalcode.beans;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+
+public class PathIteratorTest {
+
+    @Test
+    public void testIterateValues() {
+        Customer customer = newCustomer();
+
+        assertEquals(Arrays.<Object>asList(1.0, 2.0, 3.0), toList(new ObjectWrapper(customer)
+                .iterateValues("orders[*].lines[*].total")));
+        assertEquals(Arrays.<Object>asList("a", "b"), toList(new ObjectWrapper(customer)
+                .iteratePathValues(ObjectWrapper.compile("notes[*]"))));
+        assertEquals(Arrays.<Object>asList(3.0), toList(BeanAccessor.getInstance()
+                .iterateValues(customer, "orders[2].lines[*].total", WrapperOptions.DEFAULT)));
+        assertEquals(Arrays.<Object>asList(7, 8), toList(BeanAccessor.getInstance()
+                .iteratePathValues(customer, ObjectWrapper.compile("codes[*]"), WrapperOptions.DEFAULT)));
+
+        // Without wildcards, the only value
+        assertEquals(Arrays.<Object>asList("a"), toList(new ObjectWrapper(customer).iterateValues("notes[x]")));
+    }
+
+    @Test
+    public void testLazyIteration() {
+        Customer customer = newCustomer();
+        Iterator<Object> values = new ObjectWrapper(customer).iterateValues("orders[*].lines[*].total");
+        assertEquals(0, customer.ordersReads);
+
+        assertEquals(1.0, values.next());
+        assertEquals(1, customer.ordersReads);
+        assertEquals(1, customer.getOrders().get(0).linesReads);
+        assertEquals(0, customer.getOrders().get(2).linesReads);
+
+        assertTrue(values.hasNext());
+        assertTrue(values.hasNext());
+        assertEquals(2.0, values.next());
+        assertEquals(3.0, values.next());
+        assertFalse(values.hasNext());
+
+        try {
+            values.next();
+            fail();
+        } catch (NoSuchElementException e) {
+            assertTrue(e.getMessage().contains("orders[*]"));
+        }
+
+        try {
+            values.remove();
+            fail();
+        } catch (UnsupportedOperationException e) {
+            assertTrue(e.getMessage().contains("orders[*]"));
+        }
+    }
+
+    @Test
+    public void testIterateInvalidValues() {
+        Customer customer = newCustomer();
+        customer.getOrders().get(1).setLines(null);
+        Iterator<Object> values = new ObjectWrapper(customer).iterateValues("orders[*].lines[*].total");
+        assertEquals(1.0, values.next());
+        assertEquals(2.0, values.next());
+
+        try {
+            values.next();
+            fail();
+        } catch (NullPointerException e) {
+            assertTrue(e.getMessage().contains("lines"));
+        }
+
+        try {
+            new ObjectWrapper(customer).iterateValues("orders[*].lines[*].total[*]").next();
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(Double.class.getName()));
+        }
+
+        try {
+            new ObjectWrapper(customer).iterateValues(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+
+    private static List<Object> toList(Iterator<Object> iterator) {
+        List<Object> list = new ArrayList<Object>();
+
+        while (iterator.hasNext()) {
+            list.add(iterator.next());
+        }
+
+        return list;
+    }
+
+    private static Customer newCustomer() {
+        Customer customer = new Customer();
+        customer.setOrders(Arrays.asList(new Order(), new Order(), new Order()));
+        customer.getOrders().get(0).setLines(new Line[]{new Line(1.0), new Line(2.0)});
+        customer.getOrders().get(1).setLines(new Line[0]);
+        customer.getOrders().get(2).setLines(new Line[]{new Line(3.0)});
+        customer.setNotes(new LinkedHashMap<String, String>());
+        customer.getNotes().put("x", "a");
+        customer.getNotes().put("y", "b");
+        customer.setCodes(new int[]{7, 8});
+        customer.ordersReads = 0;
+        return customer;
+    }
+
+    public static class Customer {
+        private List<Order> orders;
+        private Map<String, String> notes;
+        private int[] codes;
+        int ordersReads;
+
+        public List<Order> getOrders() {
+            ordersReads++;
+            return orders;
+        }
+
+        public void setOrders(List<Order> orders) {
+            this.orders = orders;
+        }
+
+        public Map<String, String> getNotes() {
+            return notes;
+        }
+
+        public void setNotes(Map<String, String> notes) {
+            this.notes = notes;
+        }
+
+        public int[] getCodes() {
+            return codes;
+        }
+
+        public void setCodes(int[] codes) {
+            this.codes = codes;
+        }
+    }
+
+    public static class Order {
+        private Line[] lines;
+        int linesReads;
+
+        public Line[] getLines() {
+            linesReads++;
+            return lines;
+        }
+
+        public void setLines(Line[] lines) {
+            this.lines = lines;
+        }
+    }
+
+    public static class Line {
+        private double total;
+
+        public Line() {
+        }
+
+        Line(double total) {
+            this.total = total;
+        }
+
+        public double getTotal() {
+            return total;
+        }
+
+        public void setTotal(double total) {
+            this.total = total;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package org.minimalcode.beans;
+
+import org.junit.Test;
+import org.minimalcode.beans.util.GenericRecord;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class PathJoinTest {
+
+    @Test
+    public void testInnerJoin() {
+        List<GenericRecord> orders = Arrays.asList(new GenericRecord(1), new GenericRecord(2), new GenericRecord(3));
+        List<GenericRecord> payments = Arrays.asList(payment("a", 1), payment("b", 3), payment("c", 3),
+                payment("d", 4), payment("e", null), payment("f", 2));
+        payments.get(4).setChild(null);
+
+        Pairs pairs = new Pairs();
+        PathJoin.on(ObjectWrapper.compile("id"), ObjectWrapper.compile("child.level"))
+                .innerJoin(orders, payments, pairs);
+        assertEquals(new HashSet<String>(Arrays.asList("R-1-a", "R-3-b", "R-3-c", "R-2-f")), pairs.set());
+    }
+
+    @Test
+    public void testInnerJoinBuildsTheSmallerSide() {
+        List<GenericRecord> orders = Arrays.asList(new GenericRecord(1), new GenericRecord(2), new GenericRecord(3));
+        List<GenericRecord> payments = Arrays.asList(payment("a", 1), payment("b", 3), payment("c", 3),
+                payment("d", 4), payment("e", null), payment("f", 2));
+
+        // The build side is the smaller one, whatever the join direction
+        Pairs pairs = new Pairs();
+        PathJoin.on(ObjectWrapper.compile("child.level"), ObjectWrapper.compile("id"))
+                .innerJoin(payments, orders, pairs);
+        assertEquals(new HashSet<String>(Arrays.asList("a-R-1", "b-R-3", "c-R-3", "f-R-2")), pairs.set());
+    }
+
+    @Test
+    public void testLeftJoin() {
+        List<GenericRecord> orders = Arrays.asList(new GenericRecord(1), new GenericRecord(2), new GenericRecord(5));
+        List<GenericRecord> payments = Arrays.asList(payment("a", 1), payment("b", 1));
+
+        // Right side built
+        Pairs pairs = new Pairs();
+        PathJoin.on(ObjectWrapper.compile("id"), ObjectWrapper.compile("child.level"))
+                .leftJoin(orders, payments, pairs);
+        assertEquals(new HashSet<String>(Arrays.asList("R-1-a", "R-1-b", "R-2-null", "R-5-null")), pairs.set());
+
+        // Left side built
+        pairs = new Pairs();
+        PathJoin.on(ObjectWrapper.compile("child.level"), ObjectWrapper.compile("id"))
+                .leftJoin(payments, orders, pairs);
+        assertEquals(new HashSet<String>(Arrays.asList("a-R-1", "b-R-1")), pairs.set());
+
+        pairs = new Pairs();
+        PathJoin.on(ObjectWrapper.compile("child.level"), ObjectWrapper.compile("id"))
+                .leftJoin(payments, Collections.singletonList(new GenericRecord(2)), pairs);
+        assertEquals(new HashSet<String>(Arrays.asList("a-null", "b-null")), pairs.set());
+    }
+
+    @Test
+    public void testObjectKeys() {
+        List<GenericRecord> orders = Arrays.asList(new GenericRecord(1), new GenericRecord(2));
+        List<GenericRecord> payments = Arrays.asList(payment("a", null), payment("R-1", 2), payment("R-2", 1));
+
+        Pairs pairs = new Pairs();
+        PathJoin.on(ObjectWrapper.compile("id"), ObjectWrapper.compile("child.level"))
+                .innerJoin(orders, payments, pairs);
+        assertEquals(new HashSet<String>(Arrays.asList("R-1-R-2", "R-2-R-1")), pairs.set());
+
+        pairs = new Pairs();
+        PathJoin.on(ObjectWrapper.compile("name"), ObjectWrapper.compile("name"))
+                .innerJoin(orders, payments, pairs);
+        assertEquals(new HashSet<String>(Arrays.asList("R-1-R-1", "R-2-R-2")), pairs.set());
+    }
+
+    @Test
+    public void testMixedKeys() {
+        List<GenericRecord> orders = Arrays.asList(new GenericRecord(1), new GenericRecord(2), new GenericRecord(3));
+        List<GenericRecord> values = Arrays.asList(value("a", 1L), value("b", "2"), value("c", (short) 3),
+                value("d", null));
+
+        // The integral keys of the built side against the mixed ones streamed, and vice versa
+        Pairs pairs = new Pairs();
+        PathJoin.on(ObjectWrapper.compile("id"), ObjectWrapper.compile("value")).innerJoin(orders, values, pairs);
+        assertEquals(new HashSet<String>(Arrays.asList("R-1-a", "R-3-c")), pairs.set());
+
+        pairs = new Pairs();
+        PathJoin.on(ObjectWrapper.compile("value"), ObjectWrapper.compile("id")).leftJoin(values, orders, pairs);
+        assertEquals(new HashSet<String>(Arrays.asList("a-R-1", "b-null", "c-R-3", "d-null")), pairs.set());
+    }
+
+    @Test
+    public void testOnWithNullPath() {
+        try {
+            PathJoin.on(null, ObjectWrapper.compile("id"));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+
+    @Test
+    public void testJoinWithNullObject() {
+        try {
+            PathJoin.on(ObjectWrapper.compile("id"), ObjectWrapper.compile("id"))
+                    .innerJoin(Arrays.asList(new GenericRecord(1), null), Arrays.asList(new GenericRecord(1)),
+                            new Pairs());
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("1"));
+        }
+    }
+
+    @Test
+    public void testJoinWithNullHandler() {
+        try {
+            PathJoin.on(ObjectWrapper.compile("id"), ObjectWrapper.compile("id"))
+                    .innerJoin(Arrays.asList(new GenericRecord(1)), Arrays.asList(new GenericRecord(1)), null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+
+    /*
+     * A record named as the given code, whose child level refers to an order id.
+     */
+    private static GenericRecord payment(String code, Integer orderId) {
+        GenericRecord payment = new GenericRecord();
+        payment.setName(code);
+        payment.setChild(new GenericRecord());
+        payment.getChild().setLevel(orderId);
+
+        return payment;
+    }
+
+    private static GenericRecord value(String code, Object value) {
+        GenericRecord record = new GenericRecord();
+        record.setName(code);
+        record.setValue(value);
+
+        return record;
+    }
+
+    private static class Pairs implements PathJoin.Handler<Object, Object> {
+
+        private final List<String> pairs = new ArrayList<String>();
+
+        @Override
+        public void match(Object left, Object right) {
+            pairs.add(left + "-" + right);
+        }
+
+        Set<String> set() {
+            Set<String> set = new HashSet<String>(pairs);
+            assertEquals(pairs.size(), set.size());
+            return set;
+        }
+    }
+}
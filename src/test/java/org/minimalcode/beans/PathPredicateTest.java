@@ -0,0 +1,128 @@
+package org.minimalcode.beans;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.minimalcode.beans.util.ForkJoinPoolRule;
+import org.minimalcode.beans.util.GenericRecord;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PathPredicateTest {
+
+    @Rule
+    public final ForkJoinPoolRule pool = new ForkJoinPoolRule();
+
+    @Test
+    public void testCompile() {
+        GenericRecord record = GenericRecord.newRecords(2).get(1);
+        record.setTotal(150.0);
+        record.setName("it's");
+
+        assertTrue(PathPredicate.compile("child.name == 'R-2' && total > 100").test(record));
+        assertFalse(PathPredicate.compile("child.name == \"R-1\" || total <= 100").test(record));
+        assertTrue(PathPredicate.compile("!(id != 1) && (total >= 150.0 || paid == false)").test(record));
+        assertTrue(PathPredicate.compile("id < 2 && total < 150.5 && paid == true").test(record));
+        assertTrue(PathPredicate.compile("child.name > 'R-1' && child.name != null").test(record));
+        assertTrue(PathPredicate.compile("status == 'CLOSED' && level == 1 && level > 0.5").test(record));
+        assertTrue(PathPredicate.compile("name == 'it\\'s' && tags[0] == 'a'").test(record));
+    }
+
+    @Test
+    public void testNullValues() {
+        GenericRecord record = GenericRecord.newRecords(2).get(1);
+        record.setChild(null);
+
+        // The null "child" is evaluated as a null "name"
+        assertTrue(PathPredicate.compile("child.name == null").test(record));
+        assertFalse(PathPredicate.compile("child.name != null").test(record));
+        assertFalse(PathPredicate.compile("child.name == 'R-2'").test(record));
+        assertTrue(PathPredicate.compile("child.name != 'R-2'").test(record));
+        assertFalse(PathPredicate.compile("child.name < 'R-2'").test(record));
+        assertFalse(PathPredicate.compile("child.name >= 'R-2'").test(record));
+        assertFalse(PathPredicate.compile("id == null").test(record));
+    }
+
+    @Test
+    public void testCombine() {
+        GenericRecord record = GenericRecord.newRecords(2).get(1);
+        PathPredicate named = PathPredicate.compile("child.name == 'R-2'");
+        PathPredicate small = PathPredicate.compile("total > 100");
+
+        assertFalse(named.and(small).test(record));
+        assertTrue(named.or(small).test(record));
+        assertTrue(small.negate().test(record));
+        assertEquals("(child.name == 'R-2') && (total > 100)", named.and(small).getExpression());
+    }
+
+    @Test
+    public void testFilter() {
+        List<GenericRecord> records = GenericRecord.newRecords(10000);
+
+        PathPredicate predicate = PathPredicate.compile("status == 'OPEN' && total > 5000");
+        List<GenericRecord> expected = predicate.filter(records);
+        assertEquals(2500, expected.size());
+        assertEquals(5000, expected.get(0).getId());
+
+        assertEquals(expected, predicate.filter(records, pool.get()));
+        assertEquals(expected, predicate.filter(new LinkedList<GenericRecord>(records), pool.get()));
+    }
+
+    @Test
+    public void testFilterWithThreshold() {
+        List<GenericRecord> records = GenericRecord.newRecords(3000);
+
+        PathPredicate predicate = PathPredicate.compile("status == 'OPEN' && total > 1000").withThreshold(100);
+        List<GenericRecord> expected = predicate.filter(records);
+        assertEquals(1000, expected.size());
+
+        assertEquals(expected, predicate.filter(records, pool.get()));
+        assertEquals(expected, predicate.negate().negate().filter(records, pool.get()));
+    }
+
+    @Test
+    public void testWithInvalidThreshold() {
+        try {
+            PathPredicate.compile("total > 1").withThreshold(0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("0"));
+        }
+    }
+
+    @Test
+    public void testCompileInvalidExpressions() {
+        for (String expression : Arrays.asList("total >", "total 100", "== 1", "(total > 1", "total > 1 &&",
+                "total > 'abc", "total > 1 total", "total > abc", "total < null", "paid > true")) {
+            try {
+                PathPredicate.compile(expression);
+                fail(expression);
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage().contains(expression));
+            }
+        }
+    }
+
+    @Test
+    public void testCompileWithNull() {
+        try {
+            PathPredicate.compile(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+
+    @Test
+    public void testTestNotComparable() {
+        try {
+            PathPredicate.compile("child > 1").test(GenericRecord.newRecords(1).get(0));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(GenericRecord.class.getName()));
+        }
+    }
+}
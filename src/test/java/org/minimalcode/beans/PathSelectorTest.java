@@ -0,0 +1,203 @@
+package org.minimalcode.beans;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.minimalcode.beans.util.ForkJoinPoolRule;
+import org.minimalcode.beans.util.GenericRecord;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.minimalcode.beans.util.GenericRecord.ids;
+import static org.minimalcode.beans.util.GenericRecord.newRecords;
+
+public class PathSelectorTest {
+
+    @Rule
+    public final ForkJoinPoolRule pool = new ForkJoinPoolRule();
+
+    @Test
+    public void testTopAndBottom() {
+        List<GenericRecord> records = newRecords(50);
+        Collections.shuffle(records);
+
+        assertEquals(Arrays.asList(49, 48, 47), ids(PathSelector.top(ObjectWrapper.compile("count"), 3)
+                .select(records.iterator())));
+        assertEquals(Arrays.asList(0, 1, 2, 3), ids(PathSelector.bottom(ObjectWrapper.compile("count"), 4)
+                .select(records.iterator())));
+
+        // Boxed and floating keys
+        assertEquals(Arrays.asList(49, 48), ids(PathSelector.top(ObjectWrapper.compile("total"), 2)
+                .select(records.iterator())));
+        assertEquals(Arrays.asList(0, 1), ids(PathSelector.bottom(ObjectWrapper.compile("level"), 2)
+                .select(records.iterator())));
+        assertEquals(Arrays.asList(9, 8), ids(PathSelector.top(ObjectWrapper.compile("name"), 2)
+                .select(newRecords(12).iterator())));// "R-9" > "R-8" > "R-11"
+    }
+
+    @Test
+    public void testFewerObjectsThanLimit() {
+        assertEquals(Arrays.asList(2, 1, 0), ids(PathSelector.top(ObjectWrapper.compile("count"), 10)
+                .select(newRecords(3).iterator())));
+    }
+
+    @Test
+    public void testNullsAreNotSelected() {
+        List<GenericRecord> records = newRecords(5);
+        records.get(4).setChild(null);
+        records.get(3).getChild().setLevel(null);
+
+        assertEquals(Arrays.asList(3, 2), ids(PathSelector.top(ObjectWrapper.compile("child.count"), 2)
+                .select(records.iterator())));
+        assertEquals(Arrays.asList(2, 1, 0), ids(PathSelector.top(ObjectWrapper.compile("child.level"), 5)
+                .select(records.iterator())));
+    }
+
+    @Test
+    public void testMixedKeys() {
+        PathSelector selector = PathSelector.top(ObjectWrapper.compile("value"), 2);
+        PathSelector.Selection<GenericRecord> selection = selector.newSelection();
+
+        assertTrue(selection.add(withValue(1)));
+        assertTrue(selection.add(withValue(5L)));
+        assertTrue(selection.add(withValue(2.5)));// switches to the double keys
+        assertFalse(selection.add(withValue(0.5)));
+        assertEquals(2, selection.size());
+        assertEquals(Arrays.asList((Object) 5L, 2.5), values(selection.toList()));
+    }
+
+    @Test
+    public void testAddNotComparable() {
+        PathSelector.Selection<GenericRecord> selection = PathSelector.top(ObjectWrapper.compile("value"), 2)
+                .newSelection();
+
+        try {
+            selection.add(withValue(new Object()));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("java.lang.Object"));
+        }
+    }
+
+    @Test
+    public void testMerge() {
+        List<GenericRecord> records = newRecords(100);
+        Collections.shuffle(records);
+        PathSelector selector = PathSelector.bottom(ObjectWrapper.compile("child.count"), 5);
+
+        PathSelector.Selection<GenericRecord> first = selector.newSelection();
+        PathSelector.Selection<GenericRecord> second = selector.newSelection();
+        first.addAll(records.subList(0, 50).iterator());
+        second.addAll(records.subList(50, 100).iterator());
+        first.merge(second);
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), ids(first.toList()));
+    }
+
+    @Test
+    public void testMergeWithOtherSelector() {
+        PathSelector.Selection<GenericRecord> selection = PathSelector.bottom(ObjectWrapper.compile("child.count"), 5)
+                .newSelection();
+
+        try {
+            selection.merge(PathSelector.top(ObjectWrapper.compile("child.count"), 5).<GenericRecord>newSelection());
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("child.count"));
+        }
+    }
+
+    @Test
+    public void testMergeWithEqualPaths() throws Exception {
+        // Not the same instance, as when the pattern is not admitted into the full cache of the compiled paths
+        Method parse = PropertyPath.class.getDeclaredMethod("parse", String.class);
+        parse.setAccessible(true);
+        PropertyPath path = (PropertyPath) parse.invoke(null, "child.count");
+        assertNotSame(ObjectWrapper.compile("child.count"), path);
+
+        PathSelector.Selection<GenericRecord> first = PathSelector.top(ObjectWrapper.compile("child.count"), 2)
+                .newSelection();
+        PathSelector.Selection<GenericRecord> second = PathSelector.top(path, 2).newSelection();
+        first.addAll(newRecords(3).iterator());
+        second.addAll(newRecords(5).subList(3, 5).iterator());
+        first.merge(second);
+
+        assertEquals(Arrays.asList(4, 3), ids(first.toList()));
+    }
+
+    @Test
+    public void testParallelSelect() {
+        List<GenericRecord> records = newRecords(20000);
+        Collections.shuffle(records);
+
+        PathSelector selector = PathSelector.top(ObjectWrapper.compile("count"), 100).withThreshold(1000);
+        List<GenericRecord> selected = selector.select(records, pool.get());
+
+        assertEquals(100, selected.size());
+        assertEquals(ids(selector.select(records.iterator())), ids(selected));
+        assertEquals(19999, selected.get(0).getId());
+        assertEquals(19900, selected.get(99).getId());
+    }
+
+    @Test
+    public void testTopWithNullPath() {
+        try {
+            PathSelector.top(null, 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+
+    @Test
+    public void testTopWithInvalidLimit() {
+        try {
+            PathSelector.top(ObjectWrapper.compile("id"), 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("0"));
+        }
+    }
+
+    @Test
+    public void testSelectWithNullObject() {
+        try {
+            PathSelector.top(ObjectWrapper.compile("id"), 1).select(Arrays.asList(new GenericRecord(0), null)
+                    .iterator());
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+
+    @Test
+    public void testSelectUnknownProperty() {
+        try {
+            PathSelector.top(ObjectWrapper.compile("unknown"), 1).select(newRecords(1).iterator());
+            fail();
+        } catch (NullPointerException e) {
+            assertTrue(e.getMessage().contains("unknown"));
+        }
+    }
+
+    private static GenericRecord withValue(Object value) {
+        GenericRecord record = new GenericRecord();
+        record.setValue(value);
+
+        return record;
+    }
+
+    private static List<Object> values(List<GenericRecord> records) {
+        List<Object> values = new ArrayList<Object>();
+
+        for (GenericRecord record : records) {
+            values.add(record.getValue());
+        }
+
+        return values;
+    }
+}
@@ -0,0 +1,187 @@
+package org.minimalcode.beans;
+
+import org.junit.Test;
+import org.minimalcode.beans.ObjectWrapperDescribeTest.Address;
+import org.minimalcode.beans.ObjectWrapperDescribeTest.Person;
+import org.minimalcode.beans.ObjectWrapperDescribeTest.Street;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import static org.junit.Assert.*;
+
+public class PathSetTest {
+
+    @Test
+    public void testGetValues() {
+        Person person = newPerson();
+
+        PathSet pathSet = PathSet.compile("address.city", "name", "address.street.number", "address.zip",
+                "tags[1]", "attributes[my.key]", "address.city");
+        assertEquals(7, pathSet.size());
+        assertEquals("address.zip", pathSet.getPattern(3));
+
+        Object[] results = new Object[pathSet.size()];
+        new ObjectWrapper(person).getValues(pathSet, results);
+
+        assertEquals(Arrays.<Object>asList("Rome", "foo", 5, "00100", "b", "zoo", "Rome"), Arrays.asList(results));
+        assertEquals(1, person.addressReads);// "address" shared by 4 paths, read once
+    }
+
+    @Test
+    public void testGetValuesByPatterns() {
+        Person person = newPerson();
+
+        Object[] results = new ObjectWrapper(person).getValues("name", "address", "address.city");
+        assertEquals("foo", results[0]);
+        assertSame(person.getAddress(), results[1]);
+        assertEquals("Rome", results[2]);
+    }
+
+    @Test
+    public void testGetValuesWithAccessor() {
+        Person person = newPerson();
+        PathSet pathSet = PathSet.compile(ObjectWrapper.compile("tags[5]"), ObjectWrapper.compile("name"));
+        Object[] results = new Object[3];
+
+        BeanAccessor.getInstance().getValues(person, pathSet, results, WrapperOptions.DEFAULT);
+        assertNull(results[0]);
+        assertEquals("foo", results[1]);
+
+        try {
+            BeanAccessor.getInstance().getValues(person, pathSet, results,
+                    WrapperOptions.DEFAULT.withOutOfBoundsSafety(false));
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertTrue(e.getMessage().contains("5"));
+        }
+    }
+
+    @Test
+    public void testGetValuesWithNullTraversing() {
+        Person person = newPerson();
+        person.getAddress().setStreet(null);
+
+        try {
+            new ObjectWrapper(person).getValues("address.city", "address.street.number");
+            fail();
+        } catch (NullPointerException e) {
+            assertTrue(e.getMessage().contains("number"));
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+
+    @Test
+    public void testSetValues() {
+        Person person = new Person();
+        Address address = new Address();
+
+        PathSet pathSet = PathSet.compile("address.city", "name", "address", "tags[1]", "attributes[my.key]",
+                "tags[0]", "address.street.number", "name");
+        new ObjectWrapper(person).setValues(pathSet, new Object[]{"Rome", "foo", address, "b", "zoo", "a", 5, "bar"});
+
+        assertSame(address, person.getAddress());// set before "address.city"
+        assertEquals("Rome", address.getCity());
+        assertEquals(5, address.getStreet().getNumber());
+        assertEquals("bar", person.getName());// the last value wins
+        assertEquals(Arrays.asList("a", "b"), person.getTags());
+        assertEquals("zoo", person.getAttributes().get("my.key"));
+
+        person.addressReads = 0;
+        BeanAccessor.getInstance().setValues(person, PathSet.compile("address.zip", "address.city"),
+                new Object[]{"00100", "Milan"}, WrapperOptions.DEFAULT);
+        assertEquals(1, person.addressReads);
+        assertEquals("00100", address.getZip());
+        assertEquals("Milan", address.getCity());
+    }
+
+    @Test
+    public void testSetValuesGrowsOnce() {
+        Codes codes = new Codes();
+        String[] patterns = new String[10];
+        Object[] values = new Object[10];
+
+        for (int i = 0; i < patterns.length; i++) {
+            patterns[i] = "codes[" + i + "]";
+            values[i] = "c" + i;
+        }
+
+        new ObjectWrapper(codes).setValues(PathSet.compile(patterns), values);
+        assertEquals(1, codes.codesWrites);
+        assertArrayEquals(values, codes.getCodes());
+    }
+
+    @Test
+    public void testSetValuesWithNullTraversing() {
+        ObjectWrapper wrapper = new ObjectWrapper(new Person());
+        wrapper.setAutoInstancing(false);
+
+        try {
+            wrapper.setValues(PathSet.compile("name", "address.city"), new Object[]{"foo", "Rome"});
+            fail();
+        } catch (NullPointerException e) {
+            assertTrue(e.getMessage().contains("city"));
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        try {
+            PathSet.compile("name", null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+
+        try {
+            new ObjectWrapper(newPerson()).getValues(PathSet.compile("name", "address"), new Object[1]);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("2"));
+        }
+
+        try {
+            new ObjectWrapper(newPerson()).setValues(PathSet.compile("name", "address"), null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+
+        try {
+            new ObjectWrapper(newPerson()).getValues((PathSet) null, new Object[1]);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("pathSet"));
+        }
+    }
+
+    private static Person newPerson() {
+        Person person = new Person();
+        person.setName("foo");
+        person.setAddress(new Address());
+        person.getAddress().setCity("Rome");
+        person.getAddress().setZip("00100");
+        person.getAddress().setStreet(new Street());
+        person.getAddress().getStreet().setNumber(5);
+        person.setTags(Arrays.asList("a", "b"));
+        person.setAttributes(new HashMap<String, String>());
+        person.getAttributes().put("my.key", "zoo");
+        person.addressReads = 0;
+        return person;
+    }
+
+    public static class Codes {
+        private String[] codes = new String[0];
+        int codesWrites;
+
+        public String[] getCodes() {
+            return codes;
+        }
+
+        public void setCodes(String[] codes) {
+            codesWrites++;
+            this.codes = codes;
+        }
+    }
+}
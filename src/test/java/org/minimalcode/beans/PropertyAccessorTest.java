@@ -0,0 +1,75 @@
+package org.minimalcode.beans;
+
+import org.junit.Test;
+import org.minimalcode.reflect.Bean;
+import org.minimalcode.reflect.ReflectionException;
+import org.minimalcode.reflect.util.GenericBean;
+
+import static org.junit.Assert.*;
+
+public class PropertyAccessorTest {
+
+    @Test
+    public void testForProperty() {
+        PropertyAccessor accessor = PropertyAccessor.forProperty(GenericBean.STRING_PROPERTY);
+
+        assertSame(accessor, PropertyAccessor.forProperty(GenericBean.STRING_PROPERTY));
+        assertSame(GenericBean.STRING_PROPERTY, accessor.property);
+    }
+
+    @Test
+    public void testGetAndSet() {
+        GenericBean genericBean = new GenericBean();
+        PropertyAccessor accessor = PropertyAccessor.forProperty(GenericBean.STRING_PROPERTY);
+
+        accessor.set(genericBean, "foo");
+        assertEquals("foo", genericBean.getStringProperty());
+        assertEquals("foo", accessor.get(genericBean));
+    }
+
+    @Test
+    public void testGetAndSetPrimitive() {
+        PrimitiveBean primitiveBean = new PrimitiveBean();
+        PropertyAccessor accessor = PropertyAccessor.forProperty(Bean.forClass(PrimitiveBean.class).getProperty("count"));
+
+        accessor.set(primitiveBean, 5);
+        assertEquals(5, primitiveBean.getCount());
+        assertEquals(5, accessor.get(primitiveBean));
+
+        try {
+            accessor.set(primitiveBean, null);
+            fail();
+        } catch (ReflectionException e) {
+            assertTrue(e.getMessage().contains("count"));
+        }
+    }
+
+    @Test
+    public void testGetWithThrowingGetter() {
+        PropertyAccessor accessor = PropertyAccessor.forProperty(Bean.forClass(PrimitiveBean.class).getProperty("broken"));
+
+        try {
+            accessor.get(new PrimitiveBean());
+            fail();
+        } catch (ReflectionException e) {
+            assertTrue(e.getMessage().contains("broken"));
+            assertTrue(e.getCause() instanceof UnsupportedOperationException);
+        }
+    }
+
+    public static class PrimitiveBean {
+        private int count;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public String getBroken() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.minimalcode.beans;
+
+import org.junit.Test;
+import org.minimalcode.reflect.util.GenericBean;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class PropertyPathTest {
+
+    @Test
+    public void testCompile() {
+        final String pattern = GenericBean.BEAN_PROPERTY.getName() + "." + GenericBean.MAP_PROPERTY.getName() + "[my.key]";
+        PropertyPath path = ObjectWrapper.compile(pattern);
+
+        assertEquals(pattern, path.getPattern());
+        assertEquals(2, path.size());
+        assertSame(path, ObjectWrapper.compile(pattern));
+    }
+
+    @Test
+    public void testCompileWithNull() {
+        try {
+            ObjectWrapper.compile(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+
+    @Test
+    public void testCompileWithUnclosedSquare() {
+        try {
+            ObjectWrapper.compile(GenericBean.LIST_PROPERTY.getName() + "[1");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(GenericBean.LIST_PROPERTY.getName()));
+            assertTrue(e.getMessage().contains("Cannot found the closing ']'"));
+        }
+    }
+
+    @Test
+    public void testGetAndSetPathValue() {
+        final String key = "key.with.dots";
+        final String value = "value";
+
+        Map<String, String> map = new HashMap<String, String>();
+        map.put(key, value);
+
+        GenericBean genericBean = new GenericBean();
+        genericBean.setBeanProperty(new GenericBean());
+        genericBean.getBeanProperty().setMapProperty(map);
+
+        ObjectWrapper wrapper = new ObjectWrapper(genericBean);
+        PropertyPath mapped = ObjectWrapper.compile(GenericBean.BEAN_PROPERTY.getName() + "."
+                + GenericBean.MAP_PROPERTY.getName() + "[" + key + "]");
+        PropertyPath indexed = ObjectWrapper.compile(GenericBean.BEAN_PROPERTY.getName() + "."
+                + GenericBean.ARRAY_PROPERTY.getName() + "[2]");
+
+        assertEquals(value, wrapper.getPathValue(mapped));
+
+        wrapper.setPathValue(indexed, value);
+        assertEquals(3, genericBean.getBeanProperty().getArrayProperty().length);
+        assertEquals(value, wrapper.getPathValue(indexed));
+    }
+
+    @Test
+    public void testPathReusedOnDifferentObjects() {
+        PropertyPath path = ObjectWrapper.compile(GenericBean.STRING_PROPERTY.getName());
+
+        for (int i = 0; i < 3; i++) {
+            GenericBean genericBean = new GenericBean();
+            ObjectWrapper wrapper = new ObjectWrapper(genericBean);
+
+            wrapper.setPathValue(path, "value" + i);
+            assertEquals("value" + i, wrapper.getPathValue(path));
+        }
+    }
+
+    @Test
+    public void testPathWithInvalidIndex() {
+        GenericBean genericBean = new GenericBean();
+        genericBean.setArrayProperty(new String[]{"test"});
+
+        try {
+            new ObjectWrapper(genericBean).getPathValue(ObjectWrapper.compile(GenericBean.ARRAY_PROPERTY.getName() + "[text]"));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(GenericBean.ARRAY_PROPERTY.getName()));
+            assertTrue(e.getMessage().contains("Cannot parse"));
+        }
+    }
+
+    @Test
+    public void testPathWithNullTraversing() {
+        try {
+            new ObjectWrapper(new GenericBean()).getPathValue(ObjectWrapper.compile(
+                    GenericBean.BEAN_PROPERTY.getName() + "." + GenericBean.STRING_PROPERTY.getName()));
+            fail();
+        } catch (NullPointerException e) {
+            assertTrue(e.getMessage().contains(GenericBean.STRING_PROPERTY.getName()));
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+
+    @Test
+    public void testCompare() {
+        PropertyPath a = ObjectWrapper.compile("a");
+        PropertyPath ab = ObjectWrapper.compile("a.b");
+        PropertyPath ac = ObjectWrapper.compile("a.c");
+        PropertyPath a0 = ObjectWrapper.compile("a[0].b");
+        PropertyPath a0x = ObjectWrapper.compile("a0");
+
+        assertTrue(PropertyPath.compare(a, ab) < 0);
+        assertTrue(PropertyPath.compare(ab, ac) < 0);
+        assertTrue(PropertyPath.compare(ac, a0) < 0);
+        assertTrue(PropertyPath.compare(a0, a0x) < 0);// "a[0]" segments stay with "a"
+        assertEquals(0, PropertyPath.compare(ab, ObjectWrapper.compile("a.b")));
+    }
+}
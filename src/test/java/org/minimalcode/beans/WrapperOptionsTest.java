@@ -0,0 +1,93 @@
+package org.minimalcode.beans;
+
+import org.junit.Test;
+import org.minimalcode.reflect.util.GenericBean;
+
+import static org.junit.Assert.*;
+
+public class WrapperOptionsTest {
+
+    @Test
+    public void testDefault() {
+        WrapperOptions options = WrapperOptions.DEFAULT;
+
+        assertTrue(options.isAutoGrowing());
+        assertTrue(options.isAutoInstancing());
+        assertTrue(options.isOutOfBoundsSafety());
+        assertEquals(GrowthPolicy.EXACT, options.getGrowthPolicy());
+        assertEquals(10, options.getInitialListCapacity());
+        assertFalse(options.isIteratorCaching());
+    }
+
+    @Test
+    public void testWith() {
+        WrapperOptions options = WrapperOptions.DEFAULT.withAutoGrowing(false).withAutoInstancing(false)
+                .withOutOfBoundsSafety(false).withGrowthPolicy(GrowthPolicy.chunked(4))
+                .withInitialListCapacity(100).withIteratorCaching(true);
+
+        assertFalse(options.isAutoGrowing());
+        assertFalse(options.isAutoInstancing());
+        assertFalse(options.isOutOfBoundsSafety());
+        assertEquals(GrowthPolicy.chunked(4), options.getGrowthPolicy());
+        assertEquals(100, options.getInitialListCapacity());
+        assertTrue(options.isIteratorCaching());
+
+        // Immutable
+        assertTrue(WrapperOptions.DEFAULT.isAutoGrowing());
+        assertNotSame(WrapperOptions.DEFAULT, WrapperOptions.DEFAULT.withAutoGrowing(true));
+
+        assertEquals(WrapperOptions.DEFAULT, WrapperOptions.DEFAULT.withAutoGrowing(false).withAutoGrowing(true));
+        assertEquals(WrapperOptions.DEFAULT.hashCode(), WrapperOptions.DEFAULT.withAutoGrowing(true).hashCode());
+        assertFalse(WrapperOptions.DEFAULT.equals(options));
+    }
+
+    @Test
+    public void testInvalidWith() {
+        try {
+            WrapperOptions.DEFAULT.withGrowthPolicy(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("growthPolicy"));
+        }
+
+        try {
+            WrapperOptions.DEFAULT.withInitialListCapacity(-1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("initialListCapacity"));
+        }
+    }
+
+    @Test
+    public void testWrapperOptions() {
+        ObjectWrapper wrapper = new ObjectWrapper(new GenericBean());
+        assertEquals(WrapperOptions.DEFAULT, wrapper.getOptions());
+
+        wrapper.setAutoGrowing(false);
+        wrapper.setGrowthPolicy(GrowthPolicy.geometric(2));
+        assertEquals(WrapperOptions.DEFAULT.withAutoGrowing(false).withGrowthPolicy(GrowthPolicy.geometric(2)),
+                wrapper.getOptions());
+
+        WrapperOptions options = WrapperOptions.DEFAULT.withOutOfBoundsSafety(false);
+        wrapper.setOptions(options);
+        assertSame(options, wrapper.getOptions());
+
+        try {
+            wrapper.setValue(GenericBean.LIST_PROPERTY.getName() + "[0]", "foo");
+            wrapper.getValue(GenericBean.LIST_PROPERTY.getName() + "[1]");
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertTrue(e.getMessage().contains("1"));
+        }
+
+        wrapper = new ObjectWrapper(new GenericBean(), options);
+        assertSame(options, wrapper.getOptions());
+
+        try {
+            wrapper.setOptions(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("null"));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.minimalcode.beans.util;
+
+import org.junit.rules.ExternalResource;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A pool of 4 threads, created before each test and shut down after it.
+ */
+public class ForkJoinPoolRule extends ExternalResource {
+
+    private ForkJoinPool pool;
+
+    @Override
+    protected void before() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @Override
+    protected void after() {
+        pool.shutdown();
+    }
+
+    public ForkJoinPool get() {
+        return pool;
+    }
+}
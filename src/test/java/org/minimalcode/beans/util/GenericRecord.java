@@ -0,0 +1,194 @@
+package org.minimalcode.beans.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+public class GenericRecord {
+
+    public enum Status {
+        OPEN, CLOSED
+    }
+
+    private int id;
+    private long count;
+    private double total;
+    private Integer level;
+    private Double discount;
+    private String name;
+    private String group;
+    private boolean paid;
+    private Status status;
+    private long[] scores;
+    private List<String> tags;
+    private Object value;
+    private List<GenericRecord> lines;
+    private GenericRecord child;
+
+    public GenericRecord() {
+    }
+
+    public GenericRecord(int id) {
+        this.id = id;
+        this.count = id * 3L;
+        this.total = id + 0.5;
+        this.level = id;
+        this.discount = (id % 2 == 0) ? 1.0 : 2.0;
+        this.name = "R-" + id;
+        this.group = "G-" + (id % 3);
+        this.paid = id % 2 == 1;
+        this.status = (id % 2 == 0) ? Status.OPEN : Status.CLOSED;
+        this.scores = new long[]{id, id + 1};
+        this.tags = Arrays.asList("a", "b");
+    }
+
+    /**
+     * Returns the records from 0 to size - 1, each with the child record of twice its id,
+     * and with (id % 4) lines, from 1 to (id % 4).
+     */
+    public static List<GenericRecord> newRecords(int size) {
+        List<GenericRecord> records = new ArrayList<GenericRecord>(size);
+
+        for (int i = 0; i < size; i++) {
+            GenericRecord record = new GenericRecord(i);
+            record.setChild(new GenericRecord(i * 2));
+            record.setLines(new ArrayList<GenericRecord>());
+
+            for (int j = 1; j <= i % 4; j++) {
+                record.getLines().add(new GenericRecord(j));
+            }
+
+            records.add(record);
+        }
+
+        return records;
+    }
+
+    public static List<Integer> ids(Collection<? extends GenericRecord> records) {
+        List<Integer> ids = new ArrayList<Integer>(records.size());
+
+        for (GenericRecord record : records) {
+            ids.add(record.getId());
+        }
+
+        return ids;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getTotal() {
+        return total;
+    }
+
+    public void setTotal(double total) {
+        this.total = total;
+    }
+
+    public Integer getLevel() {
+        return level;
+    }
+
+    public void setLevel(Integer level) {
+        this.level = level;
+    }
+
+    public Double getDiscount() {
+        return discount;
+    }
+
+    public void setDiscount(Double discount) {
+        this.discount = discount;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public void setGroup(String group) {
+        this.group = group;
+    }
+
+    public boolean isPaid() {
+        return paid;
+    }
+
+    public void setPaid(boolean paid) {
+        this.paid = paid;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public long[] getScores() {
+        return scores;
+    }
+
+    public void setScores(long[] scores) {
+        this.scores = scores;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public void setValue(Object value) {
+        this.value = value;
+    }
+
+    public List<GenericRecord> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<GenericRecord> lines) {
+        this.lines = lines;
+    }
+
+    public GenericRecord getChild() {
+        return child;
+    }
+
+    public void setChild(GenericRecord child) {
+        this.child = child;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}